@@ -196,6 +196,68 @@ public class ConfigurableRoleMapperTest {
 
         }
 
+        @Test
+        public void map_indexed() throws Exception {
+            SecurityDynamicConfiguration<RoleMappingsV7> roleMapping = SecurityDynamicConfiguration.fromYaml("""
+                exact_user:
+                  users:
+                  - user_with_both
+                wildcard_user:
+                  users:
+                  - "user_with_*"
+                exact_backend_role:
+                  backend_roles:
+                  - backend_role_2
+                  - unknown_backend_role
+                wildcard_backend_role:
+                  backend_roles:
+                  - "/backend_role_[0-9]/"
+                and_exact:
+                  and_backend_roles:
+                  - backend_role_1
+                  - "backend_*_2"
+                and_wildcard:
+                  and_backend_roles:
+                  - "*_1"
+                  - "*_2"
+                and_not_matching:
+                  and_backend_roles:
+                  - backend_role_1
+                  - unknown_backend_role
+                """, CType.ROLESMAPPING);
+
+            for (int memoMaxSize : new int[] { 0, 100 }) {
+                ConfigurableRoleMapper.CompiledConfiguration compiled = new ConfigurableRoleMapper.CompiledConfiguration(
+                    roleMapping,
+                    HostResolverMode.IP_HOSTNAME,
+                    resolutionMode,
+                    memoMaxSize
+                );
+
+                Set<String> expectedRoles = new HashSet<>(user.getSecurityRoles());
+
+                if (resolutionMode != ConfigurableRoleMapper.ResolutionMode.BACKENDROLES_ONLY) {
+                    if (user == USER_WITH_BOTH) {
+                        expectedRoles.add("exact_user");
+                    }
+                    if (user != USER_WITH_NO_ROLES) {
+                        expectedRoles.add("wildcard_user");
+                    }
+                    if (!user.getRoles().isEmpty()) {
+                        expectedRoles.addAll(Arrays.asList("exact_backend_role", "wildcard_backend_role", "and_exact", "and_wildcard"));
+                    }
+                }
+
+                if (resolutionMode != ConfigurableRoleMapper.ResolutionMode.MAPPING_ONLY) {
+                    expectedRoles.addAll(user.getRoles());
+                }
+
+                assertEquals(expectedRoles, compiled.map(user, transportAddress));
+                // Second call might be answered by the memo
+                assertEquals(expectedRoles, compiled.map(user, transportAddress));
+            }
+        }
+
         public CompiledConfigurationTest(
             ConfigurableRoleMapper.ResolutionMode resolutionMode,
             User user,
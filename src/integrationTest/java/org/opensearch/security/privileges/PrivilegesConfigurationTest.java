@@ -0,0 +1,208 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.security.privileges;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.security.auditlog.NullAuditLog;
+import org.opensearch.security.configuration.ConfigurationChangeListener;
+import org.opensearch.security.configuration.ConfigurationMap;
+import org.opensearch.security.configuration.ConfigurationRepository;
+import org.opensearch.security.privileges.dlsfls.DlsFlsProcessedConfig;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.user.User;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.opensearch.security.util.MockIndexMetadataBuilder.indices;
+import static org.opensearch.security.util.MockPrivilegeEvaluationContextBuilder.ctx;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests which parts of the privileges configuration are rebuilt when the configuration is updated.
+ */
+public class PrivilegesConfigurationTest {
+
+    static final Metadata METADATA = indices("index_a1").build();
+    static final ClusterState CLUSTER_STATE = ClusterState.builder(ClusterState.EMPTY_STATE).metadata(METADATA).build();
+    static final User USER = new User("test_user").withRoles("role_a");
+
+    static final String ROLES = """
+        role_a:
+          cluster_permissions:
+          - 'cluster:monitor/health'
+          index_permissions:
+          - index_patterns: ['index_a*']
+            allowed_actions: ['indices:data/read/search']
+            fls: ['~secret']
+          tenant_permissions:
+          - tenant_patterns: ['tenant_a']
+            allowed_actions: ['kibana:saved_objects/*/read']
+        role_b:
+          cluster_permissions:
+          - 'monitor_group'
+        """;
+
+    final Map<CType<?>, SecurityDynamicConfiguration<?>> configuration = new HashMap<>();
+    ConfigurationChangeListener changeListener;
+    PrivilegesConfiguration subject;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration.put(CType.ACTIONGROUPS, SecurityDynamicConfiguration.fromYaml("""
+            monitor_group:
+              allowed_actions:
+              - 'cluster:monitor/health'
+            """, CType.ACTIONGROUPS));
+        configuration.put(CType.ROLES, SecurityDynamicConfiguration.fromYaml(ROLES, CType.ROLES));
+        configuration.put(CType.TENANTS, SecurityDynamicConfiguration.fromYaml("""
+            tenant_a: {}
+            tenant_b: {}
+            """, CType.TENANTS));
+        configuration.put(CType.CONFIG, SecurityDynamicConfiguration.fromYaml("""
+            config:
+              dynamic: {}
+            """, CType.CONFIG));
+
+        ConfigurationRepository configurationRepository = mock(ConfigurationRepository.class);
+        when(configurationRepository.getConfiguration(any())).thenAnswer(invocation -> configuration.get(invocation.getArgument(0)));
+
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        subject = new PrivilegesConfiguration(
+            configurationRepository,
+            new PrivilegesEvaluator.CoreDependencies(
+                null,
+                () -> CLUSTER_STATE,
+                null,
+                (user, caller) -> user.getRoles(),
+                null,
+                threadContext,
+                new NullAuditLog(),
+                Settings.EMPTY,
+                new IndexNameExpressionResolver(threadContext),
+                () -> "unavailable",
+                NamedXContentRegistry.EMPTY,
+                null
+            )
+        );
+
+        ArgumentCaptor<ConfigurationChangeListener> listenerCaptor = ArgumentCaptor.forClass(ConfigurationChangeListener.class);
+        verify(configurationRepository).subscribeOnChange(listenerCaptor.capture());
+        changeListener = listenerCaptor.getValue();
+        changeListener.onChange(ConfigurationMap.EMPTY);
+    }
+
+    @Test
+    public void update_indexPermissionsChangeReachesDlsFlsConfig() throws Exception {
+        DlsFlsProcessedConfig previousDlsFls = subject.dlsFlsProcessedConfig();
+        assertThat(isFieldVisible("secret"), is(false));
+
+        update(CType.ROLES, ROLES.replace("fls: ['~secret']", "fls: ['~other']"));
+
+        assertThat(subject.dlsFlsProcessedConfig(), not(sameInstance(previousDlsFls)));
+        assertThat(isFieldVisible("secret"), is(true));
+        assertThat(isFieldVisible("other"), is(false));
+    }
+
+    @Test
+    public void update_tenantPermissionsChangeRebuildsOnlyTenantPrivileges() throws Exception {
+        DlsFlsProcessedConfig previousDlsFls = subject.dlsFlsProcessedConfig();
+        TenantPrivileges previousTenantPrivileges = subject.tenantPrivileges();
+        PrivilegesEvaluator previousEvaluator = subject.privilegesEvaluator();
+        ActionPrivileges previousActionPrivileges = actionPrivileges();
+        assertThat(hasTenantReadPrivilege("tenant_b"), is(false));
+
+        update(CType.ROLES, ROLES.replace("tenant_patterns: ['tenant_a']", "tenant_patterns: ['tenant_b']"));
+
+        assertThat(subject.tenantPrivileges(), not(sameInstance(previousTenantPrivileges)));
+        assertThat(hasTenantReadPrivilege("tenant_b"), is(true));
+        assertThat(subject.privilegesEvaluator(), sameInstance(previousEvaluator));
+        assertThat(actionPrivileges(), sameInstance(previousActionPrivileges));
+        assertThat(subject.dlsFlsProcessedConfig(), sameInstance(previousDlsFls));
+    }
+
+    @Test
+    public void update_clusterPermissionsChangeKeepsDlsFlsConfig() throws Exception {
+        DlsFlsProcessedConfig previousDlsFls = subject.dlsFlsProcessedConfig();
+        TenantPrivileges previousTenantPrivileges = subject.tenantPrivileges();
+        PrivilegesEvaluator previousEvaluator = subject.privilegesEvaluator();
+        assertThat(hasClusterPrivilege("cluster:monitor/stats"), is(false));
+
+        update(CType.ROLES, ROLES.replace("- 'cluster:monitor/health'", "- 'cluster:monitor/*'"));
+
+        assertThat(subject.privilegesEvaluator(), sameInstance(previousEvaluator));
+        assertThat(hasClusterPrivilege("cluster:monitor/stats"), is(true));
+        assertThat(subject.dlsFlsProcessedConfig(), sameInstance(previousDlsFls));
+        assertThat(subject.tenantPrivileges(), sameInstance(previousTenantPrivileges));
+    }
+
+    @Test
+    public void update_actionGroupsChangeRecompilesAllRoles() throws Exception {
+        CompiledRoles previousCompiledRoles = subject.compiledRoles();
+        DlsFlsProcessedConfig previousDlsFls = subject.dlsFlsProcessedConfig();
+
+        update(CType.ACTIONGROUPS, """
+            monitor_group:
+              allowed_actions:
+              - 'cluster:monitor/*'
+            """);
+
+        CompiledRoles compiledRoles = subject.compiledRoles();
+        assertThat(compiledRoles.roles.get("role_a"), not(sameInstance(previousCompiledRoles.roles.get("role_a"))));
+        assertThat(compiledRoles.roles.get("role_b"), not(sameInstance(previousCompiledRoles.roles.get("role_b"))));
+        assertThat(compiledRoles.getCompiledRoleCount(), is(compiledRoles.roles.size()));
+        assertThat(subject.dlsFlsProcessedConfig(), not(sameInstance(previousDlsFls)));
+        assertThat(hasClusterPrivilege("cluster:monitor/stats"), is(true));
+    }
+
+    private void update(CType<?> configType, String yaml) throws Exception {
+        configuration.put(configType, SecurityDynamicConfiguration.fromYaml(yaml, configType));
+        changeListener.onChange(ConfigurationMap.EMPTY);
+    }
+
+    private ActionPrivileges actionPrivileges() {
+        return subject.privilegesEvaluator().createContext(USER, "cluster:monitor/health").getActionPrivileges();
+    }
+
+    private boolean hasClusterPrivilege(String action) {
+        PrivilegesEvaluationContext context = subject.privilegesEvaluator().createContext(USER, action);
+        return context.getActionPrivileges().hasClusterPrivilege(context, action).isAllowed();
+    }
+
+    private boolean hasTenantReadPrivilege(String tenant) {
+        return subject.tenantPrivileges().hasTenantPrivilege(ctx().roles("role_a").get(), tenant, TenantPrivileges.ActionType.READ);
+    }
+
+    private boolean isFieldVisible(String field) throws Exception {
+        return subject.dlsFlsProcessedConfig()
+            .getFieldPrivileges()
+            .getRestriction(ctx().roles("role_a").indexMetadata(METADATA).get(), "index_a1")
+            .isAllowedRecursive(field);
+    }
+}
@@ -52,6 +52,8 @@ import org.opensearch.security.securityconf.impl.v7.RoleV7;
 import org.opensearch.security.user.User;
 import org.opensearch.security.util.MockIndexMetadataBuilder;
 
+import com.selectivem.collections.CheckTable;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.opensearch.security.privileges.PrivilegeEvaluatorResponseMatcher.isAllowed;
 import static org.opensearch.security.privileges.PrivilegeEvaluatorResponseMatcher.isForbidden;
@@ -61,6 +63,7 @@ import static org.opensearch.security.util.MockIndexMetadataBuilder.dataStreams;
 import static org.opensearch.security.util.MockIndexMetadataBuilder.indices;
 import static org.opensearch.security.util.MockPrivilegeEvaluationContextBuilder.ctx;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -1036,6 +1039,126 @@ public class RoleBasedActionPrivilegesTest {
             assertEquals(0, subject.getEstimatedStatefulIndexByteSize());
         }
 
+        @Test
+        public void statefulIncrementalUpdate() throws Exception {
+            SecurityDynamicConfiguration<RoleV7> roles = SecurityDynamicConfiguration.fromYaml(
+                "role_a:\n"
+                    + "  index_permissions:\n"
+                    + "  - index_patterns: ['index_a*']\n"
+                    + "    allowed_actions: ['indices:data/read/search']\n"
+                    + "role_alias:\n"
+                    + "  index_permissions:\n"
+                    + "  - index_patterns: ['alias_x']\n"
+                    + "    allowed_actions: ['indices:data/read/search']",
+                CType.ROLES
+            );
+            CompiledRoles compiledRoles = new CompiledRoles(
+                roles,
+                FlattenedActionGroups.EMPTY,
+                NamedXContentRegistry.EMPTY,
+                FieldMasking.Config.DEFAULT,
+                false
+            );
+            ByteSizeValue maxHeapSize = new ByteSizeValue(10, ByteSizeUnit.MB);
+
+            Metadata metadata1 = indices("index_a1", "index_b1").alias("alias_x").of("index_b1").build();
+            Metadata metadata2 = indices("index_a1", "index_a2", "index_b1", "index_b2").alias("alias_x").of("index_b2").build();
+            Metadata metadata3 = indices("index_a2", "index_b1", "index_b2").alias("alias_x").of("index_b2").build();
+
+            SortedMap<String, IndexAbstraction> indices1 = RoleBasedActionPrivileges.StatefulIndexPrivileges.relevantOnly(
+                metadata1.getIndicesLookup(),
+                i -> false
+            );
+            SortedMap<String, IndexAbstraction> indices2 = RoleBasedActionPrivileges.StatefulIndexPrivileges.relevantOnly(
+                metadata2.getIndicesLookup(),
+                i -> false
+            );
+            SortedMap<String, IndexAbstraction> indices3 = RoleBasedActionPrivileges.StatefulIndexPrivileges.relevantOnly(
+                metadata3.getIndicesLookup(),
+                i -> false
+            );
+
+            RoleBasedActionPrivileges.StatefulIndexPrivileges initial = new RoleBasedActionPrivileges.StatefulIndexPrivileges(
+                compiledRoles,
+                indices1,
+                1,
+                maxHeapSize
+            );
+
+            RoleBasedActionPrivileges.StatefulIndexPrivileges.Delta delta2 = RoleBasedActionPrivileges.StatefulIndexPrivileges.Delta
+                .between(indices1, indices2);
+            assertEquals(ImmutableSet.of("index_a2", "index_b2"), delta2.addedIndices());
+            assertEquals(ImmutableSet.of("alias_x"), delta2.changedIndices());
+            assertEquals(ImmutableSet.of("index_a2", "index_b1", "index_b2", "alias_x"), delta2.affectedIndices().keySet());
+            assertTrue(initial.canBeUpdatedIncrementally(delta2));
+
+            RoleBasedActionPrivileges.StatefulIndexPrivileges incremental2 = new RoleBasedActionPrivileges.StatefulIndexPrivileges(
+                initial,
+                compiledRoles,
+                indices2,
+                delta2,
+                2
+            );
+            assertEquals(
+                grantedIndices(new RoleBasedActionPrivileges.StatefulIndexPrivileges(compiledRoles, indices2, 2, maxHeapSize), metadata2),
+                grantedIndices(incremental2, metadata2)
+            );
+            assertEquals(ImmutableSet.of("index_a1", "index_a2", "index_b2", "alias_x"), grantedIndices(incremental2, metadata2));
+
+            RoleBasedActionPrivileges.StatefulIndexPrivileges.Delta delta3 = RoleBasedActionPrivileges.StatefulIndexPrivileges.Delta
+                .between(indices2, indices3);
+            assertEquals(ImmutableSet.of("index_a1"), delta3.removedIndices());
+
+            RoleBasedActionPrivileges.StatefulIndexPrivileges incremental3 = new RoleBasedActionPrivileges.StatefulIndexPrivileges(
+                incremental2,
+                compiledRoles,
+                indices3,
+                delta3,
+                3
+            );
+            assertEquals(
+                grantedIndices(new RoleBasedActionPrivileges.StatefulIndexPrivileges(compiledRoles, indices3, 3, maxHeapSize), metadata3),
+                grantedIndices(incremental3, metadata3)
+            );
+            assertEquals(ImmutableSet.of("index_a2", "index_b2", "alias_x"), grantedIndices(incremental3, metadata3));
+        }
+
+        @Test
+        public void statefulIncrementalUpdate_lastUpdate() throws Exception {
+            SecurityDynamicConfiguration<RoleV7> roles = SecurityDynamicConfiguration.fromYaml(
+                "test_role:\n" + "  index_permissions:\n" + "  - index_patterns: ['test_*']\n" + "    allowed_actions: ['indices:*']",
+                CType.ROLES
+            );
+            List<String> indexNames = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                indexNames.add("test_" + i);
+            }
+
+            RoleBasedActionPrivileges subject = createSubject(roles, FlattenedActionGroups.EMPTY, Settings.EMPTY);
+            subject.updateStatefulIndexPrivileges(indices(indexNames.toArray(new String[0])).build().getIndicesLookup(), 1);
+            assertFalse(subject.getLastStatefulIndexUpdate().incremental());
+
+            indexNames.add("test_new");
+            subject.updateStatefulIndexPrivileges(indices(indexNames.toArray(new String[0])).build().getIndicesLookup(), 2);
+            RoleBasedActionPrivileges.StatefulIndexUpdate update = subject.getLastStatefulIndexUpdate();
+            assertTrue(update.incremental());
+            assertEquals(1, update.addedIndices());
+            assertEquals(0, update.removedIndices());
+            assertEquals(1, update.affectedIndices());
+        }
+
+        private static Set<String> grantedIndices(RoleBasedActionPrivileges.StatefulIndexPrivileges subject, Metadata metadata) {
+            String action = "indices:data/read/search";
+            Set<String> indices = metadata.getIndicesLookup().keySet();
+            CheckTable<String, String> checkTable = CheckTable.create(indices, ImmutableSet.of(action));
+            subject.providesPrivilege(
+                ImmutableSet.of(action),
+                ctx().roles("role_a", "role_alias").indexMetadata(metadata).get(),
+                checkTable
+            );
+            return indices.stream().filter(index -> checkTable.isChecked(index, action)).collect(Collectors.toSet());
+        }
+
         /**
          * Tests the behavior of hasIndexPrivilege when the resolved indices are empty.
          */
@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.hamcrest.BaseMatcher;
@@ -73,6 +75,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -1191,6 +1195,45 @@ public class DocumentPrivilegesTest {
             }
         }
 
+        @Test
+        public void templatedQuery_reusesParsedQueryForSameAttributeValues() throws Exception {
+            Cache<String, DocumentPrivileges.RenderedDlsQuery> cache = CacheBuilder.newBuilder().build();
+            DocumentPrivileges.DlsQuery query = DocumentPrivileges.DlsQuery.create(
+                "{\"term\":{\"dept\":\"${attr.jwt.dept}\"}}",
+                xContentRegistry
+            );
+
+            PrivilegesEvaluationContext contextA = MockPrivilegeEvaluationContextBuilder.ctx().attr("attr.jwt.dept", "a").get();
+            PrivilegesEvaluationContext otherContextA = MockPrivilegeEvaluationContextBuilder.ctx().attr("attr.jwt.dept", "a").get();
+            PrivilegesEvaluationContext contextB = MockPrivilegeEvaluationContextBuilder.ctx().attr("attr.jwt.dept", "b").get();
+
+            DocumentPrivileges.RenderedDlsQuery a1 = query.evaluate(contextA, cache);
+            DocumentPrivileges.RenderedDlsQuery a2 = query.evaluate(otherContextA, cache);
+            DocumentPrivileges.RenderedDlsQuery b = query.evaluate(contextB, cache);
+
+            assertSame(a1, a2);
+            assertNotSame(a1, b);
+            assertEquals("{\"term\":{\"dept\":\"b\"}}", b.getRenderedSource());
+            assertEquals(QueryBuilders.termQuery("dept", "b"), b.getQueryBuilder());
+            assertEquals(2, cache.size());
+        }
+
+        @Test
+        public void templatedQuery_failuresAreNotCached() throws Exception {
+            Cache<String, DocumentPrivileges.RenderedDlsQuery> cache = CacheBuilder.newBuilder().build();
+            DocumentPrivileges.DlsQuery query = DocumentPrivileges.DlsQuery.create(
+                "{\"term\":{\"dept\":\"${attr.jwt.dept}\"}}",
+                xContentRegistry
+            );
+
+            try {
+                query.evaluate(MockPrivilegeEvaluationContextBuilder.ctx().get(), cache);
+                fail("Expected PrivilegesEvaluationException");
+            } catch (PrivilegesEvaluationException e) {
+                assertEquals(0, cache.size());
+            }
+        }
+
         @Test
         public void equals() throws Exception {
             DocumentPrivileges.DlsQuery query1a = DocumentPrivileges.DlsQuery.create(
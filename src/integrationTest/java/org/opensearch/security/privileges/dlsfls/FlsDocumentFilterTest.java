@@ -10,12 +10,16 @@
  */
 package org.opensearch.security.privileges.dlsfls;
 
+import java.io.ByteArrayOutputStream;
+
 import com.google.common.collect.ImmutableSet;
 import org.junit.Assert;
 import org.junit.Test;
 
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -362,6 +366,104 @@ public class FlsDocumentFilterTest {
         assertJsonStructurallyEquivalent(expectedDocument, result);
     }
 
+    @Test
+    public void unmodifiedDocumentIsReturnedAsIs() throws Exception {
+        byte[] sourceDocument = """
+            {
+                "a": 41,
+                "b": {
+                   "b1": "y1"
+                }
+            }
+            """.getBytes(UTF_8);
+
+        byte[] result = FlsDocumentFilter.filter(
+            sourceDocument,
+            FieldPrivileges.FlsRule.of("~c"),
+            FieldMasking.FieldMaskingRule.of(FieldMaskingTestHelper.DEFAULT, "c"),
+            ImmutableSet.of()
+        );
+
+        Assert.assertSame(sourceDocument, result);
+    }
+
+    @Test
+    public void pooledBufferIsDroppedAfterDocumentsGrowingBeyondLimit() throws Exception {
+        FieldMasking.FieldMaskingRule maskingRule = FieldMasking.FieldMaskingRule.of(FieldMaskingTestHelper.DEFAULT, "f*");
+
+        FlsDocumentFilter.filter(maskedDocument(10), FieldPrivileges.FlsRule.ALLOW_ALL, maskingRule, ImmutableSet.of());
+        ByteArrayOutputStream pooledBuffer = FlsDocumentFilter.pooledBuffer();
+        FlsDocumentFilter.filter(maskedDocument(10), FieldPrivileges.FlsRule.ALLOW_ALL, maskingRule, ImmutableSet.of());
+        Assert.assertSame(pooledBuffer, FlsDocumentFilter.pooledBuffer());
+
+        // Masking replaces each one character value by a hash; the filtered document is thus much larger than the original
+        byte[] sourceDocument = maskedDocument(2000);
+        byte[] result = FlsDocumentFilter.filter(sourceDocument, FieldPrivileges.FlsRule.ALLOW_ALL, maskingRule, ImmutableSet.of());
+
+        Assert.assertTrue(sourceDocument.length <= FlsDocumentFilter.MAX_POOLED_BUFFER_SIZE);
+        Assert.assertTrue(result.length > FlsDocumentFilter.MAX_POOLED_BUFFER_SIZE);
+        Assert.assertNotSame(pooledBuffer, FlsDocumentFilter.pooledBuffer());
+    }
+
+    @Test
+    public void filterSmile() throws Exception {
+        assertBinaryFormatFiltered(new SmileMapper());
+    }
+
+    @Test
+    public void filterCbor() throws Exception {
+        assertBinaryFormatFiltered(new CBORMapper());
+    }
+
+    private static void assertBinaryFormatFiltered(ObjectMapper binaryMapper) throws Exception {
+        String sourceDocument = """
+            {
+                "a": 41,
+                "b": {
+                   "b1": "y1",
+                   "b2": 1.5
+                },
+                "c": "z",
+                "d": [1, 12345678901234, {"x": "y"}]
+            }
+            """;
+
+        byte[] result = FlsDocumentFilter.filter(
+            binaryMapper.writeValueAsBytes(new ObjectMapper().readTree(sourceDocument)),
+            FieldPrivileges.FlsRule.of("~c"),
+            FieldMasking.FieldMaskingRule.of(FieldMaskingTestHelper.DEFAULT, "b.b1"),
+            ImmutableSet.of()
+        );
+
+        String expectedDocument = """
+            {
+                "a": 41,
+                "b": {
+                   "b1": "f16d01664d4270a4f39cdba8c89ac024380b5f249f0fbec1049497bc745cf30f",
+                   "b2": 1.5
+                },
+                "d": [1, 12345678901234, {"x": "y"}]
+            }
+            """;
+
+        Assert.assertEquals(
+            "Document is not structurally equivalent",
+            new ObjectMapper().readTree(expectedDocument),
+            binaryMapper.readTree(result)
+        );
+    }
+
+    private static byte[] maskedDocument(int fields) {
+        StringBuilder document = new StringBuilder("{");
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                document.append(',');
+            }
+            document.append("\"f").append(i).append("\":\"x\"");
+        }
+        return document.append('}').toString().getBytes(UTF_8);
+    }
+
     private static void assertJsonStructurallyEquivalent(String expected, byte[] actual) throws Exception {
         ObjectMapper objectMapper = new ObjectMapper();
 
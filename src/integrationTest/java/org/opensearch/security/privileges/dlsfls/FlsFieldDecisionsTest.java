@@ -0,0 +1,146 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.security.privileges.dlsfls;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FlsFieldDecisionsTest {
+
+    static final List<String> FIELDS = List.of("_id", "a", "a.keyword", "b.c", "b.d", "secret", "masked", "masked.keyword");
+    static final Set<String> META_FIELDS = Set.of("_id");
+
+    static Directory directory;
+    static DirectoryReader reader;
+    static FieldInfos fieldInfos;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            Document document = new Document();
+            for (String field : FIELDS) {
+                document.add(new StringField(field, "x", Field.Store.YES));
+            }
+            writer.addDocument(document);
+        }
+        reader = DirectoryReader.open(directory);
+        fieldInfos = reader.leaves().get(0).reader().getFieldInfos();
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        reader.close();
+        directory.close();
+    }
+
+    @Test
+    public void decisionsMatchRules_exclusion() throws Exception {
+        assertDecisionsMatchRules(FieldPrivileges.FlsRule.of("~secret", "~b.*"), FieldMasking.FieldMaskingRule.ALLOW_ALL);
+    }
+
+    @Test
+    public void decisionsMatchRules_inclusion() throws Exception {
+        assertDecisionsMatchRules(FieldPrivileges.FlsRule.of("a", "b", "masked"), FieldMasking.FieldMaskingRule.ALLOW_ALL);
+    }
+
+    @Test
+    public void decisionsMatchRules_masking() throws Exception {
+        assertDecisionsMatchRules(
+            FieldPrivileges.FlsRule.of("~secret"),
+            FieldMasking.FieldMaskingRule.of(FieldMaskingTestHelper.DEFAULT, "masked")
+        );
+    }
+
+    @Test
+    public void allowedFieldInfos() throws Exception {
+        FlsFieldDecisions decisions = FlsFieldDecisions.compute(
+            fieldInfos,
+            FieldPrivileges.FlsRule.of("a"),
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            META_FIELDS
+        );
+
+        assertEquals(3, decisions.getAllowedFieldInfos().size());
+        assertTrue(decisions.getAllowedFieldInfos().fieldInfo("_id") != null);
+        assertTrue(decisions.getAllowedFieldInfos().fieldInfo("a.keyword") != null);
+        assertNull(decisions.getAllowedFieldInfos().fieldInfo("secret"));
+
+        FlsFieldDecisions allowAll = FlsFieldDecisions.compute(
+            fieldInfos,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            META_FIELDS
+        );
+        assertSame(fieldInfos, allowAll.getAllowedFieldInfos());
+    }
+
+    @Test
+    public void unknownFieldsAreEvaluatedUsingRules() throws Exception {
+        FlsFieldDecisions decisions = FlsFieldDecisions.compute(
+            fieldInfos,
+            FieldPrivileges.FlsRule.of("~secret*"),
+            FieldMasking.FieldMaskingRule.of(FieldMaskingTestHelper.DEFAULT, "other_masked"),
+            META_FIELDS
+        );
+
+        assertFalse(decisions.isAllowedButPossiblyMasked("secret_unknown"));
+        assertTrue(decisions.isAllowedButPossiblyMasked("other_masked"));
+        assertFalse(decisions.isAllowed("other_masked"));
+        assertTrue(decisions.getMaskingField("other_masked") != null);
+    }
+
+    @Test
+    public void allowAllDecisionsAllowEveryField() throws Exception {
+        for (FieldInfo fieldInfo : fieldInfos) {
+            assertTrue(fieldInfo.name, FlsFieldDecisions.ALLOW_ALL.isFlsAllowed(fieldInfo.name));
+            assertTrue(fieldInfo.name, FlsFieldDecisions.ALLOW_ALL.isAllowedButPossiblyMasked(fieldInfo));
+            assertTrue(fieldInfo.name, FlsFieldDecisions.ALLOW_ALL.isAllowed(fieldInfo.name));
+            assertNull(fieldInfo.name, FlsFieldDecisions.ALLOW_ALL.getMaskingField(fieldInfo));
+        }
+    }
+
+    private static void assertDecisionsMatchRules(FieldPrivileges.FlsRule flsRule, FieldMasking.FieldMaskingRule fmRule) {
+        FlsFieldDecisions decisions = FlsFieldDecisions.compute(fieldInfos, flsRule, fmRule, META_FIELDS);
+
+        for (FieldInfo fieldInfo : fieldInfos) {
+            String field = fieldInfo.name;
+            boolean meta = META_FIELDS.contains(field);
+
+            assertEquals(field, flsRule.isAllowedRecursive(field), decisions.isFlsAllowed(field));
+            assertEquals(field, meta || flsRule.isAllowedRecursive(field), decisions.isAllowedButPossiblyMasked(field));
+            assertEquals(field, meta || flsRule.isAllowedRecursive(field), decisions.isAllowedButPossiblyMasked(fieldInfo));
+            assertEquals(field, meta || (flsRule.isAllowedRecursive(field) && !fmRule.isMasked(field)), decisions.isAllowed(field));
+            assertSame(field, fmRule.get(field), decisions.getMaskingField(field));
+            assertSame(field, fmRule.get(field), decisions.getMaskingField(fieldInfo));
+        }
+    }
+}
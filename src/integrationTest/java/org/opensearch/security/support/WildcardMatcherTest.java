@@ -11,9 +11,11 @@
 
 package org.opensearch.security.support;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -234,6 +236,68 @@ public class WildcardMatcherTest {
         assertNotEquals(applyCase(WildcardMatcher.from(base1 + "*")), subject);
     }
 
+    @Test
+    public void combined_large() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            patterns.add("index_" + i);
+            patterns.add("logs_" + i + "_*");
+            patterns.add("*_metrics_" + i + "_?");
+            patterns.add("a*b" + i + "*c");
+        }
+        patterns.add("/regex_[0-9]+/");
+        patterns.add("*contains*");
+        patterns.add("log*");
+
+        WildcardMatcher subject = applyCase(WildcardMatcher.from(patterns));
+        List<WildcardMatcher> matchers = WildcardMatcher.matchers(patterns).stream().map(this::applyCase).toList();
+
+        List<String> candidates = List.of(
+            "index_1",
+            "index_19",
+            "index_20",
+            "logs_3_x",
+            "logs_3",
+            "logs",
+            "lo",
+            "my_metrics_4_x",
+            "my_metrics_4_xy",
+            "aXb7Yc",
+            "ab7c",
+            "ab7",
+            "regex_123",
+            "regex_",
+            "with_contains_inside",
+            "INDEX_1",
+            "LOGS_3_X",
+            "My_Metrics_4_X",
+            "other",
+            "",
+            "index_\uD83D\uDE00",
+            "x_metrics_1_\uD83D\uDE00"
+        );
+
+        for (String candidate : candidates) {
+            List<String> expected = WildcardMatcher.getAllMatchingPatterns(matchers, candidate);
+            assertEquals(candidate, !expected.isEmpty(), subject.test(candidate));
+            assertEquals(candidate, expected, subject.getMatchingPatterns(candidate));
+        }
+
+        assertEquals(WildcardMatcher.getAllMatchingPatterns(matchers, candidates), subject.getMatchingPatterns(candidates));
+        assertEquals(applyCase(WildcardMatcher.from(patterns)), subject);
+    }
+
+    @Test
+    public void getMatchingPatterns() {
+        WildcardMatcher subject = applyCase(WildcardMatcher.from("index*"));
+        assertEquals(List.of("index*"), subject.getMatchingPatterns("index_a"));
+        assertEquals(List.of(), subject.getMatchingPatterns("other"));
+
+        WildcardMatcher combined = applyCase(WildcardMatcher.from("index*", "other", "*_a"));
+        assertEquals(List.of("index*", "*_a"), combined.getMatchingPatterns("index_a"));
+        assertEquals(List.of("index*", "other"), combined.getMatchingPatterns(List.of("index_b", "other")));
+    }
+
     @Test
     public void concat() {
         String base1 = "string";
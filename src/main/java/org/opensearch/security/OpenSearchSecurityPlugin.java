@@ -89,12 +89,15 @@ import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Setting.Property;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.BigArrays;
 import org.opensearch.common.util.PageCacheRecycler;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.core.index.Index;
 import org.opensearch.core.indices.breaker.CircuitBreakerService;
 import org.opensearch.core.rest.RestStatus;
@@ -140,6 +143,9 @@ import org.opensearch.security.action.apitokens.ApiTokenUpdateAction;
 import org.opensearch.security.action.configupdate.ConfigUpdateAction;
 import org.opensearch.security.action.configupdate.TransportConfigUpdateAction;
 import org.opensearch.security.action.onbehalf.CreateOnBehalfOfTokenAction;
+import org.opensearch.security.action.stats.SecurityStats;
+import org.opensearch.security.action.stats.SecurityStatsAction;
+import org.opensearch.security.action.stats.TransportSecurityStatsAction;
 import org.opensearch.security.action.whoami.TransportWhoAmIAction;
 import org.opensearch.security.action.whoami.WhoAmIAction;
 import org.opensearch.security.auditlog.AuditLog;
@@ -156,8 +162,12 @@ import org.opensearch.security.configuration.AdminDNs;
 import org.opensearch.security.configuration.ClusterInfoHolder;
 import org.opensearch.security.configuration.CompatConfig;
 import org.opensearch.security.configuration.ConfigurationRepository;
+import org.opensearch.security.configuration.DlsBitsetCache;
+import org.opensearch.security.configuration.DlsFlsRequestCache;
 import org.opensearch.security.configuration.DlsFlsRequestValve;
 import org.opensearch.security.configuration.DlsFlsValveImpl;
+import org.opensearch.security.configuration.FlsFieldDecisionCache;
+import org.opensearch.security.configuration.FlsQueryCachePartition;
 import org.opensearch.security.configuration.SecurityConfigVersionHandler;
 import org.opensearch.security.configuration.SecurityFlsDlsIndexSearcherWrapper;
 import org.opensearch.security.dlic.rest.api.Endpoint;
@@ -178,17 +188,21 @@ import org.opensearch.security.privileges.PrivilegesConfiguration;
 import org.opensearch.security.privileges.PrivilegesEvaluationContext;
 import org.opensearch.security.privileges.PrivilegesEvaluationException;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
+import org.opensearch.security.privileges.RenderedPatternCache;
 import org.opensearch.security.privileges.ResourceAccessEvaluator;
 import org.opensearch.security.privileges.RestLayerPrivilegesEvaluator;
 import org.opensearch.security.privileges.RoleMapper;
 import org.opensearch.security.privileges.actionlevel.RoleBasedActionPrivileges;
 import org.opensearch.security.privileges.dlsfls.DlsFlsBaseContext;
+import org.opensearch.security.privileges.dlsfls.DocumentPrivileges;
 import org.opensearch.security.resources.PluginDefaultRolesHelper;
 import org.opensearch.security.resources.ResourceAccessControlClient;
 import org.opensearch.security.resources.ResourceAccessHandler;
 import org.opensearch.security.resources.ResourceAccessLevelHelper;
 import org.opensearch.security.resources.ResourceIndexListener;
 import org.opensearch.security.resources.ResourcePluginInfo;
+import org.opensearch.security.resources.ResourceSharingCache;
+import org.opensearch.security.resources.ResourceSharingDlsUtils;
 import org.opensearch.security.resources.ResourceSharingIndexHandler;
 import org.opensearch.security.resources.api.list.AccessibleResourcesRestAction;
 import org.opensearch.security.resources.api.list.ResourceTypesRestAction;
@@ -201,6 +215,7 @@ import org.opensearch.security.rest.DashboardsInfoAction;
 import org.opensearch.security.rest.SecurityConfigUpdateAction;
 import org.opensearch.security.rest.SecurityHealthAction;
 import org.opensearch.security.rest.SecurityInfoAction;
+import org.opensearch.security.rest.SecurityStatsRestAction;
 import org.opensearch.security.rest.SecurityWhoAmIAction;
 import org.opensearch.security.rest.TenantInfoAction;
 import org.opensearch.security.securityconf.DynamicConfigFactory;
@@ -215,6 +230,7 @@ import org.opensearch.security.ssl.ExternalSecurityKeyStore;
 import org.opensearch.security.ssl.OpenSearchSecureSettingsFactory;
 import org.opensearch.security.ssl.OpenSearchSecuritySSLPlugin;
 import org.opensearch.security.ssl.SslExceptionHandler;
+import org.opensearch.security.ssl.http.netty.Netty4HttpRequestHeaderVerifier;
 import org.opensearch.security.ssl.http.netty.ValidatingDispatcher;
 import org.opensearch.security.ssl.transport.DefaultPrincipalExtractor;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
@@ -224,6 +240,7 @@ import org.opensearch.security.support.GuardedSearchOperationWrapper;
 import org.opensearch.security.support.HeaderHelper;
 import org.opensearch.security.support.ModuleInfo;
 import org.opensearch.security.support.ReflectionHelper;
+import org.opensearch.security.support.ReverseDnsResolver;
 import org.opensearch.security.support.SecuritySettings;
 import org.opensearch.security.transport.DefaultInterClusterRequestEvaluator;
 import org.opensearch.security.transport.InterClusterRequestEvaluator;
@@ -233,6 +250,7 @@ import org.opensearch.security.user.UserFactory;
 import org.opensearch.security.user.UserService;
 import org.opensearch.tasks.Task;
 import org.opensearch.telemetry.tracing.Tracer;
+import org.opensearch.threadpool.ExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.RemoteClusterService;
 import org.opensearch.transport.Transport;
@@ -292,6 +310,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     private volatile AtomicReference<DiscoveryNode> localNode = new AtomicReference<>();
     private volatile AuditLog auditLog;
     private volatile BackendRegistry backendRegistry;
+    private volatile ReverseDnsResolver reverseDnsResolver;
     private volatile SslExceptionHandler sslExceptionHandler;
     private volatile Client localClient;
     private final boolean disabled;
@@ -301,14 +320,20 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
     private volatile SecurityFilter sf;
     private final AtomicReference<NamedXContentRegistry> namedXContentRegistry = new AtomicReference<>(NamedXContentRegistry.EMPTY);;
     private volatile DlsFlsRequestValve dlsFlsValve = null;
+    private volatile DlsBitsetCache dlsBitsetCache = DlsBitsetCache.DISABLED;
+    private volatile FlsFieldDecisionCache flsFieldDecisionCache = FlsFieldDecisionCache.DISABLED;
+    private volatile DlsFlsRequestCache dlsFlsRequestCache = DlsFlsRequestCache.DISABLED;
+    private volatile ResourceSharingDlsUtils resourceSharingDlsUtils;
     private final OpensearchDynamicSetting<Boolean> transportPassiveAuthSetting;
     private final OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting;
     private final OpensearchDynamicSetting<List<String>> resourceSharingProtectedResourceTypesSetting;
     private volatile PasswordHasher passwordHasher;
     private volatile DlsFlsBaseContext dlsFlsBaseContext;
     private ResourceSharingIndexHandler rsIndexHandler;
+    private volatile ResourceSharingCache resourceSharingCache = ResourceSharingCache.DISABLED;
     private ResourceAccessHandler resourceAccessHandler;
     private final ResourcePluginInfo resourcePluginInfo = new ResourcePluginInfo();
+    private final SecurityStats securityStats = new SecurityStats();
     private volatile ResourceAccessEvaluator resourceAccessEvaluator;
 
     public static boolean isActionTraceEnabled() {
@@ -330,6 +355,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         if (auditLog != null) {
             auditLog.close();
         }
+        if (reverseDnsResolver != null) {
+            reverseDnsResolver.close();
+        }
     }
 
     private final SslExceptionHandler evaluateSslExceptionHandler() {
@@ -712,6 +740,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                         principalExtractor
                     )
                 );
+                handlers.add(new SecurityStatsRestAction());
                 handlers.add(new CreateOnBehalfOfTokenAction(tokenManager));
                 handlers.add(
                     new ApiTokenAction(
@@ -795,6 +824,7 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 actions.add(new ActionHandler<>(CertificatesActionType.INSTANCE, TransportCertificatesInfoNodesAction.class));
             }
             actions.add(new ActionHandler<>(WhoAmIAction.INSTANCE, TransportWhoAmIAction.class));
+            actions.add(new ActionHandler<>(SecurityStatsAction.INSTANCE, TransportSecurityStatsAction.class));
 
             // transport action to handle sharing info update
             actions.add(new ActionHandler<>(ShareAction.INSTANCE, ShareTransportAction.class));
@@ -823,7 +853,11 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     privilegesConfiguration,
                     roleMapper,
                     dlsFlsBaseContext::config,
-                    dlsFlsBaseContext
+                    dlsFlsBaseContext,
+                    dlsBitsetCache,
+                    flsFieldDecisionCache,
+                    resourceSharingDlsUtils,
+                    resourcePluginInfo
                 )
             );
 
@@ -832,7 +866,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 threadPool,
                 localClient,
                 resourcePluginInfo,
-                resourceSharingEnabledSetting
+                resourceSharingEnabledSetting,
+                resourceSharingCache
             );
             Set<String> resourceIndices = resourcePluginInfo.getResourceIndices();
             if (resourceIndices.contains(indexModule.getIndex().getName())) {
@@ -840,6 +875,15 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 log.info("Security plugin started listening to operations on resource-index {}", indexModule.getIndex().getName());
             }
 
+            // Invalidate cached sharing records on writes to local copies of sharing indices
+            for (String resourceIndex : resourceIndices) {
+                if (getSharingIndex(resourceIndex).equals(indexModule.getIndex().getName())) {
+                    indexModule.addIndexOperationListener(resourceSharingCache.sharingIndexListener(resourceIndex));
+                }
+            }
+
+            final boolean partitionedFlsQueryCache = FlsQueryCachePartition.ENABLED.get(settings);
+
             indexModule.forceQueryCacheProvider((indexSettings, nodeCache) -> new QueryCache() {
 
                 @Override
@@ -859,10 +903,21 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
 
                 @Override
                 public Weight doCache(Weight weight, QueryCachingPolicy policy) {
+                    dlsFlsRequestCache.onWeightCreated();
+
                     try {
                         if (dlsFlsValve.hasFlsOrFieldMasking(index().getName())) {
-                            // Do not cache
-                            return weight;
+                            if (!partitionedFlsQueryCache) {
+                                // Do not cache
+                                return weight;
+                            }
+
+                            FlsQueryCachePartition partition = dlsFlsValve.getQueryCachePartition(index().getName());
+                            if (partition.isUnrestricted()) {
+                                return nodeCache.doCache(weight, policy);
+                            } else {
+                                return nodeCache.doCache(partition.wrap(weight), FlsQueryCachePartition.wrap(policy));
+                            }
                         } else {
                             return nodeCache.doCache(weight, policy);
                         }
@@ -937,6 +992,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
 
                 @Override
                 public void onQueryPhase(SearchContext searchContext, long tookInNanos) {
+                    dlsFlsRequestCache.onQueryPhase();
+
                     QuerySearchResult queryResult = searchContext.queryResult();
                     assert queryResult != null;
                     if (!queryResult.hasAggs()) {
@@ -1231,7 +1288,18 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         if (SSLConfig.isSslOnlyMode()) {
             auditLog = new NullAuditLog();
         } else {
-            auditLog = new AuditLogImpl(settings, configPath, localClient, threadPool, resolver, clusterService, environment, userFactory);
+            AuditLogImpl auditLogImpl = new AuditLogImpl(
+                settings,
+                configPath,
+                localClient,
+                threadPool,
+                resolver,
+                clusterService,
+                environment,
+                userFactory
+            );
+            securityStats.register("audit_log", auditLogImpl::getStats);
+            auditLog = auditLogImpl;
         }
 
         sslExceptionHandler = new AuditLogSslExceptionHandler(auditLog);
@@ -1244,17 +1312,22 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
 
         userService = new UserService(cs, cr, passwordHasher, settings, localClient);
 
+        reverseDnsResolver = new ReverseDnsResolver(settings, threadPool);
+        securityStats.register("reverse_dns", () -> reverseDnsResolver.getStats().toMap());
+
         final XFFResolver xffResolver = new XFFResolver(threadPool);
-        backendRegistry = new BackendRegistry(settings, adminDns, xffResolver, auditLog, threadPool, cih);
+        backendRegistry = new BackendRegistry(settings, adminDns, xffResolver, auditLog, threadPool, cih, reverseDnsResolver);
         backendRegistry.registerClusterSettingsChangeListener(clusterService.getClusterSettings());
         cr.subscribeOnChange(configMap -> { backendRegistry.invalidateCache(); });
+        securityStats.register("authorizers", () -> backendRegistry.getAuthorizerStats());
 
         final CompatConfig compatConfig = new CompatConfig(environment, transportPassiveAuthSetting);
 
-        rsIndexHandler = new ResourceSharingIndexHandler(localClient, threadPool, resourcePluginInfo);
+        resourceSharingCache = new ResourceSharingCache(settings);
+        rsIndexHandler = new ResourceSharingIndexHandler(localClient, threadPool, resourcePluginInfo, resourceSharingCache);
 
         RoleMapper roleMapper = new RolesInjector.InjectedRoleMapper(
-            new ConfigurableRoleMapper(cr, settings),
+            new ConfigurableRoleMapper(cr, settings, reverseDnsResolver),
             threadPool.getThreadContext()
         );
         this.roleMapper = roleMapper;
@@ -1281,6 +1354,16 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         this.privilegesConfiguration = privilegesConfiguration;
 
         dlsFlsBaseContext = new DlsFlsBaseContext(privilegesConfiguration, threadPool.getThreadContext(), adminDns);
+        dlsBitsetCache = new DlsBitsetCache(settings);
+        securityStats.register("dls_bitset_cache", () -> dlsBitsetCache.getStatsAsMap());
+        flsFieldDecisionCache = new FlsFieldDecisionCache(settings);
+        securityStats.register("fls_field_decision_cache", () -> flsFieldDecisionCache.getStatsAsMap());
+        dlsFlsRequestCache = new DlsFlsRequestCache(
+            settings,
+            (shardSearchRequest, searchContext) -> GuiceHolder.getIndicesService().canCache(shardSearchRequest, searchContext)
+        );
+        securityStats.register("dls_fls_request_cache", () -> dlsFlsRequestCache.getStatsAsMap());
+        resourceSharingDlsUtils = new ResourceSharingDlsUtils(settings);
 
         if (SSLConfig.isSslOnlyMode()) {
             dlsFlsValve = new DlsFlsRequestValve.NoopDlsFlsRequestValve();
@@ -1289,12 +1372,13 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 settings,
                 localClient,
                 clusterService,
-                xContentRegistry,
                 threadPool,
                 dlsFlsBaseContext,
                 adminDns,
                 resourcePluginInfo,
-                resourceSharingEnabledSetting
+                resourceSharingEnabledSetting,
+                dlsFlsRequestCache,
+                resourceSharingDlsUtils
             );
         }
 
@@ -1406,6 +1490,9 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         components.add(passwordHasher);
         components.add(apiTokenRepository);
 
+        securityStats.register("authentication_executor", authenticationExecutorStats::toMap);
+        components.add(securityStats);
+
         components.add(sslSettingsManager);
         if (isSslCertReloadEnabled(settings) && sslCertificatesHotReloadEnabled(settings)) {
             throw new OpenSearchException(
@@ -1456,6 +1543,14 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
         return builder.build();
     }
 
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        return List.of(
+            Netty4HttpRequestHeaderVerifier.authenticationExecutorBuilder(settings),
+            ReverseDnsResolver.executorBuilder(settings)
+        );
+    }
+
     @Override
     public List<Setting<?>> getSettings() {
         List<Setting<?>> settings = new ArrayList<Setting<?>>();
@@ -1715,6 +1810,23 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     Property.Filtered
                 )
             );
+            settings.add(Setting.boolSetting(ConfigConstants.SECURITY_AUDIT_SPILL_ENABLED, false, Property.NodeScope, Property.Filtered));
+            settings.add(
+                Setting.byteSizeSetting(
+                    ConfigConstants.SECURITY_AUDIT_SPILL_SEGMENT_SIZE,
+                    new ByteSizeValue(64, ByteSizeUnit.MB),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.byteSizeSetting(
+                    ConfigConstants.SECURITY_AUDIT_SPILL_MAX_SIZE,
+                    new ByteSizeValue(1, ByteSizeUnit.GB),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
             settings.add(
                 Setting.boolSetting(ConfigConstants.OPENDISTRO_SECURITY_AUDIT_LOG_REQUEST_BODY, true, Property.NodeScope, Property.Filtered)
             );
@@ -1858,6 +1970,59 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 )
             );
 
+            // Internal OpenSearch bulk mode
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_ENABLED,
+                    false,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS,
+                    500,
+                    1,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.byteSizeSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_SIZE,
+                    new ByteSizeValue(5, ByteSizeUnit.MB),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.timeSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL,
+                    TimeValue.timeValueSeconds(1),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_CONCURRENT_REQUESTS,
+                    1,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES,
+                    3,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+
             // Internal OpenSearch DataStream
             settings.add(
                 Setting.simpleString(
@@ -2072,6 +2237,56 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                     Property.Filtered
                 )
             );
+            settings.add(
+                Setting.boolSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_ENABLED,
+                    false,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.simpleString(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_FORMAT,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.byteSizeSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_SIZE,
+                    new ByteSizeValue(1, ByteSizeUnit.MB),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.timeSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_DELAY,
+                    TimeValue.timeValueSeconds(1),
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX
+                        + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_CONCURRENT_REQUESTS,
+                    4,
+                    1,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
+            settings.add(
+                Setting.intSetting(
+                    ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT_PREFIX + ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_RETRIES,
+                    3,
+                    0,
+                    Property.NodeScope,
+                    Property.Filtered
+                )
+            );
 
             // Log4j
             settings.add(
@@ -2332,7 +2547,23 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
             // resource marked here will be protected, other resources will not be protected with resource sharing model
             // Defaults to no resources as protected
             settings.add(resourceSharingProtectedResourceTypesSetting.getDynamicSetting());
-
+            settings.add(ResourceSharingCache.MAX_SIZE);
+            settings.add(ResourceSharingCache.TTL);
+
+            settings.add(Netty4HttpRequestHeaderVerifier.ASYNC_AUTHENTICATION_ENABLED);
+            settings.add(ConfigurableRoleMapper.MEMO_MAX_SIZE);
+            settings.add(RenderedPatternCache.MAX_SIZE);
+            settings.add(ReverseDnsResolver.POSITIVE_TTL);
+            settings.add(ReverseDnsResolver.NEGATIVE_TTL);
+            settings.add(ReverseDnsResolver.TIMEOUT);
+            settings.add(ReverseDnsResolver.MAX_SIZE);
+            settings.add(DlsBitsetCache.MAX_SIZE);
+            settings.add(FlsFieldDecisionCache.MAX_SIZE);
+            settings.add(DocumentPrivileges.RENDERED_QUERY_CACHE_SIZE);
+            settings.add(ResourceSharingDlsUtils.RESTRICTION_CACHE_SIZE);
+            settings.add(ResourceSharingDlsUtils.RESTRICTION_CACHE_EXPIRE_AFTER_ACCESS);
+            settings.add(FlsQueryCachePartition.ENABLED);
+            settings.add(DlsFlsRequestCache.ENABLED);
             settings.add(UserFactory.Caching.MAX_SIZE);
             settings.add(UserFactory.Caching.EXPIRE_AFTER_ACCESS);
 
@@ -2556,7 +2787,8 @@ public final class OpenSearchSecurityPlugin extends OpenSearchSecuritySSLPlugin
                 sslSettingsManager,
                 evaluateSslExceptionHandler(),
                 securityRestHandler,
-                SSLConfig
+                SSLConfig,
+                authenticationExecutorStats
             )
         );
     }
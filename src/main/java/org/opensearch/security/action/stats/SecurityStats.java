@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Collects the statistics of the security components of this node. Each component registers a section, which is
+ * reported by the security stats API (GET _plugins/_security/stats).
+ * <p>
+ * The sections must only contain values which can be written by StreamOutput.writeGenericValue(), i.e., numbers,
+ * strings, lists and maps.
+ */
+public class SecurityStats {
+    private static final Logger log = LogManager.getLogger(SecurityStats.class);
+
+    private final Map<String, Supplier<Map<String, Object>>> sections = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registers a section of the statistics. The supplier is called for each stats request; it may return null if the
+     * component is currently not active. An already registered section with the same name is replaced.
+     */
+    public void register(String section, Supplier<Map<String, Object>> supplier) {
+        sections.put(section, supplier);
+    }
+
+    /**
+     * Returns the current values of all sections, ordered by section name.
+     */
+    public Map<String, Object> collect() {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Supplier<Map<String, Object>>> entry : sections.entrySet()) {
+            try {
+                Map<String, Object> section = entry.getValue().get();
+                if (section != null) {
+                    result.put(entry.getKey(), section);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not collect security stats section {}", entry.getKey(), e);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import org.opensearch.action.ActionType;
+
+public class SecurityStatsAction extends ActionType<SecurityStatsResponse> {
+
+    public static final SecurityStatsAction INSTANCE = new SecurityStatsAction();
+    public static final String NAME = "cluster:monitor/security/stats";
+
+    protected SecurityStatsAction() {
+        super(NAME, SecurityStatsResponse::new);
+    }
+}
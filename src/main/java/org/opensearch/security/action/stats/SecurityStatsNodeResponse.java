@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+public class SecurityStatsNodeResponse extends BaseNodeResponse implements ToXContentObject {
+
+    private final Map<String, Object> stats;
+
+    public SecurityStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.stats = in.readMap();
+    }
+
+    public SecurityStatsNodeResponse(final DiscoveryNode node, Map<String, Object> stats) {
+        super(node);
+        this.stats = stats;
+    }
+
+    public Map<String, Object> getStats() {
+        return stats;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(stats);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("name", getNode().getName());
+        for (Map.Entry<String, Object> section : stats.entrySet()) {
+            builder.field(section.getKey(), section.getValue());
+        }
+        builder.endObject();
+        return builder;
+    }
+}
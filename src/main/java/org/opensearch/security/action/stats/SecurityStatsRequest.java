@@ -0,0 +1,25 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+public class SecurityStatsRequest extends BaseNodesRequest<SecurityStatsRequest> {
+
+    public SecurityStatsRequest(String... nodesIds) {
+        super(nodesIds);
+    }
+
+    public SecurityStatsRequest(final StreamInput in) throws IOException {
+        super(in);
+    }
+}
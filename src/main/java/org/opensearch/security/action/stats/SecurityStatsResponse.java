@@ -0,0 +1,52 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+public class SecurityStatsResponse extends BaseNodesResponse<SecurityStatsNodeResponse> implements ToXContentFragment {
+
+    public SecurityStatsResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public SecurityStatsResponse(ClusterName clusterName, List<SecurityStatsNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<SecurityStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(SecurityStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<SecurityStatsNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("nodes");
+        for (SecurityStatsNodeResponse node : getNodes()) {
+            builder.field(node.getNode().getId());
+            node.toXContent(builder, params);
+        }
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.config;
+
+import java.nio.file.Path;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.env.Environment;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Configuration of the on-disk buffer which takes audit messages when the queue of the audit thread pool is full.
+ */
+public class SpillConfig {
+    private static final Logger log = LogManager.getLogger(SpillConfig.class);
+
+    public static final SpillConfig DISABLED = new SpillConfig(null, 0, 0);
+
+    private static final String DIRECTORY_NAME = "audit_spill";
+    private static final ByteSizeValue DEFAULT_SEGMENT_SIZE = new ByteSizeValue(64, ByteSizeUnit.MB);
+    private static final ByteSizeValue DEFAULT_MAX_SIZE = new ByteSizeValue(1, ByteSizeUnit.GB);
+    private static final long MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+
+    public SpillConfig(Path directory, long segmentSize, long maxSize) {
+        if (directory != null) {
+            if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Incorrect spill segment size: " + segmentSize + " configured for audit logging.");
+            }
+
+            if (maxSize < segmentSize) {
+                throw new IllegalArgumentException(
+                    "Incorrect spill max size: " + maxSize + " configured for audit logging. It must not be less than the segment size."
+                );
+            }
+        }
+
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public static SpillConfig getConfig(Settings settings, Environment environment) {
+        if (!settings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_SPILL_ENABLED, false)) {
+            return DISABLED;
+        }
+
+        if (environment == null || environment.dataFiles().length == 0) {
+            log.warn(
+                "{} is enabled, but no data path is available. Spilling of audit messages is disabled.",
+                ConfigConstants.SECURITY_AUDIT_SPILL_ENABLED
+            );
+            return DISABLED;
+        }
+
+        ByteSizeValue segmentSize = settings.getAsBytesSize(ConfigConstants.SECURITY_AUDIT_SPILL_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+        ByteSizeValue maxSize = settings.getAsBytesSize(ConfigConstants.SECURITY_AUDIT_SPILL_MAX_SIZE, DEFAULT_MAX_SIZE);
+
+        return new SpillConfig(environment.dataFiles()[0].resolve(DIRECTORY_NAME), segmentSize.getBytes(), maxSize.getBytes());
+    }
+}
@@ -72,7 +72,7 @@ public class AuditLogImpl extends AbstractAuditLog {
     ) {
         super(settings, threadPool, resolver, clusterService, environment, userFactory);
         this.settings = settings;
-        this.messageRouter = new AuditMessageRouter(settings, clientProvider, threadPool, configPath, clusterService);
+        this.messageRouter = new AuditMessageRouter(settings, clientProvider, threadPool, configPath, clusterService, environment);
         this.messageRouterEnabled = this.messageRouter.isEnabled();
 
         log.info("Message routing enabled: {}", this.messageRouterEnabled);
@@ -82,6 +82,13 @@ public class AuditLogImpl extends AbstractAuditLog {
         log.debug("Shutdown hook {} registered", shutdownHook);
     }
 
+    /**
+     * Returns the statistics of the message routing, or null if it is disabled.
+     */
+    public Map<String, Object> getStats() {
+        return messageRouterEnabled ? messageRouter.getStats() : null;
+    }
+
     @Subscribe
     public void setConfig(final AuditConfig auditConfig) {
         enabled = auditConfig.isEnabled() && messageRouterEnabled;
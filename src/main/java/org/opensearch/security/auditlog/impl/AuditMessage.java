@@ -144,6 +144,7 @@ public final class AuditMessage {
     private static final DateTimeFormatter DEFAULT_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZZ");
     private final Map<String, Object> auditInfo = new HashMap<String, Object>(50);
     private final AuditCategory msgCategory;
+    private volatile AuditPayload payload;
 
     public AuditMessage(final AuditCategory msgCategory, final ClusterService clusterService, final Origin origin, final Origin layer) {
         this.msgCategory = Objects.requireNonNull(msgCategory);
@@ -166,6 +167,42 @@ public final class AuditMessage {
         }
     }
 
+    private AuditMessage(final AuditCategory msgCategory) {
+        this.msgCategory = msgCategory;
+    }
+
+    /**
+     * Restores a message from the SMILE encoded payload of a sealed message, such as a message read back from the
+     * audit spill log. The restored message is sealed.
+     */
+    public static AuditMessage fromSmile(final BytesReference bytes) {
+        final Map<String, Object> fields = XContentHelper.convertToMap(bytes, false, XContentType.SMILE).v2();
+        final AuditMessage message = new AuditMessage(AuditCategory.valueOf((String) fields.get(CATEGORY)));
+        for (Entry<String, Object> entry : fields.entrySet()) {
+            message.auditInfo.put(entry.getKey(), restoreType(entry.getKey(), entry.getValue()));
+        }
+        message.seal();
+        return message;
+    }
+
+    /**
+     * Enums and arrays become strings and lists when serialized; this restores the types the getters expect.
+     */
+    private static Object restoreType(final String key, final Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        return switch (key) {
+            case CATEGORY -> AuditCategory.valueOf((String) value);
+            case ORIGIN, REQUEST_LAYER -> Origin.valueOf((String) value);
+            case REST_REQUEST_METHOD -> RestRequest.Method.valueOf((String) value);
+            case COMPLIANCE_OPERATION -> Operation.valueOf((String) value);
+            case INDICES, RESOLVED_INDICES -> ((List<?>) value).toArray(new String[0]);
+            default -> value;
+        };
+    }
+
     public void addRemoteAddress(TransportAddress remoteAddress) {
         if (remoteAddress != null && remoteAddress.getAddress() != null) {
             auditInfo.put(REMOTE_ADDRESS, remoteAddress.getAddress());
@@ -469,7 +506,33 @@ public final class AuditMessage {
     }
 
     public Map<String, Object> getAsMap() {
-        return new HashMap<>(this.auditInfo);
+        return new HashMap<>(fields());
+    }
+
+    /**
+     * Takes an immutable snapshot of the current state of this message. The snapshot is shared by all sinks the
+     * message is routed to; thus, the message is serialized at most once per format. Changes made to this message
+     * after sealing are not reflected in getAsMap() or the serialized forms of the message.
+     */
+    public synchronized AuditPayload seal() {
+        if (payload == null) {
+            payload = new AuditPayload(auditInfo);
+        }
+        return payload;
+    }
+
+    /**
+     * Returns the snapshot created by seal(). If the message has not been sealed yet, a new snapshot is created for
+     * the caller, which is not shared.
+     */
+    public AuditPayload getPayload() {
+        final AuditPayload payload = this.payload;
+        return payload != null ? payload : new AuditPayload(auditInfo);
+    }
+
+    private Map<String, Object> fields() {
+        final AuditPayload payload = this.payload;
+        return payload != null ? payload.getFields() : auditInfo;
     }
 
     public String getInitiatingUser() {
@@ -518,6 +581,11 @@ public final class AuditMessage {
 
     @Override
     public String toString() {
+        final AuditPayload payload = this.payload;
+        if (payload != null) {
+            return payload.toJson();
+        }
+
         try {
             return JsonXContent.contentBuilder().map(getAsMap()).toString();
         } catch (final IOException e) {
@@ -531,8 +599,9 @@ public final class AuditMessage {
             return List.of(toJson());
         }
 
-        final List<String> indices = Arrays.asList((String[]) auditInfo.getOrDefault(INDICES, new String[0]));
-        final List<String> resolvedIndices = Arrays.asList((String[]) auditInfo.getOrDefault(RESOLVED_INDICES, new String[0]));
+        final Map<String, Object> fields = fields();
+        final List<String> indices = Arrays.asList((String[]) fields.getOrDefault(INDICES, new String[0]));
+        final List<String> resolvedIndices = Arrays.asList((String[]) fields.getOrDefault(RESOLVED_INDICES, new String[0]));
 
         // Calculates sum and max at the same time
         final IntSummaryStatistics indicesCharsStats = indices.stream().mapToInt(String::length).summaryStatistics();
@@ -545,7 +614,9 @@ public final class AuditMessage {
             return List.of(toJson());
         }
 
-        auditInfo.put(SPLIT_MESSAGE_IDENTIFIER, UUID.randomUUID().toString());
+        // The message itself is not modified, as it might be concurrently serialized by other sinks
+        final Map<String, Object> splitFields = new HashMap<>(fields);
+        splitFields.put(SPLIT_MESSAGE_IDENTIFIER, UUID.randomUUID().toString());
 
         final int longestIndexName = Math.max(indicesCharsStats.getMax(), resolvedIndicesCharsStats.getMax());
 
@@ -593,15 +664,15 @@ public final class AuditMessage {
             resolvedIndicesRemaining -= resolvedIndicesPartition.size();
 
             // Create and add new split message with the indices and resolvedIndices partitions
-            splitMessages.add(getSplitMessage(indicesPartition, resolvedIndicesPartition));
+            splitMessages.add(getSplitMessage(splitFields, indicesPartition, resolvedIndicesPartition));
         }
 
         return splitMessages;
     }
 
-    private String getSplitMessage(final List<String> indices, final List<String> resolvedIndices) {
+    private String getSplitMessage(final Map<String, Object> fields, final List<String> indices, final List<String> resolvedIndices) {
         // Create a shallow copy of the audit message information, which will have indices information overwritten
-        final HashMap<String, Object> splitAuditInfo = new HashMap<>(auditInfo);
+        final HashMap<String, Object> splitAuditInfo = new HashMap<>(fields);
 
         // If either indices or resolvedIndices is empty, remove the corresponding field from the split message.
         // Otherwise, overwrite the shallow copy with the split lists.
@@ -626,7 +697,7 @@ public final class AuditMessage {
 
     public String toPrettyString() {
         try {
-            return JsonXContent.contentBuilder().prettyPrint().map(getAsMap()).toString();
+            return JsonXContent.contentBuilder().prettyPrint().map(fields()).toString();
         } catch (final IOException e) {
             throw ExceptionsHelper.convertToOpenSearchException(e);
         }
@@ -634,7 +705,7 @@ public final class AuditMessage {
 
     public String toText() {
         StringBuilder builder = new StringBuilder();
-        for (Entry<String, Object> entry : getAsMap().entrySet()) {
+        for (Entry<String, Object> entry : fields().entrySet()) {
             addIfNonEmpty(builder, entry.getKey(), stringOrNull(entry.getValue()));
         }
         return builder.toString();
@@ -646,7 +717,7 @@ public final class AuditMessage {
 
     public String toUrlParameters() {
         URIBuilder builder = new URIBuilder();
-        for (Entry<String, Object> entry : getAsMap().entrySet()) {
+        for (Entry<String, Object> entry : fields().entrySet()) {
             builder.addParameter(entry.getKey(), stringOrNull(entry.getValue()));
         }
         return builder.toString();
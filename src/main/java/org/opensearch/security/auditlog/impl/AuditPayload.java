@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * An immutable snapshot of the fields of an AuditMessage. It is created when the message is routed to the sinks;
+ * the serialized forms of the message are computed lazily by the first sink needing them and then shared by all
+ * further sinks and fallback sinks the message is passed to.
+ */
+public final class AuditPayload {
+
+    private final Map<String, Object> fields;
+    private final Supplier<BytesReference> json = Suppliers.memoize(() -> encode(XContentType.JSON));
+    private final Supplier<BytesReference> smile = Suppliers.memoize(() -> encode(XContentType.SMILE));
+    private final Supplier<String> jsonString = Suppliers.memoize(() -> json.get().utf8ToString());
+
+    AuditPayload(Map<String, Object> fields) {
+        this.fields = Collections.unmodifiableMap(new HashMap<>(fields));
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    public String toJson() {
+        return jsonString.get();
+    }
+
+    public BytesReference toJsonBytes() {
+        return json.get();
+    }
+
+    public BytesReference toSmileBytes() {
+        return smile.get();
+    }
+
+    private BytesReference encode(XContentType xContentType) {
+        try (XContentBuilder builder = XContentBuilder.builder(xContentType.xContent())) {
+            builder.map(fields);
+            return BytesReference.bytes(builder);
+        } catch (final IOException e) {
+            throw ExceptionsHelper.convertToOpenSearchException(e);
+        }
+    }
+}
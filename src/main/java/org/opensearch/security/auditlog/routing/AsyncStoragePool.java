@@ -11,26 +11,87 @@
 
 package org.opensearch.security.auditlog.routing;
 
-import java.util.concurrent.ExecutorService;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.security.auditlog.config.SpillConfig;
 import org.opensearch.security.auditlog.config.ThreadPoolConfig;
 import org.opensearch.security.auditlog.impl.AuditMessage;
 import org.opensearch.security.auditlog.sink.AuditLogSink;
 
+/**
+ * Stores audit messages asynchronously on sinks which do not handle backpressure themselves.
+ * <p>
+ * If spilling is enabled, messages which do not fit into the queue of the thread pool are appended to a spill log
+ * per sink, located in the data path of the node. A background thread replays the spilled messages to the sink. A
+ * message is only removed from the spill log after the sink has stored it; while the sink fails, the messages stay in
+ * the spill log instead of going to the fallback sink, and replaying is paused with an exponentially growing delay.
+ * While a spill log is not empty, new messages for the sink are spilled as well, so that they do not overtake the
+ * spilled messages. Only if spilling is disabled or the spill log is full, messages are written to the fallback sink
+ * on the calling thread.
+ * <p>
+ * The spill logs of the sinks passed to the constructor are opened right away; spilled messages left over from a
+ * previous run are thus replayed on startup, regardless of whether new messages arrive for the respective sink.
+ */
 public class AsyncStoragePool {
     private static final Logger log = LogManager.getLogger(AsyncStoragePool.class);
-    private final ExecutorService pool;
+    private static final long REPLAY_INTERVAL_MS = 100;
+    private static final long REPLAY_MIN_BACKOFF_MS = 1000;
+    private static final long REPLAY_MAX_BACKOFF_MS = 60000;
+    private final ThreadPoolExecutor pool;
     private final ThreadPoolConfig threadPoolConfig;
+    private final SpillConfig spillConfig;
+    private final Map<AuditLogSink, Optional<SpillLog>> spillLogs = new ConcurrentHashMap<>();
+    private final Map<AuditLogSink, ReplayBackoff> replayBackoffs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService replayExecutor;
+    private final LongAdder spilledMessages = new LongAdder();
+    private final LongAdder replayedMessages = new LongAdder();
 
     public AsyncStoragePool(final ThreadPoolConfig threadPoolConfig) {
+        this(threadPoolConfig, SpillConfig.DISABLED);
+    }
+
+    public AsyncStoragePool(final ThreadPoolConfig threadPoolConfig, final SpillConfig spillConfig) {
+        this(threadPoolConfig, spillConfig, List.of());
+    }
+
+    public AsyncStoragePool(final ThreadPoolConfig threadPoolConfig, final SpillConfig spillConfig, final Collection<AuditLogSink> sinks) {
         this.threadPoolConfig = threadPoolConfig;
+        this.spillConfig = spillConfig;
         this.pool = createExecutor(threadPoolConfig);
+
+        if (spillConfig.isEnabled()) {
+            for (AuditLogSink sink : sinks) {
+                if (!sink.isHandlingBackpressure()) {
+                    getSpillLog(sink);
+                }
+            }
+
+            this.replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit_spill_replay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.replayExecutor.scheduleWithFixedDelay(this::replay, 0, REPLAY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } else {
+            this.replayExecutor = null;
+        }
     }
 
     public ThreadPoolConfig getConfig() {
@@ -38,14 +99,18 @@ public class AsyncStoragePool {
     }
 
     public void submit(AuditMessage message, AuditLogSink sink) {
+        final SpillLog spillLog = spillConfig.isEnabled() ? getSpillLog(sink) : null;
+
+        if (spillLog != null && !spillLog.isEmpty() && spill(spillLog, message, sink)) {
+            return;
+        }
+
         try {
-            pool.submit(() -> {
-                sink.store(message);
-                if (log.isTraceEnabled()) {
-                    log.trace("stored on delegate {} asynchronously", sink.getClass().getSimpleName());
-                }
-            });
+            pool.submit(() -> store(message, sink));
         } catch (Exception ex) {
+            if (spillLog != null && spill(spillLog, message, sink)) {
+                return;
+            }
             log.error(
                 "Could not submit audit message {} to thread pool for delegate '{}' due to '{}'",
                 message,
@@ -58,6 +123,127 @@ public class AsyncStoragePool {
         }
     }
 
+    private static void store(AuditMessage message, AuditLogSink sink) {
+        sink.store(message);
+        if (log.isTraceEnabled()) {
+            log.trace("stored on delegate {} asynchronously", sink.getClass().getSimpleName());
+        }
+    }
+
+    private SpillLog getSpillLog(AuditLogSink sink) {
+        return spillLogs.computeIfAbsent(sink, s -> {
+            try {
+                return Optional.of(
+                    new SpillLog(
+                        spillConfig.getDirectory().resolve(directoryName(s.getName())),
+                        spillConfig.getSegmentSize(),
+                        spillConfig.getMaxSize()
+                    )
+                );
+            } catch (IOException e) {
+                log.error("Could not open audit spill log for sink '{}'; spilling is disabled for this sink", s.getName(), e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Sink names stem from the audit configuration and might contain characters unsuitable for file names. Unsuitable
+     * characters are replaced and the name is lower-cased to be safe on case-insensitive file systems; the hash of the
+     * original name keeps names apart which only differ in such characters.
+     */
+    static String directoryName(String sinkName) {
+        return sinkName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_\\-]", "_") + "_" + Integer.toHexString(sinkName.hashCode());
+    }
+
+    private boolean spill(SpillLog spillLog, AuditMessage message, AuditLogSink sink) {
+        try {
+            boolean wasEmpty = spillLog.isEmpty();
+
+            if (!spillLog.append(message.getPayload().toSmileBytes(), System.currentTimeMillis())) {
+                return false;
+            }
+
+            spilledMessages.increment();
+            if (wasEmpty) {
+                log.warn("Audit queue is full; spilling audit messages for sink '{}' to disk", sink.getName());
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Could not spill audit message for sink '{}'", sink.getName(), e);
+            return false;
+        }
+    }
+
+    private void replay() {
+        for (Map.Entry<AuditLogSink, Optional<SpillLog>> entry : spillLogs.entrySet()) {
+            entry.getValue().ifPresent(spillLog -> replay(entry.getKey(), spillLog));
+        }
+    }
+
+    private void replay(AuditLogSink sink, SpillLog spillLog) {
+        final ReplayBackoff backoff = replayBackoffs.computeIfAbsent(sink, s -> new ReplayBackoff());
+
+        if (System.nanoTime() < backoff.nextAttemptNanos) {
+            return;
+        }
+
+        SpillLog.Record record;
+
+        while ((record = spillLog.peek()) != null) {
+            final AuditMessage message;
+            try {
+                message = AuditMessage.fromSmile(new BytesArray(record.data()));
+            } catch (Exception e) {
+                log.error("Could not read spilled audit message for sink '{}'; the message is dropped", sink.getName(), e);
+                spillLog.remove();
+                continue;
+            }
+
+            if (!sink.storeWithoutFallback(message)) {
+                // Keep the message in the spill log until the sink has recovered
+                backoff.failed();
+                log.warn("Could not replay spilled audit messages to sink '{}'; retrying in {} ms", sink.getName(), backoff.delayMs);
+                return;
+            }
+
+            spillLog.remove();
+            backoff.reset();
+            replayedMessages.increment();
+
+            if (spillLog.isEmpty()) {
+                log.info("Replayed all spilled audit messages for sink '{}'", sink.getName());
+            }
+        }
+    }
+
+    /**
+     * Returns the current number of queued messages, the size of the spilled messages and the age of the oldest
+     * spilled message.
+     */
+    public Stats getStats() {
+        long spillBytes = 0;
+        long oldestTimestamp = Long.MAX_VALUE;
+
+        for (Optional<SpillLog> spillLog : spillLogs.values()) {
+            if (spillLog.isPresent()) {
+                spillBytes += spillLog.get().getPendingBytes();
+                long timestamp = spillLog.get().getOldestTimestamp();
+                if (timestamp >= 0) {
+                    oldestTimestamp = Math.min(oldestTimestamp, timestamp);
+                }
+            }
+        }
+
+        return new Stats(
+            pool.getQueue().size(),
+            spillBytes,
+            oldestTimestamp != Long.MAX_VALUE ? Math.max(0, System.currentTimeMillis() - oldestTimestamp) : 0,
+            spilledMessages.sum(),
+            replayedMessages.sum()
+        );
+    }
+
     private static ThreadPoolExecutor createExecutor(final ThreadPoolConfig config) {
         if (log.isDebugEnabled()) {
             log.debug(
@@ -77,6 +263,18 @@ public class AsyncStoragePool {
 
     public void close() {
 
+        if (replayExecutor != null) {
+            replayExecutor.shutdownNow();
+
+            try {
+                if (!replayExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.error("Audit spill replay did not terminate");
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         if (pool != null) {
             pool.shutdown(); // Disable new tasks from being submitted
 
@@ -94,5 +292,44 @@ public class AsyncStoragePool {
                 Thread.currentThread().interrupt();
             }
         }
+
+        // Messages which were not replayed yet remain on disk and are replayed after a restart
+        spillLogs.values().forEach(spillLog -> spillLog.ifPresent(SpillLog::close));
+    }
+
+    /**
+     * The delay before the next replay attempt for a sink which failed to store a replayed message. Only accessed by
+     * the replay thread.
+     */
+    private static final class ReplayBackoff {
+        private long delayMs;
+        private long nextAttemptNanos;
+
+        void failed() {
+            delayMs = delayMs == 0 ? REPLAY_MIN_BACKOFF_MS : Math.min(delayMs * 2, REPLAY_MAX_BACKOFF_MS);
+            nextAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        }
+
+        void reset() {
+            delayMs = 0;
+            nextAttemptNanos = 0;
+        }
+    }
+
+    public record Stats(int queueDepth, long spillBytes, long replayLagMillis, long spilledMessages, long replayedMessages) {
+        public Map<String, Object> toMap() {
+            return ImmutableMap.of(
+                "queue_depth",
+                queueDepth,
+                "spill_size_in_bytes",
+                spillBytes,
+                "replay_lag_in_millis",
+                replayLagMillis,
+                "spilled_messages",
+                spilledMessages,
+                "replayed_messages",
+                replayedMessages
+            );
+        }
     }
 }
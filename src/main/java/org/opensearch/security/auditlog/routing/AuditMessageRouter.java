@@ -16,6 +16,7 @@ import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
@@ -24,6 +25,8 @@ import org.apache.logging.log4j.Logger;
 
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.env.Environment;
+import org.opensearch.security.auditlog.config.SpillConfig;
 import org.opensearch.security.auditlog.config.ThreadPoolConfig;
 import org.opensearch.security.auditlog.impl.AuditCategory;
 import org.opensearch.security.auditlog.impl.AuditMessage;
@@ -51,9 +54,28 @@ public class AuditMessageRouter {
         final Path configPath,
         final ClusterService clusterService
     ) {
+        this(settings, clientProvider, threadPool, configPath, clusterService, null);
+    }
+
+    public AuditMessageRouter(
+        final Settings settings,
+        final Client clientProvider,
+        ThreadPool threadPool,
+        final Path configPath,
+        final ClusterService clusterService,
+        final Environment environment
+    ) {
+        this(new SinkProvider(settings, clientProvider, threadPool, configPath, clusterService), settings, environment);
+    }
+
+    private AuditMessageRouter(SinkProvider sinkProvider, Settings settings, Environment environment) {
         this(
-            new SinkProvider(settings, clientProvider, threadPool, configPath, clusterService),
-            new AsyncStoragePool(ThreadPoolConfig.getConfig(settings))
+            sinkProvider,
+            new AsyncStoragePool(
+                ThreadPoolConfig.getConfig(settings),
+                SpillConfig.getConfig(settings, environment),
+                sinkProvider.getSinks()
+            )
         );
     }
 
@@ -82,6 +104,8 @@ public class AuditMessageRouter {
         checkState(categorySinks != null, "categorySinks is null, prior to route() call enableRoutes().");
         // if we do not run the compliance features or no extended configuration is present, only log to default.
         List<AuditLogSink> auditLogSinks = categorySinks.get(msg.getCategory());
+        // all sinks and their fallbacks share the same snapshot and serialized forms of the message
+        msg.seal();
         if (auditLogSinks == null) {
             store(defaultSink, msg);
         } else {
@@ -89,6 +113,22 @@ public class AuditMessageRouter {
         }
     }
 
+    /**
+     * Returns the statistics of the asynchronous storage and of the sinks tracking their deliveries, as reported by
+     * the security stats API.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> sinkStats = new TreeMap<>();
+        for (AuditLogSink sink : sinkProvider.getSinks()) {
+            Map<String, Object> stats = sink.getStats();
+            if (stats != null) {
+                sinkStats.put(sink.getName(), stats);
+            }
+        }
+
+        return Map.of("storage_pool", storagePool.getStats().toMap(), "sinks", sinkStats);
+    }
+
     public final void close() {
         log.info("Closing {}", getClass().getSimpleName());
         // shutdown storage pool
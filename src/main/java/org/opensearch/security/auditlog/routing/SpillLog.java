@@ -0,0 +1,340 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.routing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.core.common.bytes.BytesReference;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only FIFO log of serialized audit messages, stored in memory-mapped segment files of a fixed size.
+ * <p>
+ * Each record consists of a header (length, CRC32 checksum and the time the record was appended) followed by the
+ * message bytes. New segment files are zero-filled; a length of 0 thus marks the end of the written part of a segment.
+ * Removing a record negates its length in the segment file; segments are deleted as soon as all of their records have
+ * been removed, and when the log is closed.
+ * <p>
+ * When a log is opened, reading continues with the first record of the oldest segment which has not been removed.
+ * Only if the operating system crashes before the mapped segments are written back, removed records might be read
+ * again. Records with an invalid checksum, as left by a crash in the middle of an append, end the respective segment.
+ */
+final class SpillLog implements Closeable {
+    private static final Logger log = LogManager.getLogger(SpillLog.class);
+
+    static final int HEADER_SIZE = 16;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentId;
+    private long pendingBytes;
+    private boolean closed;
+
+    SpillLog(Path directory, int segmentSize, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+
+        Files.createDirectories(directory);
+
+        final List<Path> existingSegments;
+        try (Stream<Path> files = Files.list(directory)) {
+            existingSegments = files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (Path file : existingSegments) {
+            Segment segment = Segment.open(file);
+            segments.addLast(segment);
+            pendingBytes += segment.writePosition - segment.readPosition;
+            nextSegmentId = Math.max(nextSegmentId, segmentId(file) + 1);
+        }
+
+        if (pendingBytes > 0) {
+            log.info("Found {} bytes of spilled audit messages in {}", pendingBytes, directory);
+        }
+    }
+
+    /**
+     * Appends the given bytes to the log. Returns false if the log has reached its maximum size.
+     */
+    synchronized boolean append(BytesReference bytes, long timestamp) throws IOException {
+        final int recordSize = HEADER_SIZE + bytes.length();
+
+        if (closed || recordSize > segmentSize || pendingBytes + recordSize > maxBytes) {
+            return false;
+        }
+
+        Segment segment = segments.peekLast();
+
+        if (segment == null || !segment.writable || segment.buffer.capacity() - segment.writePosition < recordSize) {
+            if (segment != null) {
+                segment.seal();
+            }
+            segment = Segment.create(directory.resolve(segmentName(nextSegmentId++)), segmentSize);
+            segments.addLast(segment);
+        }
+
+        segment.write(BytesReference.toBytes(bytes), timestamp);
+        pendingBytes += recordSize;
+        return true;
+    }
+
+    /**
+     * Returns the oldest record of the log without removing it or returns null if the log is empty.
+     */
+    synchronized Record peek() {
+        Segment segment;
+
+        while ((segment = segments.peekFirst()) != null) {
+            Record record = segment.read();
+
+            if (record != null) {
+                return record;
+            }
+
+            if (segment.writable) {
+                // The reader caught up with the writer
+                return null;
+            }
+
+            segments.removeFirst();
+            segment.delete();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the oldest record of the log, i.e., the record last returned by peek(). The removal is persisted in the
+     * segment file; the record is thus not read again after the log has been re-opened.
+     */
+    synchronized void remove() {
+        if (closed) {
+            // The record stays on disk and is read again after the log has been re-opened
+            return;
+        }
+
+        Segment segment = segments.peekFirst();
+
+        if (segment == null || segment.readPosition >= segment.writePosition) {
+            throw new IllegalStateException("The spill log is empty");
+        }
+
+        pendingBytes -= segment.consume();
+
+        if (!segment.writable && segment.readPosition >= segment.writePosition) {
+            segments.removeFirst();
+            segment.delete();
+        }
+    }
+
+    /**
+     * Removes and returns the oldest record of the log or returns null if the log is empty.
+     */
+    synchronized Record poll() {
+        Record record = peek();
+
+        if (record != null) {
+            remove();
+        }
+
+        return record;
+    }
+
+    synchronized boolean isEmpty() {
+        return pendingBytes == 0;
+    }
+
+    synchronized long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Returns the time the oldest record of the log was appended or -1 if the log is empty.
+     */
+    synchronized long getOldestTimestamp() {
+        for (Segment segment : segments) {
+            if (segment.readPosition < segment.writePosition) {
+                return segment.buffer.getLong(segment.readPosition + 8);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            for (Segment segment : segments) {
+                if (segment.readPosition >= segment.writePosition) {
+                    // All records have been removed; nothing needs to be read after a restart
+                    segment.delete();
+                } else {
+                    segment.buffer.force();
+                }
+            }
+            segments.clear();
+        }
+    }
+
+    private static String segmentName(long id) {
+        return String.format(Locale.ROOT, "%019d", id) + SEGMENT_SUFFIX;
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    record Record(byte[] data, long timestamp) {
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        private boolean writable;
+
+        private Segment(Path file, MappedByteBuffer buffer, boolean writable) {
+            this.file = file;
+            this.buffer = buffer;
+            this.writable = writable;
+        }
+
+        static Segment create(Path file, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+                return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), true);
+            }
+        }
+
+        /**
+         * Opens an existing segment for reading. Appending always starts a new segment.
+         */
+        static Segment open(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                Segment segment = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()), false);
+                segment.writePosition = segment.scan();
+                return segment;
+            }
+        }
+
+        /**
+         * Determines the end of the written part of the segment and the position of the first record which has not
+         * been removed.
+         */
+        private int scan() {
+            int position = 0;
+
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+
+                if (length < 0 && -length <= buffer.capacity() - position - HEADER_SIZE && position == readPosition) {
+                    // A removed record
+                    position += HEADER_SIZE - length;
+                    readPosition = position;
+                    continue;
+                }
+
+                if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+                    break;
+                }
+
+                byte[] data = new byte[length];
+                buffer.get(position + HEADER_SIZE, data);
+
+                if (checksum(data) != buffer.getInt(position + 4)) {
+                    log.warn("Spilled audit messages in {} after position {} are corrupted and will be skipped", file, position);
+                    break;
+                }
+
+                position += HEADER_SIZE + length;
+            }
+
+            return position;
+        }
+
+        void write(byte[] data, long timestamp) {
+            final int position = writePosition;
+            buffer.put(position + HEADER_SIZE, data);
+            buffer.putLong(position + 8, timestamp);
+            buffer.putInt(position + 4, checksum(data));
+            // The length is written last, so that a partially written record is never taken as complete
+            buffer.putInt(position, data.length);
+            writePosition += HEADER_SIZE + data.length;
+        }
+
+        Record read() {
+            if (readPosition >= writePosition) {
+                return null;
+            }
+
+            int length = buffer.getInt(readPosition);
+            byte[] data = new byte[length];
+            buffer.get(readPosition + HEADER_SIZE, data);
+            return new Record(data, buffer.getLong(readPosition + 8));
+        }
+
+        /**
+         * Marks the record at the read position as removed and returns its size.
+         */
+        int consume() {
+            int length = buffer.getInt(readPosition);
+            buffer.putInt(readPosition, -length);
+            readPosition += HEADER_SIZE + length;
+            return HEADER_SIZE + length;
+        }
+
+        void seal() {
+            writable = false;
+            buffer.force();
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete replayed audit spill segment {}", file, e);
+            }
+        }
+    }
+}
@@ -17,12 +17,17 @@ import java.util.Map;
 import com.google.common.collect.ImmutableMap;
 
 import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexRequestBuilder;
 import org.opensearch.action.support.WriteRequest.RefreshPolicy;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext.StoredContext;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.security.auditlog.impl.AuditMessage;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HeaderHelper;
@@ -35,6 +40,7 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
     private final ThreadPool threadPool;
     protected final ClusterService clusterService;
     private final DocWriteRequest.OpType storeOpType;
+    private final AuditLogBulkWriter bulkWriter;
     final static Map<String, Object> indexSettings = ImmutableMap.of("index.number_of_shards", 1, "index.auto_expand_replicas", "0-1");
 
     public AbstractInternalOpenSearchSink(
@@ -52,11 +58,20 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
         this.threadPool = threadPool;
         this.storeOpType = storeOpType;
         this.clusterService = clusterService;
+
+        final Settings sinkSettings = getSinkSettings(settingsPrefix);
+        if (sinkSettings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_ENABLED, false)) {
+            this.bulkWriter = new AuditLogBulkWriter(name, sinkSettings, this::executeBulk, fallbackSink);
+        } else {
+            this.bulkWriter = null;
+        }
     }
 
     @Override
     public void close() throws IOException {
-
+        if (bulkWriter != null) {
+            bulkWriter.close();
+        }
     }
 
     protected abstract boolean createIndexIfAbsent(String indexName);
@@ -80,9 +95,21 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
                     return false;
                 }
 
+                if (bulkWriter != null) {
+                    final IndexRequest indexRequest = new IndexRequest(indexName).source(
+                        msg.getPayload().toSmileBytes(),
+                        XContentType.SMILE
+                    );
+                    if (this.storeOpType != null) {
+                        indexRequest.opType(this.storeOpType);
+                    }
+                    bulkWriter.add(msg, indexRequest);
+                    return true;
+                }
+
                 final IndexRequestBuilder irb = clientProvider.prepareIndex(indexName)
                     .setRefreshPolicy(RefreshPolicy.IMMEDIATE)
-                    .setSource(msg.getAsMap());
+                    .setSource(msg.getPayload().toSmileBytes(), XContentType.SMILE);
                 threadPool.getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_CONF_REQUEST_HEADER, "true");
                 irb.setTimeout(TimeValue.timeValueMinutes(1));
                 if (this.storeOpType != null) {
@@ -96,4 +123,12 @@ public abstract class AbstractInternalOpenSearchSink extends AuditLogSink {
             }
         }
     }
+
+    private void executeBulk(final BulkRequest bulkRequest, final ActionListener<BulkResponse> listener) {
+        try (StoredContext ctx = threadPool.getThreadContext().stashContext()) {
+            threadPool.getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_CONF_REQUEST_HEADER, "true");
+            bulkRequest.timeout(TimeValue.timeValueMinutes(1));
+            clientProvider.bulk(bulkRequest, listener);
+        }
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkProcessor;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
+
+/**
+ * Buffers audit messages of the internal OpenSearch sinks and writes them as _bulk requests.
+ * <p>
+ * A bulk request is sent as soon as the configured number of actions or bytes is reached or the flush
+ * interval elapses. Bulk requests rejected with back pressure are retried with exponential backoff; the
+ * number of concurrently executing bulk requests is bounded, so that callers block once too many requests
+ * are in flight. Each buffered message gets a generated document id, which allows to map failed bulk items
+ * back to their messages. These are then handed one by one to the fallback sink.
+ */
+final class AuditLogBulkWriter implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(AuditLogBulkWriter.class);
+
+    static final int DEFAULT_MAX_ACTIONS = 500;
+    static final ByteSizeValue DEFAULT_MAX_SIZE = new ByteSizeValue(5, ByteSizeUnit.MB);
+    static final TimeValue DEFAULT_FLUSH_INTERVAL = TimeValue.timeValueSeconds(1);
+    static final int DEFAULT_CONCURRENT_REQUESTS = 1;
+    static final int DEFAULT_MAX_RETRIES = 3;
+    static final TimeValue DEFAULT_RETRY_INITIAL_DELAY = TimeValue.timeValueMillis(100);
+
+    private final String sinkName;
+    private final AuditLogSink fallbackSink;
+    private final BulkProcessor bulkProcessor;
+    private final Map<String, AuditMessage> pendingMessages = new ConcurrentHashMap<>();
+
+    AuditLogBulkWriter(
+        final String sinkName,
+        final Settings sinkSettings,
+        final BiConsumer<BulkRequest, ActionListener<BulkResponse>> bulkConsumer,
+        final AuditLogSink fallbackSink
+    ) {
+        this.sinkName = sinkName;
+        this.fallbackSink = fallbackSink;
+
+        final int maxActions = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, DEFAULT_MAX_ACTIONS);
+        final ByteSizeValue maxSize = sinkSettings.getAsBytesSize(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_SIZE, DEFAULT_MAX_SIZE);
+        final TimeValue flushInterval = sinkSettings.getAsTime(
+            ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL,
+            DEFAULT_FLUSH_INTERVAL
+        );
+        final int concurrentRequests = sinkSettings.getAsInt(
+            ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_CONCURRENT_REQUESTS,
+            DEFAULT_CONCURRENT_REQUESTS
+        );
+        final int maxRetries = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES, DEFAULT_MAX_RETRIES);
+
+        this.bulkProcessor = BulkProcessor.builder(bulkConsumer, new Listener())
+            .setBulkActions(maxActions)
+            .setBulkSize(maxSize)
+            .setFlushInterval(flushInterval)
+            .setConcurrentRequests(concurrentRequests)
+            .setBackoffPolicy(BackoffPolicy.exponentialBackoff(DEFAULT_RETRY_INITIAL_DELAY, maxRetries))
+            .build();
+
+        log.info(
+            "Audit log sink {} writes in bulk mode (max_actions: {}, max_size: {}, flush_interval: {}, concurrent_requests: {})",
+            sinkName,
+            maxActions,
+            maxSize,
+            flushInterval,
+            concurrentRequests
+        );
+    }
+
+    /**
+     * Adds the given index request for the given message to the buffer. The request must not have an id yet.
+     * This might block if the maximum number of concurrent bulk requests is currently executing.
+     */
+    void add(final AuditMessage msg, final IndexRequest indexRequest) {
+        final String id = UUIDs.base64UUID();
+        indexRequest.id(id);
+        pendingMessages.put(id, msg);
+
+        try {
+            bulkProcessor.add(indexRequest);
+        } catch (RuntimeException e) {
+            pendingMessages.remove(id);
+            throw e;
+        }
+    }
+
+    void flush() {
+        bulkProcessor.flush();
+    }
+
+    int getPendingCount() {
+        return pendingMessages.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!bulkProcessor.awaitClose(30, TimeUnit.SECONDS)) {
+                log.warn("Timed out while waiting for pending audit log bulk requests of sink {}", sinkName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Everything which could not be written until now would be lost otherwise
+        for (String id : pendingMessages.keySet()) {
+            storeInFallback(pendingMessages.remove(id));
+        }
+    }
+
+    private void storeInFallback(AuditMessage msg) {
+        if (msg == null) {
+            return;
+        }
+
+        if (fallbackSink != null) {
+            fallbackSink.store(msg);
+        } else {
+            log.error("Unable to write audit log {} in sink {} and no fallback sink available", msg, sinkName);
+        }
+    }
+
+    private class Listener implements BulkProcessor.Listener {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+            if (log.isTraceEnabled()) {
+                log.trace("Executing audit log bulk request {} with {} actions", executionId, request.numberOfActions());
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            if (response.hasFailures()) {
+                log.error(
+                    "Unable to index audit log items in bulk request {}; failed items will be written to the fallback sink: {}",
+                    executionId,
+                    response.buildFailureMessage()
+                );
+            }
+
+            for (BulkItemResponse item : response.getItems()) {
+                AuditMessage msg = pendingMessages.remove(item.getId());
+
+                if (item.isFailed()) {
+                    storeInFallback(msg);
+                }
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            log.error("Unable to execute audit log bulk request {}; items will be written to the fallback sink", executionId, failure);
+
+            for (DocWriteRequest<?> docWriteRequest : request.requests()) {
+                storeInFallback(pendingMessages.remove(docWriteRequest.id()));
+            }
+        }
+    }
+}
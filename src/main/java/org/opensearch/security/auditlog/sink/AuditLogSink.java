@@ -12,6 +12,7 @@
 package org.opensearch.security.auditlog.sink;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -69,6 +70,14 @@ public abstract class AuditLogSink {
         return name;
     }
 
+    /**
+     * Returns the delivery statistics of this sink, as reported by the security stats API. Null if the sink does not
+     * track any.
+     */
+    public Map<String, Object> getStats() {
+        return null;
+    }
+
     public AuditLogSink getFallbackSink() {
         return fallbackSink;
     }
@@ -79,6 +88,31 @@ public abstract class AuditLogSink {
         }
     }
 
+    /**
+     * Stores a message on this sink, without retries and without resorting to the fallback sink. For callers which
+     * keep the message themselves until it has been stored.
+     *
+     * @return false if the message could not be stored
+     */
+    public final boolean storeWithoutFallback(AuditMessage msg) {
+        try {
+            return doStore(msg);
+        } catch (Exception e) {
+            log.error("Could not store audit message on {}", getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Stores a message on the fallback sink. For sinks which only learn asynchronously that a message could not be
+     * delivered.
+     */
+    protected final void storeOnFallback(AuditMessage msg) {
+        if (fallbackSink == null || !fallbackSink.doStoreWithRetry(msg)) {
+            System.err.println(msg.toPrettyString());
+        }
+    }
+
     private boolean doStoreWithRetry(AuditMessage msg) {
         // retryCount of 0 means no retry (which is: try exactly once) - delayMs is ignored
         // retryCount of 1 means: try and if this fails wait delayMs and try once again
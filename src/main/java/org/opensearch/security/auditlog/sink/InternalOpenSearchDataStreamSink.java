@@ -11,7 +11,6 @@
 
 package org.opensearch.security.auditlog.sink;
 
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -137,11 +136,6 @@ public final class InternalOpenSearchDataStreamSink extends AbstractInternalOpen
         return true;
     }
 
-    @Override
-    public void close() throws IOException {
-
-    }
-
     public boolean doStore(final AuditMessage msg) {
 
         if (!this.initDataStream()) {
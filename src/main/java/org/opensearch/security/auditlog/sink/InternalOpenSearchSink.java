@@ -11,7 +11,6 @@
 
 package org.opensearch.security.auditlog.sink;
 
-import java.io.IOException;
 import java.nio.file.Path;
 
 import org.opensearch.ResourceAlreadyExistsException;
@@ -90,11 +89,6 @@ public final class InternalOpenSearchSink extends AbstractInternalOpenSearchSink
         }
     }
 
-    @Override
-    public void close() throws IOException {
-
-    }
-
     @Override
     public boolean doStore(final AuditMessage msg) {
         return super.doStore(msg, getExpandedIndexName(this.indexPattern, this.index));
@@ -0,0 +1,341 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.secure_sm.AccessController;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+
+/**
+ * Sends audit messages to a webhook in batches, using an asynchronous HTTP client with a pool of keep-alive
+ * connections. For https URLs, HTTP/2 is negotiated if the server supports it.
+ * <p>
+ * Messages are collected until the batch body reaches the maximum size or the oldest message of the batch reaches the
+ * maximum delay. Up to maxConcurrentRequests batches are sent concurrently; a full batch which cannot be sent yet
+ * blocks the audit thread which filled it, which in turn causes backpressure on the audit thread pool. Failed batches
+ * are retried with an exponential backoff; the messages of batches which still fail are passed to the failure handler.
+ */
+final class WebhookBatchSender implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(WebhookBatchSender.class);
+    private static final long RETRY_BASE_DELAY_MS = 500;
+
+    enum Format {
+        NDJSON(ContentType.create("application/x-ndjson", StandardCharsets.UTF_8), "", "\n", "\n"),
+        JSON_ARRAY(ContentType.APPLICATION_JSON, "[", ",", "]");
+
+        private final ContentType contentType;
+        private final byte[] start;
+        private final byte[] separator;
+        private final byte[] end;
+
+        Format(ContentType contentType, String start, String separator, String end) {
+            this.contentType = contentType;
+            this.start = start.getBytes(StandardCharsets.UTF_8);
+            this.separator = separator.getBytes(StandardCharsets.UTF_8);
+            this.end = end.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final URI url;
+    private final String authorizationHeader;
+    private final Format format;
+    private final long maxBytes;
+    private final long maxDelayNanos;
+    private final int maxConcurrentRequests;
+    private final int maxRetries;
+    private final Consumer<AuditMessage> failureHandler;
+    private final Semaphore requestPermits;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+    private final LongAdder sentBatches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder totalDeliveryLatencyMillis = new LongAdder();
+    private final LongAccumulator maxDeliveryLatencyMillis = new LongAccumulator(Math::max, 0);
+
+    private final Object batchLock = new Object();
+    private Batch batch;
+    private volatile boolean closed;
+
+    WebhookBatchSender(
+        CloseableHttpAsyncClient httpClient,
+        URI url,
+        String authorizationHeader,
+        Format format,
+        long maxBytes,
+        long maxDelayMillis,
+        int maxConcurrentRequests,
+        int maxRetries,
+        Consumer<AuditMessage> failureHandler
+    ) {
+        this.httpClient = httpClient;
+        this.url = url;
+        this.authorizationHeader = authorizationHeader;
+        this.format = format;
+        this.maxBytes = maxBytes;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxRetries = maxRetries;
+        this.failureHandler = failureHandler;
+        this.requestPermits = new Semaphore(maxConcurrentRequests);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit_webhook_batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AccessController.doPrivileged(httpClient::start);
+
+        long checkIntervalMillis = Math.max(10, maxDelayMillis / 4);
+        scheduler.scheduleWithFixedDelay(this::flushIfDue, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds the JSON representation of the given message to the current batch. Sends the batch if it is full.
+     */
+    void add(AuditMessage msg, String json) {
+        final Batch fullBatch;
+
+        synchronized (batchLock) {
+            if (batch == null) {
+                batch = new Batch();
+            }
+
+            batch.add(msg, json.getBytes(StandardCharsets.UTF_8));
+
+            if (batch.body.size() < maxBytes) {
+                return;
+            }
+
+            fullBatch = batch;
+            batch = null;
+        }
+
+        requestPermits.acquireUninterruptibly();
+        send(fullBatch, 0);
+    }
+
+    private void flushIfDue() {
+        // Only take a permit without blocking, as retries are scheduled on the same thread
+        if (!requestPermits.tryAcquire()) {
+            return;
+        }
+
+        final Batch dueBatch;
+
+        synchronized (batchLock) {
+            if (batch != null && System.nanoTime() - batch.createdNanos >= maxDelayNanos) {
+                dueBatch = batch;
+                batch = null;
+            } else {
+                dueBatch = null;
+            }
+        }
+
+        if (dueBatch != null) {
+            send(dueBatch, 0);
+        } else {
+            requestPermits.release();
+        }
+    }
+
+    /**
+     * Sends the given batch. The caller must hold a request permit, which is released once the batch was delivered
+     * or finally failed.
+     */
+    private void send(Batch batch, int attempt) {
+        SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.post(url).setBody(batch.toBody(), format.contentType);
+
+        if (authorizationHeader != null) {
+            requestBuilder.addHeader("Authorization", authorizationHeader);
+        }
+
+        final SimpleHttpRequest request = requestBuilder.build();
+
+        try {
+            sentBatches.increment();
+            AccessController.doPrivileged(() -> httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    if (response.getCode() >= 200 && response.getCode() < 300) {
+                        delivered(batch);
+                    } else {
+                        failed(batch, attempt, "server returned status " + response.getCode());
+                    }
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    WebhookBatchSender.this.failed(batch, attempt, e.getMessage());
+                }
+
+                @Override
+                public void cancelled() {
+                    WebhookBatchSender.this.failed(batch, attempt, "request was cancelled");
+                }
+            }));
+        } catch (Exception e) {
+            failed(batch, attempt, e.getMessage());
+        }
+    }
+
+    private void delivered(Batch batch) {
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.createdNanos);
+        deliveredMessages.add(batch.messages.size());
+        totalDeliveryLatencyMillis.add(latencyMillis * batch.messages.size());
+        maxDeliveryLatencyMillis.accumulate(latencyMillis);
+        requestPermits.release();
+    }
+
+    private void failed(Batch batch, int attempt, String reason) {
+        if (attempt < maxRetries && !closed) {
+            log.debug(
+                "Could not send batch of {} audit messages to webhook URL '{}' due to '{}'; retrying",
+                batch.messages.size(),
+                url,
+                reason
+            );
+            try {
+                retries.increment();
+                scheduler.schedule(() -> send(batch, attempt + 1), RETRY_BASE_DELAY_MS << attempt, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // The sender is being closed
+            }
+        }
+
+        log.error("Cannot send batch of {} audit messages to webhook URL '{}' due to '{}'", batch.messages.size(), url, reason);
+        failedMessages.add(batch.messages.size());
+        requestPermits.release();
+        batch.messages.forEach(failureHandler);
+    }
+
+    Stats getStats() {
+        long delivered = deliveredMessages.sum();
+        return new Stats(
+            delivered,
+            failedMessages.sum(),
+            sentBatches.sum(),
+            retries.sum(),
+            delivered > 0 ? totalDeliveryLatencyMillis.sum() / delivered : 0,
+            maxDeliveryLatencyMillis.get()
+        );
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        final Batch remainingBatch;
+        synchronized (batchLock) {
+            remainingBatch = batch;
+            batch = null;
+        }
+
+        try {
+            if (remainingBatch != null && requestPermits.tryAcquire(10, TimeUnit.SECONDS)) {
+                send(remainingBatch, 0);
+            }
+            // Wait for the requests in flight
+            if (!requestPermits.tryAcquire(maxConcurrentRequests, 30, TimeUnit.SECONDS)) {
+                log.warn("Not all batches of audit messages were sent to webhook URL '{}' before closing", url);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        scheduler.shutdownNow();
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private final class Batch {
+        private final long createdNanos = System.nanoTime();
+        private final List<AuditMessage> messages = new ArrayList<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private byte[] completeBody;
+
+        void add(AuditMessage msg, byte[] json) {
+            body.writeBytes(messages.isEmpty() ? format.start : format.separator);
+            body.writeBytes(json);
+            messages.add(msg);
+        }
+
+        /**
+         * Completes the body. No messages may be added afterwards.
+         */
+        byte[] toBody() {
+            if (completeBody == null) {
+                body.writeBytes(format.end);
+                completeBody = body.toByteArray();
+            }
+            return completeBody;
+        }
+    }
+
+    /**
+     * @param meanDeliveryLatencyMillis the mean time from adding a message to a batch until the batch was delivered
+     */
+    record Stats(
+        long deliveredMessages,
+        long failedMessages,
+        long sentBatches,
+        long retries,
+        long meanDeliveryLatencyMillis,
+        long maxDeliveryLatencyMillis
+    ) {
+        Map<String, Object> toMap() {
+            return ImmutableMap.of(
+                "delivered_messages",
+                deliveredMessages,
+                "failed_messages",
+                failedMessages,
+                "sent_batches",
+                sentBatches,
+                "retries",
+                retries,
+                "mean_delivery_latency_in_millis",
+                meanDeliveryLatencyMillis,
+                "max_delivery_latency_in_millis",
+                maxDeliveryLatencyMillis
+            );
+        }
+    }
+}
@@ -13,23 +13,31 @@ package org.opensearch.security.auditlog.sink;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
 import org.apache.hc.client5.http.ssl.DefaultHostnameVerifier;
@@ -38,12 +46,16 @@ import org.apache.hc.client5.http.ssl.TrustAllStrategy;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
 import org.apache.hc.core5.reactor.ssl.SSLBufferMode;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.http.HttpStatus;
 
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.secure_sm.AccessController;
 import org.opensearch.security.auditlog.impl.AuditMessage;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
@@ -64,6 +76,7 @@ public class WebhookSink extends AuditLogSink {
     private final String username;
     private final String password;
     private final String basicAuthHeader;
+    private WebhookBatchSender batchSender;
 
     public WebhookSink(
         final String name,
@@ -126,6 +139,46 @@ public class WebhookSink extends AuditLogSink {
                 webhookFormat = WebhookFormat.TEXT;
             }
         }
+
+        if (sinkSettings.getAsBoolean(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_ENABLED, false) && this.webhookUrl != null) {
+            if (webhookFormat == WebhookFormat.JSON) {
+                batchSender = createBatchSender(sinkSettings);
+            } else {
+                log.warn("Batching is only supported for webhook format 'json', sending audit messages one by one");
+            }
+        }
+    }
+
+    private WebhookBatchSender createBatchSender(Settings sinkSettings) {
+        final String format = sinkSettings.get(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_FORMAT, "ndjson");
+        WebhookBatchSender.Format batchFormat;
+        try {
+            batchFormat = WebhookBatchSender.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            log.error("Unknown webhook batch format {}, falling back to 'ndjson'", format);
+            batchFormat = WebhookBatchSender.Format.NDJSON;
+        }
+
+        final int maxConcurrentRequests = sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_CONCURRENT_REQUESTS, 4);
+        final CloseableHttpAsyncClient asyncHttpClient = getAsyncHttpClient(maxConcurrentRequests);
+
+        if (asyncHttpClient == null) {
+            log.error("Could not create async HttpClient, sending audit messages one by one");
+            return null;
+        }
+
+        return new WebhookBatchSender(
+            asyncHttpClient,
+            URI.create(webhookUrl),
+            basicAuthHeader,
+            batchFormat,
+            sinkSettings.getAsBytesSize(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_SIZE, new ByteSizeValue(1, ByteSizeUnit.MB))
+                .getBytes(),
+            sinkSettings.getAsTime(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_DELAY, TimeValue.timeValueSeconds(1)).millis(),
+            maxConcurrentRequests,
+            sinkSettings.getAsInt(ConfigConstants.SECURITY_AUDIT_WEBHOOK_BATCH_MAX_RETRIES, 3),
+            this::storeOnFallback
+        );
     }
 
     @Override
@@ -138,6 +191,11 @@ public class WebhookSink extends AuditLogSink {
             log.debug("Message is null");
             return true;
         }
+        if (batchSender != null) {
+            // Delivery failures are handled asynchronously by the batch sender
+            batchSender.add(msg, formatJson(msg));
+            return true;
+        }
 
         return AccessController.doPrivileged(() -> {
             boolean success = false;
@@ -171,6 +229,9 @@ public class WebhookSink extends AuditLogSink {
 
     @Override
     public void close() throws IOException {
+        if (batchSender != null) {
+            batchSender.close();
+        }
         if (httpClient != null) {
             httpClient.close();
         }
@@ -427,6 +488,63 @@ public class WebhookSink extends AuditLogSink {
         }
     }
 
+    /**
+     * Returns delivery statistics if batching is enabled; null otherwise.
+     */
+    WebhookBatchSender.Stats getBatchStats() {
+        return batchSender != null ? batchSender.getStats() : null;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        WebhookBatchSender.Stats batchStats = getBatchStats();
+        return batchStats != null ? batchStats.toMap() : null;
+    }
+
+    CloseableHttpAsyncClient getAsyncHttpClient(int maxConnections) {
+
+        int timeout = 5;
+
+        try {
+            PoolingAsyncClientConnectionManagerBuilder cmb = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(
+                    ConnectionConfig.custom()
+                        .setConnectTimeout(timeout, TimeUnit.SECONDS)
+                        .setSocketTimeout(timeout, TimeUnit.SECONDS)
+                        .build()
+                )
+                // HTTP/2 if the server supports it via ALPN, HTTP/1.1 with keep-alive otherwise
+                .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.NEGOTIATE).build());
+
+            if (!verifySSL) {
+                SSLContext sslContext = SSLContextBuilder.create().loadTrustMaterial(TrustAllStrategy.INSTANCE).build();
+                cmb.setTlsStrategy(
+                    new DefaultClientTlsStrategy(sslContext, null, null, SSLBufferMode.STATIC, NoopHostnameVerifier.INSTANCE)
+                );
+            } else if (effectiveTruststore != null) {
+                SSLContext sslContext = SSLContextBuilder.create().loadTrustMaterial(effectiveTruststore, null).build();
+                cmb.setTlsStrategy(
+                    new DefaultClientTlsStrategy(sslContext, null, null, SSLBufferMode.STATIC, new DefaultHostnameVerifier())
+                );
+            }
+
+            return HttpAsyncClients.custom()
+                .setConnectionManager(cmb.build())
+                .setDefaultRequestConfig(
+                    RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout, TimeUnit.SECONDS)
+                        .setResponseTimeout(timeout, TimeUnit.SECONDS)
+                        .build()
+                )
+                .build();
+        } catch (Exception ex) {
+            log.error("Could not create async HTTPClient due to {}", ex.getMessage(), ex);
+            return null;
+        }
+    }
+
     public static enum WebhookFormat {
         URL_PARAMETER_GET(HttpMethod.GET, ContentType.TEXT_PLAIN),
         URL_PARAMETER_POST(HttpMethod.POST, ContentType.TEXT_PLAIN),
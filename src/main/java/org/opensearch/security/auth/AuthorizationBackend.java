@@ -26,6 +26,8 @@
 
 package org.opensearch.security.auth;
 
+import java.util.Map;
+
 import org.opensearch.OpenSearchSecurityException;
 import org.opensearch.security.user.User;
 
@@ -65,4 +67,12 @@ public interface AuthorizationBackend {
      */
     User addRoles(User user, AuthenticationContext context) throws OpenSearchSecurityException;
 
+    /**
+     * Returns the statistics of this authorizer, as reported by the security stats API. Null if the authorizer does
+     * not track any.
+     */
+    default Map<String, Object> getStats() {
+        return null;
+    }
+
 }
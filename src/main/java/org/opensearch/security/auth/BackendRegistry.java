@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
@@ -70,6 +71,7 @@ import org.opensearch.security.http.XFFResolver;
 import org.opensearch.security.securityconf.DynamicConfigModel;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HostAndCidrMatcher;
+import org.opensearch.security.support.ReverseDnsResolver;
 import org.opensearch.security.support.SecuritySettings;
 import org.opensearch.security.user.AuthCredentials;
 import org.opensearch.security.user.User;
@@ -108,6 +110,7 @@ public class BackendRegistry {
     private final ThreadPool threadPool;
     private final UserInjector userInjector;
     private final ClusterInfoHolder clusterInfoHolder;
+    private final ReverseDnsResolver reverseDnsResolver;
     private int ttlInMin;
     private Cache<AuthCredentials, User> userCache; // rest standard
     private Cache<String, User> restImpersonationCache; // used for rest impersonation
@@ -160,7 +163,8 @@ public class BackendRegistry {
         final XFFResolver xffResolver,
         final AuditLog auditLog,
         final ThreadPool threadPool,
-        final ClusterInfoHolder clusterInfoHolder
+        final ClusterInfoHolder clusterInfoHolder,
+        final ReverseDnsResolver reverseDnsResolver
     ) {
         this.adminDns = adminDns;
         this.opensearchSettings = settings;
@@ -168,6 +172,7 @@ public class BackendRegistry {
         this.auditLog = auditLog;
         this.threadPool = threadPool;
         this.clusterInfoHolder = clusterInfoHolder;
+        this.reverseDnsResolver = reverseDnsResolver;
         this.userInjector = new UserInjector(settings, threadPool, auditLog, xffResolver);
         this.restAuthDomains = Collections.emptySortedSet();
         this.ipAuthFailureListeners = Collections.emptyList();
@@ -189,6 +194,30 @@ public class BackendRegistry {
         return ttlInMin;
     }
 
+    /**
+     * Returns the statistics of the configured REST authorizers keyed by their type, as reported by the security stats
+     * API. Null if no authorizer tracks any statistics.
+     */
+    public Map<String, Object> getAuthorizerStats() {
+        final Set<AuthorizationBackend> authorizers = restAuthorizers;
+        if (authorizers == null) {
+            return null;
+        }
+
+        final Map<String, Object> result = new TreeMap<>();
+        for (final AuthorizationBackend authorizer : authorizers) {
+            final Map<String, Object> stats = authorizer.getStats();
+            if (stats != null) {
+                String key = authorizer.getType();
+                for (int i = 2; result.containsKey(key); i++) {
+                    key = authorizer.getType() + "_" + i;
+                }
+                result.put(key, stats);
+            }
+        }
+        return result.isEmpty() ? null : result;
+    }
+
     public void invalidateCache() {
         userCache.invalidateAll();
         restImpersonationCache.invalidateAll();
@@ -909,7 +938,7 @@ public class BackendRegistry {
         return false;
     }
 
-    private static boolean matchesIgnoreHostPatterns(
+    private boolean matchesIgnoreHostPatterns(
         ClientBlockRegistry<InetAddress> clientBlockRegistry,
         InetAddress address,
         String hostResolverMode
@@ -918,7 +947,7 @@ public class BackendRegistry {
         if (ignoreHostsMatcher == null || address == null) {
             return false;
         }
-        return ignoreHostsMatcher.matches(address, hostResolverMode);
+        return ignoreHostsMatcher.matches(address, hostResolverMode, reverseDnsResolver);
 
     }
 
@@ -86,7 +86,13 @@ public abstract class AbstractHTTPJwtAuthenticator implements HTTPAuthenticator
 
         try {
             this.keyProvider = this.initKeyProvider(settings, configPath);
-            jwtVerifier = new JwtVerifier(keyProvider, clockSkewToleranceSeconds, requiredIssuer, requiredAudience);
+            jwtVerifier = new JwtVerifier(
+                keyProvider,
+                clockSkewToleranceSeconds,
+                requiredIssuer,
+                requiredAudience,
+                new VerifiedJwtCache<>(settings, JwtVerifier::getExpirationTime)
+            );
 
         } catch (Exception e) {
             log.error("Error creating JWT authenticator. JWT authentication will not work", e);
@@ -67,6 +67,7 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
     private final List<String> requiredAudience;
     private final String requireIssuer;
     private final int clockSkewToleranceSeconds;
+    private final VerifiedJwtCache<Claims> verifiedJwtCache;
 
     public HTTPJwtAuthenticator(final Settings settings, final Path configPath) {
         super();
@@ -84,6 +85,7 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
             "jwt_clock_skew_tolerance_seconds",
             AbstractHTTPJwtAuthenticator.DEFAULT_CLOCK_SKEW_TOLERANCE_SECONDS
         );
+        verifiedJwtCache = new VerifiedJwtCache<>(settings, Claims::getExpiration);
 
         if (!jwtHeaderName.equals(AUTHORIZATION)) {
             deprecationLog.deprecate(
@@ -158,46 +160,63 @@ public class HTTPJwtAuthenticator implements HTTPAuthenticator {
             }
         }
 
-        for (JwtParser jwtParser : jwtParsers) {
-            try {
+        final Claims claims;
 
-                final Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
+        try {
+            // The signing keys are static, thus there is no key generation to be considered
+            claims = verifiedJwtCache.getOrVerify(jwtToken, 0, this::parseVerifiedClaims);
+        } catch (WeakKeyException e) {
+            log.error("Cannot authenticate user with JWT because of ", e);
+            return null;
+        } catch (BadJWTException e) {
+            log.debug("Unable to authenticate JWT Token with any configured signing key");
+            return null;
+        }
 
-                if (!requiredAudience.isEmpty()) {
-                    assertValidAudienceClaim(claims);
-                }
+        final String subject = extractSubject(claims);
 
-                final String subject = extractSubject(claims);
+        if (subject == null) {
+            log.error("No subject found in JWT token");
+            return null;
+        }
 
-                if (subject == null) {
-                    log.error("No subject found in JWT token");
-                    return null;
-                }
+        final String[] roles = extractRoles(claims);
 
-                final String[] roles = extractRoles(claims);
+        final AuthCredentials ac = new AuthCredentials(subject, roles).markComplete();
 
-                final AuthCredentials ac = new AuthCredentials(subject, roles).markComplete();
+        for (Entry<String, Object> claim : claims.entrySet()) {
+            String key = "attr.jwt." + claim.getKey();
+            Object value = claim.getValue();
 
-                for (Entry<String, Object> claim : claims.entrySet()) {
-                    String key = "attr.jwt." + claim.getKey();
-                    Object value = claim.getValue();
+            flattenClaimsToAttributes(key, value, ac);
+        }
 
-                    flattenClaimsToAttributes(key, value, ac);
-                }
+        return ac;
+    }
 
-                return ac;
+    /**
+     * Returns the claims of the given token if it can be verified with any of the configured signing keys.
+     */
+    private Claims parseVerifiedClaims(String jwtToken) throws BadJWTException {
+        for (JwtParser jwtParser : jwtParsers) {
+            try {
+                final Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
 
+                if (!requiredAudience.isEmpty()) {
+                    assertValidAudienceClaim(claims);
+                }
+
+                return claims;
             } catch (WeakKeyException e) {
-                log.error("Cannot authenticate user with JWT because of ", e);
-                return null;
+                throw e;
             } catch (Exception e) {
                 if (log.isDebugEnabled()) {
                     log.debug("Invalid or expired JWT token.", e);
                 }
             }
         }
-        log.debug("Unable to authenticate JWT Token with any configured signing key");
-        return null;
+
+        throw new BadJWTException("JWT could not be verified with any configured signing key");
     }
 
     private void assertValidAudienceClaim(Claims claims) throws BadJWTException {
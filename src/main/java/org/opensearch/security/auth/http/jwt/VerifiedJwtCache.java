@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auth.http.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.opensearch.common.settings.Settings;
+
+/**
+ * Caches JWTs whose signature and claims have been successfully verified. This way, the relatively expensive parsing
+ * and signature verification needs to be done only once per token instead of once per request.
+ * <p>
+ * The cache is keyed by the SHA-256 digest of the raw token; it does not keep the raw tokens. Entries expire at the
+ * expiration time of the token or after the configured TTL, whichever comes first. Failed verifications are never cached.
+ * <p>
+ * Entries are bound to a key generation as provided by KeyProvider.getKeyGeneration(). If the generation changes,
+ * because keys have been rotated out of the key set, all entries are invalidated.
+ *
+ * @param <T> the type of the verified token representation
+ */
+public class VerifiedJwtCache<T> {
+
+    /**
+     * The maximum number of cached tokens. A value of 0 disables the cache.
+     */
+    public static final String MAX_SIZE_SETTING = "verified_token_cache_size";
+
+    /**
+     * The maximum time a verified token is kept in the cache.
+     */
+    public static final String TTL_SETTING = "verified_token_cache_ttl_seconds";
+
+    static final int DEFAULT_MAX_SIZE = 1000;
+    static final int DEFAULT_TTL_SECONDS = 60;
+
+    private final Cache<HashCode, Entry<T>> cache;
+    private final long ttlMillis;
+    private final Function<T, Date> expirationTime;
+    private final LongSupplier currentTimeMillis;
+    private volatile long keyGeneration;
+
+    /**
+     * @param settings the settings of the authenticator
+     * @param expirationTime returns the expiration time of a verified token or null if it has none
+     */
+    public VerifiedJwtCache(Settings settings, Function<T, Date> expirationTime) {
+        this(
+            settings.getAsInt(MAX_SIZE_SETTING, DEFAULT_MAX_SIZE),
+            TimeUnit.SECONDS.toMillis(settings.getAsInt(TTL_SETTING, DEFAULT_TTL_SECONDS)),
+            expirationTime,
+            System::currentTimeMillis
+        );
+    }
+
+    /**
+     * Returns a cache instance which does not cache anything.
+     */
+    public static <T> VerifiedJwtCache<T> disabled() {
+        return new VerifiedJwtCache<>(0, 0, (verifiedToken) -> null, System::currentTimeMillis);
+    }
+
+    VerifiedJwtCache(int maxSize, long ttlMillis, Function<T, Date> expirationTime, LongSupplier currentTimeMillis) {
+        this.ttlMillis = ttlMillis;
+        this.expirationTime = expirationTime;
+        this.currentTimeMillis = currentTimeMillis;
+
+        if (maxSize > 0 && ttlMillis > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS).build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the verified token for the given raw token. If it is not cached, the given verifier is called; its result
+     * is cached if it returns normally.
+     *
+     * @param token the raw token
+     * @param keyGeneration the current generation of the keys used for verification
+     * @param verifier parses and verifies the token; must throw an exception if the token is not valid
+     */
+    public <E extends Exception> T getOrVerify(String token, long keyGeneration, Verifier<T, E> verifier) throws E {
+        if (cache == null) {
+            return verifier.verify(token);
+        }
+
+        if (keyGeneration != this.keyGeneration) {
+            this.keyGeneration = keyGeneration;
+            cache.invalidateAll();
+        }
+
+        HashCode digest = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+        long now = currentTimeMillis.getAsLong();
+        Entry<T> entry = cache.getIfPresent(digest);
+
+        if (entry != null) {
+            if (entry.expiresAt() > now && entry.keyGeneration() == keyGeneration) {
+                return entry.verifiedToken();
+            }
+
+            cache.invalidate(digest);
+        }
+
+        T verifiedToken = verifier.verify(token);
+        long expiresAt = now + ttlMillis;
+        Date tokenExpirationTime = expirationTime.apply(verifiedToken);
+
+        if (tokenExpirationTime != null) {
+            expiresAt = Math.min(expiresAt, tokenExpirationTime.getTime());
+        }
+
+        if (expiresAt > now) {
+            cache.put(digest, new Entry<>(verifiedToken, expiresAt, keyGeneration));
+        }
+
+        return verifiedToken;
+    }
+
+    long size() {
+        return cache != null ? cache.size() : 0;
+    }
+
+    @FunctionalInterface
+    public interface Verifier<T, E extends Exception> {
+        T verify(String token) throws E;
+    }
+
+    private record Entry<T>(T verifiedToken, long expiresAt, long keyGeneration) {
+    }
+}
@@ -13,6 +13,7 @@ package org.opensearch.security.auth.http.jwt.keybyoidc;
 
 import java.text.ParseException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 
@@ -21,6 +22,8 @@ import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.security.auth.http.jwt.VerifiedJwtCache;
+
 import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSVerifier;
@@ -43,15 +46,43 @@ public class JwtVerifier {
     private final int clockSkewToleranceSeconds;
     private final String requiredIssuer;
     private final List<String> requiredAudience;
+    private final VerifiedJwtCache<SignedJWT> verifiedJwtCache;
 
     public JwtVerifier(KeyProvider keyProvider, int clockSkewToleranceSeconds, String requiredIssuer, List<String> requiredAudience) {
+        this(keyProvider, clockSkewToleranceSeconds, requiredIssuer, requiredAudience, VerifiedJwtCache.disabled());
+    }
+
+    public JwtVerifier(
+        KeyProvider keyProvider,
+        int clockSkewToleranceSeconds,
+        String requiredIssuer,
+        List<String> requiredAudience,
+        VerifiedJwtCache<SignedJWT> verifiedJwtCache
+    ) {
         this.keyProvider = keyProvider;
         this.clockSkewToleranceSeconds = clockSkewToleranceSeconds;
         this.requiredIssuer = requiredIssuer;
         this.requiredAudience = requiredAudience;
+        this.verifiedJwtCache = verifiedJwtCache;
     }
 
     public SignedJWT getVerifiedJwtToken(String encodedJwt) throws BadCredentialsException {
+        return verifiedJwtCache.getOrVerify(encodedJwt, keyProvider.getKeyGeneration(), this::verifyJwtToken);
+    }
+
+    /**
+     * Returns the expiration time of the given token, which must have been verified before.
+     */
+    public static Date getExpirationTime(SignedJWT jwt) {
+        try {
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            return claims != null ? claims.getExpirationTime() : null;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private SignedJWT verifyJwtToken(String encodedJwt) throws BadCredentialsException {
         try {
             SignedJWT jwt = SignedJWT.parse(encodedJwt);
             String escapedKid = jwt.getHeader().getKeyID();
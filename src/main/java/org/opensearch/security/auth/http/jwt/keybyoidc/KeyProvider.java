@@ -17,4 +17,12 @@ public interface KeyProvider {
     JWK getKey(String kid) throws AuthenticatorUnavailableException, BadCredentialsException;
 
     JWK getKeyAfterRefresh(String kid) throws AuthenticatorUnavailableException, BadCredentialsException;
+
+    /**
+     * Returns a number which changes whenever keys have been removed from or replaced in the key set. Tokens which
+     * have been verified with an older generation need to be verified again.
+     */
+    default long getKeyGeneration() {
+        return 0;
+    }
 }
@@ -37,6 +37,7 @@ public class SelfRefreshingKeySet implements KeyProvider {
         new LinkedBlockingQueue<Runnable>()
     );
     private volatile JWKSet jsonWebKeys = new JWKSet();
+    private volatile long keyGeneration = 0;
     private boolean refreshInProgress = false;
     private long refreshCount = 0;
     private long queuedGetCount = 0;
@@ -219,6 +220,10 @@ public class SelfRefreshingKeySet implements KeyProvider {
                         log.info("KeySetProvider finished");
 
                         synchronized (SelfRefreshingKeySet.this) {
+                            if (!newKeys.getKeys().containsAll(jsonWebKeys.getKeys())) {
+                                // Keys have been rotated out; tokens verified with these must not be trusted any more
+                                keyGeneration++;
+                            }
                             jsonWebKeys = newKeys;
                             refreshInProgress = false;
                             lastRefreshFailure = null;
@@ -283,6 +288,11 @@ public class SelfRefreshingKeySet implements KeyProvider {
         }
     }
 
+    @Override
+    public long getKeyGeneration() {
+        return keyGeneration;
+    }
+
     public int getRequestTimeoutMs() {
         return requestTimeoutMs;
     }
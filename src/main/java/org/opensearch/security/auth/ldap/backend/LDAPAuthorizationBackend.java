@@ -47,6 +47,7 @@ import org.opensearch.security.auth.AuthenticationContext;
 import org.opensearch.security.auth.AuthorizationBackend;
 import org.opensearch.security.auth.ldap.util.ConfigConstants;
 import org.opensearch.security.auth.ldap.util.LdapHelper;
+import org.opensearch.security.auth.ldap.util.NestedGroupResolver;
 import org.opensearch.security.auth.ldap.util.Utils;
 import org.opensearch.security.ssl.util.SSLConfigConstants;
 import org.opensearch.security.support.PemKeyReader;
@@ -105,6 +106,7 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
 
     private final String[] returnAttributes;
     private final boolean shouldFollowReferrals;
+    private final NestedGroupResolver nestedGroupResolver;
 
     public LDAPAuthorizationBackend(final Settings settings, final Path configPath) {
         this.settings = settings;
@@ -119,7 +121,10 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
         this.returnAttributes = settings.getAsList(ConfigConstants.LDAP_RETURN_ATTRIBUTES, Arrays.asList(ReturnAttributes.ALL.value()))
             .toArray(new String[0]);
         this.shouldFollowReferrals = settings.getAsBoolean(ConfigConstants.FOLLOW_REFERRALS, ConfigConstants.FOLLOW_REFERRALS_DEFAULT);
-
+        // This backend uses a single unpooled connection per request; thus, nested roles are not resolved in parallel
+        this.nestedGroupResolver = this.nestedRoleMatcher != null
+            ? new NestedGroupResolver(settings, this.nestedRoleMatcher, this.roleBaseSettings, this::findParentGroups, null)
+            : null;
     }
 
     public static void checkConnection(final ConnectionConfig connectionConfig, String bindDn, byte[] password) throws Exception {
@@ -893,30 +898,7 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
                 }
 
                 final Set<LdapName> nestedReturn = new HashSet<>(ldapRoles);
-
-                for (final LdapName roleLdapName : ldapRoles) {
-                    Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(roleLdapName);
-
-                    if (nameRoleSearchBaseKeys == null) {
-                        log.error("Could not find roleSearchBaseKeys for " + roleLdapName + "; existing: " + resultRoleSearchBaseKeys);
-                        continue;
-                    }
-
-                    final Set<LdapName> nestedRoles = resolveNestedRoles(
-                        roleLdapName,
-                        connection,
-                        userRoleNames,
-                        0,
-                        rolesearchEnabled,
-                        nameRoleSearchBaseKeys
-                    );
-
-                    if (isTraceEnabled) {
-                        log.trace("{} nested roles for {}", nestedRoles.size(), roleLdapName);
-                    }
-
-                    nestedReturn.addAll(nestedRoles);
-                }
+                nestedReturn.addAll(nestedGroupResolver.resolve(connection, resultRoleSearchBaseKeys));
 
                 for (final LdapName roleLdapName : nestedReturn) {
                     final String role = getRoleFromEntry(connection, roleLdapName, roleName);
@@ -970,140 +952,110 @@ public class LDAPAuthorizationBackend implements AuthorizationBackend {
 
     }
 
-    protected Set<LdapName> resolveNestedRoles(
-        final LdapName roleDn,
+    /**
+     * Returns the groups the given group is a direct member of; see NestedGroupResolver.ParentGroupLookup.
+     */
+    private Set<LdapName> findParentGroups(
         final Connection ldapConnection,
-        String userRoleName,
-        int depth,
-        final boolean rolesearchEnabled,
-        Set<Map.Entry<String, Settings>> roleSearchBaseSettingsSet
-    ) throws OpenSearchSecurityException, LdapException {
-
-        if (nestedRoleMatcher.test(roleDn.toString())) {
-
-            if (log.isTraceEnabled()) {
-                log.trace("Filter nested role {}", roleDn);
-            }
-
-            return Collections.emptySet();
-        }
-
-        depth++;
+        final LdapName roleDn,
+        final Map.Entry<String, Settings> roleSearchBaseSettingsEntry
+    ) throws LdapException {
 
         final boolean isDebugEnabled = log.isDebugEnabled();
+        final boolean isTraceEnabled = log.isTraceEnabled();
         final Set<LdapName> result = new HashSet<>(20);
-        final HashMultimap<LdapName, Map.Entry<String, Settings>> resultRoleSearchBaseKeys = HashMultimap.create();
-
-        final LdapEntry e0 = LdapHelper.lookup(ldapConnection, roleDn.toString(), this.returnAttributes, this.shouldFollowReferrals);
 
-        if (e0.getAttribute(userRoleName) != null) {
-            final Collection<String> userRoles = e0.getAttribute(userRoleName).getStringValues();
+        if (roleSearchBaseSettingsEntry == null) {
+            final String userRoleName = settings.get(ConfigConstants.LDAP_AUTHZ_USERROLENAME, DEFAULT_USERROLENAME);
+            final LdapEntry e0 = LdapHelper.lookup(ldapConnection, roleDn.toString(), this.returnAttributes, this.shouldFollowReferrals);
 
-            for (final String possibleRoleDN : userRoles) {
+            if (e0 != null && e0.getAttribute(userRoleName) != null) {
+                final Collection<String> userRoles = e0.getAttribute(userRoleName).getStringValues();
 
-                if (isDebugEnabled) {
-                    log.debug("DBGTRACE (10): possibleRoleDN" + possibleRoleDN);
-                }
+                for (final String possibleRoleDN : userRoles) {
 
-                if (isValidDn(possibleRoleDN)) {
-                    try {
-                        LdapName ldapName = new LdapName(possibleRoleDN);
-                        result.add(ldapName);
-                        resultRoleSearchBaseKeys.putAll(ldapName, this.roleBaseSettings);
-                    } catch (InvalidNameException e) {
-                        // ignore
-                    }
-                } else {
                     if (isDebugEnabled) {
-                        log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
+                        log.debug("DBGTRACE (10): possibleRoleDN" + possibleRoleDN);
+                    }
+
+                    if (isValidDn(possibleRoleDN)) {
+                        try {
+                            result.add(new LdapName(possibleRoleDN));
+                        } catch (InvalidNameException e) {
+                            // ignore
+                        }
+                    } else {
+                        if (isDebugEnabled) {
+                            log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
+                        }
                     }
                 }
             }
-        }
 
-        final boolean isTraceEnabled = log.isTraceEnabled();
-        if (isTraceEnabled) {
-            log.trace("result nested attr count for depth {} : {}", depth, result.size());
+            if (isTraceEnabled) {
+                log.trace("result nested attr count for {} : {}", roleDn, result.size());
+            }
+
+            return result;
         }
 
-        if (rolesearchEnabled) {
-            String escapedDn = roleDn.toString();
+        String escapedDn = roleDn.toString();
 
-            if (isDebugEnabled) {
-                log.debug("DBGTRACE (10): escapedDn {}", escapedDn);
-            }
+        if (isDebugEnabled) {
+            log.debug("DBGTRACE (10): escapedDn {}", escapedDn);
+        }
 
-            for (Map.Entry<String, Settings> roleSearchBaseSettingsEntry : Utils.getOrderedBaseSettings(roleSearchBaseSettingsSet)) {
-                Settings roleSearchSettings = roleSearchBaseSettingsEntry.getValue();
-
-                SearchFilter f = new SearchFilter();
-                f.setFilter(roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, DEFAULT_ROLESEARCH));
-                f.setParameter(LDAPAuthenticationBackend.ZERO_PLACEHOLDER, escapedDn);
-                f.setParameter(ONE_PLACEHOLDER, escapedDn);
-
-                List<LdapEntry> foundEntries = LdapHelper.search(
-                    ldapConnection,
-                    roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, DEFAULT_ROLEBASE),
-                    f,
-                    SearchScope.SUBTREE,
-                    this.returnAttributes,
-                    this.shouldFollowReferrals
-                );
+        Settings roleSearchSettings = roleSearchBaseSettingsEntry.getValue();
 
-                if (isTraceEnabled) {
-                    log.trace(
-                        "Results for LDAP group search for {} in base {}:\n{}",
-                        escapedDn,
-                        roleSearchBaseSettingsEntry.getKey(),
-                        foundEntries
-                    );
-                }
+        SearchFilter f = new SearchFilter();
+        f.setFilter(roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, DEFAULT_ROLESEARCH));
+        f.setParameter(LDAPAuthenticationBackend.ZERO_PLACEHOLDER, escapedDn);
+        f.setParameter(ONE_PLACEHOLDER, escapedDn);
 
-                if (foundEntries != null) {
-                    for (final LdapEntry entry : foundEntries) {
-                        try {
-                            final LdapName dn = new LdapName(entry.getDn());
-                            result.add(dn);
-                            resultRoleSearchBaseKeys.put(dn, roleSearchBaseSettingsEntry);
-                        } catch (final InvalidNameException e) {
-                            throw new LdapException(e);
-                        }
-                    }
-                }
-            }
-        }
+        List<LdapEntry> foundEntries = LdapHelper.search(
+            ldapConnection,
+            roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, DEFAULT_ROLEBASE),
+            f,
+            SearchScope.SUBTREE,
+            this.returnAttributes,
+            this.shouldFollowReferrals
+        );
 
-        int maxDepth = ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT;
-        try {
-            maxDepth = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT);
-        } catch (Exception e) {
-            log.error(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH + " is not parseable: " + e, e);
+        if (isTraceEnabled) {
+            log.trace(
+                "Results for LDAP group search for {} in base {}:\n{}",
+                escapedDn,
+                roleSearchBaseSettingsEntry.getKey(),
+                foundEntries
+            );
         }
 
-        if (depth < maxDepth) {
-            for (final LdapName nm : new HashSet<LdapName>(result)) {
-                Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(nm);
-
-                if (nameRoleSearchBaseKeys == null) {
-                    log.error("Could not find roleSearchBaseKeys for " + nm + "; existing: " + resultRoleSearchBaseKeys);
-                    continue;
+        if (foundEntries != null) {
+            for (final LdapEntry entry : foundEntries) {
+                try {
+                    result.add(new LdapName(entry.getDn()));
+                } catch (final InvalidNameException e) {
+                    throw new LdapException(e);
                 }
-
-                final Set<LdapName> in = resolveNestedRoles(
-                    nm,
-                    ldapConnection,
-                    userRoleName,
-                    depth,
-                    rolesearchEnabled,
-                    nameRoleSearchBaseKeys
-                );
-                result.addAll(in);
             }
         }
 
         return result;
     }
 
+    /**
+     * Returns the cache and round trip statistics of the nested role resolution; null if nested roles are not resolved.
+     */
+    public NestedGroupResolver.Stats getNestedRoleStats() {
+        return nestedGroupResolver != null ? nestedGroupResolver.getStats() : null;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        NestedGroupResolver.Stats nestedRoleStats = getNestedRoleStats();
+        return nestedRoleStats != null ? Map.of("nested_roles", nestedRoleStats.toMap()) : null;
+    }
+
     @Override
     public String getType() {
         return "ldap";
@@ -34,6 +34,9 @@ public final class ConfigConstants {
     public static final String LDAP_AUTHZ_NESTEDROLEFILTER = "nested_role_filter";
     public static final String LDAP_AUTHZ_MAX_NESTED_DEPTH = "max_nested_depth";
     public static final int LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT = 30;
+    public static final String LDAP_AUTHZ_NESTED_ROLE_CACHE_SIZE = "nested_role_cache.size";
+    public static final String LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL = "nested_role_cache.ttl";
+    public static final String LDAP_AUTHZ_NESTED_ROLE_PARALLELISM = "nested_role_resolution.parallelism";
 
     public static final String FOLLOW_REFERRALS = "follow_referrals";
     public static final boolean FOLLOW_REFERRALS_DEFAULT = true;
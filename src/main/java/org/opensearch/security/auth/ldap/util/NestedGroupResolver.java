@@ -0,0 +1,356 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auth.ldap.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.naming.ldap.LdapName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.secure_sm.AccessController;
+import org.opensearch.security.support.WildcardMatcher;
+
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.LdapException;
+
+/**
+ * Resolves nested groups, i.e., the groups which the groups of a user are directly or indirectly members of.
+ * <p>
+ * The parent groups found for a group are kept in a cache which is shared by all users authorized by the backend
+ * owning this instance. Thus, users in the same groups do not trigger the same LDAP operations again. The cache is
+ * bounded in size; entries expire after a configurable time.
+ * <p>
+ * Groups are resolved breadth-first. The LDAP operations needed for one level of nesting do not depend on each other.
+ * If a connection factory for parallel resolution is provided, these operations are executed in parallel, each one
+ * with a connection obtained from that factory. Otherwise, they are executed one after another on the connection of
+ * the caller.
+ */
+public class NestedGroupResolver {
+
+    private static final Logger log = LogManager.getLogger(NestedGroupResolver.class);
+
+    static final int DEFAULT_CACHE_SIZE = 10000;
+    static final TimeValue DEFAULT_CACHE_TTL = TimeValue.timeValueMinutes(5);
+    static final int DEFAULT_PARALLELISM = 4;
+
+    private final WildcardMatcher nestedRoleFilter;
+    private final List<Map.Entry<String, Settings>> roleBaseSettings;
+    private final Map<String, Map.Entry<String, Settings>> roleBaseSettingsByName;
+    private final boolean roleSearchEnabled;
+    private final int maxDepth;
+    private final ParentGroupLookup parentGroupLookup;
+    private final Cache<GroupQuery, Set<LdapName>> cache;
+    private final ConnectionFactory parallelConnectionFactory;
+    private final ExecutorService executor;
+    private final LongAdder resolutions = new LongAdder();
+    private final LongAdder roundTrips = new LongAdder();
+
+    /**
+     * @param settings the settings of the authorization backend
+     * @param nestedRoleFilter groups matched by this are not resolved any further
+     * @param roleBaseSettings the configured role search bases
+     * @param parentGroupLookup performs the actual LDAP operations
+     * @param parallelConnectionFactory provides the connections for parallel resolution; if null, all LDAP operations
+     *                                  are executed on the connection of the caller
+     */
+    public NestedGroupResolver(
+        Settings settings,
+        WildcardMatcher nestedRoleFilter,
+        List<Map.Entry<String, Settings>> roleBaseSettings,
+        ParentGroupLookup parentGroupLookup,
+        ConnectionFactory parallelConnectionFactory
+    ) {
+        this.nestedRoleFilter = nestedRoleFilter;
+        this.roleBaseSettings = roleBaseSettings;
+        this.roleBaseSettingsByName = new HashMap<>(roleBaseSettings.size());
+        for (Map.Entry<String, Settings> entry : roleBaseSettings) {
+            this.roleBaseSettingsByName.put(entry.getKey(), entry);
+        }
+        this.roleSearchEnabled = settings.getAsBoolean(ConfigConstants.LDAP_AUTHZ_ROLESEARCH_ENABLED, true);
+        this.maxDepth = getMaxDepth(settings);
+        this.parentGroupLookup = parentGroupLookup;
+
+        int cacheSize = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_SIZE, DEFAULT_CACHE_SIZE);
+        TimeValue cacheTtl = settings.getAsTime(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_TTL, DEFAULT_CACHE_TTL);
+
+        if (cacheSize > 0 && cacheTtl.millis() > 0) {
+            this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl.millis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        } else {
+            this.cache = null;
+        }
+
+        int parallelism = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_PARALLELISM, DEFAULT_PARALLELISM);
+
+        if (parallelConnectionFactory != null && parallelism > 1) {
+            this.parallelConnectionFactory = parallelConnectionFactory;
+            this.executor = Executors.newFixedThreadPool(parallelism, OpenSearchExecutors.daemonThreadFactory("ldap_nested_roles"));
+        } else {
+            this.parallelConnectionFactory = null;
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Returns the groups which the given groups are directly or indirectly members of.
+     *
+     * @param connection the connection to be used for LDAP operations which are not executed in parallel
+     * @param groups the groups of a user, mapped to the role search bases they have been found in
+     */
+    public Set<LdapName> resolve(Connection connection, Multimap<LdapName, Map.Entry<String, Settings>> groups) throws LdapException {
+        final boolean isTraceEnabled = log.isTraceEnabled();
+        final Set<LdapName> result = new HashSet<>();
+        final Set<GroupQuery> executedQueries = new HashSet<>();
+        final RoundTripCounter roundTripCounter = new RoundTripCounter();
+        Multimap<LdapName, Map.Entry<String, Settings>> currentLevel = groups;
+
+        for (int depth = 1; !currentLevel.isEmpty(); depth++) {
+            List<GroupQuery> queries = new ArrayList<>();
+
+            for (LdapName group : currentLevel.keySet()) {
+                if (nestedRoleFilter.test(group.toString())) {
+                    if (isTraceEnabled) {
+                        log.trace("Filter nested role {}", group);
+                    }
+                    continue;
+                }
+
+                addIfNotExecuted(new GroupQuery(group, null), queries, executedQueries);
+
+                if (roleSearchEnabled) {
+                    for (Map.Entry<String, Settings> roleSearchBase : currentLevel.get(group)) {
+                        addIfNotExecuted(new GroupQuery(group, roleSearchBase.getKey()), queries, executedQueries);
+                    }
+                }
+            }
+
+            Map<GroupQuery, Set<LdapName>> parentGroups = lookup(connection, queries, roundTripCounter);
+            HashMultimap<LdapName, Map.Entry<String, Settings>> nextLevel = HashMultimap.create();
+
+            for (GroupQuery query : queries) {
+                for (LdapName parentGroup : parentGroups.get(query)) {
+                    result.add(parentGroup);
+
+                    if (query.roleSearchBase() == null) {
+                        nextLevel.putAll(parentGroup, roleBaseSettings);
+                    } else {
+                        nextLevel.put(parentGroup, roleBaseSettingsByName.get(query.roleSearchBase()));
+                    }
+                }
+            }
+
+            if (isTraceEnabled) {
+                log.trace("Nested groups at depth {}: {}", depth, nextLevel.keySet());
+            }
+
+            if (depth >= maxDepth) {
+                break;
+            }
+
+            currentLevel = nextLevel;
+        }
+
+        resolutions.increment();
+        roundTrips.add(roundTripCounter.count);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Resolved {} nested groups for {} with {} LDAP round trips", result.size(), groups.keySet(), roundTripCounter.count);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the cache hit rate and the number of LDAP round trips needed by the resolutions done so far.
+     */
+    public Stats getStats() {
+        CacheStats cacheStats = cache != null ? cache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+        return new Stats(cacheStats.hitCount(), cacheStats.missCount(), resolutions.sum(), roundTrips.sum());
+    }
+
+    /**
+     * Stops the threads used for parallel resolution.
+     */
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<GroupQuery, Set<LdapName>> lookup(Connection connection, List<GroupQuery> queries, RoundTripCounter roundTripCounter)
+        throws LdapException {
+        Map<GroupQuery, Set<LdapName>> result = new HashMap<>(queries.size());
+        List<GroupQuery> uncachedQueries = new ArrayList<>(queries.size());
+
+        for (GroupQuery query : queries) {
+            Set<LdapName> cachedParentGroups = cache != null ? cache.getIfPresent(query) : null;
+
+            if (cachedParentGroups != null) {
+                result.put(query, cachedParentGroups);
+            } else {
+                uncachedQueries.add(query);
+            }
+        }
+
+        roundTripCounter.count += uncachedQueries.size();
+
+        if (executor != null && uncachedQueries.size() > 1) {
+            List<Future<Set<LdapName>>> futures = new ArrayList<>(uncachedQueries.size());
+
+            for (GroupQuery query : uncachedQueries) {
+                futures.add(executor.submit(() -> executeWithNewConnection(query)));
+            }
+
+            for (int i = 0; i < uncachedQueries.size(); i++) {
+                result.put(uncachedQueries.get(i), getResult(futures.get(i)));
+            }
+        } else {
+            for (GroupQuery query : uncachedQueries) {
+                result.put(query, execute(connection, query));
+            }
+        }
+
+        return result;
+    }
+
+    private Set<LdapName> execute(Connection connection, GroupQuery query) throws LdapException {
+        Map.Entry<String, Settings> roleSearchBase = query.roleSearchBase() != null
+            ? roleBaseSettingsByName.get(query.roleSearchBase())
+            : null;
+        Set<LdapName> parentGroups = ImmutableSet.copyOf(parentGroupLookup.findParentGroups(connection, query.group(), roleSearchBase));
+
+        if (cache != null) {
+            cache.put(query, parentGroups);
+        }
+
+        return parentGroups;
+    }
+
+    private Set<LdapName> executeWithNewConnection(GroupQuery query) throws LdapException {
+        return AccessController.doPrivilegedChecked(() -> {
+            try (Connection connection = parallelConnectionFactory.getConnection()) {
+                connection.open();
+                return execute(connection, query);
+            }
+        });
+    }
+
+    private static Set<LdapName> getResult(Future<Set<LdapName>> future) throws LdapException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LdapException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LdapException ldapException) {
+                throw ldapException;
+            } else if (e.getCause() instanceof Exception cause) {
+                throw new LdapException(cause);
+            } else {
+                throw new LdapException(e);
+            }
+        }
+    }
+
+    private static void addIfNotExecuted(GroupQuery query, List<GroupQuery> queries, Set<GroupQuery> executedQueries) {
+        if (executedQueries.add(query)) {
+            queries.add(query);
+        }
+    }
+
+    private static int getMaxDepth(Settings settings) {
+        try {
+            return settings.getAsInt(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT);
+        } catch (Exception e) {
+            log.error(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH + " is not parseable: ", e);
+            return ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT;
+        }
+    }
+
+    /**
+     * Performs the LDAP operations needed to find the parent groups of a group.
+     */
+    @FunctionalInterface
+    public interface ParentGroupLookup {
+        /**
+         * Returns the groups which the given group is a direct member of. If roleSearchBase is null, the parent groups
+         * are taken from the user role attribute of the group entry. Otherwise, the role search of the given role
+         * search base is used.
+         */
+        Set<LdapName> findParentGroups(Connection connection, LdapName group, Map.Entry<String, Settings> roleSearchBase)
+            throws LdapException;
+    }
+
+    /**
+     * @param cacheHits the number of parent group lookups answered by the cache
+     * @param cacheMisses the number of parent group lookups which required an LDAP operation
+     * @param resolutions the number of resolved users
+     * @param roundTrips the number of LDAP operations executed for all resolutions
+     */
+    public record Stats(long cacheHits, long cacheMisses, long resolutions, long roundTrips) {
+        public double cacheHitRate() {
+            long requests = cacheHits + cacheMisses;
+            return requests == 0 ? 1.0 : (double) cacheHits / requests;
+        }
+
+        public double roundTripsPerResolution() {
+            return resolutions == 0 ? 0.0 : (double) roundTrips / resolutions;
+        }
+
+        public Map<String, Object> toMap() {
+            return ImmutableMap.<String, Object>builder()
+                .put("cache_hits", cacheHits)
+                .put("cache_misses", cacheMisses)
+                .put("cache_hit_rate", cacheHitRate())
+                .put("resolutions", resolutions)
+                .put("round_trips", roundTrips)
+                .put("round_trips_per_resolution", roundTripsPerResolution())
+                .build();
+        }
+    }
+
+    /**
+     * Identifies a lookup of parent groups. A role search base of null denotes the lookup of the user role attribute.
+     */
+    private record GroupQuery(LdapName group, String roleSearchBase) {
+    }
+
+    private static class RoundTripCounter {
+        int count;
+    }
+}
@@ -37,6 +37,7 @@ import org.opensearch.security.auth.AuthorizationBackend;
 import org.opensearch.security.auth.Destroyable;
 import org.opensearch.security.auth.ldap.util.ConfigConstants;
 import org.opensearch.security.auth.ldap.util.LdapHelper;
+import org.opensearch.security.auth.ldap.util.NestedGroupResolver;
 import org.opensearch.security.auth.ldap.util.Utils;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.User;
@@ -73,6 +74,7 @@ public class LDAPAuthorizationBackend2 implements AuthorizationBackend, Destroya
     private LDAPUserSearcher userSearcher;
     private final String[] returnAttributes;
     private final boolean shouldFollowReferrals;
+    private final NestedGroupResolver nestedGroupResolver;
 
     public LDAPAuthorizationBackend2(final Settings settings, final Path configPath) throws SSLConfigException {
         this.settings = settings;
@@ -91,6 +93,22 @@ public class LDAPAuthorizationBackend2 implements AuthorizationBackend, Destroya
         this.returnAttributes = settings.getAsList(ConfigConstants.LDAP_RETURN_ATTRIBUTES, Arrays.asList(ReturnAttributes.ALL.value()))
             .toArray(new String[0]);
         this.shouldFollowReferrals = settings.getAsBoolean(ConfigConstants.FOLLOW_REFERRALS, ConfigConstants.FOLLOW_REFERRALS_DEFAULT);
+
+        if (this.nestedRoleMatcher != null) {
+            // Parallel resolution takes additional connections from the pool. A blocking pool might be exhausted by
+            // callers which hold a connection while waiting for the parallel operations; thus, it is not used there.
+            boolean parallelResolution = this.connectionPool != null && !"blocking".equals(settings.get(ConfigConstants.LDAP_POOL_TYPE));
+
+            this.nestedGroupResolver = new NestedGroupResolver(
+                settings,
+                this.nestedRoleMatcher,
+                this.roleBaseSettings,
+                this::findParentGroups,
+                parallelResolution ? this.connectionFactory : null
+            );
+        } else {
+            this.nestedGroupResolver = null;
+        }
     }
 
     private static List<Map.Entry<String, Settings>> getRoleSearchSettings(Settings settings) {
@@ -323,30 +341,7 @@ public class LDAPAuthorizationBackend2 implements AuthorizationBackend, Destroya
                 }
 
                 final Set<LdapName> nestedReturn = new HashSet<>(ldapRoles);
-
-                for (final LdapName roleLdapName : ldapRoles) {
-                    Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(roleLdapName);
-
-                    if (nameRoleSearchBaseKeys == null) {
-                        log.error("Could not find roleSearchBaseKeys for {}; existing: {}", roleLdapName, resultRoleSearchBaseKeys);
-                        continue;
-                    }
-
-                    final Set<LdapName> nestedRoles = resolveNestedRoles(
-                        roleLdapName,
-                        connection,
-                        userRoleNames,
-                        0,
-                        rolesearchEnabled,
-                        nameRoleSearchBaseKeys
-                    );
-
-                    if (isTraceEnabled) {
-                        log.trace("{} nested roles for {}", nestedRoles.size(), roleLdapName);
-                    }
-
-                    nestedReturn.addAll(nestedRoles);
-                }
+                nestedReturn.addAll(nestedGroupResolver.resolve(connection, resultRoleSearchBaseKeys));
 
                 for (final LdapName roleLdapName : nestedReturn) {
                     final String role = getRoleFromEntry(connection, roleLdapName, roleName);
@@ -397,130 +392,98 @@ public class LDAPAuthorizationBackend2 implements AuthorizationBackend, Destroya
 
     }
 
-    protected Set<LdapName> resolveNestedRoles(
-        final LdapName roleDn,
+    /**
+     * Returns the groups the given group is a direct member of; see NestedGroupResolver.ParentGroupLookup.
+     */
+    private Set<LdapName> findParentGroups(
         final Connection ldapConnection,
-        String userRoleName,
-        int depth,
-        final boolean rolesearchEnabled,
-        Set<Map.Entry<String, Settings>> roleSearchBaseSettingsSet
-    ) throws OpenSearchSecurityException, LdapException {
+        final LdapName roleDn,
+        final Map.Entry<String, Settings> roleSearchBaseSettingsEntry
+    ) throws LdapException {
 
         final boolean isTraceEnabled = log.isTraceEnabled();
-        if (nestedRoleMatcher.test(roleDn.toString())) {
-
-            if (isTraceEnabled) {
-                log.trace("Filter nested role {}", roleDn);
-            }
-
-            return Collections.emptySet();
-        }
-
-        depth++;
-
         final Set<LdapName> result = new HashSet<>(20);
-        final HashMultimap<LdapName, Map.Entry<String, Settings>> resultRoleSearchBaseKeys = HashMultimap.create();
 
-        final LdapEntry e0 = LdapHelper.lookup(ldapConnection, roleDn.toString(), this.returnAttributes, this.shouldFollowReferrals);
-        final boolean isDebugEnabled = log.isDebugEnabled();
+        if (roleSearchBaseSettingsEntry == null) {
+            final String userRoleName = settings.get(ConfigConstants.LDAP_AUTHZ_USERROLENAME, DEFAULT_USERROLENAME);
+            final LdapEntry e0 = LdapHelper.lookup(ldapConnection, roleDn.toString(), this.returnAttributes, this.shouldFollowReferrals);
 
-        if (e0.getAttribute(userRoleName) != null) {
-            final Collection<String> userRoles = e0.getAttribute(userRoleName).getStringValues();
-            for (final String possibleRoleDN : userRoles) {
-                if (isValidDn(possibleRoleDN)) {
-                    try {
-                        LdapName ldapName = new LdapName(possibleRoleDN);
-                        result.add(ldapName);
-                        resultRoleSearchBaseKeys.putAll(ldapName, this.roleBaseSettings);
-                    } catch (InvalidNameException e) {
-                        // ignore
-                    }
-                } else {
-                    if (isDebugEnabled) {
-                        log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
+            if (e0 != null && e0.getAttribute(userRoleName) != null) {
+                final Collection<String> userRoles = e0.getAttribute(userRoleName).getStringValues();
+                for (final String possibleRoleDN : userRoles) {
+                    if (isValidDn(possibleRoleDN)) {
+                        try {
+                            result.add(new LdapName(possibleRoleDN));
+                        } catch (InvalidNameException e) {
+                            // ignore
+                        }
+                    } else {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Cannot add {} as a role because its not a valid dn", possibleRoleDN);
+                        }
                     }
                 }
             }
-        }
-
-        if (isTraceEnabled) {
-            log.trace("result nested attr count for depth {} : {}", depth, result.size());
-        }
-
-        if (rolesearchEnabled) {
-            String escapedDn = roleDn.toString();
 
-            for (Map.Entry<String, Settings> roleSearchBaseSettingsEntry : Utils.getOrderedBaseSettings(roleSearchBaseSettingsSet)) {
-                Settings roleSearchSettings = roleSearchBaseSettingsEntry.getValue();
+            if (isTraceEnabled) {
+                log.trace("result nested attr count for {} : {}", roleDn, result.size());
+            }
 
-                SearchFilter f = new SearchFilter();
-                f.setFilter(roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, DEFAULT_ROLESEARCH));
-                f.setParameter(ZERO_PLACEHOLDER, escapedDn);
-                f.setParameter(ONE_PLACEHOLDER, escapedDn);
+            return result;
+        }
 
-                List<LdapEntry> foundEntries = LdapHelper.search(
-                    ldapConnection,
-                    roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, DEFAULT_ROLEBASE),
-                    f,
-                    SearchScope.SUBTREE,
-                    this.returnAttributes,
-                    this.shouldFollowReferrals
-                );
+        String escapedDn = roleDn.toString();
+        Settings roleSearchSettings = roleSearchBaseSettingsEntry.getValue();
 
-                if (isTraceEnabled) {
-                    log.trace(
-                        "Results for LDAP group search for {} in base {}:\n{}",
-                        escapedDn,
-                        roleSearchBaseSettingsEntry.getKey(),
-                        foundEntries
-                    );
-                }
+        SearchFilter f = new SearchFilter();
+        f.setFilter(roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_SEARCH, DEFAULT_ROLESEARCH));
+        f.setParameter(ZERO_PLACEHOLDER, escapedDn);
+        f.setParameter(ONE_PLACEHOLDER, escapedDn);
 
-                if (foundEntries != null) {
-                    for (final LdapEntry entry : foundEntries) {
-                        try {
-                            final LdapName dn = new LdapName(entry.getDn());
-                            result.add(dn);
-                            resultRoleSearchBaseKeys.put(dn, roleSearchBaseSettingsEntry);
-                        } catch (final InvalidNameException e) {
-                            throw new LdapException(e);
-                        }
-                    }
-                }
-            }
-        }
+        List<LdapEntry> foundEntries = LdapHelper.search(
+            ldapConnection,
+            roleSearchSettings.get(ConfigConstants.LDAP_AUTHCZ_BASE, DEFAULT_ROLEBASE),
+            f,
+            SearchScope.SUBTREE,
+            this.returnAttributes,
+            this.shouldFollowReferrals
+        );
 
-        int maxDepth = ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT;
-        try {
-            maxDepth = settings.getAsInt(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH_DEFAULT);
-        } catch (Exception e) {
-            log.error(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH + " is not parseable: ", e);
+        if (isTraceEnabled) {
+            log.trace(
+                "Results for LDAP group search for {} in base {}:\n{}",
+                escapedDn,
+                roleSearchBaseSettingsEntry.getKey(),
+                foundEntries
+            );
         }
 
-        if (depth < maxDepth) {
-            for (final LdapName nm : new HashSet<LdapName>(result)) {
-                Set<Map.Entry<String, Settings>> nameRoleSearchBaseKeys = resultRoleSearchBaseKeys.get(nm);
-
-                if (nameRoleSearchBaseKeys == null) {
-                    log.error("Could not find roleSearchBaseKeys for {}; existing: {}", nm, resultRoleSearchBaseKeys);
-                    continue;
+        if (foundEntries != null) {
+            for (final LdapEntry entry : foundEntries) {
+                try {
+                    result.add(new LdapName(entry.getDn()));
+                } catch (final InvalidNameException e) {
+                    throw new LdapException(e);
                 }
-
-                final Set<LdapName> in = resolveNestedRoles(
-                    nm,
-                    ldapConnection,
-                    userRoleName,
-                    depth,
-                    rolesearchEnabled,
-                    nameRoleSearchBaseKeys
-                );
-                result.addAll(in);
             }
         }
 
         return result;
     }
 
+    /**
+     * Returns the cache and round trip statistics of the nested role resolution; null if nested roles are not resolved.
+     */
+    public NestedGroupResolver.Stats getNestedRoleStats() {
+        return nestedGroupResolver != null ? nestedGroupResolver.getStats() : null;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        NestedGroupResolver.Stats nestedRoleStats = getNestedRoleStats();
+        return nestedRoleStats != null ? Map.of("nested_roles", nestedRoleStats.toMap()) : null;
+    }
+
     @Override
     public String getType() {
         return "ldap";
@@ -574,6 +537,10 @@ public class LDAPAuthorizationBackend2 implements AuthorizationBackend, Destroya
 
     @Override
     public void destroy() {
+        if (this.nestedGroupResolver != null) {
+            this.nestedGroupResolver.close();
+        }
+
         if (this.connectionPool != null) {
             this.connectionPool.close();
             this.connectionPool = null;
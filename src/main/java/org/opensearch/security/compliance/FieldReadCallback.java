@@ -17,7 +17,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,16 +24,13 @@ import org.apache.lucene.index.FieldInfo;
 
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.util.concurrent.ThreadContext;
-import org.opensearch.common.xcontent.support.XContentMapValues;
 import org.opensearch.core.index.Index;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.index.IndexService;
 import org.opensearch.index.mapper.Uid;
 import org.opensearch.security.auditlog.AuditLog;
-import org.opensearch.security.dlic.rest.support.Utils;
 import org.opensearch.security.privileges.dlsfls.FieldMasking;
 import org.opensearch.security.support.HeaderHelper;
-import org.opensearch.security.support.JsonFlattener;
 import org.opensearch.security.support.SourceFieldsContext;
 
 //TODO  We need to deal with caching!!
@@ -51,7 +47,7 @@ public final class FieldReadCallback {
     private final Index index;
     private final FieldMasking.FieldMaskingRule fmRule;
     private final AuditLog auditLog;
-    private Function<Map<String, ?>, Map<String, Object>> filterFunction;
+    private ReadHistoryExtractor sourceExtractor = new ReadHistoryExtractor(null, null);
     private SourceFieldsContext sfc;
     private Doc doc;
     private final ShardId shardId;
@@ -78,7 +74,7 @@ public final class FieldReadCallback {
                     log.trace("_opendistro_security_source_field_context: {}", sfc);
                 }
 
-                filterFunction = XContentMapValues.filter(sfc.getIncludes(), sfc.getExcludes(), true);
+                sourceExtractor = new ReadHistoryExtractor(sfc.getIncludes(), sfc.getExcludes());
             }
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
@@ -100,19 +96,7 @@ public final class FieldReadCallback {
             }
 
             if (fieldInfo.name.equals("_source")) {
-
-                if (filterFunction != null) {
-                    final Map<String, Object> filteredSource = filterFunction.apply(Utils.byteArrayToMutableJsonMap(fieldValue));
-                    fieldValue = Utils.jsonMapToByteArray(filteredSource);
-                }
-
-                final Map<String, Object> filteredSource = JsonFlattener.flattenAsMap(new String(fieldValue, StandardCharsets.UTF_8));
-                for (String k : filteredSource.keySet()) {
-                    if (!recordField(k, filteredSource.get(k) instanceof String)) {
-                        continue;
-                    }
-                    fieldRead0(k, filteredSource.get(k));
-                }
+                sourceExtractor.extract(fieldValue, this::recordField, this::fieldRead0);
             } else if (fieldInfo.name.equals("_id")) {
                 fieldRead0(fieldInfo.name, Uid.decodeId(fieldValue));
             } else {
@@ -0,0 +1,302 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.compliance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.xcontent.XObjectReadContext;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Extracts the fields to be recorded in the compliance read history from a _source document in a single pass over
+ * the tokens of the document.
+ * <p>
+ * The fields are named like JsonFlattener names them: names of nested attributes are joined with ".", array elements
+ * are named by appending "[i]". Like JsonFlattener, entries are also produced for objects and arrays; only these are
+ * materialized, and only if they are selected.
+ * <p>
+ * Source includes and excludes of the request are applied while streaming, with the same semantics as
+ * XContentMapValues.filter(). Thus, the extracted fields are the same as the ones of the flattened filtered document.
+ */
+final class ReadHistoryExtractor {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @FunctionalInterface
+    interface FieldSelector {
+        boolean test(String fieldName, boolean isStringField);
+    }
+
+    /**
+     * Null if all fields are included.
+     */
+    private final CharacterRunAutomaton include;
+
+    /**
+     * Null if no fields are excluded.
+     */
+    private final CharacterRunAutomaton exclude;
+
+    ReadHistoryExtractor(String[] includes, String[] excludes) {
+        this.include = includes == null || includes.length == 0 ? null : toAutomaton(includes);
+        this.exclude = excludes == null || excludes.length == 0 ? null : toAutomaton(excludes);
+    }
+
+    /**
+     * Passes all fields of the given _source document which are accepted by the source filter and the given selector
+     * to the given consumer.
+     */
+    void extract(byte[] source, FieldSelector selector, BiConsumer<String, Object> consumer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(XObjectReadContext.create(), source)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                new Extraction(parser, selector, consumer).readObject("", include, 0, exclude != null ? 0 : -1, null);
+            }
+        }
+    }
+
+    /**
+     * Like XContentMapValues.filter(), makes patterns for objects also match the attributes of the objects.
+     */
+    private static CharacterRunAutomaton toAutomaton(String[] patterns) {
+        Automaton automaton = Regex.simpleMatchToAutomaton(patterns);
+        automaton = Operations.union(
+            List.of(automaton, Operations.concatenate(List.of(automaton, Automata.makeChar('.'), Automata.makeAnyString())))
+        );
+        return new CharacterRunAutomaton(Operations.determinize(automaton, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT));
+    }
+
+    private static int step(CharacterRunAutomaton automaton, String key, int state) {
+        for (int i = 0; state != -1 && i < key.length(); i++) {
+            state = automaton.step(state, key.charAt(i));
+        }
+        return state;
+    }
+
+    private final class Extraction {
+        private final JsonParser parser;
+        private final FieldSelector selector;
+        private final BiConsumer<String, Object> consumer;
+
+        Extraction(JsonParser parser, FieldSelector selector, BiConsumer<String, Object> consumer) {
+            this.parser = parser;
+            this.selector = selector;
+            this.consumer = consumer;
+        }
+
+        /**
+         * Reads the attributes of the object whose START_OBJECT token is the current token. A null includeAutomaton
+         * includes all attributes; an excludeState of -1 excludes none.
+         *
+         * @param target receives the values of the kept attributes if the object is materialized, otherwise null
+         * @return true if any attribute was kept
+         */
+        boolean readObject(
+            String path,
+            CharacterRunAutomaton includeAutomaton,
+            int includeState,
+            int excludeState,
+            Map<String, Object> target
+        ) throws IOException {
+            boolean keptAny = false;
+
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String key = parser.currentName();
+                JsonToken token = parser.nextToken();
+                String fieldPath = path.isEmpty() ? key : path + "." + key;
+
+                int keyIncludeState = includeAutomaton != null ? step(includeAutomaton, key, includeState) : 0;
+                int keyExcludeState = excludeState != -1 ? step(exclude, key, excludeState) : -1;
+
+                if (keyIncludeState == -1 || (keyExcludeState != -1 && exclude.isAccept(keyExcludeState))) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                CharacterRunAutomaton subIncludeAutomaton = includeAutomaton;
+                boolean included = includeAutomaton == null || includeAutomaton.isAccept(keyIncludeState);
+
+                if (included) {
+                    // The attribute is included with everything it contains; only excludes can still remove parts of it
+                    subIncludeAutomaton = null;
+                    if (keyExcludeState != -1 && exclude.step(keyExcludeState, '.') == -1) {
+                        keyExcludeState = -1;
+                    }
+                }
+
+                Object value = switch (token) {
+                    case START_OBJECT -> {
+                        int subIncludeState = subIncludeAutomaton != null ? subIncludeAutomaton.step(keyIncludeState, '.') : 0;
+                        if (subIncludeState == -1) {
+                            parser.skipChildren();
+                            yield Skipped.INSTANCE;
+                        }
+                        int subExcludeState = keyExcludeState != -1 ? exclude.step(keyExcludeState, '.') : -1;
+                        yield readObjectValue(fieldPath, subIncludeAutomaton, subIncludeState, subExcludeState, target != null, included);
+                    }
+                    case START_ARRAY -> readArrayValue(
+                        fieldPath,
+                        subIncludeAutomaton,
+                        keyIncludeState,
+                        keyExcludeState,
+                        target != null,
+                        included && keyExcludeState == -1
+                    );
+                    default -> included ? readScalarValue(fieldPath, target != null) : Skipped.INSTANCE;
+                };
+
+                if (value != Skipped.INSTANCE) {
+                    keptAny = true;
+                    if (target != null) {
+                        target.put(key, value);
+                    }
+                }
+            }
+
+            return keptAny;
+        }
+
+        /**
+         * Reads the elements of the array whose START_ARRAY token is the current token.
+         *
+         * @param target receives the values of the kept elements if the array is materialized, otherwise null
+         * @return the number of kept elements
+         */
+        int readArray(
+            String path,
+            CharacterRunAutomaton includeAutomaton,
+            int includeState,
+            int excludeState,
+            boolean keepAll,
+            List<Object> target
+        ) throws IOException {
+            boolean isInclude = includeAutomaton == null || includeAutomaton.isAccept(includeState);
+            int kept = 0;
+
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                String elementPath = path + "[" + kept + "]";
+
+                Object value = switch (token) {
+                    case START_OBJECT -> {
+                        int elementIncludeState = includeAutomaton != null ? includeAutomaton.step(includeState, '.') : 0;
+                        if (elementIncludeState == -1) {
+                            parser.skipChildren();
+                            yield Skipped.INSTANCE;
+                        }
+                        int elementExcludeState = excludeState != -1 ? exclude.step(excludeState, '.') : -1;
+                        yield readObjectValue(
+                            elementPath,
+                            includeAutomaton,
+                            elementIncludeState,
+                            elementExcludeState,
+                            target != null,
+                            keepAll
+                        );
+                    }
+                    case START_ARRAY -> readArrayValue(elementPath, includeAutomaton, includeState, excludeState, target != null, keepAll);
+                    default -> isInclude ? readScalarValue(elementPath, target != null) : Skipped.INSTANCE;
+                };
+
+                if (value != Skipped.INSTANCE) {
+                    kept++;
+                    if (target != null) {
+                        target.add(value);
+                    }
+                }
+            }
+
+            return kept;
+        }
+
+        private Object readObjectValue(
+            String path,
+            CharacterRunAutomaton includeAutomaton,
+            int includeState,
+            int excludeState,
+            boolean materialize,
+            boolean keepEmpty
+        ) throws IOException {
+            boolean selected = selector.test(path, false);
+            Map<String, Object> map = materialize || selected ? new LinkedHashMap<>() : null;
+
+            if (!readObject(path, includeAutomaton, includeState, excludeState, map) && !keepEmpty) {
+                return Skipped.INSTANCE;
+            }
+            if (selected) {
+                consumer.accept(path, map);
+            }
+            return map;
+        }
+
+        private Object readArrayValue(
+            String path,
+            CharacterRunAutomaton includeAutomaton,
+            int includeState,
+            int excludeState,
+            boolean materialize,
+            boolean keepEmpty
+        ) throws IOException {
+            boolean selected = selector.test(path, false);
+            List<Object> list = materialize || selected ? new ArrayList<>() : null;
+
+            if (readArray(path, includeAutomaton, includeState, excludeState, keepEmpty, list) == 0 && !keepEmpty) {
+                return Skipped.INSTANCE;
+            }
+            if (selected) {
+                consumer.accept(path, list);
+            }
+            return list;
+        }
+
+        private Object readScalarValue(String path, boolean materialize) throws IOException {
+            JsonToken token = parser.currentToken();
+            boolean selected = selector.test(path, token == JsonToken.VALUE_STRING);
+
+            if (!selected && !materialize) {
+                return null;
+            }
+
+            Object value = switch (token) {
+                case VALUE_STRING -> parser.getString();
+                case VALUE_NUMBER_INT -> parser.getNumberValue();
+                case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                case VALUE_TRUE -> Boolean.TRUE;
+                case VALUE_FALSE -> Boolean.FALSE;
+                default -> null;
+            };
+
+            if (selected) {
+                consumer.accept(path, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Marks values which were removed by the source filter.
+     */
+    private enum Skipped {
+        INSTANCE
+    }
+}
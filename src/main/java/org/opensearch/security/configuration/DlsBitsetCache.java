@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.google.common.cache.CacheStats;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.FixedBitSet;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+/**
+ * A node-wide cache for the bitsets of documents matched by DLS queries on segment level. These bitsets are
+ * computed by DlsFlsFilterLeafReader for non-search actions, such as get requests.
+ * <p>
+ * The bitsets only reflect the documents matched by the DLS query; deleted documents are NOT removed from them. Thus,
+ * a cache entry depends only on the segment core, which is immutable, and stays valid if documents are deleted
+ * from the segment. The live docs of the respective reader need to be applied on top of the cached bitset. Entries are
+ * evicted when the segment core is closed or when the configured size limit is exceeded.
+ * <p>
+ * As the DLS query is evaluated against a reader with FLS and field masking applied, the FLS and field masking rules
+ * are part of the cache key.
+ */
+public class DlsBitsetCache {
+
+    /**
+     * This setting specifies the maximum byte size of the cache. A value of 0 disables the cache. The default is 50 MB.
+     */
+    public static Setting<ByteSizeValue> MAX_SIZE = Setting.memorySizeSetting(
+        "plugins.security.dls.bitset_cache.max_heap_size",
+        new ByteSizeValue(50, ByteSizeUnit.MB),
+        Setting.Property.NodeScope
+    );
+
+    public static final DlsBitsetCache DISABLED = new DlsBitsetCache(0);
+
+    private final SegmentCoreCache<Key, FixedBitSet> cache;
+
+    public DlsBitsetCache(Settings settings) {
+        this(MAX_SIZE.get(settings).getBytes());
+    }
+
+    DlsBitsetCache(long maxSizeInBytes) {
+        this.cache = new SegmentCoreCache<>(maxSizeInBytes);
+    }
+
+    /**
+     * Returns the bitset for the given segment and DLS query from the cache; if there is no such bitset, it will be
+     * computed using the given loader. The returned bitset must not be modified.
+     */
+    FixedBitSet getOrCompute(
+        LeafReader segmentReader,
+        Query dlsQuery,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fmRule,
+        Callable<FixedBitSet> loader
+    ) throws IOException {
+        return cache.getOrCompute(segmentReader, new Key(dlsQuery, flsRule, fmRule), loader);
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public Map<String, Object> getStatsAsMap() {
+        return cache.getStatsAsMap();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private record Key(Query dlsQuery, FieldPrivileges.FlsRule flsRule, FieldMasking.FieldMaskingRule fmRule) {
+    }
+}
@@ -17,9 +17,7 @@ package org.opensearch.security.configuration;
 //https://github.com/salyh/elasticsearch-security-plugin/blob/4b53974a43b270ae77ebe79d635e2484230c9d01/src/main/java/org/elasticsearch/plugins/security/filter/DlsWriteFilter.java
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Set;
 
 import com.google.common.collect.Iterators;
@@ -47,14 +45,12 @@ import org.apache.lucene.index.TermState;
 import org.apache.lucene.index.TermVectors;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
-import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.AttributeSource;
-import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FixedBitSet;
@@ -73,6 +69,7 @@ import org.opensearch.security.compliance.ComplianceConfig;
 import org.opensearch.security.compliance.FieldReadCallback;
 import org.opensearch.security.privileges.dlsfls.FieldMasking;
 import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+import org.opensearch.security.privileges.dlsfls.FlsFieldDecisions;
 import org.opensearch.security.privileges.dlsfls.FlsStoredFieldVisitor;
 import org.opensearch.security.support.ConfigConstants;
 
@@ -87,6 +84,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
     private final FieldPrivileges.FlsRule flsRule;
     private final FieldMasking.FieldMaskingRule fmRule;
     private final Set<String> metaFields;
+    private final DlsBitsetCache dlsBitsetCache;
+    private final FlsFieldDecisions fieldDecisions;
 
     private DlsGetEvaluator dge = null;
 
@@ -100,7 +99,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         final AuditLog auditlog,
         final FieldMasking.FieldMaskingRule fmRule,
         final ShardId shardId,
-        final Set<String> metaFields
+        final Set<String> metaFields,
+        final DlsBitsetCache dlsBitsetCache,
+        final FlsFieldDecisionCache fieldDecisionCache
     ) {
         super(delegate);
 
@@ -113,23 +114,17 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         this.flsRule = flsRule;
         this.fmRule = fmRule;
         this.metaFields = metaFields;
+        this.dlsBitsetCache = dlsBitsetCache;
+        if (flsRule.isAllowAll() && fmRule.isAllowAll()) {
+            // Nothing to decide; skip the cache and use the field infos of the delegate
+            this.fieldDecisions = FlsFieldDecisions.ALLOW_ALL;
+            this.flsFieldInfos = delegate.getFieldInfos();
+        } else {
+            this.fieldDecisions = fieldDecisionCache.getOrCompute(delegate, flsRule, fmRule, metaFields);
+            this.flsFieldInfos = fieldDecisions.getAllowedFieldInfos();
+        }
 
         try {
-            if (!flsRule.isAllowAll()) {
-                FieldInfos originalFieldInfos = delegate.getFieldInfos();
-                List<FieldInfo> restrictedFieldInfos = new ArrayList<>(originalFieldInfos.size());
-
-                for (FieldInfo fieldInfo : originalFieldInfos) {
-                    if (metaFields.contains(fieldInfo.name) || flsRule.isAllowedRecursive(fieldInfo.name)) {
-                        restrictedFieldInfos.add(fieldInfo);
-                    }
-                }
-
-                this.flsFieldInfos = new FieldInfos(restrictedFieldInfos.toArray(new FieldInfo[restrictedFieldInfos.size()]));
-            } else {
-                this.flsFieldInfos = delegate.getFieldInfos();
-            }
-
             dge = new DlsGetEvaluator(dlsQuery, in, dlsQuery != null && applyDlsHere());
         } catch (IOException e) {
             throw ExceptionsHelper.convertToOpenSearchException(e);
@@ -144,32 +139,22 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
 
         public DlsGetEvaluator(final Query dlsQuery, final LeafReader in, boolean applyDlsHere) throws IOException {
             if (dlsQuery != null && applyDlsHere) {
-                // borrowed from Apache Lucene (Copyright Apache Software Foundation (ASF))
-                // https://github.com/apache/lucene-solr/blob/branch_6_3/lucene/misc/src/java/org/apache/lucene/index/PKIndexSplitter.java
-                final IndexSearcher searcher = new IndexSearcher(DlsFlsFilterLeafReader.this);
-                searcher.setQueryCache(null);
-                final Weight preserveWeight = searcher.rewrite(dlsQuery).createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1f);
-
-                final int maxDoc = in.maxDoc();
-                final FixedBitSet bits = new FixedBitSet(maxDoc);
-                final Scorer preserveScorer = preserveWeight.scorer(DlsFlsFilterLeafReader.this.getContext());
-
-                if (preserveScorer != null) {
-                    bits.or(preserveScorer.iterator());
-                }
+                final FixedBitSet dlsBits = dlsBitsetCache.getOrCompute(
+                    in,
+                    dlsQuery,
+                    flsRule,
+                    fmRule,
+                    () -> computeDlsBits(dlsQuery, in)
+                );
 
                 if (in.hasDeletions()) {
                     final Bits oldLiveDocs = in.getLiveDocs();
                     assert oldLiveDocs != null;
-                    final DocIdSetIterator it = new BitSetIterator(bits, 0L);
-                    for (int i = it.nextDoc(); i != DocIdSetIterator.NO_MORE_DOCS; i = it.nextDoc()) {
-                        if (!oldLiveDocs.get(i)) {
-                            bits.clear(i);
-                        }
-                    }
+                    liveBits = new DlsLiveDocs(dlsBits, oldLiveDocs);
+                } else {
+                    liveBits = dlsBits;
                 }
 
-                liveBits = bits;
                 numDocs = in.numDocs();
                 readerCacheHelper = null;
                 hasDeletions = true;
@@ -183,6 +168,28 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             }
         }
 
+        /**
+         * Computes the documents matched by the DLS query. The resulting bitset does not regard deleted documents;
+         * these must be applied separately.
+         */
+        private FixedBitSet computeDlsBits(final Query dlsQuery, final LeafReader in) throws IOException {
+            // borrowed from Apache Lucene (Copyright Apache Software Foundation (ASF))
+            // https://github.com/apache/lucene-solr/blob/branch_6_3/lucene/misc/src/java/org/apache/lucene/index/PKIndexSplitter.java
+            final IndexSearcher searcher = new IndexSearcher(DlsFlsFilterLeafReader.this);
+            searcher.setQueryCache(null);
+            final Weight preserveWeight = searcher.rewrite(dlsQuery).createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1f);
+
+            final int maxDoc = in.maxDoc();
+            final FixedBitSet bits = new FixedBitSet(maxDoc);
+            final Scorer preserveScorer = preserveWeight.scorer(DlsFlsFilterLeafReader.this.getContext());
+
+            if (preserveScorer != null) {
+                bits.or(preserveScorer.iterator());
+            }
+
+            return bits;
+        }
+
         // return null means no hidden docs
         public Bits getLiveDocs() {
             return liveBits;
@@ -201,6 +208,29 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         }
     }
 
+    /**
+     * Live docs which combine the (possibly cached and shared) DLS bitset with the live docs of the underlying reader.
+     */
+    private static final class DlsLiveDocs implements Bits {
+        private final FixedBitSet dlsBits;
+        private final Bits liveDocs;
+
+        DlsLiveDocs(FixedBitSet dlsBits, Bits liveDocs) {
+            this.dlsBits = dlsBits;
+            this.liveDocs = liveDocs;
+        }
+
+        @Override
+        public boolean get(int index) {
+            return dlsBits.get(index) && liveDocs.get(index);
+        }
+
+        @Override
+        public int length() {
+            return dlsBits.length();
+        }
+    }
+
     private static class DlsFlsSubReaderWrapper extends FilterDirectoryReader.SubReaderWrapper {
 
         private final FieldPrivileges.FlsRule flsRule;
@@ -212,6 +242,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final FieldMasking.FieldMaskingRule fmRule;
         private final ShardId shardId;
         private final Set<String> metaFields;
+        private final DlsBitsetCache dlsBitsetCache;
+        private final FlsFieldDecisionCache fieldDecisionCache;
 
         public DlsFlsSubReaderWrapper(
             final FieldPrivileges.FlsRule flsRule,
@@ -222,7 +254,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final FieldMasking.FieldMaskingRule fmRule,
             ShardId shardId,
-            final Set<String> metaFields
+            final Set<String> metaFields,
+            final DlsBitsetCache dlsBitsetCache,
+            final FlsFieldDecisionCache fieldDecisionCache
         ) {
             this.flsRule = flsRule;
             this.dlsQuery = dlsQuery;
@@ -233,6 +267,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.fmRule = fmRule;
             this.shardId = shardId;
             this.metaFields = metaFields;
+            this.dlsBitsetCache = dlsBitsetCache;
+            this.fieldDecisionCache = fieldDecisionCache;
         }
 
         @Override
@@ -247,7 +283,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 fmRule,
                 shardId,
-                metaFields
+                metaFields,
+                dlsBitsetCache,
+                fieldDecisionCache
             );
         }
 
@@ -264,6 +302,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
         private final FieldMasking.FieldMaskingRule fmRule;
         private final ShardId shardId;
         private final Set<String> metaFields;
+        private final DlsBitsetCache dlsBitsetCache;
+        private final FlsFieldDecisionCache fieldDecisionCache;
 
         public DlsFlsDirectoryReader(
             final DirectoryReader in,
@@ -275,7 +315,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             final AuditLog auditlog,
             final FieldMasking.FieldMaskingRule fmRule,
             ShardId shardId,
-            final Set<String> metaFields
+            final Set<String> metaFields,
+            final DlsBitsetCache dlsBitsetCache,
+            final FlsFieldDecisionCache fieldDecisionCache
         ) throws IOException {
             super(
                 in,
@@ -288,7 +330,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                     auditlog,
                     fmRule,
                     shardId,
-                    metaFields
+                    metaFields,
+                    dlsBitsetCache,
+                    fieldDecisionCache
                 )
             );
             this.flsRule = flsRule;
@@ -300,6 +344,8 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             this.fmRule = fmRule;
             this.shardId = shardId;
             this.metaFields = metaFields;
+            this.dlsBitsetCache = dlsBitsetCache;
+            this.fieldDecisionCache = fieldDecisionCache;
         }
 
         @Override
@@ -314,7 +360,9 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
                 auditlog,
                 fmRule,
                 shardId,
-                metaFields
+                metaFields,
+                dlsBitsetCache,
+                fieldDecisionCache
             );
         }
 
@@ -386,7 +434,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             visitor = new ComplianceAwareStoredFieldVisitor(visitor);
         }
         if (!flsRule.isAllowAll() || !fmRule.isAllowAll()) {
-            visitor = new FlsStoredFieldVisitor(visitor, flsRule, fmRule, metaFields);
+            visitor = new FlsStoredFieldVisitor(visitor, flsRule, fmRule, metaFields, fieldDecisions);
         }
         return visitor;
     }
@@ -405,7 +453,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
      * Exceptions are meta fields, which are always fully visible to a user, regardless of any configuration.
      */
     private boolean isAllowed(String fieldName) {
-        return this.metaFields.contains(fieldName) || (this.flsRule.isAllowedRecursive(fieldName) && !this.fmRule.isMasked(fieldName));
+        return this.fieldDecisions.isAllowed(fieldName);
     }
 
     /**
@@ -414,7 +462,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
      * Exceptions are meta fields, which are always fully visible to a user, regardless of any configuration.
      */
     private boolean isAllowedButPossiblyMasked(String fieldName) {
-        return this.metaFields.contains(fieldName) || this.flsRule.isAllowedRecursive(fieldName);
+        return this.fieldDecisions.isAllowedButPossiblyMasked(fieldName);
     }
 
     @Override
@@ -555,7 +603,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return in.getBinaryDocValues(field);
         }
 
-        if (!this.flsRule.isAllowedRecursive(field)) {
+        if (!this.fieldDecisions.isFlsAllowed(field)) {
             // Forbidden by FLS
             return null;
         }
@@ -566,7 +614,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return null;
         }
 
-        FieldMasking.FieldMaskingRule.Field fmRuleField = fmRule.get(field);
+        FieldMasking.FieldMaskingRule.Field fmRuleField = fieldDecisions.getMaskingField(field);
         if (fmRuleField != null) {
             // FM protection present
             return new FilterBinaryDocValues(originalBinaryDocValues) {
@@ -588,7 +636,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return in.getSortedDocValues(field);
         }
 
-        if (!this.flsRule.isAllowedRecursive(field)) {
+        if (!this.fieldDecisions.isFlsAllowed(field)) {
             // Forbidden by FLS
             return null;
         }
@@ -599,7 +647,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return null;
         }
 
-        FieldMasking.FieldMaskingRule.Field fmRuleField = fmRule.get(field);
+        FieldMasking.FieldMaskingRule.Field fmRuleField = fieldDecisions.getMaskingField(field);
         if (fmRuleField != null) {
             // FM protection present
             return new FilterSortedDocValues(originalDocValues) {
@@ -641,7 +689,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return in.getSortedSetDocValues(field);
         }
 
-        if (!this.flsRule.isAllowedRecursive(field)) {
+        if (!this.fieldDecisions.isFlsAllowed(field)) {
             // Forbidden by FLS
             return null;
         }
@@ -652,7 +700,7 @@ class DlsFlsFilterLeafReader extends SequentialStoredFieldsLeafReader {
             return null;
         }
 
-        FieldMasking.FieldMaskingRule.Field fmRuleField = fmRule.get(field);
+        FieldMasking.FieldMaskingRule.Field fmRuleField = fieldDecisions.getMaskingField(field);
         if (fmRuleField != null) {
             // FM protection present
             return new FilterSortedSetDocValues(originalDocValues) {
@@ -0,0 +1,280 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.search.SearchExtBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.internal.SearchContext;
+import org.opensearch.search.internal.ShardSearchRequest;
+import org.opensearch.security.privileges.dlsfls.DlsRestriction;
+import org.opensearch.security.privileges.dlsfls.DocumentPrivileges;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+/**
+ * Enables the shard request cache for searches with DLS, FLS or field masking restrictions.
+ * <p>
+ * The shard request cache keys its entries by the serialized shard search request and the reader. As DLS, FLS and field
+ * masking are applied on the shard without being visible in the request, users with different restrictions would get
+ * the same cache entries. That is why the request cache has been disabled for all such searches so far.
+ * <p>
+ * Thus, a fingerprint of the effective DLS restriction, FLS rule and field masking rule is added to the source of
+ * the shard search request as search extension, just before the request cache key is computed. Users with equal
+ * effective restrictions thus share cache entries, users with other restrictions get distinct entries. The search
+ * extension is only added on the shard level and never leaves the node; it cannot be specified by users, as it is not
+ * registered for parsing.
+ * <p>
+ * The setting {@link #ENABLED} only controls whether the coordinating node keeps the request cache enabled for
+ * restricted searches. The fingerprint is always added on the shard level if a restricted search is going to be
+ * cached; this way, the correctness does not depend on the setting being equal on all nodes.
+ * <p>
+ * Additionally, the number of cache hits and misses of restricted searches is recorded per index. A miss is detected
+ * by the query being executed, i.e., by weights being created for it.
+ */
+public class DlsFlsRequestCache {
+
+    /**
+     * If this setting is true, the shard request cache is not disabled any more by the coordinating node for searches
+     * with DLS, FLS or field masking restrictions.
+     */
+    public static final Setting<Boolean> ENABLED = Setting.boolSetting(
+        "plugins.security.dls_fls.request_cache.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    public static final DlsFlsRequestCache DISABLED = new DlsFlsRequestCache(false, (request, context) -> false);
+
+    private final boolean enabled;
+    private final BiPredicate<ShardSearchRequest, SearchContext> cacheabilityCheck;
+    private final Map<String, Counters> countersByIndex = new ConcurrentHashMap<>();
+    private final ThreadLocal<QueryPhaseProbe> currentProbe = new ThreadLocal<>();
+
+    /**
+     * @param cacheabilityCheck the check performed by OpenSearch to decide whether the request cache is used for a
+     *                          shard request; see IndicesService.canCache()
+     */
+    public DlsFlsRequestCache(Settings settings, BiPredicate<ShardSearchRequest, SearchContext> cacheabilityCheck) {
+        this(ENABLED.get(settings), cacheabilityCheck);
+    }
+
+    DlsFlsRequestCache(boolean enabled, BiPredicate<ShardSearchRequest, SearchContext> cacheabilityCheck) {
+        this.enabled = enabled;
+        this.cacheabilityCheck = cacheabilityCheck;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Makes the request cache key of the shard search request of the given context specific to the given restrictions,
+     * if the request is going to be cached. Must be called before the query phase, i.e., before the request cache is
+     * consulted.
+     */
+    void prepare(
+        SearchContext searchContext,
+        String index,
+        DlsRestriction dlsRestriction,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fieldMaskingRule
+    ) {
+        currentProbe.remove();
+
+        if (dlsRestriction.isUnrestricted() && flsRule.isAllowAll() && fieldMaskingRule.isAllowAll()) {
+            return;
+        }
+
+        ShardSearchRequest request = searchContext.request();
+        SearchSourceBuilder source = request.source();
+
+        if (source == null || !cacheabilityCheck.test(request, searchContext)) {
+            return;
+        }
+
+        List<SearchExtBuilder> searchExtBuilders = new ArrayList<>(source.ext());
+        searchExtBuilders.removeIf(searchExtBuilder -> searchExtBuilder instanceof FingerprintSearchExtBuilder);
+        searchExtBuilders.add(new FingerprintSearchExtBuilder(fingerprint(dlsRestriction, flsRule, fieldMaskingRule)));
+
+        // The source object might be shared with the requests for other shards, thus we need to copy it
+        request.source(source.shallowCopy().ext(searchExtBuilders));
+        currentProbe.set(new QueryPhaseProbe(index));
+    }
+
+    /**
+     * Must be called whenever a weight is created for a query.
+     */
+    public void onWeightCreated() {
+        QueryPhaseProbe probe = currentProbe.get();
+        if (probe != null) {
+            probe.queryExecuted = true;
+        }
+    }
+
+    /**
+     * Must be called after the query phase has been finished.
+     */
+    public void onQueryPhase() {
+        QueryPhaseProbe probe = currentProbe.get();
+        if (probe == null) {
+            return;
+        }
+
+        currentProbe.remove();
+        Counters counters = countersByIndex.computeIfAbsent(probe.index, (k) -> new Counters());
+
+        if (probe.queryExecuted) {
+            counters.misses.increment();
+        } else {
+            counters.hits.increment();
+        }
+    }
+
+    /**
+     * Returns the number of request cache hits and misses of searches with DLS, FLS or field masking restrictions by index.
+     */
+    public ImmutableMap<String, Stats> getStats() {
+        ImmutableMap.Builder<String, Stats> result = ImmutableMap.builder();
+        countersByIndex.forEach((index, counters) -> result.put(index, new Stats(counters.hits.sum(), counters.misses.sum())));
+        return result.build();
+    }
+
+    /**
+     * Returns the statistics of {@link #getStats()} as reported by the security stats API.
+     */
+    public Map<String, Object> getStatsAsMap() {
+        ImmutableMap.Builder<String, Object> indices = ImmutableMap.builder();
+        getStats().forEach((index, stats) -> indices.put(index, stats.toMap()));
+        return ImmutableMap.of("enabled", enabled, "indices", indices.build());
+    }
+
+    public void clearStats() {
+        countersByIndex.clear();
+    }
+
+    /**
+     * Computes a fingerprint of the given restrictions. Equal fingerprints imply equal restrictions.
+     */
+    static String fingerprint(
+        DlsRestriction dlsRestriction,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fieldMaskingRule
+    ) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        List<String> dlsQueries = dlsRestriction.getQueries()
+            .stream()
+            .map(DocumentPrivileges.RenderedDlsQuery::getRenderedSource)
+            .sorted()
+            .toList();
+
+        hasher.putInt(dlsQueries.size());
+        for (String dlsQuery : dlsQueries) {
+            putString(hasher, dlsQuery);
+        }
+
+        putString(hasher, flsRule.toString());
+        putString(hasher, fieldMaskingRule.toString());
+
+        return hasher.hash().toString();
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        hasher.putInt(string.length());
+        hasher.putString(string, StandardCharsets.UTF_8);
+    }
+
+    public record Stats(long hits, long misses) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        public Map<String, Object> toMap() {
+            return ImmutableMap.of("hits", hits, "misses", misses, "hit_rate", hitRate());
+        }
+    }
+
+    private static class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+
+    private static class QueryPhaseProbe {
+        final String index;
+        boolean queryExecuted;
+
+        QueryPhaseProbe(String index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Carries the fingerprint in the search source. Only the serialization as part of the cache key is relevant.
+     */
+    static class FingerprintSearchExtBuilder extends SearchExtBuilder {
+        static final String NAME = "opensearch_security_dls_fls_fingerprint";
+
+        private final String fingerprint;
+
+        FingerprintSearchExtBuilder(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(fingerprint);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.field(NAME, fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(NAME, fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof FingerprintSearchExtBuilder other && fingerprint.equals(other.fingerprint);
+        }
+    }
+}
@@ -45,6 +45,12 @@ public interface DlsFlsRequestValve {
 
     boolean hasFieldMasking(String index) throws PrivilegesEvaluationException;
 
+    /**
+     * Returns the partition of the node query cache which corresponds to the FLS and field masking rules effectively
+     * applied to the given index for the current request.
+     */
+    FlsQueryCachePartition getQueryCachePartition(String index) throws PrivilegesEvaluationException;
+
     boolean isFieldAllowed(String index, String field, PrivilegesEvaluationContext ctx) throws PrivilegesEvaluationException;
 
     boolean indexHasFlsRestrictions(String index, PrivilegesEvaluationContext ctx) throws PrivilegesEvaluationException;
@@ -76,6 +82,11 @@ public interface DlsFlsRequestValve {
             return false;
         }
 
+        @Override
+        public FlsQueryCachePartition getQueryCachePartition(String index) {
+            return FlsQueryCachePartition.UNRESTRICTED;
+        }
+
         @Override
         public boolean isFieldAllowed(String index, String field, PrivilegesEvaluationContext ctx) {
             return true;
@@ -30,6 +30,7 @@ import org.apache.lucene.util.BytesRef;
 
 import org.opensearch.OpenSearchException;
 import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.Version;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.RealtimeRequest;
 import org.opensearch.action.admin.indices.shrink.ResizeRequest;
@@ -48,7 +49,6 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.MediaTypeRegistry;
-import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.ParsedQuery;
 import org.opensearch.index.reindex.ReindexAction;
 import org.opensearch.script.mustache.RenderSearchTemplateAction;
@@ -79,6 +79,7 @@ import org.opensearch.security.privileges.dlsfls.DlsFlsLegacyHeaders;
 import org.opensearch.security.privileges.dlsfls.DlsFlsProcessedConfig;
 import org.opensearch.security.privileges.dlsfls.DlsRestriction;
 import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
 import org.opensearch.security.privileges.dlsfls.IndexToRuleMap;
 import org.opensearch.security.resources.ResourcePluginInfo;
 import org.opensearch.security.resources.ResourceSharingDlsUtils;
@@ -102,37 +103,40 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
     private final ClusterService clusterService;
     private final ThreadContext threadContext;
     private final Mode mode;
-    private final NamedXContentRegistry namedXContentRegistry;
     private final DlsFlsBaseContext dlsFlsBaseContext;
     private final FieldMasking.Config fieldMaskingConfig;
     private final Settings settings;
     private final AdminDNs adminDNs;
     private final OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting;
     private final ResourcePluginInfo resourcePluginInfo;
+    private final ResourceSharingDlsUtils resourceSharingDlsUtils;
+    private final DlsFlsRequestCache dlsFlsRequestCache;
     private volatile boolean dlsWriteBlockedEnabled;
 
     public DlsFlsValveImpl(
         Settings settings,
         Client nodeClient,
         ClusterService clusterService,
-        NamedXContentRegistry namedXContentRegistry,
         ThreadPool threadPool,
         DlsFlsBaseContext dlsFlsBaseContext,
         AdminDNs adminDNs,
         ResourcePluginInfo resourcePluginInfo,
-        OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting
+        OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting,
+        DlsFlsRequestCache dlsFlsRequestCache,
+        ResourceSharingDlsUtils resourceSharingDlsUtils
     ) {
         super();
         this.nodeClient = nodeClient;
         this.clusterService = clusterService;
         this.threadContext = threadPool.getThreadContext();
         this.mode = Mode.get(settings);
-        this.namedXContentRegistry = namedXContentRegistry;
         this.fieldMaskingConfig = FieldMasking.Config.fromSettings(settings);
         this.dlsFlsBaseContext = dlsFlsBaseContext;
         this.settings = settings;
         this.adminDNs = adminDNs;
         this.resourcePluginInfo = resourcePluginInfo;
+        this.resourceSharingDlsUtils = resourceSharingDlsUtils;
+        this.dlsFlsRequestCache = dlsFlsRequestCache;
 
         clusterService.addListener(event -> {
             DlsFlsProcessedConfig config = this.dlsFlsBaseContext.config();
@@ -184,8 +188,26 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                 WildcardMatcher resourceIndicesMatcher = WildcardMatcher.from(protectedIndices);
                 Set<String> resolvedIndexNames = resolvedIndices.local().namesOfIndices(context.clusterState());
                 if (resourceIndicesMatcher.matchAll(resolvedIndexNames)) {
-                    IndexToRuleMap<DlsRestriction> sharedResourceMap = ResourceSharingDlsUtils.resourceRestrictions(
-                        namedXContentRegistry,
+                    if (mode != Mode.FILTER_LEVEL && clusterService.state().nodes().getMinNodeVersion().onOrAfter(Version.CURRENT)) {
+                        // The restriction is applied on the shard level by SecurityFlsDlsIndexSearcherWrapper. This way,
+                        // DlsBitsetCache caches the matching documents per segment. Older nodes do not know the header;
+                        // these are covered by the filter level handling below.
+                        if (!ResourceSharingDlsUtils.putPrincipalsHeader(threadContext, userSubject.getUser())) {
+                            listener.onFailure(
+                                new OpenSearchSecurityException(
+                                    "Resource sharing principals of a different user are already present",
+                                    RestStatus.INTERNAL_SERVER_ERROR
+                                )
+                            );
+                            return false;
+                        }
+
+                        // The shard request cache keys do not reflect the principals
+                        ((SearchRequest) request).requestCache(Boolean.FALSE);
+                        return true;
+                    }
+
+                    IndexToRuleMap<DlsRestriction> sharedResourceMap = resourceSharingDlsUtils.resourceRestrictions(
                         resolvedIndexNames,
                         userSubject.getUser()
                     );
@@ -304,7 +326,11 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                     }
                 }
 
-                if (!hasFlsRestrictions && !hasDlsRestrictions && searchRequest.source().aggregations() != null) {
+                if (dlsFlsRequestCache.isEnabled() && isRequestCacheFingerprintSupported(resolved)) {
+                    // The request cache keys will be made specific to the effective restrictions on the shard level.
+                    // See handleSearchContext() and DlsFlsRequestCache
+                    log.trace("Keeping shard request cache enabled for search with DLS/FLS/FM restrictions");
+                } else if (!hasFlsRestrictions && !hasDlsRestrictions && searchRequest.source().aggregations() != null) {
 
                     boolean cacheable = true;
 
@@ -442,6 +468,8 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
                 log.trace("handleSearchContext(); index: {}", index);
             }
 
+            prepareRequestCache(searchContext, index);
+
             if (searchContext.suggest() != null) {
                 return;
             }
@@ -464,6 +492,7 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
 
             PrivilegesEvaluationContext privilegesEvaluationContext = this.dlsFlsBaseContext.getPrivilegesEvaluationContext();
             if (privilegesEvaluationContext == null) {
+                handleResourceSharingSearchContext(searchContext, index);
                 return;
             }
             DlsFlsProcessedConfig config = this.dlsFlsBaseContext.config();
@@ -525,6 +554,84 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         }
     }
 
+    /**
+     * Applies the resource sharing restriction passed by invoke() to the query. This must follow the logic in
+     * SecurityFlsDlsIndexSearcherWrapper.dlsFlsWrap().
+     */
+    private void handleResourceSharingSearchContext(SearchContext searchContext, String index) {
+        if (threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER) == null
+            || !resourcePluginInfo.getResourceIndicesForProtectedTypes().contains(index)) {
+            return;
+        }
+
+        DlsRestriction resourceRestriction = resourceSharingDlsUtils.restrictionFromHeader(threadContext);
+
+        if (log.isTraceEnabled()) {
+            log.trace("handleSearchContext(); index: {}; resourceRestriction: {}", index, resourceRestriction);
+        }
+
+        searchContext.getQueryShardContext().setStarTreeQueryContext(null);
+
+        BooleanQuery.Builder queryBuilder = resourceRestriction.toBooleanQueryBuilder(
+            searchContext.getQueryShardContext(),
+            (q) -> new ConstantScoreQuery(q)
+        );
+        queryBuilder.add(searchContext.parsedQuery().query(), Occur.MUST);
+
+        searchContext.parsedQuery(new ParsedQuery(queryBuilder.build()));
+        searchContext.preProcess(true);
+    }
+
+    /**
+     * Adds a fingerprint of the effective restrictions to the request cache key of the shard search request. This must
+     * follow the logic in SecurityFlsDlsIndexSearcherWrapper.dlsFlsWrap() and handleSearchContext().
+     */
+    private void prepareRequestCache(SearchContext searchContext, String index) throws PrivilegesEvaluationException {
+        if (dlsFlsBaseContext.isPrivilegedConfigRequest()) {
+            return;
+        }
+
+        PrivilegesEvaluationContext privilegesEvaluationContext = this.dlsFlsBaseContext.getPrivilegesEvaluationContext();
+        if (privilegesEvaluationContext == null) {
+            return;
+        }
+
+        DlsFlsProcessedConfig config = this.dlsFlsBaseContext.config();
+        DocumentAllowList documentAllowList = DocumentAllowList.get(threadContext);
+
+        DlsRestriction dlsRestriction = documentAllowList.isAllowed(index, "*")
+            ? DlsRestriction.NONE
+            : config.getDocumentPrivileges().getRestriction(privilegesEvaluationContext, index);
+
+        if (documentAllowList.isEntryForIndexPresent(index)) {
+            dlsFlsRequestCache.prepare(
+                searchContext,
+                index,
+                dlsRestriction,
+                FieldPrivileges.FlsRule.ALLOW_ALL,
+                FieldMasking.FieldMaskingRule.ALLOW_ALL
+            );
+        } else {
+            dlsFlsRequestCache.prepare(
+                searchContext,
+                index,
+                dlsRestriction,
+                config.getFieldPrivileges().getRestriction(privilegesEvaluationContext, index),
+                config.getFieldMasking().getRestriction(privilegesEvaluationContext, index)
+            );
+        }
+    }
+
+    /**
+     * Only nodes of this version add the restriction fingerprint to the request cache key. Remote clusters are not
+     * covered at all.
+     */
+    private boolean isRequestCacheFingerprintSupported(OptionallyResolvedIndices resolved) {
+        return resolved instanceof ResolvedIndices resolvedIndices
+            && resolvedIndices.remote().isEmpty()
+            && clusterService.state().nodes().getMinNodeVersion().onOrAfter(Version.CURRENT);
+    }
+
     @Override
     public void onQueryPhase(QuerySearchResult queryResult) {
         InternalAggregations aggregations = queryResult.aggregations().expand();
@@ -570,6 +677,26 @@ public class DlsFlsValveImpl implements DlsFlsRequestValve {
         return !config.getFieldMasking().isUnrestricted(privilegesEvaluationContext, index);
     }
 
+    @Override
+    public FlsQueryCachePartition getQueryCachePartition(String index) throws PrivilegesEvaluationException {
+        PrivilegesEvaluationContext privilegesEvaluationContext = this.dlsFlsBaseContext.getPrivilegesEvaluationContext();
+        if (privilegesEvaluationContext == null || this.dlsFlsBaseContext.isPrivilegedConfigRequest()) {
+            return FlsQueryCachePartition.UNRESTRICTED;
+        }
+
+        // This must yield the same rules as SecurityFlsDlsIndexSearcherWrapper.dlsFlsWrap(), as the partition
+        // must correspond to the reader the query is executed on
+        if (DocumentAllowList.get(threadContext).isEntryForIndexPresent(index)) {
+            return FlsQueryCachePartition.UNRESTRICTED;
+        }
+
+        DlsFlsProcessedConfig config = this.dlsFlsBaseContext.config();
+        return new FlsQueryCachePartition(
+            config.getFieldPrivileges().getRestriction(privilegesEvaluationContext, index),
+            config.getFieldMasking().getRestriction(privilegesEvaluationContext, index)
+        );
+    }
+
     @Override
     public boolean isFieldAllowed(String index, String field, PrivilegesEvaluationContext ctx) throws PrivilegesEvaluationException {
         if (ctx == null) {
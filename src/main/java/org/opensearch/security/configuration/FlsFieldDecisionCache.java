@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.cache.CacheStats;
+import org.apache.lucene.index.LeafReader;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+import org.opensearch.security.privileges.dlsfls.FlsFieldDecisions;
+
+/**
+ * A node-wide cache for the FLS and field masking decisions of the fields of a segment. These are used by
+ * DlsFlsFilterLeafReader for each field access; caching them avoids matching the field names against the FLS and
+ * field masking patterns again for every request.
+ * <p>
+ * Entries are keyed by the segment core and the FLS and field masking rules. The meta fields are not part of the key,
+ * as these only depend on the index the segment belongs to. Entries are evicted when the segment core is closed or
+ * when the configured size limit is exceeded.
+ */
+public class FlsFieldDecisionCache {
+
+    /**
+     * This setting specifies the maximum byte size of the cache. A value of 0 disables the cache. The default is 10 MB.
+     */
+    public static Setting<ByteSizeValue> MAX_SIZE = Setting.memorySizeSetting(
+        "plugins.security.fls.field_decision_cache.max_heap_size",
+        new ByteSizeValue(10, ByteSizeUnit.MB),
+        Setting.Property.NodeScope
+    );
+
+    public static final FlsFieldDecisionCache DISABLED = new FlsFieldDecisionCache(0);
+
+    private final SegmentCoreCache<Key, FlsFieldDecisions> cache;
+
+    public FlsFieldDecisionCache(Settings settings) {
+        this(MAX_SIZE.get(settings).getBytes());
+    }
+
+    FlsFieldDecisionCache(long maxSizeInBytes) {
+        this.cache = new SegmentCoreCache<>(maxSizeInBytes);
+    }
+
+    /**
+     * Returns the decisions for the fields of the given segment from the cache; if there are no such decisions, these
+     * will be computed.
+     */
+    FlsFieldDecisions getOrCompute(
+        LeafReader segmentReader,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fmRule,
+        Set<String> metaFields
+    ) {
+        try {
+            return cache.getOrCompute(
+                segmentReader,
+                new Key(flsRule, fmRule),
+                () -> FlsFieldDecisions.compute(segmentReader.getFieldInfos(), flsRule, fmRule, metaFields)
+            );
+        } catch (IOException e) {
+            // Computing the decisions does not perform any I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public Map<String, Object> getStatsAsMap() {
+        return cache.getStatsAsMap();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private record Key(FieldPrivileges.FlsRule flsRule, FieldMasking.FieldMaskingRule fmRule) {
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.apache.lucene.search.FilterWeight;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryCachingPolicy;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.Weight;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+/**
+ * Identifies a partition of the node query cache for indices with FLS or field masking restrictions.
+ * <p>
+ * The node query cache keys its entries by the query and the segment core. For indices with FLS or field masking, the
+ * segments are wrapped by DlsFlsFilterLeafReader, which does not change the core cache key. Thus, the same query could
+ * yield different results for users with different FLS or field masking rules, while hitting the same cache entry.
+ * That is why queries on such indices have not been cached at all so far.
+ * <p>
+ * This class makes the FLS and field masking rules which are effectively applied on the Lucene level part of the
+ * cache key. For this, the weight passed to the query cache is wrapped into a weight whose query consists of the original
+ * query and this partition. Users whose roles yield the same effective rules will share the cache entries, users
+ * with different rules will get separate entries.
+ */
+public final class FlsQueryCachePartition {
+
+    /**
+     * If this setting is true, queries on indices with FLS or field masking are cached in a partition of the node
+     * query cache specific to the effective FLS and field masking rules. Otherwise, such queries are not cached.
+     */
+    public static final Setting<Boolean> ENABLED = Setting.boolSetting(
+        "plugins.security.fls.partitioned_query_cache.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    public static final FlsQueryCachePartition UNRESTRICTED = new FlsQueryCachePartition(
+        FieldPrivileges.FlsRule.ALLOW_ALL,
+        FieldMasking.FieldMaskingRule.ALLOW_ALL
+    );
+
+    private final FieldPrivileges.FlsRule flsRule;
+    private final FieldMasking.FieldMaskingRule fieldMaskingRule;
+    private final int hashCode;
+
+    public FlsQueryCachePartition(FieldPrivileges.FlsRule flsRule, FieldMasking.FieldMaskingRule fieldMaskingRule) {
+        this.flsRule = flsRule;
+        this.fieldMaskingRule = fieldMaskingRule;
+        this.hashCode = Objects.hash(flsRule, fieldMaskingRule);
+    }
+
+    /**
+     * Returns true if neither FLS nor field masking is effective. In this case, the cache entries can be shared with
+     * unrestricted users and no wrapping is necessary.
+     */
+    public boolean isUnrestricted() {
+        return flsRule.isAllowAll() && fieldMaskingRule.isAllowAll();
+    }
+
+    /**
+     * Returns a weight which behaves like the given weight, but whose query also identifies this partition.
+     */
+    public Weight wrap(Weight weight) {
+        return new PartitionedWeight(new PartitionedQuery(weight.getQuery(), this), weight);
+    }
+
+    /**
+     * Returns a caching policy which passes the original queries to the given policy. This is necessary, as the
+     * usage tracking and cost heuristics of the policies rely on the query types.
+     */
+    public static QueryCachingPolicy wrap(QueryCachingPolicy policy) {
+        return new UnwrappingCachingPolicy(policy);
+    }
+
+    public FieldPrivileges.FlsRule getFlsRule() {
+        return flsRule;
+    }
+
+    public FieldMasking.FieldMaskingRule getFieldMaskingRule() {
+        return fieldMaskingRule;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FlsQueryCachePartition that)) {
+            return false;
+        }
+        return this.hashCode == that.hashCode && flsRule.equals(that.flsRule) && fieldMaskingRule.equals(that.fieldMaskingRule);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "FlsQueryCachePartition{flsRule=" + flsRule + ", fieldMaskingRule=" + fieldMaskingRule + "}";
+    }
+
+    /**
+     * The query used as cache key. It is never executed itself.
+     */
+    static final class PartitionedQuery extends Query {
+        private final Query query;
+        private final FlsQueryCachePartition partition;
+
+        PartitionedQuery(Query query, FlsQueryCachePartition partition) {
+            this.query = query;
+            this.partition = partition;
+        }
+
+        Query getQuery() {
+            return query;
+        }
+
+        FlsQueryCachePartition getPartition() {
+            return partition;
+        }
+
+        @Override
+        public String toString(String field) {
+            return query.toString(field) + " [" + partition + "]";
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            query.visit(visitor);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return sameClassAs(other)
+                && query.equals(((PartitionedQuery) other).query)
+                && partition.equals(((PartitionedQuery) other).partition);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * classHash() + query.hashCode()) + partition.hashCode();
+        }
+    }
+
+    static final class PartitionedWeight extends FilterWeight {
+        PartitionedWeight(PartitionedQuery query, Weight weight) {
+            super(query, weight);
+        }
+    }
+
+    static final class UnwrappingCachingPolicy implements QueryCachingPolicy {
+        private final QueryCachingPolicy delegate;
+
+        UnwrappingCachingPolicy(QueryCachingPolicy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onUse(Query query) {
+            delegate.onUse(unwrap(query));
+        }
+
+        @Override
+        public boolean shouldCache(Query query) throws IOException {
+            return delegate.shouldCache(unwrap(query));
+        }
+
+        private static Query unwrap(Query query) {
+            if (query instanceof PartitionedQuery partitionedQuery) {
+                return partitionedQuery.getQuery();
+            } else {
+                return query;
+            }
+        }
+    }
+}
@@ -46,6 +46,8 @@ import org.opensearch.security.privileges.dlsfls.DlsFlsProcessedConfig;
 import org.opensearch.security.privileges.dlsfls.DlsRestriction;
 import org.opensearch.security.privileges.dlsfls.FieldMasking;
 import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+import org.opensearch.security.resources.ResourcePluginInfo;
+import org.opensearch.security.resources.ResourceSharingDlsUtils;
 import org.opensearch.security.support.ConfigConstants;
 
 public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapper {
@@ -62,6 +64,10 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
     private final LongSupplier nowInMillis;
     private final Supplier<DlsFlsProcessedConfig> dlsFlsProcessedConfigSupplier;
     private final DlsFlsBaseContext dlsFlsBaseContext;
+    private final DlsBitsetCache dlsBitsetCache;
+    private final FlsFieldDecisionCache fieldDecisionCache;
+    private final ResourceSharingDlsUtils resourceSharingDlsUtils;
+    private final ResourcePluginInfo resourcePluginInfo;
 
     public SecurityFlsDlsIndexSearcherWrapper(
         final IndexService indexService,
@@ -73,7 +79,11 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
         final PrivilegesConfiguration privilegesConfiguration,
         final RoleMapper roleMapper,
         final Supplier<DlsFlsProcessedConfig> dlsFlsProcessedConfigSupplier,
-        final DlsFlsBaseContext dlsFlsBaseContext
+        final DlsFlsBaseContext dlsFlsBaseContext,
+        final DlsBitsetCache dlsBitsetCache,
+        final FlsFieldDecisionCache fieldDecisionCache,
+        final ResourceSharingDlsUtils resourceSharingDlsUtils,
+        final ResourcePluginInfo resourcePluginInfo
     ) {
         super(indexService, settings, adminDNs, privilegesConfiguration, roleMapper);
         Set<String> metadataFieldsCopy;
@@ -105,6 +115,10 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
         log.debug("FLS/DLS {} enabled for index {}", this, indexService.index().getName());
         this.dlsFlsProcessedConfigSupplier = dlsFlsProcessedConfigSupplier;
         this.dlsFlsBaseContext = dlsFlsBaseContext;
+        this.dlsBitsetCache = dlsBitsetCache;
+        this.fieldDecisionCache = fieldDecisionCache;
+        this.resourceSharingDlsUtils = resourceSharingDlsUtils;
+        this.resourcePluginInfo = resourcePluginInfo;
     }
 
     @SuppressWarnings("unchecked")
@@ -119,17 +133,33 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
         }
 
         if (isAdmin || privilegesEvaluationContext == null || this.dlsFlsBaseContext.isPrivilegedConfigRequest()) {
+            Query dlsQuery = null;
+
+            if (!isAdmin && privilegesEvaluationContext == null && isResourceSharingRequest()) {
+                // Plugin searches on resource indices are restricted to the resources shared with the user.
+                // See DlsFlsValveImpl.invoke()
+                DlsRestriction resourceRestriction = resourceSharingDlsUtils.restrictionFromHeader(threadContext);
+                QueryShardContext queryShardContext = this.indexService.newQueryShardContext(shardId.getId(), null, nowInMillis, null);
+                dlsQuery = new ConstantScoreQuery(resourceRestriction.toBooleanQueryBuilder(queryShardContext, null).build());
+
+                if (log.isTraceEnabled()) {
+                    log.trace("dlsFlsWrap(); index: {}; resourceRestriction: {}", index.getName(), resourceRestriction);
+                }
+            }
+
             return new DlsFlsFilterLeafReader.DlsFlsDirectoryReader(
                 reader,
                 FieldPrivileges.FlsRule.ALLOW_ALL,
-                null,
+                dlsQuery,
                 indexService,
                 threadContext,
                 clusterService,
                 auditlog,
                 FieldMasking.FieldMaskingRule.ALLOW_ALL,
                 shardId,
-                metaFields
+                metaFields,
+                dlsBitsetCache,
+                fieldDecisionCache
             );
         }
 
@@ -197,7 +227,9 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
                 auditlog,
                 fmRule,
                 shardId,
-                metaFields
+                metaFields,
+                dlsBitsetCache,
+                fieldDecisionCache
             );
 
         } catch (PrivilegesEvaluationException e) {
@@ -205,4 +237,9 @@ public class SecurityFlsDlsIndexSearcherWrapper extends SystemIndexSearcherWrapp
             throw new OpenSearchException("Error while evaluating DLS/FLS", e);
         }
     }
+
+    private boolean isResourceSharingRequest() {
+        return threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER) != null
+            && resourcePluginInfo.getResourceIndicesForProtectedTypes().contains(index.getName());
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.util.Accountable;
+
+/**
+ * A size-limited cache for values computed from a segment core, such as DLS bitsets or FLS field decisions. Entries
+ * are keyed by the segment core and a key describing the computation; the latter must implement equals() and
+ * hashCode(). As segment cores are immutable, entries stay valid until the segment core is closed; then, they are
+ * evicted. Entries are also evicted when the configured size limit is exceeded.
+ * <p>
+ * Segments without a core cache helper are never cached; for these, the value is computed on each call.
+ */
+class SegmentCoreCache<K, V extends Accountable> {
+
+    private final Cache<Key<K>, V> cache;
+    private final Set<IndexReader.CacheKey> registeredCoreKeys = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+
+    SegmentCoreCache(long maxSizeInBytes) {
+        this.enabled = maxSizeInBytes > 0;
+        this.cache = CacheBuilder.newBuilder()
+            .weigher((Weigher<Key<K>, V>) (key, value) -> (int) Math.min(Integer.MAX_VALUE, value.ramBytesUsed()))
+            .maximumWeight(Math.max(maxSizeInBytes, 0))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the value for the given segment and key from the cache; if there is no such value, it will be computed
+     * using the given loader.
+     */
+    V getOrCompute(LeafReader segmentReader, K key, Callable<V> loader) throws IOException {
+        IndexReader.CacheHelper coreCacheHelper = segmentReader.getCoreCacheHelper();
+
+        if (!enabled || coreCacheHelper == null) {
+            return call(loader);
+        }
+
+        IndexReader.CacheKey coreKey = coreCacheHelper.getKey();
+
+        if (registeredCoreKeys.add(coreKey)) {
+            coreCacheHelper.addClosedListener(this::onCoreClosed);
+        }
+
+        try {
+            return cache.get(new Key<>(coreKey, key), loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the size and the statistics of this cache as reported by the security stats API.
+     */
+    Map<String, Object> getStatsAsMap() {
+        CacheStats stats = cache.stats();
+        return ImmutableMap.<String, Object>builder()
+            .put("enabled", enabled)
+            .put("size", cache.size())
+            .put("hits", stats.hitCount())
+            .put("misses", stats.missCount())
+            .put("hit_rate", stats.hitRate())
+            .put("evictions", stats.evictionCount())
+            .build();
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    void clear() {
+        cache.invalidateAll();
+    }
+
+    private void onCoreClosed(IndexReader.CacheKey coreKey) {
+        registeredCoreKeys.remove(coreKey);
+        cache.asMap().keySet().removeIf(key -> key.coreKey == coreKey);
+    }
+
+    private static <V> V call(Callable<V> loader) throws IOException {
+        try {
+            return loader.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record Key<K>(IndexReader.CacheKey coreKey, K key) {
+    }
+}
@@ -45,6 +45,7 @@ package org.opensearch.security.http;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -54,6 +55,7 @@ import org.apache.logging.log4j.Logger;
 
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.security.filter.SecurityRequest;
+import org.opensearch.security.support.CidrTrie;
 import org.opensearch.security.support.ConfigConstants;
 
 final class RemoteIpDetector {
@@ -92,6 +94,11 @@ final class RemoteIpDetector {
             + "172\\.3[0-1]{1}\\.\\d{1,3}\\.\\d{1,3}"
     );
 
+    /**
+     * @see #setInternalProxyCidrs(Collection)
+     */
+    private CidrTrie internalProxyCidrs = CidrTrie.EMPTY;
+
     /**
      * @see #setRemoteIpHeader(String)
      */
@@ -118,10 +125,8 @@ final class RemoteIpDetector {
 
     String detect(SecurityRequest request, ThreadContext threadContext) {
 
-        final String originalRemoteAddr = request.getRemoteAddress()
-            .map(InetSocketAddress::getAddress)
-            .map(InetAddress::getHostAddress)
-            .orElseThrow();
+        final InetAddress originalRemoteInetAddr = request.getRemoteAddress().map(InetSocketAddress::getAddress).orElseThrow();
+        final String originalRemoteAddr = originalRemoteInetAddr.getHostAddress();
 
         final boolean isTraceEnabled = log.isTraceEnabled();
         if (isTraceEnabled) {
@@ -132,7 +137,8 @@ final class RemoteIpDetector {
         // ^^^^^^ originalRemoteAddr
 
         // originalRemoteAddr need to be in the list of internalProxies
-        if (internalProxies != null && internalProxies.matcher(originalRemoteAddr).matches()) {
+        if ((internalProxies != null && internalProxies.matcher(originalRemoteAddr).matches())
+            || internalProxyCidrs.contains(originalRemoteInetAddr.getAddress())) {
             String remoteIp = null;
             final StringBuilder concatRemoteIpHeaderValue = new StringBuilder();
 
@@ -161,7 +167,7 @@ final class RemoteIpDetector {
             for (idx = remoteIpHeaderValue.length - 1; idx >= 0; idx--) {
                 String currentRemoteIp = remoteIpHeaderValue[idx];
                 remoteIp = currentRemoteIp;
-                if (internalProxies.matcher(currentRemoteIp).matches()) {
+                if (isInternalProxy(currentRemoteIp)) {
                     // do nothing, internalProxies IPs are not appended to the
                 } else {
                     idx--; // decrement idx because break statement doesn't do it
@@ -211,6 +217,10 @@ final class RemoteIpDetector {
         return originalRemoteAddr;
     }
 
+    private boolean isInternalProxy(String remoteIp) {
+        return (internalProxies != null && internalProxies.matcher(remoteIp).matches()) || internalProxyCidrs.contains(remoteIp);
+    }
+
     /**
      * <p>
      * Regular expression that defines the internal proxies.
@@ -227,6 +237,21 @@ final class RemoteIpDetector {
         }
     }
 
+    /**
+     * <p>
+     * CIDR ranges of internal proxies. These are trusted in addition to the addresses matching the internal proxies
+     * regular expression.
+     * </p>
+     * <p>
+     * Default value : empty
+     * </p>
+     */
+    public void setInternalProxyCidrs(Collection<String> internalProxyCidrs) {
+        this.internalProxyCidrs = internalProxyCidrs == null || internalProxyCidrs.isEmpty()
+            ? CidrTrie.EMPTY
+            : CidrTrie.of(internalProxyCidrs);
+    }
+
     /**
      * <p>
      * Name of the http header from which the remote ip is extracted.
@@ -96,6 +96,7 @@ public class XFFResolver {
         if (enabled) {
             detector = new RemoteIpDetector();
             detector.setInternalProxies(dcm.getInternalProxies());
+            detector.setInternalProxyCidrs(dcm.getInternalProxyCidrs());
             detector.setRemoteIpHeader(dcm.getRemoteIpHeader());
         } else {
             detector = null;
@@ -57,6 +57,17 @@ public class CompiledRoles {
      */
     public final ImmutableMap<String, Role> roles;
 
+    /**
+     * The number of roles which were actually compiled for this instance. The remaining roles were taken over from
+     * a previous instance.
+     */
+    private final int compiledRoleCount;
+
+    private final FlattenedActionGroups actionGroups;
+    private final NamedXContentRegistry xContentRegistry;
+    private final FieldMasking.Config fieldMaskingConfig;
+    private final boolean memberIndexPrivilegesYieldAliasPrivileges;
+
     /**
      * Creates a {@link CompiledRoles} instance from raw role configuration and resolved action groups.
      *
@@ -70,9 +81,44 @@ public class CompiledRoles {
         FieldMasking.Config fieldMaskingConfig,
         boolean memberIndexPrivilegesYieldAliasPrivileges
     ) {
+        this(null, rolesConfig, actionGroups, xContentRegistry, fieldMaskingConfig, memberIndexPrivilegesYieldAliasPrivileges);
+    }
+
+    private CompiledRoles(
+        CompiledRoles previous,
+        SecurityDynamicConfiguration<RoleV7> rolesConfig,
+        FlattenedActionGroups actionGroups,
+        NamedXContentRegistry xContentRegistry,
+        FieldMasking.Config fieldMaskingConfig,
+        boolean memberIndexPrivilegesYieldAliasPrivileges
+    ) {
+        this.actionGroups = actionGroups;
+        this.xContentRegistry = xContentRegistry;
+        this.fieldMaskingConfig = fieldMaskingConfig;
+        this.memberIndexPrivilegesYieldAliasPrivileges = memberIndexPrivilegesYieldAliasPrivileges;
+
+        // Compiled roles can be only taken over if these were compiled with the same inputs
+        Map<String, Role> previousRoles = previous != null
+            && previous.actionGroups == actionGroups
+            && previous.xContentRegistry == xContentRegistry
+            && previous.fieldMaskingConfig == fieldMaskingConfig
+            && previous.memberIndexPrivilegesYieldAliasPrivileges == memberIndexPrivilegesYieldAliasPrivileges
+                ? previous.roles
+                : ImmutableMap.of();
+
         ImmutableMap.Builder<String, Role> rolesBuilder = ImmutableMap.builder();
+        int compiledRoleCount = 0;
 
         for (Map.Entry<String, RoleV7> entry : rolesConfig.getCEntries().entrySet()) {
+            Role previousRole = previousRoles.get(entry.getKey());
+
+            if (previousRole != null && previousRole.base.equals(entry.getValue())) {
+                rolesBuilder.put(entry.getKey(), previousRole);
+                continue;
+            }
+
+            compiledRoleCount++;
+
             try {
                 rolesBuilder.put(
                     entry.getKey(),
@@ -91,6 +137,40 @@ public class CompiledRoles {
         }
 
         this.roles = rolesBuilder.build();
+        this.compiledRoleCount = compiledRoleCount;
+    }
+
+    /**
+     * Creates a {@link CompiledRoles} instance from raw role configuration, taking over the compiled roles of the
+     * given previous instance which did not change. All roles are compiled again if the action groups (compared by
+     * identity) or any other input differ from the ones the previous instance was created with.
+     *
+     * @param previous the previously compiled roles; may be null
+     */
+    public static CompiledRoles update(
+        CompiledRoles previous,
+        SecurityDynamicConfiguration<RoleV7> rolesConfig,
+        FlattenedActionGroups actionGroups,
+        NamedXContentRegistry xContentRegistry,
+        FieldMasking.Config fieldMaskingConfig,
+        boolean memberIndexPrivilegesYieldAliasPrivileges
+    ) {
+        return new CompiledRoles(
+            previous,
+            rolesConfig,
+            actionGroups,
+            xContentRegistry,
+            fieldMaskingConfig,
+            memberIndexPrivilegesYieldAliasPrivileges
+        );
+    }
+
+    /**
+     * Returns the number of roles which were compiled when this instance was created; roles taken over from a previous
+     * instance are not counted.
+     */
+    public int getCompiledRoleCount() {
+        return compiledRoleCount;
     }
 
     /**
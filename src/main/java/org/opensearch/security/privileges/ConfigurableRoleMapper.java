@@ -11,18 +11,25 @@
 
 package org.opensearch.security.privileges;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ListMultimap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.core.common.transport.TransportAddress;
 import org.opensearch.security.configuration.ConfigurationRepository;
@@ -32,6 +39,7 @@ import org.opensearch.security.securityconf.impl.v7.ConfigV7;
 import org.opensearch.security.securityconf.impl.v7.RoleMappingsV7;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.support.HostResolverMode;
+import org.opensearch.security.support.ReverseDnsResolver;
 import org.opensearch.security.support.WildcardMatcher;
 import org.opensearch.security.user.User;
 
@@ -41,9 +49,28 @@ import org.opensearch.security.user.User;
 public class ConfigurableRoleMapper implements RoleMapper {
     private final static Logger log = LogManager.getLogger(ConfigurableRoleMapper.class);
 
+    /**
+     * The maximum number of memoized results of the role mapping process. A value of 0 disables memoization.
+     */
+    public static final Setting<Integer> MEMO_MAX_SIZE = Setting.intSetting(
+        "plugins.security.roles_mapping.cache.max_size",
+        10000,
+        0,
+        Setting.Property.NodeScope
+    );
+
     private final AtomicReference<CompiledConfiguration> activeConfiguration = new AtomicReference<>();
 
     public ConfigurableRoleMapper(ConfigurationRepository configurationRepository, ResolutionMode resolutionMode) {
+        this(configurationRepository, resolutionMode, MEMO_MAX_SIZE.getDefault(Settings.EMPTY), null);
+    }
+
+    public ConfigurableRoleMapper(
+        ConfigurationRepository configurationRepository,
+        ResolutionMode resolutionMode,
+        int memoMaxSize,
+        ReverseDnsResolver reverseDnsResolver
+    ) {
         if (configurationRepository != null) {
             configurationRepository.subscribeOnChange(configMap -> {
                 HostResolverMode hostResolverMode = getHostResolverMode(configurationRepository.getConfiguration(CType.CONFIG));
@@ -54,13 +81,25 @@ public class ConfigurableRoleMapper implements RoleMapper {
                     rawRoleMappingConfiguration = SecurityDynamicConfiguration.empty(CType.ROLESMAPPING);
                 }
 
-                this.activeConfiguration.set(new CompiledConfiguration(rawRoleMappingConfiguration, hostResolverMode, resolutionMode));
+                this.activeConfiguration.set(
+                    new CompiledConfiguration(
+                        rawRoleMappingConfiguration,
+                        hostResolverMode,
+                        resolutionMode,
+                        memoMaxSize,
+                        reverseDnsResolver
+                    )
+                );
             });
         }
     }
 
-    public ConfigurableRoleMapper(ConfigurationRepository configurationRepository, Settings settings) {
-        this(configurationRepository, ResolutionMode.fromSettings(settings));
+    public ConfigurableRoleMapper(
+        ConfigurationRepository configurationRepository,
+        Settings settings,
+        ReverseDnsResolver reverseDnsResolver
+    ) {
+        this(configurationRepository, ResolutionMode.fromSettings(settings), MEMO_MAX_SIZE.get(settings), reverseDnsResolver);
     }
 
     @Override
@@ -124,34 +163,58 @@ public class ConfigurableRoleMapper implements RoleMapper {
 
     /**
      * Moved from https://github.com/opensearch-project/security/blob/d29095f26dba1a26308c69b608dc926bd40c0f52/src/main/java/org/opensearch/security/securityconf/ConfigModelV7.java
+     * <p>
+     * The role mappings are indexed by the values they match on: mappings for exact user names, backend roles and
+     * hosts are looked up in hash maps; only mappings with wildcard patterns need pattern matching. Additionally,
+     * the results of map() are memoized in a bounded cache. As a new instance of this class is created for each
+     * change of the role mapping configuration, the memo never outlives the configuration it was computed from.
      */
     static class CompiledConfiguration implements RoleMapper {
 
         private final ResolutionMode resolutionMode;
         private final HostResolverMode hostResolverMode;
+        private final ReverseDnsResolver reverseDnsResolver;
 
-        private ListMultimap<String, String> users;
-        private ListMultimap<List<WildcardMatcher>, String> abars;
-        private ListMultimap<String, String> bars;
-        private ListMultimap<String, String> hosts;
+        private final PatternIndex users;
+        private final PatternIndex bars;
+        private final PatternIndex hosts;
+        private final AndBackendRolesIndex abars;
 
-        private List<WildcardMatcher> userMatchers;
-        private List<WildcardMatcher> barMatchers;
-        private List<WildcardMatcher> hostMatchers;
+        private final Cache<MemoKey, ImmutableSet<String>> memo;
 
         CompiledConfiguration(
             SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
             HostResolverMode hostResolverMode,
             ResolutionMode resolutionMode
         ) {
+            this(rolemappings, hostResolverMode, resolutionMode, MEMO_MAX_SIZE.getDefault(Settings.EMPTY));
+        }
+
+        CompiledConfiguration(
+            SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
+            HostResolverMode hostResolverMode,
+            ResolutionMode resolutionMode,
+            int memoMaxSize
+        ) {
+            this(rolemappings, hostResolverMode, resolutionMode, memoMaxSize, null);
+        }
+
+        CompiledConfiguration(
+            SecurityDynamicConfiguration<RoleMappingsV7> rolemappings,
+            HostResolverMode hostResolverMode,
+            ResolutionMode resolutionMode,
+            int memoMaxSize,
+            ReverseDnsResolver reverseDnsResolver
+        ) {
 
             this.hostResolverMode = hostResolverMode;
             this.resolutionMode = resolutionMode;
+            this.reverseDnsResolver = reverseDnsResolver;
 
-            users = ArrayListMultimap.create();
-            abars = ArrayListMultimap.create();
-            bars = ArrayListMultimap.create();
-            hosts = ArrayListMultimap.create();
+            ListMultimap<String, String> users = ArrayListMultimap.create();
+            ListMultimap<List<WildcardMatcher>, String> abars = ArrayListMultimap.create();
+            ListMultimap<String, String> bars = ArrayListMultimap.create();
+            ListMultimap<String, String> hosts = ArrayListMultimap.create();
 
             for (final Map.Entry<String, RoleMappingsV7> roleMap : rolemappings.getCEntries().entrySet()) {
                 final String roleMapKey = roleMap.getKey();
@@ -176,10 +239,11 @@ public class ConfigurableRoleMapper implements RoleMapper {
                 }
             }
 
-            userMatchers = WildcardMatcher.matchers(users.keySet());
-            barMatchers = WildcardMatcher.matchers(bars.keySet());
-            hostMatchers = WildcardMatcher.matchers(hosts.keySet());
-
+            this.users = new PatternIndex(users);
+            this.bars = new PatternIndex(bars);
+            this.hosts = new PatternIndex(hosts);
+            this.abars = new AndBackendRolesIndex(abars);
+            this.memo = memoMaxSize > 0 ? CacheBuilder.newBuilder().maximumSize(memoMaxSize).build() : null;
         }
 
         @Override
@@ -189,6 +253,30 @@ public class ConfigurableRoleMapper implements RoleMapper {
                 return ImmutableSet.of();
             }
 
+            if (memo == null || (caller != null && hostResolverMode == HostResolverMode.IP_HOSTNAME_LOOKUP)) {
+                // Results depending on reverse DNS lookups are not memoized, as these change when asynchronous lookups complete
+                return mapUncached(user, caller);
+            }
+
+            MemoKey memoKey = new MemoKey(
+                user.getName(),
+                user.getRoles(),
+                user.getSecurityRoles(),
+                caller != null ? caller.getAddress() : null,
+                caller != null && caller.address() != null ? caller.address().getHostString() : null
+            );
+
+            ImmutableSet<String> result = memo.getIfPresent(memoKey);
+
+            if (result == null) {
+                result = mapUncached(user, caller);
+                memo.put(memoKey, result);
+            }
+
+            return result;
+        }
+
+        private ImmutableSet<String> mapUncached(final User user, final TransportAddress caller) {
             ImmutableSet.Builder<String> result = ImmutableSet.builderWithExpectedSize(
                 user.getSecurityRoles().size() + user.getRoles().size()
             );
@@ -201,42 +289,29 @@ public class ConfigurableRoleMapper implements RoleMapper {
 
             if (((resolutionMode == ResolutionMode.BOTH || resolutionMode == ResolutionMode.MAPPING_ONLY))) {
 
-                for (String p : WildcardMatcher.getAllMatchingPatterns(userMatchers, user.getName())) {
-                    result.addAll(users.get(p));
-                }
-                for (String p : WildcardMatcher.getAllMatchingPatterns(barMatchers, user.getRoles())) {
-                    result.addAll(bars.get(p));
-                }
-
-                for (List<WildcardMatcher> patterns : abars.keySet()) {
-                    if (patterns.stream().allMatch(p -> p.matchAny(user.getRoles()))) {
-                        result.addAll(abars.get(patterns));
-                    }
-                }
+                users.collectRoles(user.getName(), result);
+                bars.collectRoles(user.getRoles(), result);
+                abars.collectRoles(user.getRoles(), result);
 
                 if (caller != null) {
                     // IPV4 or IPv6 (compressed and without scope identifiers)
                     final String ipAddress = caller.getAddress();
 
-                    for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, ipAddress)) {
-                        result.addAll(hosts.get(p));
-                    }
+                    hosts.collectRoles(ipAddress, result);
 
                     if (caller.address() != null
                         && (hostResolverMode == HostResolverMode.IP_HOSTNAME || hostResolverMode == HostResolverMode.IP_HOSTNAME_LOOKUP)) {
                         final String hostName = caller.address().getHostString();
 
-                        for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, hostName)) {
-                            result.addAll(hosts.get(p));
-                        }
+                        hosts.collectRoles(hostName, result);
                     }
 
-                    if (caller.address() != null && hostResolverMode == HostResolverMode.IP_HOSTNAME_LOOKUP) {
+                    if (caller.address() != null && hostResolverMode == HostResolverMode.IP_HOSTNAME_LOOKUP && reverseDnsResolver != null) {
+                        // Does not block; if the host name is not known yet, only the IP address is used for this request
+                        final String resolvedHostName = reverseDnsResolver.getHostNameIfResolved(caller.address().getAddress());
 
-                        final String resolvedHostName = caller.address().getHostName();
-
-                        for (String p : WildcardMatcher.getAllMatchingPatterns(hostMatchers, resolvedHostName)) {
-                            result.addAll(hosts.get(p));
+                        if (resolvedHostName != null) {
+                            hosts.collectRoles(resolvedHostName, result);
                         }
                     }
                 }
@@ -246,4 +321,122 @@ public class ConfigurableRoleMapper implements RoleMapper {
         }
     }
 
+    /**
+     * Maps strings, such as user names, to the roles of the role mappings with matching patterns. Exact patterns are
+     * looked up in a hash map; only the remaining patterns need to be matched by a WildcardMatcher.
+     */
+    static class PatternIndex {
+        private final ImmutableSetMultimap<String, String> exactPatterns;
+        private final ImmutableListMultimap<String, String> wildcardPatterns;
+        private final WildcardMatcher wildcardMatcher;
+
+        PatternIndex(ListMultimap<String, String> patternToRoles) {
+            ImmutableSetMultimap.Builder<String, String> exactPatterns = ImmutableSetMultimap.builder();
+            ImmutableListMultimap.Builder<String, String> wildcardPatterns = ImmutableListMultimap.builder();
+
+            for (Map.Entry<String, Collection<String>> entry : patternToRoles.asMap().entrySet()) {
+                String pattern = entry.getKey();
+
+                if (pattern == null || pattern.isBlank()) {
+                    // Blank patterns never match anything
+                    continue;
+                }
+
+                if (WildcardMatcher.isExactPattern(pattern)) {
+                    exactPatterns.putAll(pattern, entry.getValue());
+                } else {
+                    wildcardPatterns.putAll(pattern, entry.getValue());
+                }
+            }
+
+            this.exactPatterns = exactPatterns.build();
+            this.wildcardPatterns = wildcardPatterns.build();
+            this.wildcardMatcher = WildcardMatcher.from(this.wildcardPatterns.keySet());
+        }
+
+        void collectRoles(String candidate, ImmutableSet.Builder<String> result) {
+            result.addAll(exactPatterns.get(candidate));
+
+            if (!wildcardPatterns.isEmpty()) {
+                for (String pattern : wildcardMatcher.getMatchingPatterns(candidate)) {
+                    result.addAll(wildcardPatterns.get(pattern));
+                }
+            }
+        }
+
+        void collectRoles(Collection<String> candidates, ImmutableSet.Builder<String> result) {
+            for (String candidate : candidates) {
+                result.addAll(exactPatterns.get(candidate));
+            }
+
+            if (!wildcardPatterns.isEmpty()) {
+                for (String pattern : wildcardMatcher.getMatchingPatterns(candidates)) {
+                    result.addAll(wildcardPatterns.get(pattern));
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes the and_backend_roles mappings. Mappings which require at least one exact backend role are only
+     * checked if the user has that backend role; mappings consisting only of wildcard patterns are always checked.
+     */
+    static class AndBackendRolesIndex {
+        private final ImmutableListMultimap<String, AndBackendRolesMapping> byExactBackendRole;
+        private final ImmutableList<AndBackendRolesMapping> wildcardOnly;
+
+        AndBackendRolesIndex(ListMultimap<List<WildcardMatcher>, String> abars) {
+            ImmutableListMultimap.Builder<String, AndBackendRolesMapping> byExactBackendRole = ImmutableListMultimap.builder();
+            ImmutableList.Builder<AndBackendRolesMapping> wildcardOnly = ImmutableList.builder();
+
+            for (Map.Entry<List<WildcardMatcher>, Collection<String>> entry : abars.asMap().entrySet()) {
+                AndBackendRolesMapping mapping = new AndBackendRolesMapping(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+                String exactBackendRole = entry.getKey()
+                    .stream()
+                    .map(Object::toString)
+                    .filter(p -> !p.isBlank() && WildcardMatcher.isExactPattern(p))
+                    .findFirst()
+                    .orElse(null);
+
+                if (exactBackendRole != null) {
+                    byExactBackendRole.put(exactBackendRole, mapping);
+                } else {
+                    wildcardOnly.add(mapping);
+                }
+            }
+
+            this.byExactBackendRole = byExactBackendRole.build();
+            this.wildcardOnly = wildcardOnly.build();
+        }
+
+        void collectRoles(Collection<String> backendRoles, ImmutableSet.Builder<String> result) {
+            for (String backendRole : backendRoles) {
+                for (AndBackendRolesMapping mapping : byExactBackendRole.get(backendRole)) {
+                    mapping.collectRoles(backendRoles, result);
+                }
+            }
+
+            for (AndBackendRolesMapping mapping : wildcardOnly) {
+                mapping.collectRoles(backendRoles, result);
+            }
+        }
+    }
+
+    record AndBackendRolesMapping(List<WildcardMatcher> patterns, ImmutableList<String> roles) {
+        void collectRoles(Collection<String> backendRoles, ImmutableSet.Builder<String> result) {
+            if (patterns.stream().allMatch(p -> p.matchAny(backendRoles))) {
+                result.addAll(roles);
+            }
+        }
+    }
+
+    private record MemoKey(
+        String userName,
+        ImmutableSet<String> backendRoles,
+        ImmutableSet<String> securityRoles,
+        String callerAddress,
+        String callerHostString
+    ) {
+    }
+
 }
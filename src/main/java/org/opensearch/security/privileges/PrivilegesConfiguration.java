@@ -14,7 +14,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -67,6 +69,12 @@ public class PrivilegesConfiguration {
     );
     private final SpecialIndices specialIndices;
     private final AtomicReference<DlsFlsProcessedConfig> dlsFlsProcessedConfig = new AtomicReference<>();
+    /**
+     * The action groups and compiled roles from the last configuration update. These are used to re-use the parts
+     * of the compiled configuration which did not change on the next configuration update.
+     */
+    private final AtomicReference<FlattenedActionGroups> flattenedActionGroups = new AtomicReference<>();
+    private final AtomicReference<CompiledRoles> compiledRoles = new AtomicReference<>();
 
     private ApiTokenRepository apiTokenRepository;
     private final Map<String, ActionPrivileges> tokenIdToActionPrivileges = new ConcurrentHashMap<>();
@@ -154,17 +162,51 @@ public class PrivilegesConfiguration {
                 if (privilegesChanged) {
                     log.debug("Privileges for PrivilegesEvaluator or DLS/FLS changed; updating.");
 
-                    FlattenedActionGroups flattenedActionGroups = new FlattenedActionGroups(actionGroupsConfiguration.withStaticConfig());
+                    boolean typeChanged = currentType != targetType;
+                    boolean actionGroupsChanged = oldRawConfiguration == null
+                        || !oldRawConfiguration.actionGroupsConfiguration.equals(actionGroupsConfiguration);
+                    // Action privileges do not depend on the tenant permissions of the roles
+                    boolean clusterPermissionsChanged = roleAspectChanged(
+                        oldRawConfiguration,
+                        rolesConfiguration,
+                        RoleV7::getCluster_permissions
+                    );
+                    boolean indexPermissionsChanged = roleAspectChanged(
+                        oldRawConfiguration,
+                        rolesConfiguration,
+                        RoleV7::getIndex_permissions
+                    );
+                    boolean globalSettingsChanged = oldRawConfiguration == null
+                        || !Objects.equals(
+                            oldRawConfiguration.privilegesEvaluatorGlobalSettings,
+                            rawConfiguration.privilegesEvaluatorGlobalSettings
+                        );
+
+                    // Only if the action groups did not change, the previous flattened action groups and thus also the
+                    // previously compiled roles can be re-used
+                    FlattenedActionGroups flattenedActionGroups = actionGroupsChanged || this.flattenedActionGroups.get() == null
+                        ? new FlattenedActionGroups(actionGroupsConfiguration.withStaticConfig())
+                        : this.flattenedActionGroups.get();
+                    this.flattenedActionGroups.set(flattenedActionGroups);
 
                     boolean memberIndexPrivilegesYieldAliasPrivileges = currentType != PrivilegesEvaluator.PrivilegesEvaluatorType.V4;
 
-                    CompiledRoles newCompiledRoles = new CompiledRoles(
+                    long start = System.nanoTime();
+                    CompiledRoles newCompiledRoles = CompiledRoles.update(
+                        this.compiledRoles.get(),
                         rolesConfiguration.withStaticConfig(),
                         flattenedActionGroups,
                         coreDependencies.namedXContentRegistry(),
                         fieldMaskingConfig,
                         memberIndexPrivilegesYieldAliasPrivileges
                     );
+                    this.compiledRoles.set(newCompiledRoles);
+                    log.debug(
+                        "Compiling {} of {} roles took {} ms",
+                        newCompiledRoles.getCompiledRoleCount(),
+                        newCompiledRoles.roles.size(),
+                        millisSince(start)
+                    );
 
                     PrivilegesEvaluator.DynamicDependencies dynamicDependencies = new PrivilegesEvaluator.DynamicDependencies(
                         flattenedActionGroups,
@@ -178,47 +220,63 @@ public class PrivilegesConfiguration {
                         this.tokenIdToActionPrivileges
                     );
 
-                    if (currentType != targetType) {
+                    start = System.nanoTime();
+                    if (typeChanged) {
                         PrivilegesEvaluator oldInstance = privilegesEvaluator.getAndSet(
                             targetType.factory.create(coreDependencies, dynamicDependencies)
                         );
                         if (oldInstance != null) {
                             oldInstance.shutdown();
                         }
-                    } else {
+                        log.debug("Creating PrivilegesEvaluator took {} ms", millisSince(start));
+                    } else if (actionGroupsChanged || clusterPermissionsChanged || indexPermissionsChanged || globalSettingsChanged) {
                         privilegesEvaluator.get()
                             .updateConfiguration(
                                 flattenedActionGroups,
                                 newCompiledRoles,
                                 rawConfiguration.privilegesEvaluatorGlobalSettings
                             );
+                        log.debug("Updating action privileges took {} ms", millisSince(start));
                     }
 
-                    try {
-                        this.dlsFlsProcessedConfig.set(
-                            new DlsFlsProcessedConfig(
-                                newCompiledRoles,
-                                coreDependencies.clusterStateSupplier().get().metadata().getIndicesLookup(),
-                                coreDependencies.namedXContentRegistry(),
-                                coreDependencies.settings(),
-                                fieldMaskingConfig
-                            )
-                        );
-                    } catch (Exception e) {
-                        log.error("Error while updating DlsFlsProcessedConfig", e);
+                    // DLS/FLS only depends on the index permissions of the roles; if these did not change, the
+                    // existing instance can be kept. It keeps itself up-to-date with the cluster state on its own.
+                    if (typeChanged || actionGroupsChanged || this.dlsFlsProcessedConfig.get() == null || indexPermissionsChanged) {
+                        start = System.nanoTime();
+                        try {
+                            this.dlsFlsProcessedConfig.set(
+                                new DlsFlsProcessedConfig(
+                                    newCompiledRoles,
+                                    coreDependencies.clusterStateSupplier().get().metadata().getIndicesLookup(),
+                                    coreDependencies.namedXContentRegistry(),
+                                    coreDependencies.settings(),
+                                    fieldMaskingConfig
+                                )
+                            );
+                        } catch (Exception e) {
+                            log.error("Error while updating DlsFlsProcessedConfig", e);
+                        }
+                        log.debug("Updating DLS/FLS configuration took {} ms", millisSince(start));
                     }
 
-                    try {
-                        this.tenantPrivileges.set(
-                            new TenantPrivileges(
-                                rolesConfiguration,
-                                tenantConfiguration,
-                                flattenedActionGroups,
-                                targetType == PrivilegesEvaluator.PrivilegesEvaluatorType.LEGACY
-                            )
-                        );
-                    } catch (Exception e) {
-                        log.error("Error while updating TenantPrivileges", e);
+                    if (typeChanged
+                        || actionGroupsChanged
+                        || !oldRawConfiguration.tenantConfiguration.equals(tenantConfiguration)
+                        || roleAspectChanged(oldRawConfiguration, rolesConfiguration, RoleV7::getTenant_permissions)) {
+                        start = System.nanoTime();
+                        try {
+                            this.tenantPrivileges.set(
+                                new TenantPrivileges(
+                                    rolesConfiguration,
+                                    tenantConfiguration,
+                                    flattenedActionGroups,
+                                    targetType == PrivilegesEvaluator.PrivilegesEvaluatorType.LEGACY
+                                )
+                            );
+                        } catch (Exception e) {
+                            log.error("Error while updating TenantPrivileges", e);
+                        }
+                        log.debug("Updating tenant privileges took {} ms", millisSince(start));
                     }
                 } else {
                     log.debug("Privileges for PrivilegesEvaluator and DLS/FLS did not change.");
@@ -280,6 +338,13 @@ public class PrivilegesConfiguration {
         return this.dlsFlsProcessedConfig.get();
     }
 
+    /**
+     * For testing only: Returns the roles compiled on the last configuration update.
+     */
+    CompiledRoles compiledRoles() {
+        return this.compiledRoles.get();
+    }
+
     public void updatePluginToActionPrivileges(String pluginIdentifier, RoleV7 pluginPermissions) {
         String pluginClassName = SecurePluginSubject.getPluginClassNameFromPrincipal(pluginIdentifier);
         if (pluginClassName == null) {
@@ -295,6 +360,39 @@ public class PrivilegesConfiguration {
         );
     }
 
+    /**
+     * Returns true if the set of roles or the given aspect of any role differs between the old raw configuration and
+     * the new roles configuration. If there is no old raw configuration, true is returned.
+     */
+    private static boolean roleAspectChanged(
+        RawConfiguration oldRawConfiguration,
+        SecurityDynamicConfiguration<RoleV7> newRolesConfiguration,
+        Function<RoleV7, ?> aspect
+    ) {
+        if (oldRawConfiguration == null) {
+            return true;
+        }
+
+        Map<String, RoleV7> oldRoles = oldRawConfiguration.rolesConfiguration.getCEntries();
+        Map<String, RoleV7> newRoles = newRolesConfiguration.getCEntries();
+
+        if (!oldRoles.keySet().equals(newRoles.keySet())) {
+            return true;
+        }
+
+        for (Map.Entry<String, RoleV7> entry : newRoles.entrySet()) {
+            if (!Objects.equals(aspect.apply(oldRoles.get(entry.getKey())), aspect.apply(entry.getValue()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     private static FlattenedActionGroups buildStaticActionGroups() {
         return new FlattenedActionGroups(DynamicConfigFactory.addStatics(SecurityDynamicConfiguration.empty(CType.ACTIONGROUPS)));
     }
@@ -70,6 +70,11 @@ public class PrivilegesEvaluationContext {
      */
     private final Map<String, WildcardMatcher> renderedPatternTemplateCache = new HashMap<>();
 
+    /**
+     * The node-level cache of compiled patterns; this allows re-using these across requests.
+     */
+    private final RenderedPatternCache renderedPatternCache;
+
     private final ActionRequestMetadata<?, ?> actionRequestMetadata;
 
     public PrivilegesEvaluationContext(
@@ -83,6 +88,34 @@ public class PrivilegesEvaluationContext {
         IndicesRequestResolver indicesRequestResolver,
         Supplier<ClusterState> clusterStateSupplier,
         ActionPrivileges actionPrivileges
+    ) {
+        this(
+            user,
+            mappedRoles,
+            action,
+            request,
+            actionRequestMetadata,
+            task,
+            indexNameExpressionResolver,
+            indicesRequestResolver,
+            clusterStateSupplier,
+            actionPrivileges,
+            RenderedPatternCache.DISABLED
+        );
+    }
+
+    public PrivilegesEvaluationContext(
+        User user,
+        ImmutableSet<String> mappedRoles,
+        String action,
+        ActionRequest request,
+        ActionRequestMetadata<?, ?> actionRequestMetadata,
+        Task task,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        IndicesRequestResolver indicesRequestResolver,
+        Supplier<ClusterState> clusterStateSupplier,
+        ActionPrivileges actionPrivileges,
+        RenderedPatternCache renderedPatternCache
     ) {
         this.user = user;
         this.mappedRoles = mappedRoles;
@@ -94,6 +127,7 @@ public class PrivilegesEvaluationContext {
         this.task = task;
         this.actionRequestMetadata = actionRequestMetadata;
         this.actionPrivileges = actionPrivileges;
+        this.renderedPatternCache = renderedPatternCache;
     }
 
     public User getUser() {
@@ -103,7 +137,8 @@ public class PrivilegesEvaluationContext {
     /**
      * Interpolates any attribute references (like ${user.name}) in the given string and parses the result
      * to a WildcardMatcher. This method catches earlier rendered templates in order to avoid recurring re-rendering
-     * of templates during a single privilege evaluation pass.
+     * of templates during a single privilege evaluation pass. Across requests, the compiled matchers are re-used via
+     * the RenderedPatternCache.
      *
      * @throws ExpressionEvaluationException if the resulting pattern could not be parsed. This is usually the case
      * if an invalid regex was supplied.
@@ -113,7 +148,7 @@ public class PrivilegesEvaluationContext {
 
         if (matcher == null) {
             try {
-                matcher = WildcardMatcher.from(UserAttributes.replaceProperties(template, this));
+                matcher = renderedPatternCache.getMatcher(UserAttributes.replaceProperties(template, this));
             } catch (Exception e) {
                 // This especially happens for invalid regular expressions
                 throw new ExpressionEvaluationException("Error while evaluating expression in " + template, e);
@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+
+/**
+ * A node-level cache of WildcardMatcher instances compiled from index patterns with interpolated user attributes,
+ * such as ${user.name} or ${attr.jwt.tenant}. Roles using such patterns would otherwise need to compile these
+ * patterns again for each request.
+ * <p>
+ * The cache is keyed by the rendered pattern. As the rendered pattern is a function of the pattern template and the
+ * values of the referenced user attributes, this is equivalent to a key consisting of the template and the attribute
+ * values. The compiled matcher only depends on the rendered pattern; thus, entries never become stale. Still, the
+ * privilege evaluators start with a fresh cache whenever the roles configuration changes, so that patterns of removed
+ * roles do not occupy the cache.
+ */
+public class RenderedPatternCache {
+
+    /**
+     * The maximum number of cached matchers. A value of 0 disables the cache.
+     */
+    public static final Setting<Integer> MAX_SIZE = Setting.intSetting(
+        "plugins.security.privileges.rendered_pattern_cache.max_size",
+        10000,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    public static final RenderedPatternCache DISABLED = new RenderedPatternCache(0);
+
+    private final Cache<String, WildcardMatcher> cache;
+
+    public RenderedPatternCache(Settings settings) {
+        this(MAX_SIZE.get(settings));
+    }
+
+    RenderedPatternCache(int maxSize) {
+        this.cache = maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(maxSize).build() : null;
+    }
+
+    /**
+     * Returns the WildcardMatcher for the given rendered pattern. Exceptions thrown while compiling the pattern are
+     * passed on; such patterns are not cached.
+     */
+    public WildcardMatcher getMatcher(String renderedPattern) {
+        if (cache == null) {
+            return WildcardMatcher.from(renderedPattern);
+        }
+
+        WildcardMatcher matcher = cache.getIfPresent(renderedPattern);
+
+        if (matcher == null) {
+            matcher = WildcardMatcher.from(renderedPattern);
+            cache.put(renderedPattern, matcher);
+        }
+
+        return matcher;
+    }
+
+    long size() {
+        return cache != null ? cache.size() : 0;
+    }
+}
@@ -14,6 +14,7 @@ package org.opensearch.security.privileges.actionlevel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -91,12 +92,20 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
 
     private static final Logger log = LogManager.getLogger(RoleBasedActionPrivileges.class);
 
+    /**
+     * The stateful index privileges are updated incrementally as long as the number of indices changed since the
+     * last full build does not exceed 10% of the indices or this minimum.
+     */
+    private static final int MIN_INCREMENTALLY_UPDATED_INDICES = 16;
+
     private final CompiledRoles compiledRoles;
     private final ByteSizeValue statefulIndexMaxHeapSize;
     private final boolean statefulIndexEnabled;
 
     private final AtomicReference<StatefulIndexPrivileges> statefulIndex = new AtomicReference<>();
 
+    private volatile StatefulIndexUpdate lastStatefulIndexUpdate;
+
     /**
      * Creates a new RoleBasedActionPrivileges instance based on the given parameters.
      *
@@ -140,11 +149,43 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
 
         indices = StatefulIndexPrivileges.relevantOnly(indices, this.index.universallyDeniedIndices);
 
-        if (statefulIndex == null || !statefulIndex.indices.equals(indices)) {
+        if (statefulIndex == null) {
             long start = System.currentTimeMillis();
             this.statefulIndex.set(new StatefulIndexPrivileges(compiledRoles, indices, metadataVersion, statefulIndexMaxHeapSize));
             long duration = System.currentTimeMillis() - start;
+            this.lastStatefulIndexUpdate = new StatefulIndexUpdate(false, indices.size(), 0, indices.size(), duration);
             log.debug("Updating StatefulIndexPrivileges took {} ms", duration);
+        } else if (!statefulIndex.indices.equals(indices)) {
+            long start = System.currentTimeMillis();
+            StatefulIndexPrivileges.Delta delta = StatefulIndexPrivileges.Delta.between(statefulIndex.indices, indices);
+            StatefulIndexPrivileges newStatefulIndex = null;
+
+            if (statefulIndex.canBeUpdatedIncrementally(delta)) {
+                newStatefulIndex = new StatefulIndexPrivileges(statefulIndex, compiledRoles, indices, delta, metadataVersion);
+
+                if (newStatefulIndex.estimatedByteSize > statefulIndexMaxHeapSize.getBytes()) {
+                    // The full build will cap the data structures in this case
+                    newStatefulIndex = null;
+                }
+            }
+
+            boolean incremental = newStatefulIndex != null;
+
+            if (!incremental) {
+                newStatefulIndex = new StatefulIndexPrivileges(compiledRoles, indices, metadataVersion, statefulIndexMaxHeapSize);
+            }
+
+            this.statefulIndex.set(newStatefulIndex);
+            long duration = System.currentTimeMillis() - start;
+            StatefulIndexUpdate update = new StatefulIndexUpdate(
+                incremental,
+                delta.addedIndices().size(),
+                delta.removedIndices().size(),
+                incremental ? delta.affectedIndices().size() : indices.size(),
+                duration
+            );
+            this.lastStatefulIndexUpdate = update;
+            log.debug("Updating StatefulIndexPrivileges took {} ms; {}", duration, update);
         } else {
             synchronized (this) {
                 // Even if the indices did not change, update the metadataVersion in statefulIndex to reflect
@@ -156,6 +197,14 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
         }
     }
 
+    /**
+     * Returns information about the most recent update of the stateful index privileges or null if no update has
+     * happened yet.
+     */
+    public StatefulIndexUpdate getLastStatefulIndexUpdate() {
+        return this.lastStatefulIndexUpdate;
+    }
+
     int getEstimatedStatefulIndexByteSize() {
         StatefulIndexPrivileges statefulIndex = this.statefulIndex.get();
 
@@ -741,11 +790,31 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
          */
         private final Map<String, Map<String, ImmutableCompactSubSet<String>>> actionToIndexToRoles;
 
+        /**
+         * Maps concrete action names to concrete index names and then to the roles which provide privileges for the
+         * combination of action and index; this only contains indices which were changed by incremental updates
+         * after actionToIndexToRoles has been built. For the indices contained in overriddenIndices, this map takes
+         * precedence over actionToIndexToRoles.
+         */
+        private final Map<String, Map<String, ImmutableSet<String>>> actionToIndexToOverlayRoles;
+
+        /**
+         * The indices for which actionToIndexToRoles is outdated. This includes indices that were deleted.
+         */
+        private final ImmutableSet<String> overriddenIndices;
+
         /**
          * The index information that was used to construct this instance.
          */
         private final SortedMap<String, IndexAbstraction> indices;
 
+        /**
+         * The number of indices that was used to build actionToIndexToRoles.
+         */
+        private final int baseIndexCount;
+
+        private final int baseEstimatedByteSize;
+
         private final int estimatedByteSize;
 
         private long metadataVersion;
@@ -855,6 +924,7 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
             DeduplicatingCompactSubSetBuilder.Completed<String> completedRoleSetBuilder = roleSetBuilder.build();
 
             this.estimatedByteSize = roleSetBuilder.getEstimatedByteSize() + indexMapBuilder.getEstimatedByteSize();
+            this.baseEstimatedByteSize = this.estimatedByteSize;
             log.debug("Estimated size of StatefulIndexPermissions data structure: {}", this.estimatedByteSize);
 
             this.actionToIndexToRoles = actionToIndexToRoles.entrySet()
@@ -866,7 +936,10 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
                     )
                 );
 
+            this.actionToIndexToOverlayRoles = ImmutableMap.of();
+            this.overriddenIndices = ImmutableSet.of();
             this.indices = indices;
+            this.baseIndexCount = indices.size();
             this.metadataVersion = metadataVersion;
 
             long duration = System.currentTimeMillis() - startTime;
@@ -878,6 +951,123 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
             }
         }
 
+        /**
+         * Creates pre-computed index privileges by applying the given delta to a previous instance.
+         * <p>
+         * The fully built data structures of the previous instance are shared. Only the privileges for the indices
+         * affected by the delta are computed; these are kept in an overlay which takes precedence over the shared
+         * data structures. As computing the affected indices just requires matching the index patterns against these
+         * indices, this is much cheaper than a full build on clusters with many indices.
+         * <p>
+         * Like the other constructor, this will not throw an exception if it encounters any invalid configuration.
+         */
+        StatefulIndexPrivileges(
+            StatefulIndexPrivileges previous,
+            CompiledRoles compiledRoles,
+            SortedMap<String, IndexAbstraction> indices,
+            Delta delta,
+            long metadataVersion
+        ) {
+            SortedMap<String, IndexAbstraction> affectedIndices = delta.affectedIndices();
+            Map<String, Map<String, Set<String>>> actionToIndexToOverlayRoles = new HashMap<>();
+
+            // Entries of the previous overlay are kept unless they are affected by the delta
+            for (Map.Entry<String, Map<String, ImmutableSet<String>>> actionEntry : previous.actionToIndexToOverlayRoles.entrySet()) {
+                for (Map.Entry<String, ImmutableSet<String>> indexEntry : actionEntry.getValue().entrySet()) {
+                    String index = indexEntry.getKey();
+
+                    if (!affectedIndices.containsKey(index) && !delta.removedIndices().contains(index)) {
+                        actionToIndexToOverlayRoles.computeIfAbsent(actionEntry.getKey(), k -> new HashMap<>())
+                            .put(index, indexEntry.getValue());
+                    }
+                }
+            }
+
+            // This mirrors the loop in the other constructor, but only matches the index patterns against the affected
+            // indices. Affected indices which are members of aliases inherit the privileges of the aliases; these need
+            // to be considered regardless of whether the alias itself was affected.
+            for (Map.Entry<String, CompiledRoles.Role> entry : compiledRoles.roles.entrySet()) {
+                try {
+                    String roleName = entry.getKey();
+                    CompiledRoles.Role role = entry.getValue();
+
+                    for (CompiledRoles.Role.Index indexPermissions : role.indexPermissions) {
+
+                        if (indexPermissions.indexPattern.isMatchAll()) {
+                            continue;
+                        }
+
+                        for (IndexAbstraction index : indexPermissions.indexPattern.matchingNonDynamic(affectedIndices)) {
+                            for (String action : indexPermissions.allowedWellKnownActions) {
+                                actionToIndexToOverlayRoles.computeIfAbsent(action, k -> new HashMap<>())
+                                    .computeIfAbsent(index.getName(), k -> new HashSet<>())
+                                    .add(roleName);
+                            }
+                        }
+
+                        for (IndexAbstraction alias : indexPermissions.indexPattern.matchingNonDynamic(delta.aliasesOfAffectedIndices())) {
+                            for (IndexMetadata subIndex : alias.getIndices()) {
+                                String subIndexName = subIndex.getIndex().getName();
+
+                                if (affectedIndices.containsKey(subIndexName)) {
+                                    for (String action : indexPermissions.allowedWellKnownActions) {
+                                        actionToIndexToOverlayRoles.computeIfAbsent(action, k -> new HashMap<>())
+                                            .computeIfAbsent(subIndexName, k -> new HashSet<>())
+                                            .add(roleName);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    log.error("Unexpected exception while processing role: {}\nIgnoring role.", entry.getKey(), e);
+                }
+            }
+
+            // Equal role sets are shared in order to reduce the heap usage
+            Map<Set<String>, ImmutableSet<String>> roleSets = new HashMap<>();
+            int overlayEstimatedByteSize = 0;
+            ImmutableMap.Builder<String, Map<String, ImmutableSet<String>>> overlayBuilder = ImmutableMap.builder();
+
+            for (Map.Entry<String, Map<String, Set<String>>> actionEntry : actionToIndexToOverlayRoles.entrySet()) {
+                ImmutableMap.Builder<String, ImmutableSet<String>> indexToRoles = ImmutableMap.builder();
+
+                for (Map.Entry<String, Set<String>> indexEntry : actionEntry.getValue().entrySet()) {
+                    indexToRoles.put(indexEntry.getKey(), roleSets.computeIfAbsent(indexEntry.getValue(), ImmutableSet::copyOf));
+                    overlayEstimatedByteSize += 48;
+                }
+
+                overlayBuilder.put(actionEntry.getKey(), indexToRoles.build());
+            }
+
+            for (ImmutableSet<String> roleSet : roleSets.values()) {
+                overlayEstimatedByteSize += 32 + roleSet.size() * 8;
+            }
+
+            this.actionToIndexToRoles = previous.actionToIndexToRoles;
+            this.actionToIndexToOverlayRoles = overlayBuilder.build();
+            this.overriddenIndices = ImmutableSet.<String>builder()
+                .addAll(previous.overriddenIndices)
+                .addAll(affectedIndices.keySet())
+                .addAll(delta.removedIndices())
+                .build();
+            this.indices = indices;
+            this.baseIndexCount = previous.baseIndexCount;
+            this.baseEstimatedByteSize = previous.baseEstimatedByteSize;
+            this.estimatedByteSize = this.baseEstimatedByteSize + overlayEstimatedByteSize + this.overriddenIndices.size() * 16;
+            this.metadataVersion = metadataVersion;
+        }
+
+        /**
+         * Returns true if the given delta is small enough to be applied on this instance using the incremental
+         * constructor. If too many indices are overridden, the lookups in the overlay outweigh the benefits; in this
+         * case, a full build is necessary.
+         */
+        boolean canBeUpdatedIncrementally(Delta delta) {
+            int overridden = this.overriddenIndices.size() + delta.affectedIndices().size() + delta.removedIndices().size();
+            return overridden <= Math.max(MIN_INCREMENTALLY_UPDATED_INDICES, this.baseIndexCount / 10);
+        }
+
         /**
          * Checks whether the user has privileges based on the given parameters and information in this class. This method
          * has two major channels for returning results:
@@ -907,8 +1097,9 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
 
             for (String action : actions) {
                 Map<String, ImmutableCompactSubSet<String>> indexToRoles = actionToIndexToRoles.get(action);
+                Map<String, ImmutableSet<String>> indexToOverlayRoles = actionToIndexToOverlayRoles.get(action);
 
-                if (indexToRoles != null) {
+                if (indexToRoles != null || indexToOverlayRoles != null) {
                     for (String index : indices) {
                         String lookupIndex = index;
 
@@ -919,9 +1110,7 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
                             lookupIndex = backingIndexToDataStream(index, indexMetadata);
                         }
 
-                        ImmutableCompactSubSet<String> rolesWithPrivileges = indexToRoles.get(lookupIndex);
-
-                        if (rolesWithPrivileges != null && rolesWithPrivileges.containsAny(effectiveRoles)) {
+                        if (rolesProvidePrivilege(indexToRoles, indexToOverlayRoles, lookupIndex, effectiveRoles)) {
                             if (checkTable.check(index, action)) {
                                 return new IntermediateResult(checkTable);
                             }
@@ -936,6 +1125,21 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
             return null;
         }
 
+        private boolean rolesProvidePrivilege(
+            Map<String, ImmutableCompactSubSet<String>> indexToRoles,
+            Map<String, ImmutableSet<String>> indexToOverlayRoles,
+            String index,
+            ImmutableSet<String> effectiveRoles
+        ) {
+            if (!overriddenIndices.isEmpty() && overriddenIndices.contains(index)) {
+                ImmutableSet<String> rolesWithPrivileges = indexToOverlayRoles != null ? indexToOverlayRoles.get(index) : null;
+                return rolesWithPrivileges != null && !Collections.disjoint(rolesWithPrivileges, effectiveRoles);
+            } else {
+                ImmutableCompactSubSet<String> rolesWithPrivileges = indexToRoles != null ? indexToRoles.get(index) : null;
+                return rolesWithPrivileges != null && rolesWithPrivileges.containsAny(effectiveRoles);
+            }
+        }
+
         /**
          * If the given index is the backing index of a data stream, the name of the data stream is returned.
          * Otherwise, the name of the index itself is being returned.
@@ -987,6 +1191,119 @@ public class RoleBasedActionPrivileges extends RuntimeOptimizedActionPrivileges
 
             return Collections.unmodifiableSortedMap(result);
         }
+
+        /**
+         * The differences between two index maps as returned by relevantOnly().
+         *
+         * @param addedIndices the names of the indices, aliases and data streams which were added
+         * @param removedIndices the names of the indices, aliases and data streams which were removed
+         * @param changedIndices the names of the entries whose type or whose member indices have changed
+         * @param affectedIndices the still existing entries whose privileges need to be re-computed. Besides the added and
+         *                        changed entries, these are the member indices of added, changed or removed aliases.
+         * @param aliasesOfAffectedIndices all aliases which contain any of the affected indices
+         */
+        record Delta(
+            Set<String> addedIndices,
+            Set<String> removedIndices,
+            Set<String> changedIndices,
+            SortedMap<String, IndexAbstraction> affectedIndices,
+            SortedMap<String, IndexAbstraction> aliasesOfAffectedIndices
+        ) {
+
+            static Delta between(SortedMap<String, IndexAbstraction> oldIndices, SortedMap<String, IndexAbstraction> newIndices) {
+                Set<String> addedIndices = new HashSet<>();
+                Set<String> removedIndices = new HashSet<>();
+                Set<String> changedIndices = new HashSet<>();
+                Set<String> affectedIndexNames = new HashSet<>();
+
+                for (IndexAbstraction newIndex : newIndices.values()) {
+                    IndexAbstraction oldIndex = oldIndices.get(newIndex.getName());
+
+                    if (oldIndex == null) {
+                        addedIndices.add(newIndex.getName());
+                        affectedIndexNames.add(newIndex.getName());
+                        affectedIndexNames.addAll(memberIndexNames(newIndex));
+                    } else if (!hasSameStructure(oldIndex, newIndex)) {
+                        changedIndices.add(newIndex.getName());
+                        affectedIndexNames.add(newIndex.getName());
+                        affectedIndexNames.addAll(memberIndexNames(oldIndex));
+                        affectedIndexNames.addAll(memberIndexNames(newIndex));
+                    }
+                }
+
+                for (IndexAbstraction oldIndex : oldIndices.values()) {
+                    if (!newIndices.containsKey(oldIndex.getName())) {
+                        removedIndices.add(oldIndex.getName());
+                        affectedIndexNames.addAll(memberIndexNames(oldIndex));
+                    }
+                }
+
+                TreeMap<String, IndexAbstraction> affectedIndices = new TreeMap<>();
+                TreeMap<String, IndexAbstraction> aliasesOfAffectedIndices = new TreeMap<>();
+
+                for (String indexName : affectedIndexNames) {
+                    IndexAbstraction index = newIndices.get(indexName);
+
+                    if (index == null) {
+                        continue;
+                    }
+
+                    affectedIndices.put(indexName, index);
+
+                    if (index instanceof IndexAbstraction.Index) {
+                        for (String aliasName : index.getWriteIndex().getAliases().keySet()) {
+                            if (newIndices.get(aliasName) instanceof IndexAbstraction.Alias alias) {
+                                aliasesOfAffectedIndices.put(aliasName, alias);
+                            }
+                        }
+                    }
+                }
+
+                return new Delta(
+                    addedIndices,
+                    removedIndices,
+                    changedIndices,
+                    Collections.unmodifiableSortedMap(affectedIndices),
+                    Collections.unmodifiableSortedMap(aliasesOfAffectedIndices)
+                );
+            }
+
+            private static boolean hasSameStructure(IndexAbstraction oldIndex, IndexAbstraction newIndex) {
+                if (oldIndex == newIndex) {
+                    return true;
+                }
+
+                if (oldIndex.getType() != newIndex.getType()) {
+                    return false;
+                }
+
+                if (oldIndex instanceof IndexAbstraction.Alias) {
+                    return memberIndexNames(oldIndex).equals(memberIndexNames(newIndex));
+                } else {
+                    return true;
+                }
+            }
+
+            private static Set<String> memberIndexNames(IndexAbstraction index) {
+                if (index instanceof IndexAbstraction.Alias) {
+                    return index.getIndices().stream().map(i -> i.getIndex().getName()).collect(Collectors.toSet());
+                } else {
+                    return Collections.emptySet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Information about an update of the stateful index privileges.
+     *
+     * @param incremental true if the update was applied incrementally on the previous data structures, false if a full build was necessary
+     * @param addedIndices the number of indices, aliases and data streams which were added
+     * @param removedIndices the number of indices, aliases and data streams which were removed
+     * @param affectedIndices the number of indices, aliases and data streams whose privileges were computed
+     * @param durationMs the time the update took
+     */
+    public record StatefulIndexUpdate(boolean incremental, int addedIndices, int removedIndices, int affectedIndices, long durationMs) {
     }
 
     final ClusterStateMetadataDependentPrivileges clusterStateMetadataDependentPrivileges = new ClusterStateMetadataDependentPrivileges() {
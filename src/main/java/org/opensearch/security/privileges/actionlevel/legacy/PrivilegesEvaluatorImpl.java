@@ -92,6 +92,7 @@ import org.opensearch.security.privileges.IndicesRequestResolver;
 import org.opensearch.security.privileges.PrivilegesEvaluationContext;
 import org.opensearch.security.privileges.PrivilegesEvaluator;
 import org.opensearch.security.privileges.PrivilegesEvaluatorResponse;
+import org.opensearch.security.privileges.RenderedPatternCache;
 import org.opensearch.security.privileges.RoleMapper;
 import org.opensearch.security.privileges.actionlevel.RoleBasedActionPrivileges;
 import org.opensearch.security.privileges.actionlevel.RuntimeOptimizedActionPrivileges;
@@ -151,6 +152,7 @@ public class PrivilegesEvaluatorImpl implements PrivilegesEvaluator {
     private final PitPrivilegesEvaluator pitPrivilegesEvaluator;
     private final Settings settings;
     private final AtomicReference<RoleBasedActionPrivileges> actionPrivileges = new AtomicReference<>();
+    private volatile RenderedPatternCache renderedPatternCache = RenderedPatternCache.DISABLED;
     private final ImmutableMap<String, ActionPrivileges> pluginIdToActionPrivileges;
     private final Map<String, ActionPrivileges> tokenIdToActionPrivileges;
     private final RoleMapper roleMapper;
@@ -229,6 +231,8 @@ public class PrivilegesEvaluatorImpl implements PrivilegesEvaluator {
         this.dnfofForEmptyResultsEnabled = globalDynamicSettings.dnfofForEmptyResultsEnabled;
         this.filteredAliasMode = globalDynamicSettings.filteredAliasMode;
         this.irr.updateConfig(globalDynamicSettings);
+        // Patterns of the previous roles configuration might not be needed any more
+        this.renderedPatternCache = new RenderedPatternCache(settings);
 
         try {
             RoleBasedActionPrivileges actionPrivileges = new RoleBasedActionPrivileges(
@@ -304,7 +308,8 @@ public class PrivilegesEvaluatorImpl implements PrivilegesEvaluator {
             resolver,
             indicesRequestResolver,
             clusterStateSupplier,
-            actionPrivileges
+            actionPrivileges,
+            renderedPatternCache
         );
     }
 
@@ -60,6 +60,7 @@ import org.opensearch.security.privileges.IndicesRequestModifier;
 import org.opensearch.security.privileges.IndicesRequestResolver;
 import org.opensearch.security.privileges.PrivilegesEvaluationContext;
 import org.opensearch.security.privileges.PrivilegesEvaluatorResponse;
+import org.opensearch.security.privileges.RenderedPatternCache;
 import org.opensearch.security.privileges.RoleMapper;
 import org.opensearch.security.privileges.actionlevel.RoleBasedActionPrivileges;
 import org.opensearch.security.privileges.actionlevel.RuntimeOptimizedActionPrivileges;
@@ -127,6 +128,7 @@ public class PrivilegesEvaluatorImpl implements org.opensearch.security.privileg
     private final DashboardsMultitenancySystemIndexHandler dashboardsMultitenancySystemIndexHandler;
     private final Settings settings;
     private final AtomicReference<RoleBasedActionPrivileges> actionPrivileges = new AtomicReference<>();
+    private volatile RenderedPatternCache renderedPatternCache = RenderedPatternCache.DISABLED;
     private final ImmutableMap<String, ActionPrivileges> pluginIdToActionPrivileges;
     private volatile Map<String, ActionPrivileges> tokenIdToActionPrivileges;
     private final IndicesRequestResolver indicesRequestResolver;
@@ -179,6 +181,8 @@ public class PrivilegesEvaluatorImpl implements org.opensearch.security.privileg
         CompiledRoles roles,
         GlobalDynamicSettings globalDynamicSettings
     ) {
+        // Patterns of the previous roles configuration might not be needed any more
+        this.renderedPatternCache = new RenderedPatternCache(settings);
 
         try {
             RoleBasedActionPrivileges actionPrivileges = new RoleBasedActionPrivileges(
@@ -240,7 +244,8 @@ public class PrivilegesEvaluatorImpl implements org.opensearch.security.privileg
             indexNameExpressionResolver,
             indicesRequestResolver,
             clusterStateSupplier,
-            actionPrivileges
+            actionPrivileges,
+            renderedPatternCache
         );
     }
 
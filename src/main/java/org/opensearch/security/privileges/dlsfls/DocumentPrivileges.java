@@ -19,11 +19,17 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.opensearch.OpenSearchSecurityException;
 import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.Strings;
 import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.MediaTypeRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.query.AbstractQueryBuilder;
@@ -45,10 +51,28 @@ import org.opensearch.security.privileges.UserAttributes;
  * Instances of this class are managed by DlsFlsProcessedConfig.
  */
 public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPrivileges.DlsQuery, DlsRestriction> {
+    /**
+     * The maximum number of parsed DLS queries with interpolated user attributes which are kept for re-use. A value
+     * of 0 disables the cache.
+     */
+    public static Setting<Integer> RENDERED_QUERY_CACHE_SIZE = Setting.intSetting(
+        "plugins.security.dls.rendered_query_cache.max_size",
+        1000,
+        0,
+        Setting.Property.NodeScope
+    );
+
     private static final int MAX_ATTRIBUTES_IN_ERROR_MESSAGE = 10;
 
     private final NamedXContentRegistry xContentRegistry;
 
+    /**
+     * Maps the source of DLS queries with interpolated user attributes to the parsed queries. As the interpolated
+     * source is fully determined by the query template and the values of the referenced attributes, later evaluations
+     * for the same attribute values do not need to parse the query again. Null if disabled.
+     */
+    private final Cache<String, RenderedDlsQuery> renderedQueryCache;
+
     public DocumentPrivileges(
         CompiledRoles compiledRoles,
         SortedMap<String, IndexAbstraction> indexMetadata,
@@ -57,6 +81,11 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
     ) {
         super(compiledRoles, indexMetadata, (indexPermissions) -> indexPermissions.dls, settings);
         this.xContentRegistry = xContentRegistry;
+
+        int renderedQueryCacheSize = RENDERED_QUERY_CACHE_SIZE.get(settings);
+        this.renderedQueryCache = renderedQueryCacheSize > 0
+            ? CacheBuilder.newBuilder().maximumSize(renderedQueryCacheSize).build()
+            : null;
     }
 
     @Override
@@ -74,7 +103,7 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
         List<RenderedDlsQuery> renderedQueries = new ArrayList<>(rules.size());
 
         for (DlsQuery query : rules) {
-            renderedQueries.add(query.evaluate(context));
+            renderedQueries.add(query.evaluate(context, renderedQueryCache));
         }
 
         return new DlsRestriction(renderedQueries);
@@ -90,7 +119,16 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
             this.queryString = queryString;
         }
 
-        abstract RenderedDlsQuery evaluate(PrivilegesEvaluationContext context) throws PrivilegesEvaluationException;
+        RenderedDlsQuery evaluate(PrivilegesEvaluationContext context) throws PrivilegesEvaluationException {
+            return evaluate(context, null);
+        }
+
+        /**
+         * @param renderedQueryCache if not null, parsed queries with interpolated user attributes are looked up in and
+         *                           added to this cache
+         */
+        abstract RenderedDlsQuery evaluate(PrivilegesEvaluationContext context, Cache<String, RenderedDlsQuery> renderedQueryCache)
+            throws PrivilegesEvaluationException;
 
         @Override
         public int hashCode() {
@@ -145,7 +183,7 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
             }
 
             @Override
-            RenderedDlsQuery evaluate(PrivilegesEvaluationContext context) {
+            RenderedDlsQuery evaluate(PrivilegesEvaluationContext context, Cache<String, RenderedDlsQuery> renderedQueryCache) {
                 return renderedDlsQuery;
             }
         }
@@ -163,8 +201,18 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
             }
 
             @Override
-            RenderedDlsQuery evaluate(PrivilegesEvaluationContext context) throws PrivilegesEvaluationException {
+            RenderedDlsQuery evaluate(PrivilegesEvaluationContext context, Cache<String, RenderedDlsQuery> renderedQueryCache)
+                throws PrivilegesEvaluationException {
                 String effectiveQueryString = UserAttributes.replaceProperties(this.queryString, context);
+
+                if (renderedQueryCache != null) {
+                    // Only successfully parsed queries are cached; thus, a cache hit implies that all attributes were resolved
+                    RenderedDlsQuery cachedQuery = renderedQueryCache.getIfPresent(effectiveQueryString);
+                    if (cachedQuery != null) {
+                        return cachedQuery;
+                    }
+                }
+
                 if (UserAttributes.needsAttributeSubstitution(effectiveQueryString)) {
                     List<String> unresolved = UserAttributes.findUnresolvedAttributes(effectiveQueryString);
                     Set<String> available = context.getUser().getCustomAttributesMap().keySet();
@@ -179,11 +227,18 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
                         new OpenSearchSecurityException("User attribute substitution failed")
                     );
                 }
+                RenderedDlsQuery renderedDlsQuery;
                 try {
-                    return new RenderedDlsQuery(parseQuery(effectiveQueryString, xContentRegistry), effectiveQueryString);
+                    renderedDlsQuery = new RenderedDlsQuery(parseQuery(effectiveQueryString, xContentRegistry), effectiveQueryString);
                 } catch (Exception e) {
                     throw new PrivilegesEvaluationException("Invalid DLS query: " + effectiveQueryString, e);
                 }
+
+                if (renderedQueryCache != null) {
+                    renderedQueryCache.put(effectiveQueryString, renderedDlsQuery);
+                }
+
+                return renderedDlsQuery;
             }
         }
     }
@@ -216,6 +271,13 @@ public class DocumentPrivileges extends AbstractRuleBasedPrivileges<DocumentPriv
         return new RenderedDlsQuery(parseQuery(xContentRegistry, query), query);
     }
 
+    /**
+     * Creates a RenderedDlsQuery for an already built QueryBuilder; this avoids rendering and parsing the query source.
+     */
+    public static RenderedDlsQuery getRenderedDlsQuery(QueryBuilder queryBuilder) {
+        return new RenderedDlsQuery(queryBuilder, Strings.toString(MediaTypeRegistry.JSON, queryBuilder));
+    }
+
     static QueryBuilder parseQuery(NamedXContentRegistry xContentRegistry, String queryString) throws IOException {
         XContentParser parser = JsonXContent.jsonXContent.createParser(
             xContentRegistry,
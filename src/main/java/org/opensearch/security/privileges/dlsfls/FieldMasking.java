@@ -14,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -147,6 +148,26 @@ public class FieldMasking extends AbstractRuleBasedPrivileges<FieldMasking.Field
                 return expressions.isEmpty();
             }
 
+            /**
+             * Two rules are equal if they mask the same fields in the same way. The roles the rules were derived
+             * from are not taken into account.
+             */
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (!(o instanceof SimpleRule that)) {
+                    return false;
+                }
+                return this.expressions.equals(that.expressions);
+            }
+
+            @Override
+            public int hashCode() {
+                return expressions.hashCode();
+            }
+
             @Override
             public String toString() {
                 if (isAllowAll()) {
@@ -200,6 +221,22 @@ public class FieldMasking extends AbstractRuleBasedPrivileges<FieldMasking.Field
                 return allowAll;
             }
 
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (!(o instanceof MultiRole that)) {
+                    return false;
+                }
+                return this.allowAll == that.allowAll && this.parts.equals(that.parts);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(allowAll, parts);
+            }
+
             @Override
             public String toString() {
                 if (isAllowAll()) {
@@ -270,6 +307,25 @@ public class FieldMasking extends AbstractRuleBasedPrivileges<FieldMasking.Field
                 return expression.toString();
             }
 
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (!(o instanceof Field that)) {
+                    return false;
+                }
+                return this.expression.equals(that.expression)
+                    && Objects.equals(this.hashAlgorithm, that.hashAlgorithm)
+                    && this.useLegacyDefaultAlgorithm == that.useLegacyDefaultAlgorithm
+                    && Arrays.equals(this.saltBytes, that.saltBytes);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(expression, hashAlgorithm, useLegacyDefaultAlgorithm, Arrays.hashCode(saltBytes));
+            }
+
             String getSource() {
                 return expression.getSource();
             }
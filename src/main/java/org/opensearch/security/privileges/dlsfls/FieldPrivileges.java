@@ -16,11 +16,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.regex.PatternSyntaxException;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import org.opensearch.cluster.metadata.IndexAbstraction;
 import org.opensearch.common.settings.Settings;
@@ -117,6 +119,8 @@ public class FieldPrivileges extends AbstractRuleBasedPrivileges<FieldPrivileges
         final ImmutableList<FlsPattern> patterns;
         final ImmutableList<FlsPattern> effectivePatterns;
         final ImmutableList<FlsPattern> objectOnlyPatterns;
+        private final ImmutableSet<FlsPattern> effectivePatternSet;
+        private final ImmutableSet<FlsPattern> objectOnlyPatternSet;
         final boolean allowAll;
         final boolean excluding;
 
@@ -175,6 +179,8 @@ public class FieldPrivileges extends AbstractRuleBasedPrivileges<FieldPrivileges
             }
 
             this.objectOnlyPatterns = ImmutableList.copyOf(flsPatternsIncludingObjectsOnly);
+            this.effectivePatternSet = ImmutableSet.copyOf(this.effectivePatterns);
+            this.objectOnlyPatternSet = ImmutableSet.copyOf(this.objectOnlyPatterns);
         }
 
         /**
@@ -299,6 +305,35 @@ public class FieldPrivileges extends AbstractRuleBasedPrivileges<FieldPrivileges
         public boolean isUnrestricted() {
             return this.isAllowAll();
         }
+
+        /**
+         * Two rules are equal if they make the same fields visible. The roles the rules were derived from are not
+         * taken into account.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FlsRule that)) {
+                return false;
+            }
+            if (this.allowAll && that.allowAll) {
+                return true;
+            }
+            return this.allowAll == that.allowAll
+                && this.excluding == that.excluding
+                && this.effectivePatternSet.equals(that.effectivePatternSet)
+                && this.objectOnlyPatternSet.equals(that.objectOnlyPatternSet);
+        }
+
+        @Override
+        public int hashCode() {
+            if (this.allowAll) {
+                return 1;
+            }
+            return Objects.hash(excluding, effectivePatternSet, objectOnlyPatternSet);
+        }
     }
 
     /**
@@ -10,11 +10,8 @@
  */
 package org.opensearch.security.privileges.dlsfls;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Set;
@@ -25,7 +22,10 @@ import org.opensearch.common.xcontent.XObjectWriteContext;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.JsonParser;
 import tools.jackson.core.JsonToken;
+import tools.jackson.core.TokenStreamFactory;
 import tools.jackson.core.json.JsonFactory;
+import tools.jackson.dataformat.cbor.CBORFactory;
+import tools.jackson.dataformat.smile.SmileFactory;
 
 /**
  * Implements document transformation for FLS and field masking using a chained streaming parser and generator.
@@ -35,9 +35,27 @@ import tools.jackson.core.json.JsonFactory;
  * by FLS, and mask fields when required for field masking.
  * <p>
  * While FLS applies to attributes of any type, field masking is only available for string valued attributes.
+ * <p>
+ * Documents can be JSON, SMILE or CBOR encoded; the filtered document uses the same encoding as the original one.
+ * Fields removed by FLS are skipped by the parser without decoding their values. If a document is not modified at all,
+ * the original bytes are returned.
  */
 class FlsDocumentFilter {
     private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    /**
+     * Documents up to this size are written to a buffer which is kept per thread and reused; larger documents are
+     * written to a buffer presized to the size of the original document. As the buffer grows by doubling from its
+     * initial size, it does not exceed this size as long as the filtered document does not. If a filtered document
+     * grows beyond this size, for example by field masking, the buffer is dropped afterwards; thus, no thread keeps
+     * more than this size pinned on the heap.
+     */
+    static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteArrayOutputStream> POOLED_BUFFER = ThreadLocal.withInitial(
+        () -> new ByteArrayOutputStream(16 * 1024)
+    );
 
     static byte[] filter(
         byte[] bytes,
@@ -45,25 +63,69 @@ class FlsDocumentFilter {
         FieldMasking.FieldMaskingRule fieldMaskingRule,
         Set<String> metaFields
     ) throws IOException {
-        try (InputStream in = new ByteArrayInputStream(bytes); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            filter(in, out, flsRule, fieldMaskingRule, metaFields);
-            return out.toByteArray();
+        TokenStreamFactory factory = factoryFor(bytes);
+        final boolean pooled = bytes.length <= MAX_POOLED_BUFFER_SIZE;
+        final ByteArrayOutputStream out;
+
+        if (pooled) {
+            out = POOLED_BUFFER.get();
+            out.reset();
+        } else {
+            out = new ByteArrayOutputStream(bytes.length);
+        }
+
+        try {
+            final boolean modified;
+
+            try (
+                JsonParser parser = factory.createParser(XObjectReadContext.create(), bytes);
+                JsonGenerator generator = factory.createGenerator(XObjectWriteContext.create(false), out)
+            ) {
+                FlsDocumentFilter filter = new FlsDocumentFilter(
+                    parser,
+                    generator,
+                    flsRule,
+                    fieldMaskingRule,
+                    metaFields,
+                    factory == JSON_FACTORY
+                );
+                filter.copy();
+                modified = filter.modified;
+            }
+
+            return modified ? out.toByteArray() : bytes;
+        } finally {
+            if (pooled && out.size() > MAX_POOLED_BUFFER_SIZE) {
+                POOLED_BUFFER.remove();
+            }
         }
     }
 
-    static void filter(
-        InputStream in,
-        OutputStream out,
-        FieldPrivileges.FlsRule flsRule,
-        FieldMasking.FieldMaskingRule fieldMaskingRule,
-        Set<String> metaFields
-    ) throws IOException {
-        try (
-            JsonParser parser = JSON_FACTORY.createParser(XObjectReadContext.create(), in);
-            JsonGenerator generator = JSON_FACTORY.createGenerator(XObjectWriteContext.create(false), out)
-        ) {
-            new FlsDocumentFilter(parser, generator, flsRule, fieldMaskingRule, metaFields).copy();
+    /**
+     * Returns the buffer currently pooled for the calling thread. For testing only.
+     */
+    static ByteArrayOutputStream pooledBuffer() {
+        return POOLED_BUFFER.get();
+    }
+
+    /**
+     * Detects the encoding of the given document in the same way as OpenSearch does for XContent.
+     */
+    private static TokenStreamFactory factoryFor(byte[] bytes) {
+        if (bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n') {
+            return SMILE_FACTORY;
         }
+
+        if (bytes.length >= 1) {
+            int first = bytes[0] & 0xff;
+            // CBOR map or CBOR self-describe tag
+            if ((first >= 0xa0 && first <= 0xbf)
+                || (bytes.length >= 3 && first == 0xd9 && (bytes[1] & 0xff) == 0xd9 && (bytes[2] & 0xff) == 0xf7)) {
+                return CBOR_FACTORY;
+            }
+        }
+
+        return JSON_FACTORY;
     }
 
     private final JsonParser parser;
@@ -71,6 +133,18 @@ class FlsDocumentFilter {
     private final FieldPrivileges.FlsRule flsRule;
     private final FieldMasking.FieldMaskingRule fieldMaskingRule;
 
+    /**
+     * If true, numbers are copied using their exact decimal representation; this is necessary for JSON, as the
+     * textual representation of a number may exceed the precision of double values. Binary formats encode the
+     * number type, which is kept.
+     */
+    private final boolean exactNumbers;
+
+    /**
+     * Becomes true as soon as a field was removed or masked.
+     */
+    private boolean modified;
+
     /**
      * Names of meta fields. Meta fields will be always kept included in the documents, even if the FLS or
      * fieldMaskingRule would forbid them.
@@ -88,13 +162,15 @@ class FlsDocumentFilter {
         JsonGenerator generator,
         FieldPrivileges.FlsRule flsRule,
         FieldMasking.FieldMaskingRule fieldMaskingRule,
-        Set<String> metaFields
+        Set<String> metaFields,
+        boolean exactNumbers
     ) {
         this.parser = parser;
         this.generator = generator;
         this.flsRule = flsRule;
         this.fieldMaskingRule = fieldMaskingRule;
         this.metaFields = metaFields;
+        this.exactNumbers = exactNumbers;
     }
 
     @SuppressWarnings("incomplete-switch")
@@ -131,6 +207,7 @@ class FlsDocumentFilter {
                     if (startOfObjectOrArray) {
                         parser.skipChildren();
                     }
+                    modified = true;
                     continue;
                 }
             }
@@ -181,11 +258,8 @@ class FlsDocumentFilter {
                     break;
 
                 case VALUE_NUMBER_FLOAT:
-                    generator.writeNumber(parser.getDecimalValue());
-                    break;
-
                 case VALUE_NUMBER_INT:
-                    generator.writeNumber(parser.getBigIntegerValue());
+                    copyNumber(token);
                     break;
 
                 case VALUE_STRING:
@@ -193,6 +267,7 @@ class FlsDocumentFilter {
 
                     if (field != null) {
                         generator.writeString(field.apply(parser.getString()));
+                        modified = true;
                     } else {
                         generator.writeString(parser.getString());
                     }
@@ -210,4 +285,23 @@ class FlsDocumentFilter {
         }
     }
 
+    private void copyNumber(JsonToken token) throws IOException {
+        if (exactNumbers) {
+            if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                generator.writeNumber(parser.getDecimalValue());
+            } else {
+                generator.writeNumber(parser.getBigIntegerValue());
+            }
+            return;
+        }
+
+        switch (parser.getNumberType()) {
+            case INT -> generator.writeNumber(parser.getIntValue());
+            case LONG -> generator.writeNumber(parser.getLongValue());
+            case BIG_INTEGER -> generator.writeNumber(parser.getBigIntegerValue());
+            case FLOAT -> generator.writeNumber(parser.getFloatValue());
+            case DOUBLE -> generator.writeNumber(parser.getDoubleValue());
+            default -> generator.writeNumber(parser.getDecimalValue());
+        }
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges.dlsfls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.RamUsageEstimator;
+
+/**
+ * The FLS and field masking decisions for all fields of a segment, indexed by the field numbers of the segment's
+ * FieldInfos. As the field names of a segment do not change, the decisions can be computed once and be shared by all
+ * readers on the segment which use the same FLS and field masking rules.
+ * <p>
+ * Fields not known to the FieldInfos the decisions were computed for are evaluated directly using the rules.
+ */
+public final class FlsFieldDecisions implements Accountable {
+
+    private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(FlsFieldDecisions.class);
+
+    /**
+     * Decisions which allow all fields without masking. These do not depend on the fields of a segment; thus, a single
+     * instance can be used for all segments. getAllowedFieldInfos() returns empty FieldInfos for this instance; the
+     * FieldInfos of the segment must be used directly instead.
+     */
+    public static final FlsFieldDecisions ALLOW_ALL = new FlsFieldDecisions(
+        FieldInfos.EMPTY,
+        FieldPrivileges.FlsRule.ALLOW_ALL,
+        FieldMasking.FieldMaskingRule.ALLOW_ALL,
+        Set.of()
+    );
+
+    private final FieldInfos fieldInfos;
+    private final FieldInfos allowedFieldInfos;
+    private final FieldPrivileges.FlsRule flsRule;
+    private final FieldMasking.FieldMaskingRule fieldMaskingRule;
+    private final Set<String> metaFields;
+
+    /**
+     * Meta fields; these are always visible, regardless of FLS and field masking.
+     */
+    private final FixedBitSet meta;
+
+    /**
+     * Fields allowed by the FLS rule.
+     */
+    private final FixedBitSet flsAllowed;
+
+    /**
+     * Masked fields; null if the field masking rule does not mask any field.
+     */
+    private final FieldMasking.FieldMaskingRule.Field[] maskingFields;
+
+    private FlsFieldDecisions(
+        FieldInfos fieldInfos,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fieldMaskingRule,
+        Set<String> metaFields
+    ) {
+        this.fieldInfos = fieldInfos;
+        this.flsRule = flsRule;
+        this.fieldMaskingRule = fieldMaskingRule;
+        this.metaFields = metaFields;
+
+        int size = 0;
+        for (FieldInfo fieldInfo : fieldInfos) {
+            size = Math.max(size, fieldInfo.number + 1);
+        }
+
+        this.meta = new FixedBitSet(size);
+        this.flsAllowed = new FixedBitSet(size);
+        this.maskingFields = fieldMaskingRule.isAllowAll() ? null : new FieldMasking.FieldMaskingRule.Field[size];
+
+        List<FieldInfo> allowed = new ArrayList<>(fieldInfos.size());
+
+        for (FieldInfo fieldInfo : fieldInfos) {
+            boolean isMeta = metaFields.contains(fieldInfo.name);
+            boolean isFlsAllowed = flsRule.isAllowedRecursive(fieldInfo.name);
+
+            if (isMeta) {
+                meta.set(fieldInfo.number);
+            }
+            if (isFlsAllowed) {
+                flsAllowed.set(fieldInfo.number);
+            }
+            if (isMeta || isFlsAllowed) {
+                allowed.add(fieldInfo);
+            }
+            if (maskingFields != null) {
+                maskingFields[fieldInfo.number] = fieldMaskingRule.get(fieldInfo.name);
+            }
+        }
+
+        this.allowedFieldInfos = flsRule.isAllowAll() ? fieldInfos : new FieldInfos(allowed.toArray(new FieldInfo[0]));
+    }
+
+    public static FlsFieldDecisions compute(
+        FieldInfos fieldInfos,
+        FieldPrivileges.FlsRule flsRule,
+        FieldMasking.FieldMaskingRule fieldMaskingRule,
+        Set<String> metaFields
+    ) {
+        return new FlsFieldDecisions(fieldInfos, flsRule, fieldMaskingRule, metaFields);
+    }
+
+    /**
+     * Returns the FieldInfos restricted to the fields which are visible according to FLS.
+     */
+    public FieldInfos getAllowedFieldInfos() {
+        return allowedFieldInfos;
+    }
+
+    /**
+     * Returns true if the field is allowed by the FLS rule, without taking meta fields into account.
+     */
+    public boolean isFlsAllowed(String field) {
+        int number = number(field);
+        return number != -1 ? flsAllowed.get(number) : flsRule.isAllowedRecursive(field);
+    }
+
+    /**
+     * Returns true if field shall be visible to a user; that is if it is a meta field or not protected by FLS.
+     * However, it might be covered by field masking.
+     */
+    public boolean isAllowedButPossiblyMasked(FieldInfo fieldInfo) {
+        int number = number(fieldInfo);
+        return number != -1
+            ? meta.get(number) || flsAllowed.get(number)
+            : metaFields.contains(fieldInfo.name) || flsRule.isAllowedRecursive(fieldInfo.name);
+    }
+
+    /**
+     * Returns true if field shall be visible to a user; that is if it is a meta field or not protected by FLS.
+     * However, it might be covered by field masking.
+     */
+    public boolean isAllowedButPossiblyMasked(String field) {
+        int number = number(field);
+        return number != -1 ? meta.get(number) || flsAllowed.get(number) : metaFields.contains(field) || flsRule.isAllowedRecursive(field);
+    }
+
+    /**
+     * Returns true if field shall be fully visible to a user; that is if it is a meta field or neither protected by FLS
+     * nor masked.
+     */
+    public boolean isAllowed(String field) {
+        int number = number(field);
+
+        if (number == -1) {
+            return metaFields.contains(field)
+                || (flsRule.isAllowedRecursive(field) && (maskingFields == null || !fieldMaskingRule.isMasked(field)));
+        }
+
+        return meta.get(number) || (flsAllowed.get(number) && (maskingFields == null || maskingFields[number] == null));
+    }
+
+    /**
+     * Returns the field masking which applies to the given field or null if the field is not masked.
+     */
+    public FieldMasking.FieldMaskingRule.Field getMaskingField(FieldInfo fieldInfo) {
+        if (maskingFields == null) {
+            return null;
+        }
+        int number = number(fieldInfo);
+        return number != -1 ? maskingFields[number] : fieldMaskingRule.get(fieldInfo.name);
+    }
+
+    /**
+     * Returns the field masking which applies to the given field or null if the field is not masked.
+     */
+    public FieldMasking.FieldMaskingRule.Field getMaskingField(String field) {
+        if (maskingFields == null) {
+            return null;
+        }
+        int number = number(field);
+        return number != -1 ? maskingFields[number] : fieldMaskingRule.get(field);
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        long maskingFieldsBytes = maskingFields != null ? RamUsageEstimator.shallowSizeOf(maskingFields) : 0;
+        return BASE_RAM_BYTES_USED + meta.ramBytesUsed() + flsAllowed.ramBytesUsed() + maskingFieldsBytes;
+    }
+
+    private int number(String field) {
+        FieldInfo fieldInfo = fieldInfos.fieldInfo(field);
+        return fieldInfo != null ? fieldInfo.number : -1;
+    }
+
+    private int number(FieldInfo fieldInfo) {
+        // Make sure that the field info uses the same numbering as the field infos the decisions were computed for
+        FieldInfo known = fieldInfos.fieldInfo(fieldInfo.number);
+        return known != null && known.name.equals(fieldInfo.name) ? fieldInfo.number : number(fieldInfo.name);
+    }
+}
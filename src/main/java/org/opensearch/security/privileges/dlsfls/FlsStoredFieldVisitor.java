@@ -34,18 +34,21 @@ public class FlsStoredFieldVisitor extends StoredFieldVisitor {
     private final FieldPrivileges.FlsRule flsRule;
     private final FieldMasking.FieldMaskingRule fieldMaskingRule;
     private final Set<String> metaFields;
+    private final FlsFieldDecisions fieldDecisions;
 
     public FlsStoredFieldVisitor(
         StoredFieldVisitor delegate,
         FieldPrivileges.FlsRule flsRule,
         FieldMasking.FieldMaskingRule fieldMaskingRule,
-        Set<String> metaFields
+        Set<String> metaFields,
+        FlsFieldDecisions fieldDecisions
     ) {
         super();
         this.delegate = delegate;
         this.flsRule = flsRule;
         this.fieldMaskingRule = fieldMaskingRule;
         this.metaFields = metaFields;
+        this.fieldDecisions = fieldDecisions;
 
         if (log.isDebugEnabled()) {
             log.debug("Created FlsStoredFieldVisitor for {}; {}", flsRule, fieldMaskingRule);
@@ -62,7 +65,7 @@ public class FlsStoredFieldVisitor extends StoredFieldVisitor {
             }
         } else {
             // See https://github.com/opensearch-project/security/pull/4826
-            FieldMasking.FieldMaskingRule.Field field = this.fieldMaskingRule.get(fieldInfo.name);
+            FieldMasking.FieldMaskingRule.Field field = this.fieldDecisions.getMaskingField(fieldInfo);
 
             if (field != null) {
                 delegate.binaryField(fieldInfo, field.apply(value));
@@ -74,7 +77,7 @@ public class FlsStoredFieldVisitor extends StoredFieldVisitor {
 
     @Override
     public void stringField(FieldInfo fieldInfo, String value) throws IOException {
-        FieldMasking.FieldMaskingRule.Field field = this.fieldMaskingRule.get(fieldInfo.name);
+        FieldMasking.FieldMaskingRule.Field field = this.fieldDecisions.getMaskingField(fieldInfo);
 
         if (field != null) {
             delegate.stringField(fieldInfo, field.apply(value));
@@ -85,9 +88,7 @@ public class FlsStoredFieldVisitor extends StoredFieldVisitor {
 
     @Override
     public Status needsField(FieldInfo fieldInfo) throws IOException {
-        return metaFields.contains(fieldInfo.name) || flsRule.isAllowedRecursive(fieldInfo.name)
-            ? delegate.needsField(fieldInfo)
-            : Status.NO;
+        return fieldDecisions.isAllowedButPossiblyMasked(fieldInfo) ? delegate.needsField(fieldInfo) : Status.NO;
     }
 
     @Override
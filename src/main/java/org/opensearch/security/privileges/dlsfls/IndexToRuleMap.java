@@ -10,9 +10,13 @@
  */
 package org.opensearch.security.privileges.dlsfls;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 
 /**
  * Maps index names to DLS/FLS/FM rules.
@@ -26,17 +30,21 @@ import com.google.common.collect.ImmutableMap;
 public class IndexToRuleMap<Rule extends AbstractRuleBasedPrivileges.Rule> {
     private static final IndexToRuleMap<?> UNRESTRICTED = new IndexToRuleMap<AbstractRuleBasedPrivileges.Rule>(ImmutableMap.of());
 
-    private final ImmutableMap<String, Rule> indexMap;
+    private final Map<String, Rule> indexMap;
 
     public IndexToRuleMap(ImmutableMap<String, Rule> indexMap) {
         this.indexMap = indexMap;
     }
 
+    private IndexToRuleMap(Map<String, Rule> indexMap) {
+        this.indexMap = indexMap;
+    }
+
     public boolean isUnrestricted() {
         return this.indexMap.isEmpty() || this.indexMap.values().stream().allMatch(Rule::isUnrestricted);
     }
 
-    public ImmutableMap<String, Rule> getIndexMap() {
+    public Map<String, Rule> getIndexMap() {
         return indexMap;
     }
 
@@ -54,6 +62,14 @@ public class IndexToRuleMap<Rule extends AbstractRuleBasedPrivileges.Rule> {
         return false;
     }
 
+    /**
+     * Returns a map which assigns the same rule to all the given indices. The map is a view on the given set of indices;
+     * thus, the set must not be modified afterwards.
+     */
+    public static <Rule extends AbstractRuleBasedPrivileges.Rule> IndexToRuleMap<Rule> uniform(Set<String> indices, Rule rule) {
+        return new IndexToRuleMap<>(Maps.asMap(Collections.unmodifiableSet(indices), index -> rule));
+    }
+
     @SuppressWarnings("unchecked")
     public static <Rule extends AbstractRuleBasedPrivileges.Rule> IndexToRuleMap<Rule> unrestricted() {
         return (IndexToRuleMap<Rule>) UNRESTRICTED;
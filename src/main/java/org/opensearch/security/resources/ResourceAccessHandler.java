@@ -162,7 +162,9 @@ public class ResourceAccessHandler {
             return;
         }
 
-        resourceSharingIndexHandler.fetchSharingInfo(resourceIndex, resourceId, ActionListener.wrap(sharingInfo -> {
+        // Parent resources are checked by recursive calls; these use the cache as well, so that steady-state checks on
+        // resource hierarchies do not need to read the sharing index at all
+        resourceSharingIndexHandler.fetchCachedSharingInfo(resourceIndex, resourceId, ActionListener.wrap(sharingInfo -> {
             // sharingInfo may be null when cluster has enabled resource-sharing protection for that index, but have not migrated any
             // records.
             // This also means that for non-existing documents, the evaluator will return 403 instead
@@ -48,9 +48,19 @@ public class ResourceIndexListener implements IndexingOperationListener {
         Client client,
         ResourcePluginInfo resourcePluginInfo,
         OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting
+    ) {
+        this(threadPool, client, resourcePluginInfo, resourceSharingEnabledSetting, ResourceSharingCache.DISABLED);
+    }
+
+    public ResourceIndexListener(
+        ThreadPool threadPool,
+        Client client,
+        ResourcePluginInfo resourcePluginInfo,
+        OpensearchDynamicSetting<Boolean> resourceSharingEnabledSetting,
+        ResourceSharingCache resourceSharingCache
     ) {
         this.threadPool = threadPool;
-        this.resourceSharingIndexHandler = new ResourceSharingIndexHandler(client, threadPool, resourcePluginInfo);
+        this.resourceSharingIndexHandler = new ResourceSharingIndexHandler(client, threadPool, resourcePluginInfo, resourceSharingCache);
         this.resourcePluginInfo = resourcePluginInfo;
         this.resourceSharingEnabledSetting = resourceSharingEnabledSetting;
     }
@@ -0,0 +1,140 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.resources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.shard.IndexingOperationListener;
+import org.opensearch.security.resources.sharing.ResourceSharing;
+
+/**
+ * A node-local cache of resource sharing records, keyed by resource index and resource id. It is used by
+ * ResourceAccessHandler to avoid reading the sharing index for every access check.
+ * <p>
+ * Entries are invalidated when this node writes a sharing record and when this node observes an indexing operation
+ * on a local copy of a sharing index. Writes performed by other nodes which are not observed this way only become
+ * visible after the entries have expired. Thus, the TTL bounds the time a changed sharing record might still be used
+ * for access checks on this node.
+ * <p>
+ * Only existing records are cached.
+ *
+ * @opensearch.experimental
+ */
+public class ResourceSharingCache {
+
+    /**
+     * The maximum number of cached sharing records. A value of 0 disables the cache.
+     */
+    public static final Setting<Integer> MAX_SIZE = Setting.intSetting(
+        "plugins.security.experimental.resource_sharing.cache.max_size",
+        10000,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The time after which cached sharing records expire. A value of 0 disables the cache.
+     */
+    public static final Setting<TimeValue> TTL = Setting.positiveTimeSetting(
+        "plugins.security.experimental.resource_sharing.cache.ttl",
+        TimeValue.timeValueSeconds(10),
+        Setting.Property.NodeScope
+    );
+
+    public static final ResourceSharingCache DISABLED = new ResourceSharingCache(0, TimeValue.ZERO);
+
+    private final Cache<Key, ResourceSharing> cache;
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public ResourceSharingCache(Settings settings) {
+        this(MAX_SIZE.get(settings), TTL.get(settings));
+    }
+
+    ResourceSharingCache(int maxSize, TimeValue ttl) {
+        if (maxSize > 0 && ttl.millis() > 0) {
+            this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl.millis(), TimeUnit.MILLISECONDS).build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the cached sharing record for the given resource or null if none is cached.
+     */
+    public ResourceSharing get(String resourceIndex, String resourceId) {
+        return cache != null ? cache.getIfPresent(new Key(resourceIndex, resourceId)) : null;
+    }
+
+    /**
+     * Returns a counter which is incremented by every invalidation. It must be retrieved before the sharing record
+     * is read from the index and passed to put().
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * Caches the given sharing record, unless any invalidation happened since the given invalidation count has been
+     * retrieved. This way, a record read concurrently to a write cannot overwrite the invalidation.
+     */
+    public void put(String resourceIndex, String resourceId, ResourceSharing resourceSharing, long invalidationCountBeforeRead) {
+        if (cache == null || resourceSharing == null) {
+            return;
+        }
+
+        Key key = new Key(resourceIndex, resourceId);
+        cache.put(key, resourceSharing);
+
+        if (invalidationCount.get() != invalidationCountBeforeRead) {
+            // An invalidation might have happened after the record was read; we cannot trust it
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(String resourceIndex, String resourceId) {
+        invalidationCount.incrementAndGet();
+
+        if (cache != null) {
+            cache.invalidate(new Key(resourceIndex, resourceId));
+        }
+    }
+
+    /**
+     * Returns a listener which invalidates the affected cache entries for indexing operations on the sharing index of
+     * the given resource index.
+     */
+    public IndexingOperationListener sharingIndexListener(String resourceIndex) {
+        return new IndexingOperationListener() {
+            @Override
+            public void postIndex(ShardId shardId, Engine.Index index, Engine.IndexResult result) {
+                invalidate(resourceIndex, index.id());
+            }
+
+            @Override
+            public void postDelete(ShardId shardId, Engine.Delete delete, Engine.DeleteResult result) {
+                invalidate(resourceIndex, delete.id());
+            }
+        };
+    }
+
+    private record Key(String resourceIndex, String resourceId) {
+    }
+}
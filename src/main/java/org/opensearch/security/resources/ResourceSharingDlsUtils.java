@@ -8,33 +8,150 @@
 
 package org.opensearch.security.resources;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import org.opensearch.common.xcontent.XContentFactory;
-import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.index.query.TermsQueryBuilder;
 import org.opensearch.security.privileges.dlsfls.DlsRestriction;
 import org.opensearch.security.privileges.dlsfls.DocumentPrivileges;
 import org.opensearch.security.privileges.dlsfls.IndexToRuleMap;
+import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.user.User;
 
+/**
+ * Builds the DLS restrictions which limit searches of plugins on resource indices to the resources shared with the
+ * current user.
+ * <p>
+ * There are two ways to apply the restriction:
+ * <ul>
+ *     <li>On the shard level: The principals of the user are passed in the header
+ *     ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER to the shards. There,
+ *     SecurityFlsDlsIndexSearcherWrapper applies the restriction to the index reader. The matching documents are
+ *     thus cached per segment core by DlsBitsetCache.</li>
+ *     <li>On the filter level: The restriction is added to the search request by DlsFilterLevelActionHandler. This is
+ *     used in the DLS filter level mode and as long as the cluster contains nodes which do not know the header.</li>
+ * </ul>
+ */
 public class ResourceSharingDlsUtils {
     private static final Logger LOGGER = LogManager.getLogger(ResourceSharingDlsUtils.class);
 
-    public static IndexToRuleMap<DlsRestriction> resourceRestrictions(
-        NamedXContentRegistry xContentRegistry,
-        Collection<String> resolvedIndices,
-        User user
-    ) {
+    static final String PRINCIPALS_FIELD = "all_shared_principals";
+
+    /**
+     * The maximum number of resource sharing restrictions which are kept for re-use. A value of 0 disables the cache.
+     */
+    public static Setting<Integer> RESTRICTION_CACHE_SIZE = Setting.intSetting(
+        "plugins.security.resource_sharing.dls.restriction_cache.max_size",
+        1000,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * This setting specifies the maximum time a restriction is kept in the cache. This is solely for saving space;
+     * a stale cache is not possible, as the restriction is fully determined by the principals. The default is 1 hour.
+     */
+    public static Setting<TimeValue> RESTRICTION_CACHE_EXPIRE_AFTER_ACCESS = Setting.timeSetting(
+        "plugins.security.resource_sharing.dls.restriction_cache.expire_after_access",
+        TimeValue.timeValueHours(1),
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Maps the sorted principals of a user to the restriction built for them. Users with the same principals share the
+     * same restriction; this avoids building the terms query again for each request and shard. As equal principals
+     * yield equal queries, DlsBitsetCache can re-use the bitsets of a restriction for all users with the same principals.
+     * Null if disabled.
+     */
+    private final Cache<List<String>, DlsRestriction> restrictionCache;
+
+    public ResourceSharingDlsUtils(Settings settings) {
+        int restrictionCacheSize = RESTRICTION_CACHE_SIZE.get(settings);
+        this.restrictionCache = restrictionCacheSize > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(restrictionCacheSize)
+                .expireAfterAccess(Duration.ofMillis(RESTRICTION_CACHE_EXPIRE_AFTER_ACCESS.get(settings).millis()))
+                .build()
+            : null;
+    }
+
+    public IndexToRuleMap<DlsRestriction> resourceRestrictions(Set<String> resolvedIndices, User user) {
+        return IndexToRuleMap.uniform(resolvedIndices, restriction(principals(user)));
+    }
+
+    /**
+     * Returns the restriction for the principals passed by putPrincipalsHeader(), or null if the header is not present.
+     */
+    public DlsRestriction restrictionFromHeader(ThreadContext threadContext) {
+        String header = threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER);
+
+        if (header == null) {
+            return null;
+        }
+
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> principals = ImmutableList.copyOf((List<String>) Base64Helper.deserializeObject(header));
+            return restriction(principals);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Received invalid resource sharing principals header.", e);
+            return DlsRestriction.FULL;
+        }
+    }
+
+    /**
+     * Passes the principals of the given user to the shards, which then apply the resource restriction on the index
+     * reader. Returns false if the thread context already carries the principals of a different user.
+     */
+    public static boolean putPrincipalsHeader(ThreadContext threadContext, User user) {
+        String header = Base64Helper.serializeObject(new ArrayList<>(principals(user)));
+        String existingHeader = threadContext.getHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER);
 
-        List<String> principals = new ArrayList<>();
+        if (existingHeader == null) {
+            threadContext.putHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER, header);
+            return true;
+        } else {
+            return existingHeader.equals(header);
+        }
+    }
+
+    private DlsRestriction restriction(List<String> principals) {
+        try {
+            if (restrictionCache != null) {
+                return restrictionCache.get(principals, () -> createRestriction(principals));
+            } else {
+                return createRestriction(principals);
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            LOGGER.warn("Received error while applying resource restrictions.", e);
+            return DlsRestriction.FULL;
+        }
+    }
+
+    private static DlsRestriction createRestriction(List<String> principals) {
+        return new DlsRestriction(List.of(DocumentPrivileges.getRenderedDlsQuery(new TermsQueryBuilder(PRINCIPALS_FIELD, principals))));
+    }
+
+    /**
+     * Returns the sorted principals the given user can be granted access to resources by.
+     */
+    static List<String> principals(User user) {
+        Set<String> principals = new TreeSet<>();
         principals.add("public"); // matches resources shared via general_access
         principals.add("user:" + user.getName()); // owner
 
@@ -48,24 +165,6 @@ public class ResourceSharingDlsUtils {
             user.getRoles().forEach(br -> principals.add("backend:" + br));
         }
 
-        XContentBuilder builder = null;
-        DlsRestriction restriction;
-        try {
-            // Build a single `terms` query JSON
-            builder = XContentFactory.jsonBuilder();
-            builder.startObject().startObject("terms").array("all_shared_principals", principals.toArray()).endObject().endObject();
-
-            String dlsJson = builder.toString();
-            restriction = new DlsRestriction(List.of(DocumentPrivileges.getRenderedDlsQuery(xContentRegistry, dlsJson)));
-        } catch (IOException e) {
-            LOGGER.warn("Received error while applying resource restrictions.", e);
-            restriction = DlsRestriction.FULL;
-        }
-
-        ImmutableMap.Builder<String, DlsRestriction> mapBuilder = ImmutableMap.builder();
-        for (String index : resolvedIndices) {
-            mapBuilder.put(index, restriction);
-        }
-        return new IndexToRuleMap<>(mapBuilder.build());
+        return ImmutableList.copyOf(principals);
     }
 }
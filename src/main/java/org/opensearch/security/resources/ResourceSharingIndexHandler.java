@@ -95,12 +95,27 @@ public class ResourceSharingIndexHandler {
 
     private final ThreadPool threadPool;
     private final ResourcePluginInfo resourcePluginInfo;
+    private final ResourceSharingCache resourceSharingCache;
 
     @Inject
     public ResourceSharingIndexHandler(final Client client, final ThreadPool threadPool, final ResourcePluginInfo resourcePluginInfo) {
+        this(client, threadPool, resourcePluginInfo, ResourceSharingCache.DISABLED);
+    }
+
+    public ResourceSharingIndexHandler(
+        final Client client,
+        final ThreadPool threadPool,
+        final ResourcePluginInfo resourcePluginInfo,
+        final ResourceSharingCache resourceSharingCache
+    ) {
         this.client = client;
         this.threadPool = threadPool;
         this.resourcePluginInfo = resourcePluginInfo;
+        this.resourceSharingCache = resourceSharingCache;
+    }
+
+    public ResourceSharingCache getResourceSharingCache() {
+        return resourceSharingCache;
     }
 
     public final static Map<String, Object> INDEX_SETTINGS = Map.of("index.number_of_shards", 1, "index.hidden", "true");
@@ -263,6 +278,7 @@ public class ResourceSharingIndexHandler {
 
             ActionListener<IndexResponse> irListener = ActionListener.wrap(idxResponse -> {
                 ctx.restore();
+                resourceSharingCache.invalidate(resourceIndex, resourceId);
                 LOGGER.info("Successfully created {} entry for resource {} in index {}.", resourceSharingIndex, resourceId, resourceIndex);
                 updateResourceVisibility(
                     resourceId,
@@ -616,6 +632,32 @@ public class ResourceSharingIndexHandler {
         }
     }
 
+    /**
+     * Like fetchSharingInfo(), but serves the sharing record from the node-local ResourceSharingCache if possible.
+     * Records read from the index are put into the cache. As the returned object may be shared with concurrent
+     * callers, it must not be modified; use fetchSharingInfo() for read-modify-write operations.
+     *
+     * @param resourceIndex The source index of the resource
+     * @param resourceId    The resource ID to fetch
+     * @param listener      The listener to be notified with the sharing record or null if there is none
+     */
+    public void fetchCachedSharingInfo(String resourceIndex, String resourceId, ActionListener<ResourceSharing> listener) {
+        ResourceSharing cached = resourceSharingCache.get(resourceIndex, resourceId);
+
+        if (cached != null) {
+            LOGGER.debug("Using cached sharing record for resource_id: {} and source_idx: {}", resourceId, resourceIndex);
+            listener.onResponse(cached);
+            return;
+        }
+
+        long invalidationCount = resourceSharingCache.getInvalidationCount();
+
+        fetchSharingInfo(resourceIndex, resourceId, ActionListener.wrap(resourceSharing -> {
+            resourceSharingCache.put(resourceIndex, resourceId, resourceSharing, invalidationCount);
+            listener.onResponse(resourceSharing);
+        }, listener::onFailure));
+    }
+
     /**
      * Updates the sharing configuration for an existing resource in the resource sharing index.
      * NOTE: This method only grants new access. To update/remove access use {@link #patchSharingInfo(String, String, ShareWith, ShareWith, ActionListener)}
@@ -667,6 +709,7 @@ public class ResourceSharingIndexHandler {
 
                 ActionListener<IndexResponse> irListener = ActionListener.wrap(idxResponse -> {
                     ctx.restore();
+                    resourceSharingCache.invalidate(resourceIndex, resourceId);
                     LOGGER.info(
                         "Successfully updated {} entry for resource {} in index {}.",
                         resourceSharingIndex,
@@ -686,6 +729,8 @@ public class ResourceSharingIndexHandler {
                         })
                     );
                 }, (failResponse) -> {
+                    // The record might have been written nevertheless
+                    resourceSharingCache.invalidate(resourceIndex, resourceId);
                     LOGGER.error(failResponse.getMessage());
                     listener.onFailure(failResponse);
                 });
@@ -744,6 +789,7 @@ public class ResourceSharingIndexHandler {
 
                 client.index(ir, ActionListener.wrap(idxResponse -> {
                     ctx.restore();
+                    resourceSharingCache.invalidate(resourceIndex, resourceId);
                     LOGGER.info(
                         "Successfully updated {} resource sharing info for resource {} in index {}.",
                         resourceSharingIndex,
@@ -765,6 +811,8 @@ public class ResourceSharingIndexHandler {
                     );
 
                 }, (e) -> {
+                    // The record might have been written nevertheless
+                    resourceSharingCache.invalidate(resourceIndex, resourceId);
                     LOGGER.error(e.getMessage());
                     listener.onFailure(e);
                 }));
@@ -829,6 +877,7 @@ public class ResourceSharingIndexHandler {
 
             client.delete(deleteRequest, ActionListener.wrap(deleteResponse -> {
                 ctx.restore();
+                resourceSharingCache.invalidate(resourceIndex, resourceId);
                 boolean deleted = DocWriteResponse.Result.DELETED.equals(deleteResponse.getResult());
                 if (deleted) {
                     LOGGER.debug("Successfully deleted {} documents from {}", deleted, resourceSharingIndex);
@@ -844,6 +893,8 @@ public class ResourceSharingIndexHandler {
                     listener.onResponse(false);
                 }
             }, failResponse -> {
+                // The record might have been deleted nevertheless
+                resourceSharingCache.invalidate(resourceIndex, resourceId);
                 LOGGER.error("Failed to delete documents from {}", resourceSharingIndex, failResponse);
                 listener.onFailure(failResponse);
             }));
@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.rest;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions.NodesResponseRestListener;
+import org.opensearch.security.action.stats.SecurityStatsAction;
+import org.opensearch.security.action.stats.SecurityStatsRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.security.dlic.rest.support.Utils.PLUGIN_ROUTE_PREFIX;
+import static org.opensearch.security.dlic.rest.support.Utils.addRoutesPrefix;
+
+/**
+ * Reports the statistics of the security components per node. Requires the cluster permission
+ * cluster:monitor/security/stats, which is part of the cluster_monitor action group.
+ */
+public class SecurityStatsRestAction extends BaseRestHandler {
+    private static final List<Route> routes = addRoutesPrefix(
+        ImmutableList.of(new Route(GET, "/stats"), new Route(GET, "/stats/{nodeId}")),
+        PLUGIN_ROUTE_PREFIX
+    );
+
+    @Override
+    public List<Route> routes() {
+        return routes;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        SecurityStatsRequest statsRequest = new SecurityStatsRequest(Strings.splitStringByCommaToArray(request.param("nodeId")));
+        statsRequest.timeout(request.param("timeout"));
+
+        return channel -> client.execute(SecurityStatsAction.INSTANCE, statsRequest, new NodesResponseRestListener<>(channel));
+    }
+
+    @Override
+    public String getName() {
+        return "Security stats";
+    }
+}
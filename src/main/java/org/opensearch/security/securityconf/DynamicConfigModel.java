@@ -76,6 +76,8 @@ public abstract class DynamicConfigModel {
 
     public abstract String getInternalProxies();
 
+    public abstract List<String> getInternalProxyCidrs();
+
     public abstract String getRemoteIpHeader();
 
     public abstract boolean isRestAuthDisabled();
@@ -128,6 +128,11 @@ public class DynamicConfigModelV7 extends DynamicConfigModel {
         return config.dynamic.http.xff.internalProxies;
     }
 
+    @Override
+    public List<String> getInternalProxyCidrs() {
+        return config.dynamic.http.xff.internalProxyCidrs;
+    }
+
     @Override
     public String getRemoteIpHeader() {
         return config.dynamic.http.xff.remoteIpHeader;
@@ -238,11 +238,21 @@ public class ConfigV7 {
                 + "172\\.2[0-9]{1}\\.\\d{1,3}\\.\\d{1,3}|"
                 + "172\\.3[0-1]{1}\\.\\d{1,3}\\.\\d{1,3}"
         ).toString();
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        public List<String> internalProxyCidrs = Collections.emptyList();
         public String remoteIpHeader = "X-Forwarded-For";
 
         @Override
         public String toString() {
-            return "Xff [enabled=" + enabled + ", internalProxies=" + internalProxies + ", remoteIpHeader=" + remoteIpHeader + "]";
+            return "Xff [enabled="
+                + enabled
+                + ", internalProxies="
+                + internalProxies
+                + ", internalProxyCidrs="
+                + internalProxyCidrs
+                + ", remoteIpHeader="
+                + remoteIpHeader
+                + "]";
         }
 
     }
@@ -32,6 +32,7 @@ import org.opensearch.plugins.SecureTransportSettingsProvider;
 import org.opensearch.plugins.TransportExceptionHandler;
 import org.opensearch.security.filter.SecurityRestFilter;
 import org.opensearch.security.ssl.config.CertType;
+import org.opensearch.security.ssl.http.netty.AuthenticationExecutorStats;
 import org.opensearch.security.ssl.http.netty.Netty4ConditionalDecompressor;
 import org.opensearch.security.ssl.http.netty.Netty4HttpRequestHeaderVerifier;
 import org.opensearch.security.ssl.transport.SSLConfig;
@@ -47,19 +48,22 @@ public class OpenSearchSecureSettingsFactory implements SecureSettingsFactory {
     private final SslExceptionHandler sslExceptionHandler;
     private final SecurityRestFilter restFilter;
     private final SSLConfig sslConfig;
+    private final AuthenticationExecutorStats authenticationExecutorStats;
 
     public OpenSearchSecureSettingsFactory(
         ThreadPool threadPool,
         SslSettingsManager sslSettingsManager,
         SslExceptionHandler sslExceptionHandler,
         SecurityRestFilter restFilter,
-        SSLConfig sslConfig
+        SSLConfig sslConfig,
+        AuthenticationExecutorStats authenticationExecutorStats
     ) {
         this.threadPool = threadPool;
         this.sslSettingsManager = sslSettingsManager;
         this.sslExceptionHandler = sslExceptionHandler;
         this.restFilter = restFilter;
         this.sslConfig = sslConfig;
+        this.authenticationExecutorStats = authenticationExecutorStats;
     }
 
     @Override
@@ -217,7 +221,9 @@ public class OpenSearchSecureSettingsFactory implements SecureSettingsFactory {
                     @Override
                     public <C> Optional<C> create(Settings settings, HttpServerTransport transport, Class<C> adapterClass) {
                         if (transportSupported(transport) && ChannelInboundHandlerAdapter.class.isAssignableFrom(adapterClass)) {
-                            return Optional.of((C) new Netty4HttpRequestHeaderVerifier(restFilter, threadPool, settings));
+                            return Optional.of(
+                                (C) new Netty4HttpRequestHeaderVerifier(restFilter, threadPool, settings, authenticationExecutorStats)
+                            );
                         } else {
                             return Optional.empty();
                         }
@@ -72,6 +72,7 @@ import org.opensearch.secure_sm.AccessController;
 import org.opensearch.security.DefaultObjectMapper;
 import org.opensearch.security.NonValidatingObjectMapper;
 import org.opensearch.security.filter.SecurityRestFilter;
+import org.opensearch.security.ssl.http.netty.AuthenticationExecutorStats;
 import org.opensearch.security.ssl.http.netty.ValidatingDispatcher;
 import org.opensearch.security.ssl.rest.SecuritySSLInfoAction;
 import org.opensearch.security.ssl.transport.DefaultPrincipalExtractor;
@@ -140,6 +141,7 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
     };
     protected final SSLConfig SSLConfig;
     protected volatile ThreadPool threadPool;
+    protected final AuthenticationExecutorStats authenticationExecutorStats = new AuthenticationExecutorStats();
 
     protected OpenSearchSecuritySSLPlugin(final Settings settings, final Path configPath, boolean disabled) {
 
@@ -681,7 +683,14 @@ public class OpenSearchSecuritySSLPlugin extends Plugin implements SystemIndexPl
     @Override
     public Optional<SecureSettingsFactory> getSecureSettingFactory(Settings settings) {
         return Optional.of(
-            new OpenSearchSecureSettingsFactory(threadPool, sslSettingsManager, NOOP_SSL_EXCEPTION_HANDLER, securityRestHandler, SSLConfig)
+            new OpenSearchSecureSettingsFactory(
+                threadPool,
+                sslSettingsManager,
+                NOOP_SSL_EXCEPTION_HANDLER,
+                securityRestHandler,
+                SSLConfig,
+                authenticationExecutorStats
+            )
         );
     }
 
@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.ssl.http.netty;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tracks how long offloaded authentications wait between being enqueued on the security_authentication executor
+ * and being started. A growing wait time indicates that the executor is too small for the authentication load; the
+ * queue depth and the number of rejections are reported by the thread pool section of the node stats.
+ * <p>
+ * Shared by all Netty4HttpRequestHeaderVerifier instances of a node and reported by the security stats API.
+ */
+public class AuthenticationExecutorStats {
+    private final LongAdder inlineAuthentications = new LongAdder();
+    private final LongAdder offloadedAuthentications = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    void onInlineAuthentication() {
+        inlineAuthentications.increment();
+    }
+
+    /**
+     * Records the start of an offloaded authentication which has been enqueued at the given System.nanoTime().
+     */
+    void onOffloadedAuthenticationStarted(long enqueuedAtNanos) {
+        long waitNanos = Math.max(0, System.nanoTime() - enqueuedAtNanos);
+
+        offloadedAuthentications.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public long inlineAuthentications() {
+        return inlineAuthentications.sum();
+    }
+
+    public long offloadedAuthentications() {
+        return offloadedAuthentications.sum();
+    }
+
+    public long totalWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    public long maxWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    public double averageWaitTimeMillis() {
+        long offloaded = offloadedAuthentications.sum();
+        return offloaded != 0 ? (double) totalWaitNanos.sum() / offloaded / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    public Map<String, Object> toMap() {
+        return ImmutableMap.of(
+            "inline_authentications",
+            inlineAuthentications(),
+            "offloaded_authentications",
+            offloadedAuthentications(),
+            "total_wait_time_in_millis",
+            totalWaitTimeMillis(),
+            "max_wait_time_in_millis",
+            maxWaitTimeMillis(),
+            "avg_wait_time_in_millis",
+            averageWaitTimeMillis()
+        );
+    }
+}
@@ -8,11 +8,27 @@
 
 package org.opensearch.security.ssl.http.netty;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.http.netty4.Netty4Http3ServerTransport;
 import org.opensearch.http.netty4.Netty4HttpChannel;
@@ -26,11 +42,14 @@ import org.opensearch.security.filter.SecurityRestUtils;
 import org.opensearch.security.ssl.OpenSearchSecuritySSLPlugin;
 import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.quic.QuicStreamChannel;
 import io.netty.util.AttributeKey;
@@ -45,16 +64,54 @@ public class Netty4HttpRequestHeaderVerifier extends SimpleChannelInboundHandler
     );
     public static final AttributeKey<Set<String>> UNCONSUMED_PARAMS = AttributeKey.newInstance("opensearch-http-request-consumed-params");
     public static final AttributeKey<SecurityResponse> EARLY_RESPONSE = AttributeKey.newInstance("opensearch-http-early-response");
+    static final AttributeKey<Queue<Object>> PENDING_MESSAGES = AttributeKey.newInstance("opensearch-http-pending-messages");
+
+    /**
+     * If enabled, authentications which cannot be expected to be answered from cache are performed on a dedicated
+     * executor instead of the Netty event loop. This way, slow password hashing or LDAP round trips do not stall
+     * other connections served by the same event loop.
+     */
+    public static final Setting<Boolean> ASYNC_AUTHENTICATION_ENABLED = Setting.boolSetting(
+        "plugins.security.http.async_authentication.enabled",
+        true,
+        Setting.Property.NodeScope
+    );
+
+    public static final String AUTHENTICATION_THREAD_POOL_NAME = "security_authentication";
+    static final int AUTHENTICATION_THREAD_POOL_QUEUE_SIZE = 1000;
+    static final int AUTHENTICATED_CREDENTIALS_MAX_SIZE = 10000;
+
+    private static final Logger log = LogManager.getLogger(Netty4HttpRequestHeaderVerifier.class);
 
     private final SecurityRestFilter restFilter;
     private final ThreadPool threadPool;
     private final SSLConfig sslConfig;
     private final boolean injectUserEnabled;
     private final boolean passthrough;
+    private final boolean asyncAuthenticationEnabled;
+
+    /**
+     * Digests of Authorization headers which have been recently authenticated on the authentication executor.
+     * Requests with these credentials are authenticated inline, as they can be expected to hit the user cache.
+     */
+    private final Cache<HashCode, Boolean> authenticatedCredentials;
+
+    private final AuthenticationExecutorStats authenticationExecutorStats;
 
-    public Netty4HttpRequestHeaderVerifier(SecurityRestFilter restFilter, ThreadPool threadPool, Settings settings) {
+    public Netty4HttpRequestHeaderVerifier(
+        SecurityRestFilter restFilter,
+        ThreadPool threadPool,
+        Settings settings,
+        AuthenticationExecutorStats authenticationExecutorStats
+    ) {
         this.restFilter = restFilter;
         this.threadPool = threadPool;
+        this.authenticationExecutorStats = authenticationExecutorStats;
+        this.asyncAuthenticationEnabled = ASYNC_AUTHENTICATION_ENABLED.get(settings);
+        this.authenticatedCredentials = CacheBuilder.newBuilder()
+            .maximumSize(AUTHENTICATED_CREDENTIALS_MAX_SIZE)
+            .expireAfterWrite(settings.getAsInt(ConfigConstants.SECURITY_CACHE_TTL_MINUTES, 60), TimeUnit.MINUTES)
+            .build();
 
         this.injectUserEnabled = settings.getAsBoolean(ConfigConstants.SECURITY_UNSUPPORTED_INJECT_USER_ENABLED, false);
         boolean disabled = settings.getAsBoolean(ConfigConstants.SECURITY_DISABLED, false);
@@ -67,6 +124,19 @@ public class Netty4HttpRequestHeaderVerifier extends SimpleChannelInboundHandler
         this.passthrough = client || disabled || sslConfig.isSslOnlyMode();
     }
 
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Queue<Object> pendingMessages = ctx.channel().attr(PENDING_MESSAGES).get();
+
+        if (pendingMessages != null) {
+            // The authentication of a preceding request is still in progress; keep the messages in order until it is done
+            pendingMessages.add(msg);
+            return;
+        }
+
+        super.channelRead(ctx, msg);
+    }
+
     @Override
     public void channelRead0(ChannelHandlerContext ctx, HttpRequest msg) throws Exception {
         // DefaultHttpRequest should always be first and contain headers
@@ -81,6 +151,54 @@ public class Netty4HttpRequestHeaderVerifier extends SimpleChannelInboundHandler
         ctx.channel().attr(Netty4HttpRequestHeaderVerifier.SHOULD_DECOMPRESS).set(Boolean.FALSE);
         ctx.channel().attr(Netty4HttpRequestHeaderVerifier.IS_AUTHENTICATED).set(Boolean.FALSE);
 
+        final ExecutorService executor = getAuthenticationExecutor();
+        final HashCode credentialsDigest = credentialsDigest(msg);
+
+        if (executor == null || (credentialsDigest != null && authenticatedCredentials.getIfPresent(credentialsDigest) != null)) {
+            // The credentials have been authenticated recently; thus, they can be expected to be in the user cache
+            authenticationExecutorStats.onInlineAuthentication();
+
+            try {
+                authenticate(ctx, msg);
+            } finally {
+                ctx.fireChannelRead(msg);
+            }
+            return;
+        }
+
+        // Stop reading from the channel until the authentication is done; messages already read are kept in PENDING_MESSAGES
+        ctx.channel().attr(PENDING_MESSAGES).set(new ArrayDeque<>());
+        ctx.channel().config().setAutoRead(false);
+
+        final long enqueuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                authenticationExecutorStats.onOffloadedAuthenticationStarted(enqueuedAt);
+
+                try {
+                    if (authenticate(ctx, msg) && credentialsDigest != null) {
+                        authenticatedCredentials.put(credentialsDigest, Boolean.TRUE);
+                    }
+                } catch (Exception e) {
+                    log.error("Error while authenticating request", e);
+                    ctx.channel().attr(EARLY_RESPONSE).set(new SecurityResponse(HttpStatus.SC_INTERNAL_SERVER_ERROR, e));
+                } finally {
+                    ctx.executor().execute(() -> resume(ctx, msg));
+                }
+            });
+        } catch (OpenSearchRejectedExecutionException e) {
+            ctx.channel().attr(EARLY_RESPONSE).set(new SecurityResponse(ExceptionsHelper.status(e).getStatus(), e));
+            resume(ctx, msg);
+        }
+    }
+
+    /**
+     * Authenticates the given request and stores the result in the channel attributes.
+     *
+     * @return true if the request carried credentials which were successfully authenticated
+     */
+    private boolean authenticate(ChannelHandlerContext ctx, HttpRequest msg) throws Exception {
         final Netty4HttpChannel httpChannel = getHttpChannel(ctx);
 
         final SecurityRequestChannel requestChannel = SecurityRequestFactory.from(msg, httpChannel);
@@ -107,16 +225,89 @@ public class Netty4HttpRequestHeaderVerifier extends SimpleChannelInboundHandler
                 ctx.channel().attr(Netty4HttpRequestHeaderVerifier.SHOULD_DECOMPRESS).set(Boolean.valueOf(shouldDecompress));
                 ctx.channel().attr(Netty4HttpRequestHeaderVerifier.IS_AUTHENTICATED).set(Boolean.TRUE);
             }
+
+            return shouldDecompress;
         } catch (final OpenSearchSecurityException e) {
             final SecurityResponse earlyResponse = new SecurityResponse(ExceptionsHelper.status(e).getStatus(), e);
             ctx.channel().attr(Netty4HttpRequestHeaderVerifier.EARLY_RESPONSE).set(earlyResponse);
+            return false;
         } catch (final SecurityRequestChannelUnsupported srcu) {
             // Use defaults for unsupported channels
-        } finally {
-            ctx.fireChannelRead(msg);
+            return false;
         }
     }
 
+    /**
+     * Passes the request on to the next handler after an asynchronous authentication and continues with the messages
+     * which have been received in the meantime. Must be called on the event loop of the channel.
+     */
+    private void resume(ChannelHandlerContext ctx, HttpRequest msg) {
+        Queue<Object> pendingMessages = ctx.channel().attr(PENDING_MESSAGES).getAndSet(null);
+
+        if (!ctx.channel().isActive()) {
+            // The channel has been closed while the authentication was pending; nobody will consume the messages
+            ReferenceCountUtil.release(msg);
+            if (pendingMessages != null) {
+                pendingMessages.forEach(ReferenceCountUtil::release);
+            }
+            return;
+        }
+
+        ctx.fireChannelRead(msg);
+
+        if (pendingMessages != null) {
+            Object pendingMessage;
+            while ((pendingMessage = pendingMessages.poll()) != null) {
+                try {
+                    // This might start another asynchronous authentication for a pipelined request; the remaining
+                    // messages are then queued again
+                    channelRead(ctx, pendingMessage);
+                } catch (Exception e) {
+                    ctx.fireExceptionCaught(e);
+                }
+            }
+        }
+
+        if (ctx.channel().attr(PENDING_MESSAGES).get() == null) {
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private ExecutorService getAuthenticationExecutor() {
+        if (!asyncAuthenticationEnabled || threadPool.info(AUTHENTICATION_THREAD_POOL_NAME) == null) {
+            return null;
+        }
+
+        return threadPool.executor(AUTHENTICATION_THREAD_POOL_NAME);
+    }
+
+    private static HashCode credentialsDigest(HttpRequest msg) {
+        String authorization = msg.headers().get(HttpHeaderNames.AUTHORIZATION);
+
+        if (authorization == null) {
+            return null;
+        }
+
+        return Hashing.sha256().hashString(authorization, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the builder for the executor which performs authentications which cannot be expected to be answered
+     * from cache. The size and queue size can be configured with thread_pool.security_authentication.size and
+     * thread_pool.security_authentication.queue_size. The queue depth and the number of rejected authentications are
+     * reported by the thread pool section of the node stats. The time authentications wait in the queue before being
+     * started is tracked by AuthenticationExecutorStats and reported by the security stats API
+     * (GET _plugins/_security/stats).
+     */
+    public static ExecutorBuilder<?> authenticationExecutorBuilder(Settings settings) {
+        return new FixedExecutorBuilder(
+            settings,
+            AUTHENTICATION_THREAD_POOL_NAME,
+            OpenSearchExecutors.allocatedProcessors(settings),
+            AUTHENTICATION_THREAD_POOL_QUEUE_SIZE
+        );
+    }
+
     private Netty4HttpChannel getHttpChannel(ChannelHandlerContext ctx) {
         if (ctx.channel() instanceof QuicStreamChannel /* HTTP/3 */) {
             return ctx.channel().attr(Netty4Http3ServerTransport.HTTP_CHANNEL_KEY).get();
@@ -17,9 +17,7 @@
 
 package org.opensearch.security.ssl.transport;
 
-import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
-import java.util.Arrays;
 import javax.net.ssl.SSLPeerUnverifiedException;
 
 import org.apache.logging.log4j.LogManager;
@@ -31,6 +29,7 @@ import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.security.ssl.SslExceptionHandler;
 import org.opensearch.security.ssl.util.ExceptionUtils;
 import org.opensearch.security.ssl.util.SSLRequestHelper;
+import org.opensearch.security.ssl.util.SSLSessionPrincipal;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -116,20 +115,19 @@ public class SecuritySSLRequestHandler<T extends TransportRequest> implements Tr
                 throw exception;
             }
 
-            final Certificate[] peerCerts = sslhandler.engine().getSession().getPeerCertificates();
-            final Certificate[] localCerts = sslhandler.engine().getSession().getLocalCertificates();
-
-            if (peerCerts != null
-                && peerCerts.length > 0
-                && peerCerts[0] instanceof X509Certificate
-                && localCerts != null
-                && localCerts.length > 0
-                && localCerts[0] instanceof X509Certificate) {
-                final X509Certificate[] x509PeerCerts = Arrays.copyOf(peerCerts, peerCerts.length, X509Certificate[].class);
-                final X509Certificate[] x509LocalCerts = Arrays.copyOf(localCerts, localCerts.length, X509Certificate[].class);
-                final String principal = principalExtractor == null
-                    ? null
-                    : principalExtractor.extractPrincipal(x509PeerCerts[0], PrincipalExtractor.Type.TRANSPORT);
+            // Certificates and principal are only extracted once per session
+            final SSLSessionPrincipal sessionPrincipal = SSLSessionPrincipal.get(
+                sslhandler.engine().getSession(),
+                principalExtractor,
+                PrincipalExtractor.Type.TRANSPORT
+            );
+
+            // Throws SSLPeerUnverifiedException for unverified peers
+            final X509Certificate[] x509PeerCerts = sessionPrincipal.verifiedPeerCertificates();
+
+            if (x509PeerCerts != null && sessionPrincipal.localCertificates() != null) {
+                final X509Certificate[] x509LocalCerts = sessionPrincipal.localCertificates();
+                final String principal = sessionPrincipal.principal();
                 addAdditionalContextValues(action, request, x509LocalCerts, x509PeerCerts, principal);
                 if (threadContext != null) {
                     // in the case of ssl plugin only: threadContext and principalExtractor are null
@@ -130,34 +130,24 @@ public class SSLRequestHelper {
 
         final SSLSession session = engine.getSession();
 
+        // Certificates and principal are only extracted once per session
+        final SSLSessionPrincipal sessionPrincipal = SSLSessionPrincipal.get(session, principalExtractor, Type.HTTP);
         X509Certificate[] x509Certs = null;
         final String protocol = session.getProtocol();
         final String cipher = session.getCipherSuite();
         String principal = null;
 
         if (engine.getNeedClientAuth() || engine.getWantClientAuth()) {
-            Certificate[] certs = null;
-            try {
-                certs = session.getPeerCertificates();
-            } catch (SSLPeerUnverifiedException e) {
-                // deal with 'null' certs down below
-            }
-
-            if (certs != null && certs.length > 0 && certs[0] instanceof X509Certificate) {
-                x509Certs = Arrays.copyOf(certs, certs.length, X509Certificate[].class);
+            if (sessionPrincipal.peerCertificates() != null) {
+                x509Certs = sessionPrincipal.peerCertificates();
                 validatePeerCerts(x509Certs, settings, configPath);
-                principal = principalExtractor == null ? null : principalExtractor.extractPrincipal(x509Certs[0], Type.HTTP);
+                principal = sessionPrincipal.principal();
             } else if (engine.getNeedClientAuth()) {
                 throw new OpenSearchException("No client certificates found but such are needed (SG 9).");
             }
         }
 
-        X509Certificate[] localCerts = null;
-        if (session.getLocalCertificates() != null) {
-            localCerts = Arrays.stream(session.getLocalCertificates()).map(X509Certificate.class::cast).toArray(X509Certificate[]::new);
-        }
-
-        return new SSLInfo(x509Certs, principal, protocol, cipher, localCerts);
+        return new SSLInfo(x509Certs, principal, protocol, cipher, sessionPrincipal.localCertificates());
     }
 
     private static void validatePeerCerts(final X509Certificate[] x509Certs, final Settings settings, final Path configPath)
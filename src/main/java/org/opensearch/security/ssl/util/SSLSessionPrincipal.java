@@ -0,0 +1,112 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.ssl.util;
+
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+import org.opensearch.security.ssl.transport.PrincipalExtractor;
+
+/**
+ * The X509 certificate chains of a TLS session and the principal extracted from the peer certificate.
+ * <p>
+ * get() stores the extracted values in the SSLSession, so that the certificates are only copied and the principal is
+ * only extracted once per session instead of once per request. A renegotiation or a new handshake results in a new
+ * SSLSession, which does not carry the stored values; thus, these are extracted again in this case.
+ * <p>
+ * The certificate arrays are shared by all requests of a session and must not be modified.
+ *
+ * @param peerCertificates the peer certificate chain or null if the peer is not verified or did not present X509 certificates
+ * @param localCertificates the local certificate chain or null if no X509 certificates were sent to the peer
+ * @param principal the principal extracted from the first peer certificate; null if there is no peer certificate or
+ *                  no principal extractor
+ * @param peerUnverifiedException the exception thrown by the session when the peer certificates were requested; null if
+ *                                the peer is verified
+ */
+public record SSLSessionPrincipal(
+    X509Certificate[] peerCertificates,
+    X509Certificate[] localCertificates,
+    String principal,
+    SSLPeerUnverifiedException peerUnverifiedException
+) {
+
+    private static final String SESSION_VALUE_NAME_PREFIX = "opensearch.security.principal.";
+
+    /**
+     * Returns the certificates and the principal of the given session. These are extracted when this method is called
+     * for the first time for a session and then retrieved from the session.
+     */
+    public static SSLSessionPrincipal get(SSLSession session, PrincipalExtractor principalExtractor, PrincipalExtractor.Type type) {
+        String valueName = SESSION_VALUE_NAME_PREFIX + type;
+
+        if (session.getValue(valueName) instanceof Cached cached && cached.principalExtractor == principalExtractor) {
+            return cached.sessionPrincipal;
+        }
+
+        X509Certificate[] peerCertificates;
+        SSLPeerUnverifiedException peerUnverifiedException;
+
+        try {
+            peerCertificates = toX509(session.getPeerCertificates());
+            peerUnverifiedException = null;
+        } catch (SSLPeerUnverifiedException e) {
+            // The verification state does not change during a session; the exception is kept so that it can be
+            // reported again for later requests
+            peerCertificates = null;
+            peerUnverifiedException = e;
+        }
+
+        X509Certificate[] localCertificates = toX509(session.getLocalCertificates());
+        String principal = peerCertificates != null && principalExtractor != null
+            ? principalExtractor.extractPrincipal(peerCertificates[0], type)
+            : null;
+
+        SSLSessionPrincipal result = new SSLSessionPrincipal(peerCertificates, localCertificates, principal, peerUnverifiedException);
+        session.putValue(valueName, new Cached(result, principalExtractor));
+        return result;
+    }
+
+    /**
+     * Returns the peer certificate chain like SSLSession.getPeerCertificates() does: if the peer is not verified, the
+     * exception thrown by the session is thrown. Returns null if the peer did not present X509 certificates.
+     */
+    public X509Certificate[] verifiedPeerCertificates() throws SSLPeerUnverifiedException {
+        if (peerUnverifiedException != null) {
+            throw peerUnverifiedException;
+        }
+        return peerCertificates;
+    }
+
+    private static X509Certificate[] toX509(Certificate[] certificates) {
+        if (certificates == null || certificates.length == 0) {
+            return null;
+        }
+
+        for (Certificate certificate : certificates) {
+            if (!(certificate instanceof X509Certificate)) {
+                return null;
+            }
+        }
+
+        return Arrays.copyOf(certificates, certificates.length, X509Certificate[].class);
+    }
+
+    /**
+     * The values are only valid for the principal extractor they were extracted with; the extractor might change when
+     * the plugin is reconfigured.
+     */
+    private record Cached(SSLSessionPrincipal sessionPrincipal, PrincipalExtractor principalExtractor) {
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.net.InetAddress;
+import java.util.Collection;
+
+import com.google.common.net.InetAddresses;
+
+import inet.ipaddr.IPAddress;
+import inet.ipaddr.IPAddressString;
+
+/**
+ * An immutable set of IPv4 and IPv6 CIDR ranges, compiled into one path compressed binary trie (a Patricia trie) per
+ * IP version. Testing an address walks down the trie along the bits of the raw address bytes; the costs thus depend on
+ * the address length rather than the number of ranges, and no objects are allocated.
+ * <p>
+ * Besides CIDR notation, all address formats supported by IPAddressString are accepted, such as single addresses or
+ * ranges like 192.168.1-2.*; ranges which are not CIDR blocks are split into the CIDR blocks spanning them.
+ */
+public final class CidrTrie {
+
+    public static final CidrTrie EMPTY = new CidrTrie();
+
+    private final Node ipv4Root = new Node(new byte[4], 0);
+    private final Node ipv6Root = new Node(new byte[16], 0);
+    private boolean empty = true;
+
+    private CidrTrie() {}
+
+    /**
+     * Creates a trie from the given strings. Strings which do not denote IP addresses or IP address ranges, such as
+     * host names, are ignored.
+     */
+    public static CidrTrie of(Collection<String> ranges) {
+        CidrTrie result = new CidrTrie();
+
+        for (String range : ranges) {
+            IPAddressString addressString = new IPAddressString(range);
+
+            if (!addressString.isIPAddress()) {
+                continue;
+            }
+
+            if (addressString.isAllAddresses()) {
+                result.add(result.ipv4Root, new byte[4], 0);
+                result.add(result.ipv6Root, new byte[16], 0);
+                continue;
+            }
+
+            IPAddress address = addressString.getAddress();
+
+            if (address == null) {
+                continue;
+            }
+
+            for (IPAddress block : address.spanWithPrefixBlocks()) {
+                Integer prefixLength = block.getPrefixLength();
+                byte[] bytes = block.getLower().getBytes();
+                Node root = bytes.length == 4 ? result.ipv4Root : result.ipv6Root;
+                result.add(root, bytes, prefixLength != null ? prefixLength : bytes.length * 8);
+            }
+        }
+
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean contains(InetAddress address) {
+        return address != null && contains(address.getAddress());
+    }
+
+    /**
+     * Returns true if the given address (4 bytes for IPv4, 16 bytes for IPv6) is contained in any of the ranges.
+     */
+    public boolean contains(byte[] address) {
+        if (empty) {
+            return false;
+        }
+
+        Node node = address.length == 4 ? ipv4Root : address.length == 16 ? ipv6Root : null;
+        int bitCount = address.length * 8;
+
+        while (node != null && node.matches(address)) {
+            if (node.terminal) {
+                return true;
+            }
+
+            if (node.length >= bitCount) {
+                return false;
+            }
+
+            node = bit(address, node.length) == 0 ? node.zero : node.one;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns true if the given string is a literal IP address contained in any of the ranges. No DNS lookups are
+     * performed; any other string yields false.
+     */
+    public boolean contains(String address) {
+        if (empty || address == null) {
+            return false;
+        }
+
+        try {
+            return contains(InetAddresses.forString(address).getAddress());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void add(Node root, byte[] address, int length) {
+        empty = false;
+        Node node = root;
+
+        while (!node.terminal) {
+            if (length == node.length) {
+                // Covers all ranges below; these are not needed any more
+                node.terminal = true;
+                node.zero = null;
+                node.one = null;
+                return;
+            }
+
+            int bit = bit(address, node.length);
+            Node child = bit == 0 ? node.zero : node.one;
+
+            if (child == null) {
+                node.setChild(bit, Node.terminal(address, length));
+                return;
+            }
+
+            int common = commonPrefixLength(address, length, child);
+
+            if (common == child.length) {
+                node = child;
+                continue;
+            }
+
+            // The new range diverges from the child within the child's compressed path; insert a node at the fork
+            Node fork = new Node(mask(address, common), common);
+            node.setChild(bit, fork);
+
+            if (common == length) {
+                fork.terminal = true;
+            } else {
+                fork.setChild(bit(child.bits, common), child);
+                fork.setChild(bit(address, common), Node.terminal(address, length));
+            }
+
+            return;
+        }
+    }
+
+    private static int commonPrefixLength(byte[] address, int length, Node node) {
+        int max = Math.min(length, node.length);
+
+        for (int i = 0; i < max; i++) {
+            if (bit(address, i) != bit(node.bits, i)) {
+                return i;
+            }
+        }
+
+        return max;
+    }
+
+    private static int bit(byte[] bytes, int index) {
+        return (bytes[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private static byte[] mask(byte[] address, int length) {
+        byte[] result = new byte[address.length];
+        int fullBytes = length >>> 3;
+        System.arraycopy(address, 0, result, 0, fullBytes);
+
+        if ((length & 7) != 0) {
+            result[fullBytes] = (byte) (address[fullBytes] & (0xff << (8 - (length & 7))));
+        }
+
+        return result;
+    }
+
+    private static final class Node {
+        /**
+         * The address bits leading to this node, masked to length
+         */
+        final byte[] bits;
+        final int length;
+        boolean terminal;
+        Node zero;
+        Node one;
+
+        Node(byte[] bits, int length) {
+            this.bits = bits;
+            this.length = length;
+        }
+
+        static Node terminal(byte[] address, int length) {
+            Node result = new Node(mask(address, length), length);
+            result.terminal = true;
+            return result;
+        }
+
+        void setChild(int bit, Node child) {
+            if (bit == 0) {
+                zero = child;
+            } else {
+                one = child;
+            }
+        }
+
+        boolean matches(byte[] address) {
+            int fullBytes = length >>> 3;
+
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != bits[i]) {
+                    return false;
+                }
+            }
+
+            int remainingBits = length & 7;
+
+            return remainingBits == 0 || ((address[fullBytes] ^ bits[fullBytes]) & (0xff << (8 - remainingBits)) & 0xff) == 0;
+        }
+    }
+}
@@ -72,6 +72,8 @@ public class ConfigConstants {
     public static final String OPENDISTRO_SECURITY_DOC_ALLOWLIST_TRANSIENT = OPENDISTRO_SECURITY_CONFIG_PREFIX + "doc_allowlist_t";
 
     public static final String OPENDISTRO_SECURITY_FILTER_LEVEL_DLS_DONE = OPENDISTRO_SECURITY_CONFIG_PREFIX + "filter_level_dls_done";
+    public static final String OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER = OPENDISTRO_SECURITY_CONFIG_PREFIX
+        + "resource_sharing_principals";
     public static final String OPENDISTRO_SECURITY_CONTAIN_PARENT_CHILD_QUERY = OPENDISTRO_SECURITY_CONFIG_PREFIX + "is_parent_child_query";
 
     public static final String OPENDISTRO_SECURITY_DLS_QUERY_CCS = OPENDISTRO_SECURITY_CONFIG_PREFIX + "dls_query_ccs";
@@ -208,6 +210,9 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_CONFIG_ENDPOINTS = SECURITY_SETTINGS_PREFIX + "audit.endpoints";
     public static final String SECURITY_AUDIT_THREADPOOL_SIZE = SECURITY_SETTINGS_PREFIX + "audit.threadpool.size";
     public static final String SECURITY_AUDIT_THREADPOOL_MAX_QUEUE_LEN = SECURITY_SETTINGS_PREFIX + "audit.threadpool.max_queue_len";
+    public static final String SECURITY_AUDIT_SPILL_ENABLED = SECURITY_SETTINGS_PREFIX + "audit.spill.enabled";
+    public static final String SECURITY_AUDIT_SPILL_SEGMENT_SIZE = SECURITY_SETTINGS_PREFIX + "audit.spill.segment_size";
+    public static final String SECURITY_AUDIT_SPILL_MAX_SIZE = SECURITY_SETTINGS_PREFIX + "audit.spill.max_size";
     public static final String OPENDISTRO_SECURITY_AUDIT_LOG_REQUEST_BODY = "opendistro_security.audit.log_request_body";
     public static final String OPENDISTRO_SECURITY_AUDIT_RESOLVE_INDICES = "opendistro_security.audit.resolve_indices";
     public static final String OPENDISTRO_SECURITY_AUDIT_ENABLE_REST = "opendistro_security.audit.enable_rest";
@@ -249,6 +254,14 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_OPENSEARCH_INDEX = "index";
     public static final String SECURITY_AUDIT_OPENSEARCH_TYPE = "type";
 
+    // Internal OpenSearch bulk mode
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_ENABLED = "bulk.enabled";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS = "bulk.max_actions";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_SIZE = "bulk.max_size";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL = "bulk.flush_interval";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_CONCURRENT_REQUESTS = "bulk.concurrent_requests";
+    public static final String SECURITY_AUDIT_OPENSEARCH_BULK_MAX_RETRIES = "bulk.max_retries";
+
     // External OpenSearch
     public static final String SECURITY_AUDIT_EXTERNAL_OPENSEARCH_HTTP_ENDPOINTS = "http_endpoints";
     public static final String SECURITY_AUDIT_CONFIG_USERNAME = "username";
@@ -273,6 +286,12 @@ public class ConfigConstants {
     public static final String SECURITY_AUDIT_WEBHOOK_SSL_VERIFY = "webhook.ssl.verify";
     public static final String SECURITY_AUDIT_WEBHOOK_PEMTRUSTEDCAS_FILEPATH = "webhook.ssl.pemtrustedcas_filepath";
     public static final String SECURITY_AUDIT_WEBHOOK_PEMTRUSTEDCAS_CONTENT = "webhook.ssl.pemtrustedcas_content";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_ENABLED = "webhook.batch.enabled";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_FORMAT = "webhook.batch.format";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_MAX_SIZE = "webhook.batch.max_size";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_MAX_DELAY = "webhook.batch.max_delay";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_MAX_CONCURRENT_REQUESTS = "webhook.batch.max_concurrent_requests";
+    public static final String SECURITY_AUDIT_WEBHOOK_BATCH_MAX_RETRIES = "webhook.batch.max_retries";
 
     // Log4j
     public static final String SECURITY_AUDIT_LOG4J_LOGGER_NAME = "log4j.logger_name";
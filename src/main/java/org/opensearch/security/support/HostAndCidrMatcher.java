@@ -18,8 +18,6 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import inet.ipaddr.IPAddressString;
-
 /**
  * A utility class that performs matching of IP addresses against hostname patterns and CIDR ranges.
  * This matcher supports both wildcard hostname patterns (e.g., *.example.com) and CIDR notation (e.g., 192.168.1.0/24).
@@ -27,7 +25,7 @@ import inet.ipaddr.IPAddressString;
 public class HostAndCidrMatcher {
     protected final Logger log = LogManager.getLogger(HostAndCidrMatcher.class);
     private final WildcardMatcher hostMatcher;
-    private final List<IPAddressString> cidrMatchers;
+    private final CidrTrie cidrMatchers;
 
     /**
      * Constructs a new matcher with the specified host patterns.
@@ -43,7 +41,7 @@ public class HostAndCidrMatcher {
         }
 
         this.hostMatcher = WildcardMatcher.from(hostPatterns);
-        this.cidrMatchers = hostPatterns.stream().map(IPAddressString::new).filter(IPAddressString::isIPAddress).toList();
+        this.cidrMatchers = CidrTrie.of(hostPatterns);
     }
 
     /**
@@ -54,25 +52,27 @@ public class HostAndCidrMatcher {
      *         or if the address is null
      */
     public boolean matchesCidr(InetAddress address) {
-        if (address == null || cidrMatchers == null) {
+        if (address == null) {
             return false;
         }
 
-        IPAddressString addressString = new IPAddressString(address.getHostAddress());
-        return cidrMatchers.stream().anyMatch(cidrAddress -> cidrAddress.contains(addressString));
+        return cidrMatchers.contains(address.getAddress());
     }
 
     /**
      * Checks if the provided IP address matches any of the configured hostname patterns.
-     * This method can perform DNS lookups depending on the hostResolverMode.
+     * Depending on the hostResolverMode, the host name of the address is also checked. Reverse DNS lookups
+     * are performed asynchronously by the given {@link ReverseDnsResolver}; as long as the host name is not known,
+     * only the IP address is checked.
      *
      * @param address The IP address to check
      * @param hostResolverMode The resolution mode. Must be one of {@link HostResolverMode} to enable hostname matching
+     * @param reverseDnsResolver The resolver used for reverse DNS lookups. If null, only a host name already carried
+     *                           by the address is checked.
      * @return true if the address matches any configured hostname pattern, false otherwise,
      *         if the address is null, or if the resolver mode is invalid
-     * @implNote This method may perform DNS lookups which could impact performance
      */
-    public boolean matchesHostname(InetAddress address, String hostResolverMode) {
+    public boolean matchesHostname(InetAddress address, String hostResolverMode, ReverseDnsResolver reverseDnsResolver) {
         if (address == null || hostMatcher == null) {
             return false;
         }
@@ -81,26 +81,34 @@ public class HostAndCidrMatcher {
         if (hostResolverMode != null
             && (hostResolverMode.equalsIgnoreCase(HostResolverMode.IP_HOSTNAME.getValue())
                 || hostResolverMode.equalsIgnoreCase(HostResolverMode.IP_HOSTNAME_LOOKUP.getValue()))) {
-            try {
-                final String hostName = address.getHostName();  // potential blocking call
+            final String hostName = reverseDnsResolver != null
+                ? reverseDnsResolver.getHostNameIfResolved(address)
+                : ReverseDnsResolver.getHostNameWithoutLookup(address);
+            if (hostName != null) {
                 valuesToCheck.add(hostName);
-            } catch (Exception e) {
-                log.warn("Failed to resolve hostname for {}: {}", address.getHostAddress(), e.getMessage());
-                return false;
             }
         }
         return valuesToCheck.stream().anyMatch(hostMatcher);
     }
 
+    public boolean matchesHostname(InetAddress address, String hostResolverMode) {
+        return matchesHostname(address, hostResolverMode, null);
+    }
+
     /**
      * Checks if the provided IP address matches either hostname patterns or CIDR ranges.
      *
      * @param address The IP address to check
      * @param hostResolverMode The resolution mode for hostname matching
+     * @param reverseDnsResolver The resolver used for reverse DNS lookups; may be null
      * @return true if the address matches either hostname patterns or CIDR ranges,
      *         false otherwise
      */
+    public boolean matches(InetAddress address, String hostResolverMode, ReverseDnsResolver reverseDnsResolver) {
+        return matchesHostname(address, hostResolverMode, reverseDnsResolver) || matchesCidr(address);
+    }
+
     public boolean matches(InetAddress address, String hostResolverMode) {
-        return matchesHostname(address, hostResolverMode) || matchesCidr(address);
+        return matches(address, hostResolverMode, null);
     }
 }
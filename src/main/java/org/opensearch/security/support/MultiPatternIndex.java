@@ -0,0 +1,262 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.util.automaton.Automata;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
+
+/**
+ * An index over the sub-matchers of a WildcardMatcher.MatcherCombiner. It allows to test a string against all
+ * sub-matchers without testing them one by one:
+ * <ul>
+ * <li>Case sensitive constant patterns are looked up in a hash map</li>
+ * <li>Case sensitive prefix patterns ("index_*") are looked up in a trie</li>
+ * <li>All other case sensitive patterns using * and ? are compiled into a single deterministic automaton</li>
+ * <li>All remaining matchers, such as regular expressions or case insensitive matchers, are tested one by one</li>
+ * </ul>
+ * Sub-matchers are identified by their position in the array passed to the constructor.
+ */
+final class MultiPatternIndex {
+
+    private final WildcardMatcher[] matchers;
+    private final Map<String, Integer> exact = new HashMap<>();
+    private final PrefixTrie prefixes = new PrefixTrie();
+    private final int[] automatonMatchers;
+    private final CharacterRunAutomaton automaton;
+    private final int[] linearMatchers;
+
+    MultiPatternIndex(WildcardMatcher[] matchers) {
+        this.matchers = matchers;
+
+        List<Integer> automatonMatchers = new ArrayList<>();
+        List<Automaton> automata = new ArrayList<>();
+        List<Integer> linearMatchers = new ArrayList<>();
+
+        for (int i = 0; i < matchers.length; i++) {
+            WildcardMatcher matcher = matchers[i];
+
+            if (matcher instanceof WildcardMatcher.Exact exactMatcher && exactMatcher.isCaseSensitive()) {
+                if (exact.putIfAbsent(exactMatcher.pattern, i) != null) {
+                    linearMatchers.add(i);
+                }
+            } else if (matcher instanceof WildcardMatcher.PrefixMatcher prefixMatcher && prefixMatcher.isCaseSensitive()) {
+                prefixes.add(prefixMatcher.getPrefix(), i);
+            } else if (isCaseSensitiveSimpleMatcher(matcher) && !containsSurrogates(((WildcardMatcher.SimpleMatcher) matcher).pattern)) {
+                automatonMatchers.add(i);
+                automata.add(toAutomaton(((WildcardMatcher.SimpleMatcher) matcher).pattern));
+            } else {
+                linearMatchers.add(i);
+            }
+        }
+
+        CharacterRunAutomaton automaton = null;
+
+        if (!automata.isEmpty()) {
+            try {
+                automaton = new CharacterRunAutomaton(
+                    Operations.determinize(Operations.union(automata), Operations.DEFAULT_DETERMINIZE_WORK_LIMIT)
+                );
+            } catch (TooComplexToDeterminizeException e) {
+                // Too many patterns with many wildcards; fall back to testing them one by one
+                linearMatchers.addAll(automatonMatchers);
+                linearMatchers.sort(Integer::compare);
+                automatonMatchers.clear();
+            }
+        }
+
+        this.automaton = automaton;
+        this.automatonMatchers = automatonMatchers.stream().mapToInt(Integer::intValue).toArray();
+        this.linearMatchers = linearMatchers.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns true if the index can save work compared to testing the given matchers one by one.
+     */
+    static boolean isApplicable(WildcardMatcher[] matchers) {
+        int indexable = 0;
+
+        for (WildcardMatcher matcher : matchers) {
+            if ((matcher instanceof WildcardMatcher.Exact exactMatcher && exactMatcher.isCaseSensitive())
+                || (matcher instanceof WildcardMatcher.PrefixMatcher prefixMatcher && prefixMatcher.isCaseSensitive())
+                || isCaseSensitiveSimpleMatcher(matcher)) {
+                indexable++;
+            }
+        }
+
+        return indexable > 1;
+    }
+
+    boolean test(String candidate) {
+        if (exact.containsKey(candidate) || prefixes.matchesAny(candidate)) {
+            return true;
+        }
+
+        if (automaton != null) {
+            if (containsSurrogates(candidate)) {
+                // The automaton operates on code points, while SimpleMatcher matches ? against single chars
+                if (testAll(automatonMatchers, candidate)) {
+                    return true;
+                }
+            } else if (automaton.run(candidate)) {
+                return true;
+            }
+        }
+
+        return testAll(linearMatchers, candidate);
+    }
+
+    /**
+     * Sets the bits of all sub-matchers matching the given candidate in the given BitSet.
+     */
+    void collectMatching(String candidate, BitSet result) {
+        Integer exactMatch = exact.get(candidate);
+
+        if (exactMatch != null) {
+            result.set(exactMatch);
+        }
+
+        prefixes.collectMatching(candidate, result);
+
+        if (automaton != null && (containsSurrogates(candidate) || automaton.run(candidate))) {
+            // The automaton only tells whether any of its patterns matches; find out which ones
+            collectAll(automatonMatchers, candidate, result);
+        }
+
+        collectAll(linearMatchers, candidate, result);
+    }
+
+    private boolean testAll(int[] indices, String candidate) {
+        for (int i : indices) {
+            if (matchers[i].test(candidate)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void collectAll(int[] indices, String candidate, BitSet result) {
+        for (int i : indices) {
+            if (matchers[i].test(candidate)) {
+                result.set(i);
+            }
+        }
+    }
+
+    /**
+     * Case insensitive SimpleMatchers are anonymous sub-classes of SimpleMatcher; these are not compiled.
+     */
+    private static boolean isCaseSensitiveSimpleMatcher(WildcardMatcher matcher) {
+        return matcher.getClass() == WildcardMatcher.SimpleMatcher.class;
+    }
+
+    private static Automaton toAutomaton(String pattern) {
+        List<Automaton> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '*' || c == '?') {
+                if (literal.length() != 0) {
+                    parts.add(Automata.makeString(literal.toString()));
+                    literal.setLength(0);
+                }
+
+                parts.add(c == '*' ? Automata.makeAnyString() : Automata.makeAnyChar());
+            } else {
+                literal.append(c);
+            }
+        }
+
+        if (literal.length() != 0) {
+            parts.add(Automata.makeString(literal.toString()));
+        }
+
+        return Operations.concatenate(parts);
+    }
+
+    private static boolean containsSurrogates(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (Character.isSurrogate(string.charAt(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A trie over the prefixes of prefix patterns. Each node which corresponds to a complete prefix carries the
+     * indices of the matchers using this prefix.
+     */
+    static final class PrefixTrie {
+        private final Map<Character, PrefixTrie> children = new HashMap<>();
+        private int[] matcherIndices = new int[0];
+
+        void add(String prefix, int matcherIndex) {
+            PrefixTrie node = this;
+
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), (k) -> new PrefixTrie());
+            }
+
+            int[] newMatcherIndices = new int[node.matcherIndices.length + 1];
+            System.arraycopy(node.matcherIndices, 0, newMatcherIndices, 0, node.matcherIndices.length);
+            newMatcherIndices[node.matcherIndices.length] = matcherIndex;
+            node.matcherIndices = newMatcherIndices;
+        }
+
+        boolean matchesAny(String candidate) {
+            PrefixTrie node = this;
+
+            for (int i = 0; node != null; i++) {
+                if (node.matcherIndices.length != 0) {
+                    return true;
+                }
+
+                if (i >= candidate.length()) {
+                    return false;
+                }
+
+                node = node.children.get(candidate.charAt(i));
+            }
+
+            return false;
+        }
+
+        void collectMatching(String candidate, BitSet result) {
+            PrefixTrie node = this;
+
+            for (int i = 0; node != null; i++) {
+                for (int matcherIndex : node.matcherIndices) {
+                    result.set(matcherIndex);
+                }
+
+                if (i >= candidate.length()) {
+                    return;
+                }
+
+                node = node.children.get(candidate.charAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Resolves host names of IP addresses by reverse DNS lookups without blocking the calling thread.
+ * <p>
+ * getHostNameIfResolved() only returns host names which are already known. If the host name of an address is not
+ * known, an asynchronous lookup is started and null is returned; callers then need to make their decision based on
+ * the IP address only. Concurrent requests for the same address share a single lookup.
+ * <p>
+ * Successful lookups are cached for the positive TTL; failed or timed out lookups are cached for the negative TTL,
+ * so that unresolvable addresses do not cause a lookup for every request.
+ * <p>
+ * Lookups are performed on the security_reverse_dns thread pool of the node. An instance is created and closed by
+ * the plugin; as several nodes may share a JVM, there is no JVM-wide instance.
+ */
+public class ReverseDnsResolver {
+
+    private static final Logger log = LogManager.getLogger(ReverseDnsResolver.class);
+
+    public static final Setting<TimeValue> POSITIVE_TTL = Setting.positiveTimeSetting(
+        "plugins.security.dns.reverse_lookup.positive_ttl",
+        TimeValue.timeValueMinutes(5),
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<TimeValue> NEGATIVE_TTL = Setting.positiveTimeSetting(
+        "plugins.security.dns.reverse_lookup.negative_ttl",
+        TimeValue.timeValueSeconds(30),
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<TimeValue> TIMEOUT = Setting.positiveTimeSetting(
+        "plugins.security.dns.reverse_lookup.timeout",
+        TimeValue.timeValueSeconds(2),
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<Integer> MAX_SIZE = Setting.intSetting(
+        "plugins.security.dns.reverse_lookup.cache.max_size",
+        10000,
+        1,
+        Setting.Property.NodeScope
+    );
+
+    public static final String THREAD_POOL_NAME = "security_reverse_dns";
+    static final int THREAD_POOL_SIZE = 4;
+    static final int THREAD_POOL_QUEUE_SIZE = 1000;
+
+    private final Cache<InetAddress, String> resolved;
+    private final Cache<InetAddress, Boolean> unresolvable;
+    private final ConcurrentMap<InetAddress, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final Function<InetAddress, String> lookup;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder failedLookups = new LongAdder();
+    private final LongAdder totalLookupNanos = new LongAdder();
+    private final AtomicLong maxLookupNanos = new AtomicLong();
+    private final LongAdder timedOutResolutions = new LongAdder();
+    private final LongAdder totalResolutionNanos = new LongAdder();
+    private final AtomicLong maxResolutionNanos = new AtomicLong();
+
+    public ReverseDnsResolver(Settings settings, ThreadPool threadPool) {
+        this(
+            POSITIVE_TTL.get(settings),
+            NEGATIVE_TTL.get(settings),
+            TIMEOUT.get(settings),
+            MAX_SIZE.get(settings),
+            threadPool.executor(THREAD_POOL_NAME),
+            InetAddress::getHostName
+        );
+    }
+
+    ReverseDnsResolver(
+        TimeValue positiveTtl,
+        TimeValue negativeTtl,
+        TimeValue timeout,
+        int maxSize,
+        Executor executor,
+        Function<InetAddress, String> lookup
+    ) {
+        this.resolved = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(positiveTtl.millis(), TimeUnit.MILLISECONDS)
+            .build();
+        this.unresolvable = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(negativeTtl.millis(), TimeUnit.MILLISECONDS)
+            .build();
+        this.timeoutMillis = timeout.millis();
+        this.lookup = lookup;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the builder for the executor which performs the reverse DNS lookups. The size and queue size can be
+     * configured with thread_pool.security_reverse_dns.size and thread_pool.security_reverse_dns.queue_size.
+     */
+    public static ExecutorBuilder<?> executorBuilder(Settings settings) {
+        return new FixedExecutorBuilder(settings, THREAD_POOL_NAME, THREAD_POOL_SIZE, THREAD_POOL_QUEUE_SIZE);
+    }
+
+    /**
+     * Returns the host name of the given address if it is already known. Otherwise, null is returned and an
+     * asynchronous lookup is started, unless the address is known to be unresolvable.
+     * <p>
+     * If the InetAddress object already carries a host name, because it was created from a host name, this host name
+     * is returned without any lookup.
+     */
+    public String getHostNameIfResolved(InetAddress address) {
+        if (address == null) {
+            return null;
+        }
+
+        String knownHostName = getHostNameWithoutLookup(address);
+
+        if (knownHostName != null) {
+            return knownHostName;
+        }
+
+        String hostName = resolved.getIfPresent(address);
+
+        if (hostName != null) {
+            hits.increment();
+            return hostName;
+        }
+
+        if (unresolvable.getIfPresent(address) != null) {
+            negativeHits.increment();
+            return null;
+        }
+
+        misses.increment();
+        resolve(address);
+        return null;
+    }
+
+    /**
+     * Returns the host name of the given address. If the host name is not known yet, a lookup is started if necessary.
+     * The returned future completes with null if the address cannot be resolved within the timeout.
+     */
+    public CompletableFuture<String> resolve(InetAddress address) {
+        String hostName = resolved.getIfPresent(address);
+
+        if (hostName != null || closed) {
+            return CompletableFuture.completedFuture(hostName);
+        }
+
+        CompletableFuture<String> future = inFlight.get(address);
+
+        if (future != null) {
+            return future;
+        }
+
+        long requestedAt = System.nanoTime();
+        CompletableFuture<String> newFuture = new CompletableFuture<>();
+        future = inFlight.putIfAbsent(address, newFuture);
+
+        if (future != null) {
+            // Another thread has started a lookup in the meantime
+            return future;
+        }
+
+        try {
+            executor.execute(() -> lookup(address, newFuture));
+        } catch (RejectedExecutionException e) {
+            log.debug("Too many pending reverse DNS lookups; skipping lookup for {}", address.getHostAddress());
+            inFlight.remove(address, newFuture);
+            newFuture.complete(null);
+            return newFuture;
+        }
+
+        return newFuture.completeOnTimeout(null, timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((result, e) -> {
+            inFlight.remove(address, newFuture);
+            recordResolution(System.nanoTime() - requestedAt, result);
+
+            if (result == null && resolved.getIfPresent(address) == null) {
+                unresolvable.put(address, Boolean.TRUE);
+            }
+        });
+    }
+
+    private void lookup(InetAddress address, CompletableFuture<String> future) {
+        long start = System.nanoTime();
+        lookups.increment();
+
+        try {
+            // The InetAddress instances used as keys do not carry host names; thus, a copy is used for the lookup
+            String hostName = lookup.apply(InetAddress.getByAddress(address.getAddress()));
+
+            if (hostName != null && !hostName.equals(address.getHostAddress())) {
+                resolved.put(address, hostName);
+                unresolvable.invalidate(address);
+                future.complete(hostName);
+            } else {
+                // InetAddress.getHostName() returns the textual IP address if the lookup fails
+                failedLookups.increment();
+                future.complete(null);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to resolve hostname for {}: {}", address.getHostAddress(), e.getMessage());
+            failedLookups.increment();
+            future.complete(null);
+        } finally {
+            long duration = System.nanoTime() - start;
+            totalLookupNanos.add(duration);
+            maxLookupNanos.accumulateAndGet(duration, Math::max);
+        }
+    }
+
+    /**
+     * Records the time from requesting a lookup until its result was available, including the time waiting for the
+     * executor. Lookups which did not complete within the timeout count as timed out.
+     */
+    private void recordResolution(long duration, String result) {
+        totalResolutionNanos.add(duration);
+        maxResolutionNanos.accumulateAndGet(duration, Math::max);
+
+        if (result == null && duration >= TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+            timedOutResolutions.increment();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(
+            hits.sum(),
+            negativeHits.sum(),
+            misses.sum(),
+            lookups.sum(),
+            failedLookups.sum(),
+            TimeUnit.NANOSECONDS.toMillis(totalLookupNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxLookupNanos.get()),
+            timedOutResolutions.sum(),
+            TimeUnit.NANOSECONDS.toMillis(totalResolutionNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxResolutionNanos.get())
+        );
+    }
+
+    /**
+     * Stops starting new lookups and completes pending ones with null. The executor is owned by the thread pool of the
+     * node and thus not shut down here.
+     */
+    public void close() {
+        closed = true;
+        inFlight.values().forEach(future -> future.complete(null));
+        inFlight.clear();
+    }
+
+    /**
+     * Returns the host name an InetAddress object has been created with, if any. InetAddress.toString() has the form
+     * "hostname/literal IP address", where the host name is empty if it is not known; in contrast to getHostName(),
+     * toString() never performs a lookup.
+     */
+    static String getHostNameWithoutLookup(InetAddress address) {
+        String string = address.toString();
+        int slash = string.indexOf('/');
+
+        return slash > 0 ? string.substring(0, slash) : null;
+    }
+
+    /**
+     * @param hits the number of requests answered from the positive cache
+     * @param negativeHits the number of requests for addresses known to be unresolvable
+     * @param misses the number of requests which found neither a cached host name nor a negative cache entry
+     * @param lookups the number of performed reverse DNS lookups
+     * @param failedLookups the number of lookups which did not yield a host name
+     * @param totalLookupTimeMillis the total time spent on lookups
+     * @param maxLookupTimeMillis the maximum time spent on a single lookup
+     * @param timedOutResolutions the number of lookups whose result was not available within the timeout
+     * @param totalResolutionTimeMillis the total time from requesting lookups until their results were available,
+     *                                  including the time waiting for the executor
+     * @param maxResolutionTimeMillis the maximum time from requesting a lookup until its result was available
+     */
+    public record Stats(
+        long hits,
+        long negativeHits,
+        long misses,
+        long lookups,
+        long failedLookups,
+        long totalLookupTimeMillis,
+        long maxLookupTimeMillis,
+        long timedOutResolutions,
+        long totalResolutionTimeMillis,
+        long maxResolutionTimeMillis
+    ) {
+        public double hitRate() {
+            long total = hits + negativeHits + misses;
+            return total != 0 ? (double) (hits + negativeHits) / total : 0;
+        }
+
+        public double averageLookupTimeMillis() {
+            return lookups != 0 ? (double) totalLookupTimeMillis / lookups : 0;
+        }
+
+        public Map<String, Object> toMap() {
+            return ImmutableMap.<String, Object>builder()
+                .put("hits", hits)
+                .put("negative_hits", negativeHits)
+                .put("misses", misses)
+                .put("hit_rate", hitRate())
+                .put("lookups", lookups)
+                .put("failed_lookups", failedLookups)
+                .put("timed_out_resolutions", timedOutResolutions)
+                .put("total_lookup_time_in_millis", totalLookupTimeMillis)
+                .put("max_lookup_time_in_millis", maxLookupTimeMillis)
+                .put("avg_lookup_time_in_millis", averageLookupTimeMillis())
+                .put("total_resolution_time_in_millis", totalResolutionTimeMillis)
+                .put("max_resolution_time_in_millis", maxResolutionTimeMillis)
+                .build();
+        }
+    }
+}
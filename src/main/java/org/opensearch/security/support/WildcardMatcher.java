@@ -28,6 +28,7 @@ package org.opensearch.security.support;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -201,7 +202,10 @@ public abstract class WildcardMatcher implements Predicate<String> {
         return pattern != null && pattern.length() > 1 && pattern.indexOf('*') == pattern.length() - 1 && !pattern.contains("?");
     }
 
-    // This may in future use more optimized techniques to combine multiple WildcardMatchers in a single automaton
+    /**
+     * Combines the given patterns or matchers into a matcher which matches if any of these matches. Larger sets of
+     * patterns are indexed; see MatcherCombiner.
+     */
     public static <T> WildcardMatcher from(Stream<T> stream) {
         Collection<WildcardMatcher> matchers = stream.map(t -> {
             if (t == null) {
@@ -392,6 +396,23 @@ public abstract class WildcardMatcher implements Predicate<String> {
         return result;
     }
 
+    /**
+     * Returns the patterns of this matcher which match the given candidate. For matchers combining several patterns,
+     * these are the string representations of the matching sub-matchers, in their original order. For all other
+     * matchers, this is either a list containing only the string representation of this matcher or an empty list.
+     */
+    public List<String> getMatchingPatterns(String candidate) {
+        return test(candidate) ? List.of(toString()) : List.of();
+    }
+
+    /**
+     * Returns the patterns of this matcher which match at least one of the given candidates. See
+     * getMatchingPatterns(String) for details.
+     */
+    public List<String> getMatchingPatterns(Collection<String> candidates) {
+        return matchAny(candidates) ? List.of(toString()) : List.of();
+    }
+
     public static List<WildcardMatcher> matchers(Collection<String> patterns) {
         return patterns.stream().map(WildcardMatcher::from).collect(Collectors.toList());
     }
@@ -433,6 +454,10 @@ public abstract class WildcardMatcher implements Predicate<String> {
         public WildcardMatcher ignoreCase() {
             return new Exact(this.pattern, false);
         }
+
+        boolean isCaseSensitive() {
+            return caseSensitive;
+        }
     }
 
     /**
@@ -536,6 +561,14 @@ public abstract class WildcardMatcher implements Predicate<String> {
         public WildcardMatcher ignoreCase() {
             return new PrefixMatcher(this.pattern, false);
         }
+
+        String getPrefix() {
+            return prefix;
+        }
+
+        boolean isCaseSensitive() {
+            return caseSensitive;
+        }
     }
 
     /**
@@ -570,22 +603,36 @@ public abstract class WildcardMatcher implements Predicate<String> {
     /**
      * MatcherCombiner is a combination of a set of matchers.
      * This class matches if at least one of the contained matchers matches.
+     * <p>
+     * If the number of matchers reaches INDEX_THRESHOLD, the matchers are indexed by a MultiPatternIndex. Then,
+     * constant and prefix patterns are looked up by hashing and in a trie, and simple wildcard patterns are
+     * evaluated by a single deterministic automaton. Smaller sets are just tested one by one.
      */
     static final class MatcherCombiner extends WildcardMatcher {
 
+        static final int INDEX_THRESHOLD = 16;
+
         private final WildcardMatcher[] wildcardMatchers;
+        private final MultiPatternIndex index;
         private final int hashCode;
         private final String asString;
 
         MatcherCombiner(Collection<WildcardMatcher> wildcardMatchers) {
             Preconditions.checkArgument(wildcardMatchers.size() > 1);
             this.wildcardMatchers = wildcardMatchers.toArray(new WildcardMatcher[0]);
+            this.index = this.wildcardMatchers.length >= INDEX_THRESHOLD && MultiPatternIndex.isApplicable(this.wildcardMatchers)
+                ? new MultiPatternIndex(this.wildcardMatchers)
+                : null;
             this.hashCode = wildcardMatchers.hashCode();
             this.asString = wildcardMatchers.toString();
         }
 
         @Override
         public boolean test(String candidate) {
+            if (this.index != null) {
+                return this.index.test(candidate);
+            }
+
             for (int i = 0; i < this.wildcardMatchers.length; i++) {
                 if (this.wildcardMatchers[i].test(candidate)) {
                     return true;
@@ -594,6 +641,47 @@ public abstract class WildcardMatcher implements Predicate<String> {
             return false;
         }
 
+        @Override
+        public List<String> getMatchingPatterns(String candidate) {
+            BitSet matching = new BitSet(this.wildcardMatchers.length);
+            collectMatching(candidate, matching);
+            return toPatterns(matching);
+        }
+
+        @Override
+        public List<String> getMatchingPatterns(Collection<String> candidates) {
+            BitSet matching = new BitSet(this.wildcardMatchers.length);
+            for (String candidate : candidates) {
+                collectMatching(candidate, matching);
+            }
+            return toPatterns(matching);
+        }
+
+        private void collectMatching(String candidate, BitSet result) {
+            if (this.index != null) {
+                this.index.collectMatching(candidate, result);
+                return;
+            }
+
+            for (int i = 0; i < this.wildcardMatchers.length; i++) {
+                if (this.wildcardMatchers[i].test(candidate)) {
+                    result.set(i);
+                }
+            }
+        }
+
+        private List<String> toPatterns(BitSet matching) {
+            if (matching.isEmpty()) {
+                return List.of();
+            }
+
+            List<String> result = new ArrayList<>(matching.cardinality());
+            for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                result.add(this.wildcardMatchers[i].toString());
+            }
+            return result;
+        }
+
         @Override
         public WildcardMatcher ignoreCase() {
             return new MatcherCombiner(Stream.of(this.wildcardMatchers).map(WildcardMatcher::ignoreCase).toList());
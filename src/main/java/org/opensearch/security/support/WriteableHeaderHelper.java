@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Base64;
+
+import com.google.common.base.Preconditions;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.common.transport.TransportAddress;
+
+/**
+ * Provides a compact encoding of objects in transport headers based on the Writeable/StreamOutput infrastructure.
+ * This is an alternative to the Java serialization used by Base64Helper, which produces considerably larger headers
+ * and is more expensive to process.
+ * <p>
+ * Encoded values start with a prefix which identifies the format version. As the prefix contains a character which is
+ * not part of the Base64 alphabet, encoded values can be always distinguished from values produced by Base64Helper.
+ * Thus, receivers can accept both encodings. Senders must only use this encoding if the receiving node supports it;
+ * use isSupportedBy() to check this.
+ */
+public class WriteableHeaderHelper {
+
+    /**
+     * The first version which is able to decode headers encoded by this class.
+     */
+    public static final Version SUPPORTED_AS_OF = Version.V_3_8_0;
+
+    static final String PREFIX = "~w1:";
+
+    public static boolean isSupportedBy(Version version) {
+        return version != null && version.onOrAfter(SUPPORTED_AS_OF);
+    }
+
+    /**
+     * Returns true if the given header value was produced by encode().
+     */
+    public static boolean isEncoded(String headerValue) {
+        return headerValue != null && headerValue.startsWith(PREFIX);
+    }
+
+    public static String encode(Writeable object) {
+        Preconditions.checkArgument(object != null, "object must not be null");
+
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            object.writeTo(out);
+            return PREFIX + Base64.getEncoder().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new OpenSearchException("Instance {} of class {} could not be encoded", e, object, object.getClass());
+        }
+    }
+
+    public static <T> T decode(String headerValue, Writeable.Reader<T> reader) {
+        Preconditions.checkArgument(isEncoded(headerValue), "header value is not in the expected format");
+
+        byte[] bytes = Base64.getDecoder().decode(headerValue.substring(PREFIX.length()));
+
+        try (StreamInput in = StreamInput.wrap(bytes)) {
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new OpenSearchException(e);
+        }
+    }
+
+    /**
+     * Encodes the given address for the remote address header. Uses the legacy encoding if compact is false.
+     */
+    public static String encodeRemoteAddress(TransportAddress address, boolean compact) {
+        if (compact) {
+            return encode(address);
+        } else {
+            return Base64Helper.serializeObject(address.address());
+        }
+    }
+
+    /**
+     * Decodes the value of a remote address header, regardless of whether it uses the compact or the legacy encoding.
+     */
+    public static TransportAddress decodeRemoteAddress(String headerValue) {
+        if (isEncoded(headerValue)) {
+            return decode(headerValue, TransportAddress::new);
+        } else {
+            return new TransportAddress((InetSocketAddress) Base64Helper.deserializeObject(headerValue));
+        }
+    }
+}
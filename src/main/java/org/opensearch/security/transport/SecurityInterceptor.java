@@ -64,8 +64,8 @@ import org.opensearch.security.privileges.dlsfls.DlsFlsLegacyHeaders;
 import org.opensearch.security.ssl.SslExceptionHandler;
 import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.SSLConfig;
-import org.opensearch.security.support.Base64Helper;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.WriteableHeaderHelper;
 import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserFactory;
 import org.opensearch.tasks.Task;
@@ -169,6 +169,8 @@ public class SecurityInterceptor {
         final boolean isStreamChannel = options != null && TransportRequestOptions.Type.STREAM.equals(options.type());
         // skip the same node optimization for stream transport which doesn't use DirectChannel and thus ser/de is needed
         final boolean isSameNodeRequest = localNode != null && localNode.equals(connection.getNode()) && !isStreamChannel;
+        // nodes on older versions can only process the Java serialization based encoding of the user and address headers
+        final boolean compactHeaders = WriteableHeaderHelper.isSupportedBy(connection.getVersion());
         final Set<String> requestHeadersToCopy = new HashSet<>();
         if (getThreadContext().getHeader(ConfigConstants.OPENSEARCH_SECURITY_REQUEST_HEADERS) != null) {
             Collections.addAll(
@@ -265,9 +267,22 @@ public class SecurityInterceptor {
                 );
             }
 
+            if (!compactHeaders) {
+                toLegacyHeaders(headerMap);
+            }
+
             getThreadContext().putHeader(headerMap);
 
-            ensureCorrectHeaders(remoteAddress0, user0, authUserSubj, origin0, injectedUserString, injectedRolesString, isSameNodeRequest);
+            ensureCorrectHeaders(
+                remoteAddress0,
+                user0,
+                authUserSubj,
+                origin0,
+                injectedUserString,
+                injectedRolesString,
+                isSameNodeRequest,
+                compactHeaders
+            );
 
             if (actionTraceEnabled.get()) {
                 getThreadContext().putHeader(
@@ -295,7 +310,8 @@ public class SecurityInterceptor {
         final String origin,
         final String injectedUserString,
         final String injectedRolesString,
-        final boolean isSameNodeRequest
+        final boolean isSameNodeRequest,
+        final boolean compactHeaders
     ) {
         // keep original address
 
@@ -336,7 +352,7 @@ public class SecurityInterceptor {
             if (transportAddress != null) {
                 getThreadContext().putHeader(
                     ConfigConstants.OPENDISTRO_SECURITY_REMOTE_ADDRESS_HEADER,
-                    Base64Helper.serializeObject(transportAddress.address())
+                    WriteableHeaderHelper.encodeRemoteAddress(transportAddress, compactHeaders)
                 );
             }
 
@@ -354,7 +370,7 @@ public class SecurityInterceptor {
                 } else {
                     getThreadContext().putHeader(
                         ConfigConstants.OPENDISTRO_SECURITY_AUTHENTICATED_USER_HEADER,
-                        authSubject.getUser().toSerializedBase64()
+                        serializeUser(authSubject.getUser(), compactHeaders)
                     );
                 }
             }
@@ -362,7 +378,7 @@ public class SecurityInterceptor {
             if (userHeader == null) {
                 // put as headers for other requests
                 if (origUser != null) {
-                    getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER, origUser.toSerializedBase64());
+                    getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER, serializeUser(origUser, compactHeaders));
                 } else if (StringUtils.isNotEmpty(injectedRolesString)) {
                     getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_INJECTED_ROLES_HEADER, injectedRolesString);
                 } else if (StringUtils.isNotEmpty(injectedUserString)) {
@@ -372,6 +388,31 @@ public class SecurityInterceptor {
         }
     }
 
+    private static String serializeUser(User user, boolean compactHeaders) {
+        return compactHeaders ? user.toSerializedWriteable() : user.toSerializedBase64();
+    }
+
+    /**
+     * Headers which were received from other nodes are passed on unchanged. If these use the compact encoding, they
+     * need to be converted for nodes which do not support it.
+     */
+    private void toLegacyHeaders(Map<String, String> headerMap) {
+        headerMap.computeIfPresent(
+            ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER,
+            (k, v) -> WriteableHeaderHelper.isEncoded(v) ? userFactory.fromSerializedBase64(v).toSerializedBase64() : v
+        );
+        headerMap.computeIfPresent(
+            ConfigConstants.OPENDISTRO_SECURITY_AUTHENTICATED_USER_HEADER,
+            (k, v) -> WriteableHeaderHelper.isEncoded(v) ? userFactory.fromSerializedBase64(v).toSerializedBase64() : v
+        );
+        headerMap.computeIfPresent(
+            ConfigConstants.OPENDISTRO_SECURITY_REMOTE_ADDRESS_HEADER,
+            (k, v) -> WriteableHeaderHelper.isEncoded(v)
+                ? WriteableHeaderHelper.encodeRemoteAddress(WriteableHeaderHelper.decodeRemoteAddress(v), false)
+                : v
+        );
+    }
+
     private ThreadContext getThreadContext() {
         return threadPool.getThreadContext();
     }
@@ -45,7 +45,11 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import org.opensearch.OpenSearchException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.security.support.Base64Helper;
+import org.opensearch.security.support.WriteableHeaderHelper;
 
 /**
  * An authenticated user and attributes associated to them (like roles, tenant, custom attributes).
@@ -56,7 +60,7 @@ import org.opensearch.security.support.Base64Helper;
  * <b>Do not subclass from this class; do not add attributes that can be modified using publicly visible methods!</b>
  *
  */
-public class User implements Serializable, CustomAttributesAware {
+public class User implements Serializable, Writeable, CustomAttributesAware {
 
     public static final User ANONYMOUS = new User("opendistro_security_anonymous").withRoles("opendistro_security_anonymous_backendrole");
 
@@ -74,11 +78,19 @@ public class User implements Serializable, CustomAttributesAware {
      * <p>
      * Note: Instead of using this method, prefer to use UserFactory.Caching to benefit from already parsed user objects.
      *
+     * The string may be either produced by toSerializedBase64() or by toSerializedWriteable().
+     *
      * @param serializedBase64 a string with a serialized form of a User object
      * @return A User object. Never returns null.
      * @throws OpenSearchException in case the provided string could not be processed.
      */
     public static User fromSerializedBase64(String serializedBase64) {
+        if (WriteableHeaderHelper.isEncoded(serializedBase64)) {
+            User user = WriteableHeaderHelper.decode(serializedBase64, User::new);
+            user.serializedWriteable = serializedBase64;
+            return user;
+        }
+
         User user = (User) Base64Helper.deserializeObject(serializedBase64);
         user.serializedBase64 = serializedBase64;
         return user;
@@ -103,6 +115,11 @@ public class User implements Serializable, CustomAttributesAware {
      */
     private volatile transient String serializedBase64;
 
+    /**
+     * This attribute caches the compact serialized form of the User object produced by toSerializedWriteable().
+     */
+    private volatile transient String serializedWriteable;
+
     /**
      * The type of authenticator that authenticated this user (e.g., "basic", "obo", "apitoken").
      * Transient — not serialized, only used for in-process authorization decisions.
@@ -150,6 +167,30 @@ public class User implements Serializable, CustomAttributesAware {
         this.estimatedByteSize = calcEstimatedByteSize();
     }
 
+    /**
+     * Reads a User object written by writeTo().
+     */
+    public User(StreamInput in) throws IOException {
+        this(
+            in.readString(),
+            ImmutableSet.copyOf(in.readStringList()),
+            ImmutableSet.copyOf(in.readStringList()),
+            in.readOptionalString(),
+            ImmutableMap.copyOf(in.readMap(StreamInput::readString, StreamInput::readString)),
+            in.readBoolean()
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(name);
+        out.writeStringCollection(roles);
+        out.writeStringCollection(securityRoles);
+        out.writeOptionalString(requestedTenant);
+        out.writeMap(attributes, StreamOutput::writeString, StreamOutput::writeString);
+        out.writeBoolean(isInjected);
+    }
+
     public final String getName() {
         return name;
     }
@@ -359,6 +400,22 @@ public class User implements Serializable, CustomAttributesAware {
         return result;
     }
 
+    /**
+     * Returns a String containing a compact serialized form of this User object. Never returns null.
+     * <p>
+     * In contrast to toSerializedBase64(), this does not use Java serialization. The result can be only processed
+     * by nodes which support it; see WriteableHeaderHelper.isSupportedBy().
+     */
+    public String toSerializedWriteable() {
+        String result = this.serializedWriteable;
+
+        if (result == null) {
+            this.serializedWriteable = result = WriteableHeaderHelper.encode(this);
+        }
+
+        return result;
+    }
+
     /**
      * Returns a rough estimated byte size of this object. Used for cache size control.
      */
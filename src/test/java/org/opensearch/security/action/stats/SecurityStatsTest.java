@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.action.stats;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.transport.TransportAddress;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class SecurityStatsTest {
+
+    @Test
+    public void sectionsAreOrderedByName() {
+        SecurityStats stats = new SecurityStats();
+        stats.register("b_section", () -> Map.of("value", 2L));
+        stats.register("a_section", () -> Map.of("value", 1L));
+
+        assertThat(stats.collect().keySet(), contains("a_section", "b_section"));
+    }
+
+    @Test
+    public void inactiveAndFailingSectionsAreOmitted() {
+        SecurityStats stats = new SecurityStats();
+        stats.register("active", () -> Map.of("value", 1L));
+        stats.register("inactive", () -> null);
+        stats.register("failing", () -> { throw new IllegalStateException("failure"); });
+
+        assertThat(stats.collect().keySet(), contains("active"));
+    }
+
+    @Test
+    public void registeringSectionAgainReplacesIt() {
+        SecurityStats stats = new SecurityStats();
+        stats.register("section", () -> Map.of("value", 1L));
+        stats.register("section", () -> Map.of("value", 2L));
+
+        assertThat(stats.collect().get("section"), equalTo(Map.of("value", 2L)));
+    }
+
+    @Test
+    public void nodeResponseIsSerializable() throws Exception {
+        SecurityStats stats = new SecurityStats();
+        stats.register("section", () -> Map.of("count", 3L, "average", 1.5d));
+        DiscoveryNode node = new DiscoveryNode("node_1", new TransportAddress(TransportAddress.META_ADDRESS, 9300), Version.CURRENT);
+
+        SecurityStatsNodeResponse response = new SecurityStatsNodeResponse(node, stats.collect());
+
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            response.writeTo(out);
+            SecurityStatsNodeResponse read = new SecurityStatsNodeResponse(out.bytes().streamInput());
+
+            assertThat(read.getNode(), is(node));
+            assertThat(read.getStats(), equalTo(response.getStats()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.auditlog.sink.AuditLogSink;
+
+/**
+ * Serializes messages like the external sinks do, but discards the result.
+ */
+public class SerializingSink extends AuditLogSink {
+
+    public final AtomicLong bytes = new AtomicLong();
+
+    public SerializingSink(String name, Settings settings, String settingsPrefix, AuditLogSink fallbackSink) {
+        super(name, settings, null, fallbackSink);
+    }
+
+    public boolean doStore(AuditMessage msg) {
+        bytes.addAndGet(msg.toJson().length() + msg.getPayload().toSmileBytes().length());
+        return true;
+    }
+
+    @Override
+    public boolean isHandlingBackpressure() {
+        return true;
+    }
+}
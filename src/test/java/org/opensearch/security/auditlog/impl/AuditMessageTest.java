@@ -26,6 +26,7 @@ import org.opensearch.cluster.ClusterName;
 import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
@@ -45,8 +46,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.opensearch.security.auditlog.impl.AuditMessage.SPLIT_MESSAGE_IDENTIFIER;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -271,4 +274,29 @@ public class AuditMessageTest {
         // all messages share the same ID
         assertThat(splitMessages.stream().map(AuditMessageTest::getSplitMessageId).distinct().count(), is(1L));
     }
+
+    @Test
+    public void testSealedPayloadIsSharedAndImmutable() {
+        final AuditMessage auditMessage = dummyAuditMessage(new String[] { "index1" }, getTestIndices(255, 3));
+        final AuditPayload payload = auditMessage.seal();
+
+        assertThat(auditMessage.seal(), sameInstance(payload));
+        assertThat(auditMessage.getPayload(), sameInstance(payload));
+        assertThat(auditMessage.toJson(), sameInstance(auditMessage.toJson()));
+        assertThat(payload.toSmileBytes(), sameInstance(payload.toSmileBytes()));
+        assertThat(
+            XContentHelper.convertToMap(payload.toSmileBytes(), false, XContentType.SMILE).v2(),
+            is(XContentHelper.convertToMap(payload.toJsonBytes(), false, XContentType.JSON).v2())
+        );
+
+        // Changes after sealing are not visible to the sinks
+        final String json = auditMessage.toJson();
+        auditMessage.addPrivilege("indices:data/read/search");
+        auditMessage.getAsMap().put(AuditMessage.PRIVILEGE, "indices:data/write/index");
+        auditMessage.toJsonSplitIndices(255);
+        assertThat(auditMessage.toJson(), is(json));
+        assertNull(auditMessage.getAsMap().get(AuditMessage.PRIVILEGE));
+        assertThat(json, not(containsString(SPLIT_MESSAGE_IDENTIFIER)));
+        assertThrows(UnsupportedOperationException.class, () -> payload.getFields().put(AuditMessage.PRIVILEGE, "x"));
+    }
 }
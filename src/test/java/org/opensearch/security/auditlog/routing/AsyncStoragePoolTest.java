@@ -0,0 +1,250 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.routing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.auditlog.config.SpillConfig;
+import org.opensearch.security.auditlog.config.ThreadPoolConfig;
+import org.opensearch.security.auditlog.helper.LoggingSink;
+import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
+import org.opensearch.security.auditlog.impl.AuditCategory;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.auditlog.sink.AuditLogSink;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class AsyncStoragePoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void overflowIsSpilledAndReplayed() throws Exception {
+        SpillConfig spillConfig = new SpillConfig(folder.getRoot().toPath(), 64 * 1024, 1024 * 1024);
+        AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 2), spillConfig);
+        LoggingSink fallbackSink = new LoggingSink("fallback", Settings.EMPTY, null, null);
+        BlockingSink sink = new BlockingSink(fallbackSink);
+
+        for (int i = 0; i < 20; i++) {
+            AuditMessage message = MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES);
+            message.addPrivilege("privilege_" + i);
+            pool.submit(message, sink);
+        }
+
+        AsyncStoragePool.Stats stats = pool.getStats();
+        assertThat(stats.spilledMessages() > 0, is(true));
+        assertThat(stats.spillBytes() > 0, is(true));
+        assertThat(stats.toMap().get("spilled_messages"), is(stats.spilledMessages()));
+        assertThat(fallbackSink.messages.isEmpty(), is(true));
+
+        sink.unblock.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.privileges.size() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        pool.close();
+
+        assertThat(sink.privileges.size(), is(20));
+        assertThat(sink.privileges.subList(0, 3), contains("privilege_0", "privilege_1", "privilege_2"));
+        assertThat(pool.getStats().spillBytes(), is(0L));
+        assertThat(pool.getStats().replayedMessages(), is(stats.spilledMessages()));
+        assertThat(fallbackSink.messages.isEmpty(), is(true));
+    }
+
+    @Test
+    public void overflowGoesToFallbackIfSpillingIsDisabled() throws Exception {
+        AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 2));
+        LoggingSink fallbackSink = new LoggingSink("fallback", Settings.EMPTY, null, null);
+        BlockingSink sink = new BlockingSink(fallbackSink);
+
+        for (int i = 0; i < 20; i++) {
+            pool.submit(MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES), sink);
+        }
+
+        assertThat(fallbackSink.messages.size() > 0, is(true));
+        assertThat(pool.getStats().spilledMessages(), is(0L));
+
+        sink.unblock.countDown();
+        pool.close();
+    }
+
+    @Test
+    public void leftoverSpilledMessagesAreReplayedOnStartup() throws Exception {
+        SpillConfig spillConfig = new SpillConfig(folder.getRoot().toPath(), 64 * 1024, 1024 * 1024);
+        BlockingSink sink = new BlockingSink(new LoggingSink("fallback", Settings.EMPTY, null, null));
+        sink.unblock.countDown();
+
+        // Messages left on disk by a previous run of the node
+        try (
+            SpillLog spillLog = new SpillLog(
+                spillConfig.getDirectory().resolve(AsyncStoragePool.directoryName(sink.getName())),
+                spillConfig.getSegmentSize(),
+                spillConfig.getMaxSize()
+            )
+        ) {
+            for (int i = 0; i < 5; i++) {
+                AuditMessage message = MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES);
+                message.addPrivilege("privilege_" + i);
+                spillLog.append(message.getPayload().toSmileBytes(), System.currentTimeMillis());
+            }
+        }
+
+        AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 2), spillConfig, List.of(sink));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.privileges.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        pool.close();
+
+        assertThat(sink.privileges, contains("privilege_0", "privilege_1", "privilege_2", "privilege_3", "privilege_4"));
+        assertThat(pool.getStats().spillBytes(), is(0L));
+    }
+
+    @Test
+    public void replayedMessagesAreNotReplayedAgainAfterRestart() throws Exception {
+        SpillConfig spillConfig = new SpillConfig(folder.getRoot().toPath(), 64 * 1024, 1024 * 1024);
+        BlockingSink sink = new BlockingSink(new LoggingSink("fallback", Settings.EMPTY, null, null));
+
+        AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 2), spillConfig, List.of(sink));
+        for (int i = 0; i < 20; i++) {
+            AuditMessage message = MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES);
+            message.addPrivilege("privilege_" + i);
+            pool.submit(message, sink);
+        }
+        assertThat(pool.getStats().spilledMessages() > 0, is(true));
+
+        sink.unblock.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.privileges.size() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        pool.close();
+        assertThat(sink.privileges.size(), is(20));
+
+        BlockingSink restartedSink = new BlockingSink(new LoggingSink("fallback", Settings.EMPTY, null, null));
+        restartedSink.unblock.countDown();
+        AsyncStoragePool restartedPool = new AsyncStoragePool(new ThreadPoolConfig(1, 2), spillConfig, List.of(restartedSink));
+        // Give the replay thread a few rounds
+        Thread.sleep(500);
+        restartedPool.close();
+
+        assertThat(restartedSink.privileges, is(empty()));
+        assertThat(restartedPool.getStats().replayedMessages(), is(0L));
+    }
+
+    @Test
+    public void spilledMessagesStayOnDiskUntilSinkRecovers() throws Exception {
+        SpillConfig spillConfig = new SpillConfig(folder.getRoot().toPath(), 64 * 1024, 1024 * 1024);
+        LoggingSink fallbackSink = new LoggingSink("fallback", Settings.EMPTY, null, null);
+        FailingSink sink = new FailingSink(fallbackSink);
+
+        try (
+            SpillLog spillLog = new SpillLog(
+                spillConfig.getDirectory().resolve(AsyncStoragePool.directoryName(sink.getName())),
+                spillConfig.getSegmentSize(),
+                spillConfig.getMaxSize()
+            )
+        ) {
+            for (int i = 0; i < 5; i++) {
+                AuditMessage message = MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES);
+                message.addPrivilege("privilege_" + i);
+                spillLog.append(message.getPayload().toSmileBytes(), System.currentTimeMillis());
+            }
+        }
+
+        AsyncStoragePool pool = new AsyncStoragePool(new ThreadPoolConfig(1, 2), spillConfig, List.of(sink));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.attempts.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sink.attempts.get() > 0, is(true));
+        assertThat(sink.privileges, is(empty()));
+        assertThat(fallbackSink.messages, is(empty()));
+        assertThat(pool.getStats().spillBytes() > 0, is(true));
+
+        sink.available = true;
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.privileges.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        pool.close();
+
+        assertThat(sink.privileges, contains("privilege_0", "privilege_1", "privilege_2", "privilege_3", "privilege_4"));
+        assertThat(fallbackSink.messages, is(empty()));
+        assertThat(pool.getStats().spillBytes(), is(0L));
+        assertThat(pool.getStats().replayedMessages(), is(5L));
+    }
+
+    @Test
+    public void directoryNamesDoNotCollide() {
+        assertThat(AsyncStoragePool.directoryName("ES1"), not(AsyncStoragePool.directoryName("KS1")));
+        assertThat(AsyncStoragePool.directoryName("ES1"), not(AsyncStoragePool.directoryName("es1")));
+        assertThat(AsyncStoragePool.directoryName("a/b"), not(AsyncStoragePool.directoryName("a_b")));
+        assertThat(AsyncStoragePool.directoryName("Sink-1").startsWith("sink-1_"), is(true));
+    }
+
+    static class BlockingSink extends AuditLogSink {
+        final CountDownLatch unblock = new CountDownLatch(1);
+        final List<String> privileges = new CopyOnWriteArrayList<>();
+
+        BlockingSink(AuditLogSink fallbackSink) {
+            super("blocking", Settings.EMPTY, null, fallbackSink);
+        }
+
+        @Override
+        protected boolean doStore(AuditMessage msg) {
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            privileges.add(msg.getPrivilege());
+            return true;
+        }
+    }
+
+    static class FailingSink extends AuditLogSink {
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<String> privileges = new CopyOnWriteArrayList<>();
+        volatile boolean available;
+
+        FailingSink(AuditLogSink fallbackSink) {
+            super("failing", Settings.EMPTY, null, fallbackSink);
+        }
+
+        @Override
+        protected boolean doStore(AuditMessage msg) {
+            attempts.incrementAndGet();
+            if (!available) {
+                return false;
+            }
+            privileges.add(msg.getPrivilege());
+            return true;
+        }
+    }
+}
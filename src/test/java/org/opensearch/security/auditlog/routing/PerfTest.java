@@ -19,8 +19,10 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.security.auditlog.AbstractAuditlogUnitTest;
 import org.opensearch.security.auditlog.helper.LoggingSink;
 import org.opensearch.security.auditlog.helper.MockAuditMessageFactory;
+import org.opensearch.security.auditlog.helper.SerializingSink;
 import org.opensearch.security.auditlog.impl.AuditCategory;
 import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.auditlog.sink.AuditLogSink;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.test.helper.file.FileHelper;
 
@@ -48,4 +50,33 @@ public class PerfTest extends AbstractAuditlogUnitTest {
         Assert.assertTrue(currentSize > 0);
     }
 
+    @Test
+    @Ignore(value = "benchmark")
+    public void testThroughputThreeSinks() throws Exception {
+        Settings settings = Settings.builder()
+            .loadFromPath(FileHelper.getAbsoluteFilePathFromClassPath("auditlog/endpoints/routing/perftest_three_sinks.yml"))
+            .put("path.home", ".")
+            .put(ConfigConstants.OPENDISTRO_SECURITY_AUDIT_CONFIG_DISABLED_TRANSPORT_CATEGORIES, "NONE")
+            .build();
+
+        AuditMessageRouter router = createMessageRouterComplianceEnabled(settings);
+        int warmup = 50000;
+        int limit = 500000;
+
+        for (int i = 0; i < warmup; i++) {
+            router.route(MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < limit; i++) {
+            router.route(MockAuditMessageFactory.validAuditMessage(AuditCategory.MISSING_PRIVILEGES));
+        }
+        long durationNanos = System.nanoTime() - start;
+
+        log.info("Routed {} messages to 3 sinks: {} messages/s", limit, limit * 1_000_000_000L / durationNanos);
+        for (AuditLogSink sink : router.categorySinks.get(AuditCategory.MISSING_PRIVILEGES)) {
+            Assert.assertTrue(((SerializingSink) sink).bytes.get() > 0);
+        }
+    }
+
 }
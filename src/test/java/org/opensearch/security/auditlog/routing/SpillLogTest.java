@@ -0,0 +1,196 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.routing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.opensearch.core.common.bytes.BytesArray;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SpillLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendAndPollAcrossSegments() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        SpillLog spillLog = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(spillLog.append(record(i), 1000 + i), is(true));
+        }
+
+        assertThat(spillLog.isEmpty(), is(false));
+        assertThat(spillLog.getOldestTimestamp(), is(1000L));
+        assertThat(segmentCount(directory) > 1, is(true));
+
+        for (int i = 0; i < 100; i++) {
+            SpillLog.Record record = spillLog.poll();
+            assertThat(new String(record.data(), StandardCharsets.UTF_8), is("message " + i));
+            assertThat(record.timestamp(), is(1000L + i));
+        }
+
+        assertThat(spillLog.poll(), is(nullValue()));
+        assertThat(spillLog.isEmpty(), is(true));
+        assertThat(spillLog.getPendingBytes(), is(0L));
+        assertThat(spillLog.getOldestTimestamp(), is(-1L));
+        // Only the segment which is still being written remains
+        assertThat(segmentCount(directory), is(1L));
+    }
+
+    @Test
+    public void maxSize() throws Exception {
+        SpillLog spillLog = new SpillLog(folder.getRoot().toPath(), SEGMENT_SIZE, 2 * SEGMENT_SIZE);
+
+        int appended = 0;
+        while (spillLog.append(record(appended), 0)) {
+            appended++;
+        }
+
+        assertThat(spillLog.getPendingBytes() <= 2 * SEGMENT_SIZE, is(true));
+        assertThat(spillLog.append(new BytesArray(new byte[SEGMENT_SIZE]), 0), is(false));
+
+        spillLog.poll();
+        spillLog.poll();
+        assertThat(spillLog.append(record(appended), 0), is(true));
+    }
+
+    @Test
+    public void pendingRecordsAreReadAfterReopening() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        SpillLog spillLog = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+
+        for (int i = 0; i < 50; i++) {
+            spillLog.append(record(i), i);
+        }
+        spillLog.close();
+
+        SpillLog reopened = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+        assertThat(reopened.getPendingBytes(), is(spillLog.getPendingBytes()));
+        reopened.append(record(50), 50);
+
+        for (int i = 0; i <= 50; i++) {
+            assertThat(new String(reopened.poll().data(), StandardCharsets.UTF_8), is("message " + i));
+        }
+        assertThat(reopened.poll(), is(nullValue()));
+    }
+
+    @Test
+    public void removedRecordsAreNotReadAgainAfterReopening() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        SpillLog spillLog = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+
+        for (int i = 0; i < 10; i++) {
+            spillLog.append(record(i), i);
+        }
+        for (int i = 0; i < 4; i++) {
+            spillLog.poll();
+        }
+        long pendingBytes = spillLog.getPendingBytes();
+        spillLog.close();
+
+        SpillLog reopened = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+        assertThat(reopened.getPendingBytes(), is(pendingBytes));
+        assertThat(reopened.getOldestTimestamp(), is(4L));
+
+        for (int i = 4; i < 10; i++) {
+            assertThat(new String(reopened.poll().data(), StandardCharsets.UTF_8), is("message " + i));
+        }
+        assertThat(reopened.poll(), is(nullValue()));
+    }
+
+    @Test
+    public void drainedSegmentsAreDeletedOnClose() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        SpillLog spillLog = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+
+        for (int i = 0; i < 5; i++) {
+            spillLog.append(record(i), i);
+        }
+        while (spillLog.poll() != null) {
+            // drain
+        }
+        spillLog.close();
+
+        assertThat(segmentCount(directory), is(0L));
+
+        SpillLog reopened = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+        assertThat(reopened.isEmpty(), is(true));
+        assertThat(reopened.poll(), is(nullValue()));
+    }
+
+    @Test
+    public void peekDoesNotRemove() throws Exception {
+        SpillLog spillLog = new SpillLog(folder.getRoot().toPath(), SEGMENT_SIZE, 1024 * 1024);
+        spillLog.append(record(0), 0);
+        spillLog.append(record(1), 1);
+
+        assertThat(new String(spillLog.peek().data(), StandardCharsets.UTF_8), is("message 0"));
+        assertThat(new String(spillLog.peek().data(), StandardCharsets.UTF_8), is("message 0"));
+
+        spillLog.remove();
+
+        assertThat(new String(spillLog.peek().data(), StandardCharsets.UTF_8), is("message 1"));
+        assertThat(spillLog.getPendingBytes(), is((long) SpillLog.HEADER_SIZE + record(1).length()));
+    }
+
+    @Test
+    public void corruptedRecordsEndTheSegment() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        SpillLog spillLog = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+        spillLog.append(record(0), 0);
+        spillLog.append(record(1), 1);
+        spillLog.close();
+
+        try (Stream<Path> files = Files.list(directory); FileChannel channel = open(files.findFirst().orElseThrow())) {
+            // Overwrite the first byte of the second record
+            int secondRecord = SpillLog.HEADER_SIZE + record(0).length();
+            channel.write(ByteBuffer.wrap(new byte[] { 'x' }), secondRecord + SpillLog.HEADER_SIZE);
+        }
+
+        SpillLog reopened = new SpillLog(directory, SEGMENT_SIZE, 1024 * 1024);
+        assertThat(new String(reopened.poll().data(), StandardCharsets.UTF_8), is("message 0"));
+        assertThat(reopened.poll(), is(nullValue()));
+        assertThat(reopened.isEmpty(), is(true));
+    }
+
+    private static BytesArray record(int i) {
+        return new BytesArray("message " + i);
+    }
+
+    private static long segmentCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+}
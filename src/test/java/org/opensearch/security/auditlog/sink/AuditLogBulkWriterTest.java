@@ -0,0 +1,172 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auditlog.sink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.security.auditlog.AuditLog;
+import org.opensearch.security.auditlog.helper.LoggingSink;
+import org.opensearch.security.auditlog.impl.AuditCategory;
+import org.opensearch.security.auditlog.impl.AuditMessage;
+import org.opensearch.security.support.ConfigConstants;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuditLogBulkWriterTest {
+
+    private final ClusterService clusterService = mock(ClusterService.class);
+    private final List<BulkRequest> executedRequests = new ArrayList<>();
+    private LoggingSink fallbackSink;
+
+    @Before
+    public void setUp() {
+        when(clusterService.localNode()).thenReturn(mock(DiscoveryNode.class));
+        when(clusterService.getClusterName()).thenReturn(mock(ClusterName.class));
+        fallbackSink = new LoggingSink("fallback", Settings.EMPTY, null, null);
+    }
+
+    @Test
+    public void flushesWhenMaxActionsIsReached() {
+        AuditLogBulkWriter writer = createWriter(3, this::respondSuccessfully);
+
+        writer.add(message(), new IndexRequest("audit"));
+        writer.add(message(), new IndexRequest("audit"));
+        assertThat(executedRequests, empty());
+
+        writer.add(message(), new IndexRequest("audit-other"));
+        assertThat(executedRequests, hasSize(1));
+        assertThat(executedRequests.get(0).numberOfActions(), is(3));
+        assertThat(executedRequests.get(0).requests().stream().map(DocWriteRequest::id).toList(), everyItem(notNullValue()));
+        assertThat(writer.getPendingCount(), is(0));
+        assertThat(fallbackSink.messages, empty());
+
+        writer.close();
+    }
+
+    @Test
+    public void failedItemsAreWrittenToFallbackSink() {
+        AuditLogBulkWriter writer = createWriter(100, (request, listener) -> {
+            executedRequests.add(request);
+            BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                DocWriteRequest<?> item = request.requests().get(i);
+                if (i == 1) {
+                    items[i] = BulkItemResponse.failure(
+                        i,
+                        item.opType(),
+                        new BulkItemResponse.Failure(item.index(), item.id(), new IllegalStateException("mapping conflict"))
+                    );
+                } else {
+                    items[i] = success(i, item);
+                }
+            }
+            listener.onResponse(new BulkResponse(items, 1));
+        });
+
+        AuditMessage first = message();
+        AuditMessage second = message();
+        AuditMessage third = message();
+        writer.add(first, new IndexRequest("audit"));
+        writer.add(second, new IndexRequest("audit"));
+        writer.add(third, new IndexRequest("audit"));
+        writer.flush();
+
+        assertThat(executedRequests, hasSize(1));
+        assertThat(fallbackSink.messages, contains(second));
+        assertThat(writer.getPendingCount(), is(0));
+
+        writer.close();
+    }
+
+    @Test
+    public void failedBulkRequestsAreWrittenToFallbackSink() {
+        AuditLogBulkWriter writer = createWriter(100, (request, listener) -> {
+            executedRequests.add(request);
+            listener.onFailure(new IllegalStateException("cluster unavailable"));
+        });
+
+        AuditMessage first = message();
+        AuditMessage second = message();
+        writer.add(first, new IndexRequest("audit"));
+        writer.add(second, new IndexRequest("audit"));
+        writer.flush();
+
+        assertThat(fallbackSink.messages, contains(first, second));
+        assertThat(writer.getPendingCount(), is(0));
+
+        writer.close();
+    }
+
+    @Test
+    public void closeFlushesBufferedMessages() {
+        AuditLogBulkWriter writer = createWriter(100, this::respondSuccessfully);
+
+        writer.add(message(), new IndexRequest("audit"));
+        writer.close();
+
+        assertThat(executedRequests, hasSize(1));
+        assertThat(writer.getPendingCount(), is(0));
+        assertThat(fallbackSink.messages, empty());
+    }
+
+    private AuditLogBulkWriter createWriter(int maxActions, BiConsumer<BulkRequest, ActionListener<BulkResponse>> consumer) {
+        Settings sinkSettings = Settings.builder()
+            .put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_MAX_ACTIONS, maxActions)
+            .put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_FLUSH_INTERVAL, "1h")
+            .put(ConfigConstants.SECURITY_AUDIT_OPENSEARCH_BULK_CONCURRENT_REQUESTS, 0)
+            .build();
+        return new AuditLogBulkWriter("test", sinkSettings, consumer, fallbackSink);
+    }
+
+    private void respondSuccessfully(BulkRequest request, ActionListener<BulkResponse> listener) {
+        executedRequests.add(request);
+        BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = success(i, request.requests().get(i));
+        }
+        listener.onResponse(new BulkResponse(items, 1));
+    }
+
+    private static BulkItemResponse success(int itemId, DocWriteRequest<?> request) {
+        IndexResponse indexResponse = new IndexResponse(new ShardId(request.index(), "_na_", 0), request.id(), 1, 1, 1, true);
+        return BulkItemResponse.success(itemId, request.opType(), indexResponse);
+    }
+
+    private AuditMessage message() {
+        return new AuditMessage(AuditCategory.AUTHENTICATED, clusterService, AuditLog.Origin.REST, AuditLog.Origin.REST);
+    }
+}
@@ -18,6 +18,10 @@ import java.net.ServerSocket;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManagerFactory;
@@ -26,6 +30,7 @@ import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.impl.HttpProcessors;
 import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
 import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.util.TimeValue;
 import org.junit.After;
 import org.junit.Assert;
@@ -43,6 +48,9 @@ import org.opensearch.security.ssl.util.SSLConfigConstants;
 import org.opensearch.security.support.ConfigConstants;
 import org.opensearch.security.test.helper.file.FileHelper;
 
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
@@ -855,6 +863,104 @@ public class WebhookAuditLogTest {
         server.awaitTermination(TimeValue.ofSeconds(3));
     }
 
+    @Test
+    public void batchedNdjsonTest() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        int port = startCollectingServer(bodies, 200);
+
+        Settings settings = batchSettings(port).put("plugins.security.audit.config.webhook.batch.format", "ndjson").build();
+        LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        WebhookSink auditlog = new WebhookSink("name", settings, ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT, null, fallback);
+
+        for (int i = 0; i < 50; i++) {
+            auditlog.store(MockAuditMessageFactory.validAuditMessage());
+        }
+        auditlog.close();
+
+        List<String> lines = bodies.stream().flatMap(body -> Arrays.stream(body.split("\n"))).toList();
+        assertThat(lines.size(), is(50));
+        lines.forEach(this::assertStringContainsAllKeysAndValues);
+        Assert.assertTrue(bodies.toString(), bodies.size() < 50);
+        assertThat(auditlog.getBatchStats().deliveredMessages(), is(50L));
+        assertThat(auditlog.getBatchStats().sentBatches(), is((long) bodies.size()));
+        assertThat(auditlog.getStats().get("delivered_messages"), is(50L));
+        assertThat(fallback.messages.size(), is(0));
+    }
+
+    @Test
+    public void batchedJsonArrayTest() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        int port = startCollectingServer(bodies, 200);
+
+        Settings settings = batchSettings(port).put("plugins.security.audit.config.webhook.batch.format", "json_array").build();
+        LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        WebhookSink auditlog = new WebhookSink("name", settings, ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT, null, fallback);
+
+        for (int i = 0; i < 10; i++) {
+            auditlog.store(MockAuditMessageFactory.validAuditMessage());
+        }
+        auditlog.close();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        int messages = 0;
+        for (String body : bodies) {
+            JsonNode array = objectMapper.readTree(body);
+            Assert.assertTrue(body, array.isArray());
+            messages += array.size();
+        }
+        assertThat(messages, is(10));
+        assertThat(fallback.messages.size(), is(0));
+    }
+
+    @Test
+    public void batchFailureFallbackTest() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        int port = startCollectingServer(bodies, 500);
+
+        Settings settings = batchSettings(port).put("plugins.security.audit.config.webhook.batch.max_retries", 1).build();
+        LoggingSink fallback = new LoggingSink("test", Settings.EMPTY, null, null);
+        WebhookSink auditlog = new WebhookSink("name", settings, ConfigConstants.SECURITY_AUDIT_CONFIG_DEFAULT, null, fallback);
+
+        for (int i = 0; i < 5; i++) {
+            auditlog.store(MockAuditMessageFactory.validAuditMessage());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fallback.messages.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        auditlog.close();
+
+        assertThat(fallback.messages.size(), is(5));
+        assertThat(auditlog.getBatchStats().failedMessages(), is(5L));
+        assertThat(auditlog.getBatchStats().retries() > 0, is(true));
+    }
+
+    private Settings.Builder batchSettings(int port) {
+        return Settings.builder()
+            .put("plugins.security.audit.config.webhook.url", "http://localhost:" + port + "/endpoint")
+            .put("plugins.security.audit.config.webhook.format", "json")
+            .put("plugins.security.audit.config.webhook.batch.enabled", true)
+            .put("plugins.security.audit.config.webhook.batch.max_size", "2kb")
+            .put("plugins.security.audit.config.webhook.batch.max_delay", "50ms")
+            .put("path.home", ".")
+            .put(SSLConfigConstants.SECURITY_SSL_TRANSPORT_TRUSTSTORE_FILEPATH, FileHelper.resolveStore("auditlog/truststore").path());
+    }
+
+    private int startCollectingServer(List<String> bodies, int status) throws Exception {
+        int port = findFreePort();
+        server = ServerBootstrap.bootstrap()
+            .setListenerPort(port)
+            .setHttpProcessor(HttpProcessors.server("Test/1.1"))
+            .setRequestRouter((request, context) -> (req, response, ctx) -> {
+                bodies.add(EntityUtils.toString(req.getEntity(), StandardCharsets.UTF_8));
+                response.setCode(status);
+            })
+            .create();
+        server.start();
+        return port;
+    }
+
     private void assertStringContainsAllKeysAndValues(String in) {
         Assert.assertTrue(in, in.contains(AuditMessage.FORMAT_VERSION));
         Assert.assertTrue(in, in.contains(AuditMessage.CATEGORY));
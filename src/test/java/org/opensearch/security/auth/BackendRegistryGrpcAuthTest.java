@@ -86,7 +86,7 @@ public class BackendRegistryGrpcAuthTest {
         // backend registry requires at least one auth path is available to initialize.
         // here we enable user injection to allow us to mock/test other failure cases.
         Settings settings = Settings.builder().put("plugins.security.unsupported.inject_user.enabled", true).build();
-        backendRegistry = new BackendRegistry(settings, adminDns, xffResolver, auditLog, threadPool, clusterInfoHolder);
+        backendRegistry = new BackendRegistry(settings, adminDns, xffResolver, auditLog, threadPool, clusterInfoHolder, null);
     }
 
     @Test
@@ -0,0 +1,155 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auth.http.jwt;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+public class VerifiedJwtCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void verifiesTokenOnlyOnce() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+
+        VerifiedToken first = cache.getOrVerify("token_a", 0, this::verify);
+        VerifiedToken second = cache.getOrVerify("token_a", 0, this::verify);
+        cache.getOrVerify("token_b", 0, this::verify);
+
+        assertThat(second, is(first));
+        assertThat(verifications.get(), is(2));
+        assertThat(cache.size(), is(2L));
+    }
+
+    @Test
+    public void entriesExpireAfterTtl() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+
+        cache.getOrVerify("token_a", 0, this::verify);
+        clock.addAndGet(10_000);
+        cache.getOrVerify("token_a", 0, this::verify);
+
+        assertThat(verifications.get(), is(2));
+    }
+
+    @Test
+    public void entriesExpireWithToken() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+        VerifiedJwtCache.Verifier<VerifiedToken, RuntimeException> verifier = (token) -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(token, new Date(clock.get() + 1000));
+        };
+
+        cache.getOrVerify("token_a", 0, verifier);
+        clock.addAndGet(999);
+        cache.getOrVerify("token_a", 0, verifier);
+        assertThat(verifications.get(), is(1));
+
+        clock.addAndGet(1);
+        cache.getOrVerify("token_a", 0, verifier);
+        assertThat(verifications.get(), is(2));
+    }
+
+    @Test
+    public void expiredTokensAreNotCached() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+
+        cache.getOrVerify("token_a", 0, (token) -> new VerifiedToken(token, new Date(clock.get() - 1)));
+
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void failedVerificationsAreNotCached() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+        VerifiedJwtCache.Verifier<VerifiedToken, IllegalStateException> failingVerifier = (token) -> {
+            verifications.incrementAndGet();
+            throw new IllegalStateException("Invalid signature");
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrVerify("token_a", 0, failingVerifier));
+        assertThrows(IllegalStateException.class, () -> cache.getOrVerify("token_a", 0, failingVerifier));
+
+        assertThat(verifications.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void keyGenerationChangeInvalidatesEntries() {
+        VerifiedJwtCache<VerifiedToken> cache = createCache(10_000);
+
+        cache.getOrVerify("token_a", 0, this::verify);
+        cache.getOrVerify("token_b", 0, this::verify);
+        cache.getOrVerify("token_a", 1, this::verify);
+
+        assertThat(verifications.get(), is(3));
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void disabledCacheAlwaysVerifies() {
+        VerifiedJwtCache<VerifiedToken> cache = VerifiedJwtCache.disabled();
+
+        cache.getOrVerify("token_a", 0, this::verify);
+        cache.getOrVerify("token_a", 0, this::verify);
+
+        assertThat(verifications.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void cacheCanBeDisabledBySettings() {
+        VerifiedJwtCache<VerifiedToken> cache = new VerifiedJwtCache<>(
+            Settings.builder().put(VerifiedJwtCache.MAX_SIZE_SETTING, 0).build(),
+            VerifiedToken::expiration
+        );
+
+        cache.getOrVerify("token_a", 0, this::verify);
+        cache.getOrVerify("token_a", 0, this::verify);
+
+        assertThat(verifications.get(), is(2));
+    }
+
+    @Test
+    public void cacheIsEnabledByDefault() {
+        VerifiedJwtCache<VerifiedToken> cache = new VerifiedJwtCache<>(Settings.EMPTY, VerifiedToken::expiration);
+
+        VerifiedToken first = cache.getOrVerify("token_a", 0, this::verify);
+
+        assertThat(cache.getOrVerify("token_a", 0, this::verify), equalTo(first));
+        assertThat(verifications.get(), is(1));
+    }
+
+    private VerifiedJwtCache<VerifiedToken> createCache(long ttlMillis) {
+        return new VerifiedJwtCache<>(100, ttlMillis, VerifiedToken::expiration, clock::get);
+    }
+
+    private VerifiedToken verify(String token) {
+        verifications.incrementAndGet();
+        return new VerifiedToken(token, null);
+    }
+
+    private record VerifiedToken(String token, Date expiration) {
+    }
+}
@@ -15,6 +15,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -101,6 +102,23 @@ public class SelfRefreshingKeySetTest {
         Assert.assertThrows(BadCredentialsException.class, () -> selfRefreshingKeySet.getKeyAfterRefresh("kid/X"));
     }
 
+    @Test
+    public void getKeyGeneration_shouldChangeOnlyWhenKeysAreRotatedOut() {
+        AtomicReference<JWKSet> currentKeys = new AtomicReference<>(TestJwk.Jwks.RSA_1);
+        SelfRefreshingKeySet keySet = new SelfRefreshingKeySet(currentKeys::get);
+
+        keySet.getKeyAfterRefresh("kid/1");
+        assertThat(keySet.getKeyGeneration(), is(0L));
+
+        currentKeys.set(TestJwk.RSA_1_2_PUBLIC);
+        keySet.getKeyAfterRefresh("kid/2");
+        assertThat(keySet.getKeyGeneration(), is(0L));
+
+        currentKeys.set(TestJwk.Jwks.RSA_2);
+        keySet.getKeyAfterRefresh("kid/2");
+        assertThat(keySet.getKeyGeneration(), is(1L));
+    }
+
     static class MockKeySetProvider implements KeySetProvider {
 
         @Override
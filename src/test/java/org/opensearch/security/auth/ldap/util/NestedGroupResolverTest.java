@@ -0,0 +1,171 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.auth.ldap.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+
+import com.google.common.collect.HashMultimap;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NestedGroupResolverTest {
+
+    private static final List<Map.Entry<String, Settings>> ROLE_BASE_SETTINGS = List.of(Map.entry("g1", Settings.EMPTY));
+
+    private final Map<String, List<String>> memberOf = Map.of(
+        "cn=a",
+        List.of("cn=b", "cn=c"),
+        "cn=b",
+        List.of("cn=d"),
+        "cn=c",
+        List.of("cn=d"),
+        "cn=d",
+        List.of("cn=e")
+    );
+    private final Map<String, List<String>> searchResults = Map.of("cn=a", List.of("cn=s"), "cn=s", List.of("cn=t"));
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    public void resolvesAllLevels() throws Exception {
+        NestedGroupResolver resolver = createResolver(withoutRoleSearch().build(), WildcardMatcher.NONE, null);
+
+        assertThat(resolver.resolve(null, groups("cn=a")), equalTo(dns("cn=b", "cn=c", "cn=d", "cn=e")));
+        // a, b, c, d and e are each looked up once
+        assertThat(lookups.get(), is(5));
+    }
+
+    @Test
+    public void respectsMaxDepth() throws Exception {
+        NestedGroupResolver resolver = createResolver(
+            withoutRoleSearch().put(ConfigConstants.LDAP_AUTHZ_MAX_NESTED_DEPTH, 2).build(),
+            WildcardMatcher.NONE,
+            null
+        );
+
+        assertThat(resolver.resolve(null, groups("cn=a")), equalTo(dns("cn=b", "cn=c", "cn=d")));
+    }
+
+    @Test
+    public void respectsNestedRoleFilter() throws Exception {
+        NestedGroupResolver resolver = createResolver(withoutRoleSearch().build(), WildcardMatcher.from("cn=b", "cn=c"), null);
+
+        assertThat(resolver.resolve(null, groups("cn=a")), equalTo(dns("cn=b", "cn=c")));
+    }
+
+    @Test
+    public void usesRoleSearch() throws Exception {
+        NestedGroupResolver resolver = createResolver(Settings.EMPTY, WildcardMatcher.NONE, null);
+
+        assertThat(resolver.resolve(null, groups("cn=a")), equalTo(dns("cn=b", "cn=c", "cn=d", "cn=e", "cn=s", "cn=t")));
+    }
+
+    @Test
+    public void cacheIsSharedBetweenResolutions() throws Exception {
+        NestedGroupResolver resolver = createResolver(withoutRoleSearch().build(), WildcardMatcher.NONE, null);
+
+        resolver.resolve(null, groups("cn=a"));
+        assertThat(resolver.resolve(null, groups("cn=b")), equalTo(dns("cn=d", "cn=e")));
+
+        assertThat(lookups.get(), is(5));
+        NestedGroupResolver.Stats stats = resolver.getStats();
+        assertThat(stats.resolutions(), is(2L));
+        assertThat(stats.roundTrips(), is(5L));
+        assertThat(stats.cacheMisses(), is(5L));
+        assertThat(stats.cacheHits(), is(3L));
+        assertThat(stats.roundTripsPerResolution(), is(2.5));
+        assertThat(stats.toMap().get("round_trips"), is(5L));
+    }
+
+    @Test
+    public void cacheCanBeDisabled() throws Exception {
+        NestedGroupResolver resolver = createResolver(
+            withoutRoleSearch().put(ConfigConstants.LDAP_AUTHZ_NESTED_ROLE_CACHE_SIZE, 0).build(),
+            WildcardMatcher.NONE,
+            null
+        );
+
+        resolver.resolve(null, groups("cn=a"));
+        resolver.resolve(null, groups("cn=a"));
+
+        assertThat(lookups.get(), is(10));
+    }
+
+    @Test
+    public void resolvesLevelsInParallel() throws Exception {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenAnswer((invocation) -> mock(Connection.class));
+        NestedGroupResolver resolver = createResolver(withoutRoleSearch().build(), WildcardMatcher.NONE, connectionFactory);
+
+        try {
+            assertThat(resolver.resolve(mock(Connection.class), groups("cn=a")), equalTo(dns("cn=b", "cn=c", "cn=d", "cn=e")));
+            // Only the level consisting of b and c requires more than one LDAP operation
+            verify(connectionFactory, times(2)).getConnection();
+        } finally {
+            resolver.close();
+        }
+    }
+
+    private NestedGroupResolver createResolver(
+        Settings settings,
+        WildcardMatcher nestedRoleFilter,
+        ConnectionFactory parallelConnectionFactory
+    ) {
+        return new NestedGroupResolver(settings, nestedRoleFilter, ROLE_BASE_SETTINGS, (connection, group, roleSearchBase) -> {
+            lookups.incrementAndGet();
+            Map<String, List<String>> source = roleSearchBase == null ? memberOf : searchResults;
+            return dns(source.getOrDefault(group.toString(), List.of()).toArray(new String[0]));
+        }, parallelConnectionFactory);
+    }
+
+    private static Settings.Builder withoutRoleSearch() {
+        return Settings.builder().put(ConfigConstants.LDAP_AUTHZ_ROLESEARCH_ENABLED, false);
+    }
+
+    private static HashMultimap<LdapName, Map.Entry<String, Settings>> groups(String... groups) {
+        HashMultimap<LdapName, Map.Entry<String, Settings>> result = HashMultimap.create();
+        for (LdapName group : dns(groups)) {
+            result.putAll(group, ROLE_BASE_SETTINGS);
+        }
+        return result;
+    }
+
+    private static Set<LdapName> dns(String... dns) {
+        return List.of(dns).stream().map(NestedGroupResolverTest::dn).collect(Collectors.toSet());
+    }
+
+    private static LdapName dn(String dn) {
+        try {
+            return new LdapName(dn);
+        } catch (InvalidNameException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
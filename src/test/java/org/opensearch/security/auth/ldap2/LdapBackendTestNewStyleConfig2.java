@@ -526,6 +526,36 @@ public class LdapBackendTestNewStyleConfig2 {
         Assert.assertFalse(user.getRoles().contains("nested2"));
     }
 
+    @Test
+    public void testLdapAuthorizationNestedRoleCache() throws Exception {
+
+        final Settings settings = createBaseSettings().putList(ConfigConstants.LDAP_HOSTS, "localhost:" + ldapPort)
+            .put("users.u1.search", "(uid={0})")
+            .put("users.u1.base", "ou=people,o=TEST")
+            .put("roles.g1.base", "ou=groups,o=TEST")
+            .put(ConfigConstants.LDAP_AUTHZ_ROLENAME, "cn")
+            .put(ConfigConstants.LDAP_AUTHZ_RESOLVE_NESTED_ROLES, true)
+            .put("roles.g1.search", "(uniqueMember={0})")
+            .build();
+
+        LDAPAuthorizationBackend2 backend = new LDAPAuthorizationBackend2(settings, null);
+
+        try {
+            User first = backend.addRoles(new User("spock"), ctx("spock", "secret"));
+            long roundTrips = backend.getNestedRoleStats().roundTrips();
+            User second = backend.addRoles(new User("spock"), ctx("spock", "secret"));
+
+            assertThat(second.getRoles(), is(first.getRoles()));
+            Assert.assertTrue(first.getRoles().contains("nested1"));
+            assertThat(backend.getNestedRoleStats().resolutions(), is(2L));
+            assertThat(backend.getNestedRoleStats().roundTrips(), is(roundTrips));
+            Assert.assertTrue(backend.getNestedRoleStats().cacheHits() > 0);
+            Assert.assertTrue(backend.getStats().containsKey("nested_roles"));
+        } finally {
+            backend.destroy();
+        }
+    }
+
     @Test
     public void testLdapAuthorizationNestedFilter() throws Exception {
 
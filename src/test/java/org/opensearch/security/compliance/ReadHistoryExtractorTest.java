@@ -0,0 +1,116 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.compliance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.security.dlic.rest.support.Utils;
+import org.opensearch.security.support.JsonFlattener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class ReadHistoryExtractorTest {
+
+    private static final String DOC = "{"
+        + "\"name\":\"john\","
+        + "\"age\":42,"
+        + "\"big\":12345678901234,"
+        + "\"score\":1.5,"
+        + "\"active\":true,"
+        + "\"nothing\":null,"
+        + "\"address\":{\"street\":\"main\",\"zip\":\"12345\",\"geo\":{\"lat\":1.0,\"lon\":2.0}},"
+        + "\"tags\":[\"a\",\"b\"],"
+        + "\"empty\":{},"
+        + "\"emptyList\":[],"
+        + "\"friends\":[{\"name\":\"jane\",\"age\":40},{\"age\":30},{\"name\":\"joe\"}],"
+        + "\"matrix\":[[1,2],[3]]"
+        + "}";
+
+    @Test
+    public void unfilteredMatchesFlattenedDocument() throws Exception {
+        assertSameAsFlattened(null, null);
+    }
+
+    @Test
+    public void includesMatchFlattenedFilteredDocument() throws Exception {
+        assertSameAsFlattened(new String[] { "name" }, null);
+        assertSameAsFlattened(new String[] { "address" }, null);
+        assertSameAsFlattened(new String[] { "address.geo.*" }, null);
+        assertSameAsFlattened(new String[] { "friends.name" }, null);
+        assertSameAsFlattened(new String[] { "friends", "matrix", "empty", "emptyList" }, null);
+        assertSameAsFlattened(new String[] { "a*", "t*" }, null);
+        assertSameAsFlattened(new String[] { "does_not_exist" }, null);
+    }
+
+    @Test
+    public void excludesMatchFlattenedFilteredDocument() throws Exception {
+        assertSameAsFlattened(null, new String[] { "name" });
+        assertSameAsFlattened(null, new String[] { "address.geo" });
+        assertSameAsFlattened(null, new String[] { "friends.name", "matrix" });
+        assertSameAsFlattened(null, new String[] { "*" });
+        assertSameAsFlattened(new String[] { "address", "friends" }, new String[] { "address.zip", "friends.age" });
+        assertSameAsFlattened(new String[] { "*" }, new String[] { "*.lat" });
+    }
+
+    @Test
+    public void selectorLimitsExtractedFields() throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        new ReadHistoryExtractor(null, null).extract(
+            DOC.getBytes(StandardCharsets.UTF_8),
+            (field, isString) -> field.startsWith("address.") && isString,
+            result::put
+        );
+
+        assertThat(result, equalTo(Map.of("address.street", "main", "address.zip", "12345")));
+    }
+
+    @Test
+    public void excludedSubtreesAreNotExtracted() throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        new ReadHistoryExtractor(null, new String[] { "*" }).extract(
+            DOC.getBytes(StandardCharsets.UTF_8),
+            (field, isString) -> true,
+            result::put
+        );
+
+        assertThat(result, is(anEmptyMap()));
+    }
+
+    private static void assertSameAsFlattened(String[] includes, String[] excludes) throws Exception {
+        byte[] source = DOC.getBytes(StandardCharsets.UTF_8);
+
+        if (includes != null || excludes != null) {
+            source = Utils.jsonMapToByteArray(
+                XContentMapValues.filter(includes, excludes, true).apply(Utils.byteArrayToMutableJsonMap(source))
+            );
+        }
+
+        Map<String, Object> expected = new HashMap<>(JsonFlattener.flattenAsMap(new String(source, StandardCharsets.UTF_8)));
+        Map<String, Object> actual = new HashMap<>();
+        new ReadHistoryExtractor(includes, excludes).extract(DOC.getBytes(StandardCharsets.UTF_8), (field, isString) -> true, actual::put);
+
+        assertThat("includes: " + toString(includes) + ", excludes: " + toString(excludes), actual, equalTo(expected));
+    }
+
+    private static String toString(String[] patterns) {
+        return patterns == null ? "null" : String.join(",", patterns);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.FixedBitSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DlsBitsetCacheTest {
+
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+    private SingleSegmentIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        Document document = new Document();
+        document.add(new StringField("dept", "a", Field.Store.NO));
+        index = new SingleSegmentIndex(List.of(document));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    public void returnsCachedBitsetForEqualQuery() throws Exception {
+        DlsBitsetCache cache = new DlsBitsetCache(1024 * 1024);
+
+        FixedBitSet first = cache.getOrCompute(
+            index.segmentReader(),
+            new TermQuery(new Term("dept", "a")),
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            this::load
+        );
+        FixedBitSet second = cache.getOrCompute(
+            index.segmentReader(),
+            new TermQuery(new Term("dept", "a")),
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            this::load
+        );
+
+        assertThat(second, sameInstance(first));
+        assertThat(loaderCalls.get(), is(1));
+    }
+
+    @Test
+    public void queryAndFlsRuleArePartOfTheKey() throws Exception {
+        DlsBitsetCache cache = new DlsBitsetCache(1024 * 1024);
+
+        cache.getOrCompute(
+            index.segmentReader(),
+            new TermQuery(new Term("dept", "a")),
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            this::load
+        );
+        cache.getOrCompute(
+            index.segmentReader(),
+            new TermQuery(new Term("dept", "b")),
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            this::load
+        );
+        cache.getOrCompute(
+            index.segmentReader(),
+            new TermQuery(new Term("dept", "a")),
+            FieldPrivileges.FlsRule.DENY_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL,
+            this::load
+        );
+
+        assertThat(loaderCalls.get(), is(3));
+        assertThat(cache.size(), is(3L));
+        assertThat(cache.getStatsAsMap().get("misses"), is(3L));
+    }
+
+    private FixedBitSet load() {
+        loaderCalls.incrementAndGet();
+        return new FixedBitSet(index.segmentReader().maxDoc());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.search.SearchExtBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.internal.SearchContext;
+import org.opensearch.search.internal.ShardSearchRequest;
+import org.opensearch.security.privileges.dlsfls.DlsRestriction;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DlsFlsRequestCacheTest {
+
+    private final SearchContext searchContext = mock(SearchContext.class);
+    private final ShardSearchRequest shardSearchRequest = mock(ShardSearchRequest.class);
+    private final SearchSourceBuilder source = new SearchSourceBuilder().size(0);
+
+    @Before
+    public void setUp() {
+        when(searchContext.request()).thenReturn(shardSearchRequest);
+        when(shardSearchRequest.source()).thenReturn(source);
+    }
+
+    @Test
+    public void fingerprintDependsOnRestrictions() {
+        String dlsOnly = DlsFlsRequestCache.fingerprint(
+            DlsRestriction.FULL,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+        String flsOnly = DlsFlsRequestCache.fingerprint(
+            DlsRestriction.NONE,
+            FieldPrivileges.FlsRule.DENY_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+
+        assertThat(
+            DlsFlsRequestCache.fingerprint(DlsRestriction.FULL, FieldPrivileges.FlsRule.ALLOW_ALL, FieldMasking.FieldMaskingRule.ALLOW_ALL),
+            equalTo(dlsOnly)
+        );
+        assertThat(dlsOnly, not(equalTo(flsOnly)));
+    }
+
+    @Test
+    public void addsFingerprintToCopyOfSource() {
+        DlsFlsRequestCache cache = new DlsFlsRequestCache(true, (request, context) -> true);
+
+        cache.prepare(
+            searchContext,
+            "index_a",
+            DlsRestriction.FULL,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+
+        ArgumentCaptor<SearchSourceBuilder> newSource = ArgumentCaptor.forClass(SearchSourceBuilder.class);
+        verify(shardSearchRequest).source(newSource.capture());
+
+        assertThat(source.ext(), empty());
+        assertThat(newSource.getValue().ext(), hasSize(1));
+        SearchExtBuilder searchExtBuilder = newSource.getValue().ext().get(0);
+        assertThat(searchExtBuilder, instanceOf(DlsFlsRequestCache.FingerprintSearchExtBuilder.class));
+        assertThat(
+            ((DlsFlsRequestCache.FingerprintSearchExtBuilder) searchExtBuilder).getFingerprint(),
+            equalTo(
+                DlsFlsRequestCache.fingerprint(
+                    DlsRestriction.FULL,
+                    FieldPrivileges.FlsRule.ALLOW_ALL,
+                    FieldMasking.FieldMaskingRule.ALLOW_ALL
+                )
+            )
+        );
+    }
+
+    @Test
+    public void leavesUnrestrictedRequestsUnchanged() {
+        DlsFlsRequestCache cache = new DlsFlsRequestCache(true, (request, context) -> true);
+
+        cache.prepare(
+            searchContext,
+            "index_a",
+            DlsRestriction.NONE,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+
+        verify(shardSearchRequest, never()).source(any());
+    }
+
+    @Test
+    public void leavesNonCacheableRequestsUnchanged() {
+        DlsFlsRequestCache cache = new DlsFlsRequestCache(true, (request, context) -> false);
+
+        cache.prepare(
+            searchContext,
+            "index_a",
+            DlsRestriction.FULL,
+            FieldPrivileges.FlsRule.DENY_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+        cache.onQueryPhase();
+
+        verify(shardSearchRequest, never()).source(any());
+        assertThat(cache.getStats().get("index_a"), is(nullValue()));
+    }
+
+    @Test
+    public void recordsHitsAndMisses() {
+        DlsFlsRequestCache cache = new DlsFlsRequestCache(true, (request, context) -> true);
+
+        cache.prepare(
+            searchContext,
+            "index_a",
+            DlsRestriction.FULL,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+        cache.onWeightCreated();
+        cache.onQueryPhase();
+
+        cache.prepare(
+            searchContext,
+            "index_a",
+            DlsRestriction.FULL,
+            FieldPrivileges.FlsRule.ALLOW_ALL,
+            FieldMasking.FieldMaskingRule.ALLOW_ALL
+        );
+        cache.onQueryPhase();
+
+        // Outside of a prepared query phase, nothing is recorded
+        cache.onWeightCreated();
+        cache.onQueryPhase();
+
+        assertThat(cache.getStats().get("index_a"), equalTo(new DlsFlsRequestCache.Stats(1, 1)));
+        assertThat(cache.getStats().get("index_a").hitRate(), is(0.5));
+        assertThat(cache.getStatsAsMap().get("indices"), equalTo(Map.of("index_a", Map.of("hits", 1L, "misses", 1L, "hit_rate", 0.5))));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+import org.opensearch.security.privileges.dlsfls.FlsFieldDecisions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class FlsFieldDecisionCacheTest {
+
+    private SingleSegmentIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        Document document = new Document();
+        document.add(new StringField("_id", "1", Field.Store.YES));
+        document.add(new StringField("public", "x", Field.Store.YES));
+        index = new SingleSegmentIndex(List.of(document));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    public void decisionsAreSharedPerFlsRule() {
+        FlsFieldDecisionCache cache = new FlsFieldDecisionCache(1024 * 1024);
+
+        FlsFieldDecisions denyAll = decisions(cache, FieldPrivileges.FlsRule.DENY_ALL, Set.of("_id"));
+        FlsFieldDecisions denyAllAgain = decisions(cache, FieldPrivileges.FlsRule.DENY_ALL, Set.of("_id"));
+        FlsFieldDecisions allowAll = decisions(cache, FieldPrivileges.FlsRule.ALLOW_ALL, Set.of("_id"));
+
+        assertThat(denyAllAgain, sameInstance(denyAll));
+        assertThat(allowAll, not(sameInstance(denyAll)));
+        assertThat(denyAll.isAllowedButPossiblyMasked("_id"), is(true));
+        assertThat(denyAll.isAllowedButPossiblyMasked("public"), is(false));
+        assertThat(allowAll.isAllowedButPossiblyMasked("public"), is(true));
+    }
+
+    @Test
+    public void metaFieldsAreNotPartOfTheKey() {
+        FlsFieldDecisionCache cache = new FlsFieldDecisionCache(1024 * 1024);
+
+        FlsFieldDecisions first = decisions(cache, FieldPrivileges.FlsRule.DENY_ALL, Set.of("_id"));
+        FlsFieldDecisions second = decisions(cache, FieldPrivileges.FlsRule.DENY_ALL, Set.of());
+
+        assertThat(second, sameInstance(first));
+        assertThat(cache.size(), is(1L));
+        assertThat(cache.getStatsAsMap().get("hits"), is(1L));
+    }
+
+    private FlsFieldDecisions decisions(FlsFieldDecisionCache cache, FieldPrivileges.FlsRule flsRule, Set<String> metaFields) {
+        return cache.getOrCompute(index.segmentReader(), flsRule, FieldMasking.FieldMaskingRule.ALLOW_ALL, metaFields);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.LRUQueryCache;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryCachingPolicy;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.privileges.dlsfls.FieldPrivileges;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class FlsQueryCachePartitionTest {
+
+    private static final FlsQueryCachePartition DENY_ALL_PARTITION = new FlsQueryCachePartition(
+        FieldPrivileges.FlsRule.DENY_ALL,
+        FieldMasking.FieldMaskingRule.ALLOW_ALL
+    );
+
+    private Directory directory;
+    private DirectoryReader directoryReader;
+    private IndexSearcher searcher;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < 10; i++) {
+                Document document = new Document();
+                document.add(new StringField("dept", i % 2 == 0 ? "a" : "b", Field.Store.NO));
+                writer.addDocument(document);
+            }
+        }
+        directoryReader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(directoryReader);
+        searcher.setQueryCache(null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        directoryReader.close();
+        directory.close();
+    }
+
+    @Test
+    public void partitionedQueriesAreEqualForEqualRules() {
+        Query query = new TermQuery(new Term("dept", "a"));
+
+        Query first = new FlsQueryCachePartition.PartitionedQuery(
+            query,
+            new FlsQueryCachePartition(FieldPrivileges.FlsRule.DENY_ALL, FieldMasking.FieldMaskingRule.ALLOW_ALL)
+        );
+        Query second = new FlsQueryCachePartition.PartitionedQuery(query, DENY_ALL_PARTITION);
+        Query third = new FlsQueryCachePartition.PartitionedQuery(query, FlsQueryCachePartition.UNRESTRICTED);
+
+        assertThat(first, equalTo(second));
+        assertThat(first.hashCode(), is(second.hashCode()));
+        assertThat(first, not(equalTo(third)));
+        assertThat(first, not(equalTo(query)));
+    }
+
+    @Test
+    public void isUnrestricted() {
+        assertThat(FlsQueryCachePartition.UNRESTRICTED.isUnrestricted(), is(true));
+        assertThat(DENY_ALL_PARTITION.isUnrestricted(), is(false));
+    }
+
+    @Test
+    public void policyReceivesOriginalQuery() throws Exception {
+        Query query = new TermQuery(new Term("dept", "a"));
+        Query[] seenQuery = new Query[1];
+
+        QueryCachingPolicy policy = FlsQueryCachePartition.wrap(new QueryCachingPolicy() {
+            @Override
+            public void onUse(Query usedQuery) {
+                seenQuery[0] = usedQuery;
+            }
+
+            @Override
+            public boolean shouldCache(Query candidate) {
+                return true;
+            }
+        });
+
+        policy.onUse(new FlsQueryCachePartition.PartitionedQuery(query, DENY_ALL_PARTITION));
+
+        assertThat(seenQuery[0], sameInstance(query));
+    }
+
+    @Test
+    public void partitionsUseSeparateCacheEntries() throws Exception {
+        LRUQueryCache cache = new LRUQueryCache(100, 1024 * 1024, context -> true, Float.POSITIVE_INFINITY);
+        QueryCachingPolicy policy = FlsQueryCachePartition.wrap(QueryCachingPolicy.ALWAYS_CACHE);
+        LeafReaderContext leaf = directoryReader.leaves().get(0);
+
+        cache.doCache(DENY_ALL_PARTITION.wrap(createWeight()), policy).scorer(leaf);
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getCacheCount(), is(1L));
+
+        cache.doCache(DENY_ALL_PARTITION.wrap(createWeight()), policy).scorer(leaf);
+        assertThat(cache.getHitCount(), is(1L));
+
+        cache.doCache(FlsQueryCachePartition.UNRESTRICTED.wrap(createWeight()), policy).scorer(leaf);
+        assertThat(cache.getMissCount(), is(2L));
+        assertThat(cache.getCacheCount(), is(2L));
+
+        cache.doCache(createWeight(), QueryCachingPolicy.ALWAYS_CACHE).scorer(leaf);
+        assertThat(cache.getMissCount(), is(3L));
+        assertThat(cache.getCacheCount(), is(3L));
+    }
+
+    private Weight createWeight() throws Exception {
+        return searcher.createWeight(new TermQuery(new Term("dept", "a")), ScoreMode.COMPLETE_NO_SCORES, 1f);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.util.FixedBitSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+public class SegmentCoreCacheTest {
+
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+    private SingleSegmentIndex index;
+    private SingleSegmentIndex otherIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new SingleSegmentIndex(List.of(document("a"), document("b")));
+        otherIndex = new SingleSegmentIndex(List.of(document("a")));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        index.close();
+        otherIndex.close();
+    }
+
+    @Test
+    public void returnsCachedValueForSameSegmentAndKey() throws Exception {
+        SegmentCoreCache<String, FixedBitSet> cache = new SegmentCoreCache<>(1024 * 1024);
+
+        FixedBitSet first = cache.getOrCompute(index.segmentReader(), "key", this::load);
+        FixedBitSet second = cache.getOrCompute(index.segmentReader(), "key", this::load);
+
+        assertThat(second, sameInstance(first));
+        assertThat(loaderCalls.get(), is(1));
+        assertThat(cache.getStats().hitCount(), is(1L));
+    }
+
+    @Test
+    public void distinguishesSegmentsAndKeys() throws Exception {
+        SegmentCoreCache<String, FixedBitSet> cache = new SegmentCoreCache<>(1024 * 1024);
+
+        FixedBitSet first = cache.getOrCompute(index.segmentReader(), "key", this::load);
+        FixedBitSet otherKey = cache.getOrCompute(index.segmentReader(), "other_key", this::load);
+        FixedBitSet otherSegment = cache.getOrCompute(otherIndex.segmentReader(), "key", this::load);
+
+        assertThat(otherKey, not(sameInstance(first)));
+        assertThat(otherSegment, not(sameInstance(first)));
+        assertThat(loaderCalls.get(), is(3));
+        assertThat(cache.size(), is(3L));
+    }
+
+    @Test
+    public void evictsOnlyEntriesOfClosedSegment() throws Exception {
+        SegmentCoreCache<String, FixedBitSet> cache = new SegmentCoreCache<>(1024 * 1024);
+
+        cache.getOrCompute(index.segmentReader(), "key", this::load);
+        cache.getOrCompute(index.segmentReader(), "other_key", this::load);
+        cache.getOrCompute(otherIndex.segmentReader(), "key", this::load);
+        assertThat(cache.size(), is(3L));
+
+        index.closeReader();
+
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void disabledCacheAlwaysComputes() throws Exception {
+        SegmentCoreCache<String, FixedBitSet> cache = new SegmentCoreCache<>(0);
+
+        cache.getOrCompute(index.segmentReader(), "key", this::load);
+        cache.getOrCompute(index.segmentReader(), "key", this::load);
+
+        assertThat(loaderCalls.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void loaderExceptionsAreUnwrapped() throws Exception {
+        SegmentCoreCache<String, FixedBitSet> cache = new SegmentCoreCache<>(1024 * 1024);
+
+        assertThrows(IOException.class, () -> cache.getOrCompute(index.segmentReader(), "key", () -> {
+            throw new IOException("failed");
+        }));
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute(index.segmentReader(), "key", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertThat(cache.size(), is(0L));
+    }
+
+    private FixedBitSet load() {
+        loaderCalls.incrementAndGet();
+        return new FixedBitSet(2);
+    }
+
+    private static Document document(String dept) {
+        Document document = new Document();
+        document.add(new StringField("dept", dept, Field.Store.NO));
+        return document;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+
+/**
+ * An in-memory index consisting of a single segment, for testing caches which are keyed by segment cores.
+ */
+class SingleSegmentIndex implements Closeable {
+
+    private final Directory directory = new ByteBuffersDirectory();
+    private DirectoryReader directoryReader;
+
+    SingleSegmentIndex(List<Document> documents) throws IOException {
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            writer.addDocuments(documents);
+        }
+        directoryReader = DirectoryReader.open(directory);
+    }
+
+    LeafReader segmentReader() {
+        return directoryReader.leaves().get(0).reader();
+    }
+
+    /**
+     * Closes the reader and thus the segment core; the directory stays open.
+     */
+    void closeReader() throws IOException {
+        directoryReader.close();
+        directoryReader = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (directoryReader != null) {
+            directoryReader.close();
+        }
+        directory.close();
+    }
+}
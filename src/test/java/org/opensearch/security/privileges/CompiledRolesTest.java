@@ -0,0 +1,89 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.privileges;
+
+import org.junit.Test;
+
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.security.privileges.dlsfls.FieldMasking;
+import org.opensearch.security.securityconf.FlattenedActionGroups;
+import org.opensearch.security.securityconf.impl.CType;
+import org.opensearch.security.securityconf.impl.SecurityDynamicConfiguration;
+import org.opensearch.security.securityconf.impl.v7.RoleV7;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CompiledRolesTest {
+
+    private static final String ROLE_A = "role_a:\n" + //
+        "  cluster_permissions:\n" + //
+        "  - cluster:monitor/health\n";
+
+    private static final String ROLE_B = "role_b:\n" + //
+        "  index_permissions:\n" + //
+        "  - index_patterns: ['index_b*']\n" + //
+        "    allowed_actions: ['indices:data/read/search']\n";
+
+    private static final String ROLE_B_CHANGED = "role_b:\n" + //
+        "  index_permissions:\n" + //
+        "  - index_patterns: ['index_b*']\n" + //
+        "    allowed_actions: ['indices:data/read/*']\n";
+
+    private static final String ROLE_C = "role_c:\n" + //
+        "  cluster_permissions:\n" + //
+        "  - '*'\n";
+
+    @Test
+    public void update_unchangedRolesAreShared() throws Exception {
+        CompiledRoles previous = compile(null, ROLE_A + ROLE_B, FlattenedActionGroups.EMPTY);
+        CompiledRoles updated = compile(previous, ROLE_A + ROLE_B_CHANGED + ROLE_C, FlattenedActionGroups.EMPTY);
+
+        assertThat(updated.roles.get("role_a"), sameInstance(previous.roles.get("role_a")));
+        assertThat(updated.roles.get("role_b"), not(sameInstance(previous.roles.get("role_b"))));
+        assertThat(updated.roles.keySet(), containsInAnyOrder("role_a", "role_b", "role_c"));
+        assertThat(updated.getCompiledRoleCount(), is(2));
+    }
+
+    @Test
+    public void update_removedRolesAreDropped() throws Exception {
+        CompiledRoles previous = compile(null, ROLE_A + ROLE_B, FlattenedActionGroups.EMPTY);
+        CompiledRoles updated = compile(previous, ROLE_A, FlattenedActionGroups.EMPTY);
+
+        assertThat(updated.roles.keySet(), containsInAnyOrder("role_a"));
+        assertThat(updated.getCompiledRoleCount(), is(0));
+    }
+
+    @Test
+    public void update_differentActionGroupsCompileAllRoles() throws Exception {
+        CompiledRoles previous = compile(null, ROLE_A + ROLE_B, FlattenedActionGroups.EMPTY);
+        FlattenedActionGroups otherActionGroups = new FlattenedActionGroups(SecurityDynamicConfiguration.empty(CType.ACTIONGROUPS));
+        CompiledRoles updated = compile(previous, ROLE_A + ROLE_B, otherActionGroups);
+
+        assertThat(updated.roles.get("role_a"), not(sameInstance(previous.roles.get("role_a"))));
+        assertThat(updated.getCompiledRoleCount(), is(2));
+    }
+
+    private static CompiledRoles compile(CompiledRoles previous, String rolesYaml, FlattenedActionGroups actionGroups) throws Exception {
+        return CompiledRoles.update(
+            previous,
+            SecurityDynamicConfiguration.fromYaml(rolesYaml, CType.ROLES),
+            actionGroups,
+            NamedXContentRegistry.EMPTY,
+            FieldMasking.Config.DEFAULT,
+            false
+        );
+    }
+}
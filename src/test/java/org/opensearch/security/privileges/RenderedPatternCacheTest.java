@@ -0,0 +1,79 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.security.privileges;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import org.opensearch.action.support.ActionRequestMetadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.security.support.WildcardMatcher;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+
+public class RenderedPatternCacheTest {
+
+    @Test
+    public void matchersAreSharedAcrossRequests() throws Exception {
+        RenderedPatternCache cache = new RenderedPatternCache(Settings.EMPTY);
+
+        WildcardMatcher matcher1 = context(new User("alice"), cache).getRenderedMatcher("index_${user.name}_*");
+        WildcardMatcher matcher2 = context(new User("alice"), cache).getRenderedMatcher("index_${user.name}_*");
+        WildcardMatcher matcher3 = context(new User("bob"), cache).getRenderedMatcher("index_${user.name}_*");
+
+        assertThat(matcher2, sameInstance(matcher1));
+        assertThat(matcher3, not(sameInstance(matcher1)));
+        assertThat(matcher1.test("index_alice_1"), is(true));
+        assertThat(matcher3.test("index_alice_1"), is(false));
+        assertThat(matcher3.test("index_bob_1"), is(true));
+        assertThat(cache.size(), is(2L));
+    }
+
+    @Test
+    public void invalidPatternsAreNotCached() {
+        RenderedPatternCache cache = new RenderedPatternCache(Settings.EMPTY);
+
+        assertThrows(ExpressionEvaluationException.class, () -> context(new User("alice"), cache).getRenderedMatcher("/[${user.name}/"));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void disabled() throws Exception {
+        RenderedPatternCache cache = new RenderedPatternCache(Settings.builder().put(RenderedPatternCache.MAX_SIZE.getKey(), 0).build());
+
+        WildcardMatcher matcher1 = context(new User("alice"), cache).getRenderedMatcher("index_${user.name}_*");
+        WildcardMatcher matcher2 = context(new User("alice"), cache).getRenderedMatcher("index_${user.name}_*");
+
+        assertThat(matcher2, not(sameInstance(matcher1)));
+        assertThat(matcher2.test("index_alice_1"), is(true));
+    }
+
+    private static PrivilegesEvaluationContext context(User user, RenderedPatternCache cache) {
+        return new PrivilegesEvaluationContext(
+            user,
+            ImmutableSet.of(),
+            null,
+            null,
+            ActionRequestMetadata.empty(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            cache
+        );
+    }
+}
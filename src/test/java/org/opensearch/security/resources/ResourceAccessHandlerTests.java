@@ -104,7 +104,7 @@ public class ResourceAccessHandlerTests {
             ActionListener<ResourceSharing> l = inv.getArgument(2);
             l.onResponse(doc);
             return null;
-        }).when(sharingIndexHandler).fetchSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
+        }).when(sharingIndexHandler).fetchCachedSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
 
         ActionListener<Boolean> listener = mock(ActionListener.class);
         handler.hasPermission(RESOURCE_ID, TYPE, ACTION, listener);
@@ -132,7 +132,7 @@ public class ResourceAccessHandlerTests {
             ActionListener<ResourceSharing> l = inv.getArgument(2);
             l.onResponse(doc);
             return null;
-        }).when(sharingIndexHandler).fetchSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
+        }).when(sharingIndexHandler).fetchCachedSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
 
         ActionListener<Boolean> listener = mock(ActionListener.class);
         handler.hasPermission(RESOURCE_ID, TYPE, ACTION, listener);
@@ -153,7 +153,7 @@ public class ResourceAccessHandlerTests {
             ActionListener<ResourceSharing> l = inv.getArgument(2);
             l.onResponse(doc);
             return null;
-        }).when(sharingIndexHandler).fetchSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
+        }).when(sharingIndexHandler).fetchCachedSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
 
         ActionListener<Boolean> listener = mock(ActionListener.class);
         handler.hasPermission(RESOURCE_ID, TYPE, ACTION, listener);
@@ -171,7 +171,7 @@ public class ResourceAccessHandlerTests {
             ActionListener<ResourceSharing> l = inv.getArgument(2);
             l.onResponse(null);
             return null;
-        }).when(sharingIndexHandler).fetchSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
+        }).when(sharingIndexHandler).fetchCachedSharingInfo(eq(INDEX), eq(RESOURCE_ID), any());
 
         ActionListener<Boolean> listener = mock(ActionListener.class);
         handler.hasPermission(RESOURCE_ID, TYPE, ACTION, listener);
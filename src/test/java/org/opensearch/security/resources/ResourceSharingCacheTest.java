@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.resources;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.security.resources.sharing.ResourceSharing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+public class ResourceSharingCacheTest {
+
+    private static final String INDEX = "test-index";
+
+    private final ResourceSharing resourceSharing = mock(ResourceSharing.class);
+
+    @Test
+    public void putAndGet() {
+        ResourceSharingCache cache = new ResourceSharingCache(Settings.EMPTY);
+
+        cache.put(INDEX, "res-1", resourceSharing, cache.getInvalidationCount());
+
+        assertThat(cache.get(INDEX, "res-1"), sameInstance(resourceSharing));
+        assertThat(cache.get(INDEX, "res-2"), nullValue());
+        assertThat(cache.get("other-index", "res-1"), nullValue());
+    }
+
+    @Test
+    public void invalidate() {
+        ResourceSharingCache cache = new ResourceSharingCache(Settings.EMPTY);
+        cache.put(INDEX, "res-1", resourceSharing, cache.getInvalidationCount());
+        cache.put(INDEX, "res-2", resourceSharing, cache.getInvalidationCount());
+
+        cache.invalidate(INDEX, "res-1");
+
+        assertThat(cache.get(INDEX, "res-1"), nullValue());
+        assertThat(cache.get(INDEX, "res-2"), sameInstance(resourceSharing));
+    }
+
+    @Test
+    public void readConcurrentToInvalidationIsNotCached() {
+        ResourceSharingCache cache = new ResourceSharingCache(Settings.EMPTY);
+        long invalidationCount = cache.getInvalidationCount();
+
+        // A write happens while the record is being read from the index
+        cache.invalidate(INDEX, "res-1");
+        cache.put(INDEX, "res-1", resourceSharing, invalidationCount);
+
+        assertThat(cache.get(INDEX, "res-1"), nullValue());
+    }
+
+    @Test
+    public void nullRecordsAreNotCached() {
+        ResourceSharingCache cache = new ResourceSharingCache(Settings.EMPTY);
+
+        cache.put(INDEX, "res-1", null, cache.getInvalidationCount());
+
+        assertThat(cache.get(INDEX, "res-1"), nullValue());
+    }
+
+    @Test
+    public void disabled() {
+        ResourceSharingCache cache = new ResourceSharingCache(Settings.builder().put(ResourceSharingCache.MAX_SIZE.getKey(), 0).build());
+        cache.put(INDEX, "res-1", resourceSharing, cache.getInvalidationCount());
+        assertThat(cache.get(INDEX, "res-1"), nullValue());
+
+        cache = new ResourceSharingCache(10, TimeValue.ZERO);
+        cache.put(INDEX, "res-1", resourceSharing, cache.getInvalidationCount());
+        assertThat(cache.get(INDEX, "res-1"), nullValue());
+
+        ResourceSharingCache.DISABLED.put(INDEX, "res-1", resourceSharing, ResourceSharingCache.DISABLED.getInvalidationCount());
+        assertThat(ResourceSharingCache.DISABLED.get(INDEX, "res-1"), nullValue());
+    }
+}
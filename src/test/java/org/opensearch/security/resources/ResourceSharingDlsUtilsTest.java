@@ -0,0 +1,124 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.resources;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.security.privileges.dlsfls.DlsRestriction;
+import org.opensearch.security.privileges.dlsfls.IndexToRuleMap;
+import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ResourceSharingDlsUtilsTest {
+
+    private final ResourceSharingDlsUtils subject = new ResourceSharingDlsUtils(Settings.EMPTY);
+
+    @Test
+    public void principalsAreSorted() {
+        User user = new User("bob").withSecurityRoles(List.of("z_role", "a_role")).withRoles("backend_b", "backend_a");
+
+        assertThat(
+            ResourceSharingDlsUtils.principals(user),
+            contains("backend:backend_a", "backend:backend_b", "public", "role:a_role", "role:z_role", "user:bob")
+        );
+    }
+
+    @Test
+    public void restrictionIsTermsQueryOnPrincipals() {
+        User user = new User("bob").withRoles("backend_a");
+
+        IndexToRuleMap<DlsRestriction> map = subject.resourceRestrictions(Set.of("index_a", "index_b"), user);
+
+        assertThat(map.getIndexMap().keySet(), containsInAnyOrder("index_a", "index_b"));
+        DlsRestriction restriction = map.getIndexMap().get("index_a");
+        assertThat(map.getIndexMap().get("index_b"), sameInstance(restriction));
+        assertThat(restriction.getQueries().get(0).getQueryBuilder(), instanceOf(TermsQueryBuilder.class));
+
+        TermsQueryBuilder query = (TermsQueryBuilder) restriction.getQueries().get(0).getQueryBuilder();
+        assertThat(query.fieldName(), is(ResourceSharingDlsUtils.PRINCIPALS_FIELD));
+        assertThat(query.values(), contains("backend:backend_a", "public", "user:bob"));
+    }
+
+    @Test
+    public void restrictionIsSharedForSamePrincipals() {
+        DlsRestriction first = subject.resourceRestrictions(Set.of("index_a"), new User("carol").withRoles("backend_a", "backend_b"))
+            .getIndexMap()
+            .get("index_a");
+        DlsRestriction second = subject.resourceRestrictions(Set.of("index_b"), new User("carol").withRoles("backend_b", "backend_a"))
+            .getIndexMap()
+            .get("index_b");
+
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    public void restrictionIsNotSharedWithDisabledCache() {
+        ResourceSharingDlsUtils subject = new ResourceSharingDlsUtils(
+            Settings.builder().put(ResourceSharingDlsUtils.RESTRICTION_CACHE_SIZE.getKey(), 0).build()
+        );
+        User user = new User("carol").withRoles("backend_a");
+
+        DlsRestriction first = subject.resourceRestrictions(Set.of("index_a"), user).getIndexMap().get("index_a");
+        DlsRestriction second = subject.resourceRestrictions(Set.of("index_a"), user).getIndexMap().get("index_a");
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getQueries().get(0).getQueryBuilder(), is(first.getQueries().get(0).getQueryBuilder()));
+    }
+
+    @Test
+    public void restrictionFromHeaderIsSharedWithCoordinatingNode() {
+        User user = new User("dave").withSecurityRoles(List.of("role_a")).withRoles("backend_a");
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+
+        assertThat(ResourceSharingDlsUtils.putPrincipalsHeader(threadContext, user), is(true));
+
+        DlsRestriction restriction = subject.restrictionFromHeader(threadContext);
+        assertThat(restriction, sameInstance(subject.resourceRestrictions(Set.of("index_a"), user).getIndexMap().get("index_a")));
+
+        TermsQueryBuilder query = (TermsQueryBuilder) restriction.getQueries().get(0).getQueryBuilder();
+        assertThat(query.values(), contains("backend:backend_a", "public", "role:role_a", "user:dave"));
+    }
+
+    @Test
+    public void restrictionFromHeaderIsNullWithoutHeader() {
+        assertThat(subject.restrictionFromHeader(new ThreadContext(Settings.EMPTY)), nullValue());
+    }
+
+    @Test
+    public void principalsHeaderOfDifferentUserIsRejected() {
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+
+        assertThat(ResourceSharingDlsUtils.putPrincipalsHeader(threadContext, new User("dave")), is(true));
+        assertThat(ResourceSharingDlsUtils.putPrincipalsHeader(threadContext, new User("dave")), is(true));
+        assertThat(ResourceSharingDlsUtils.putPrincipalsHeader(threadContext, new User("erin")), is(false));
+    }
+
+    @Test
+    public void invalidPrincipalsHeaderYieldsFullRestriction() {
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        threadContext.putHeader(ConfigConstants.OPENDISTRO_SECURITY_RESOURCE_SHARING_PRINCIPALS_HEADER, "invalid");
+
+        assertThat(subject.restrictionFromHeader(threadContext), sameInstance(DlsRestriction.FULL));
+    }
+}
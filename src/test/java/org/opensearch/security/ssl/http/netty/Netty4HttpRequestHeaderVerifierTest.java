@@ -0,0 +1,221 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.security.ssl.http.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.security.filter.SecurityRestFilter;
+import org.opensearch.security.ssl.OpenSearchSecuritySSLPlugin;
+import org.opensearch.threadpool.ThreadPool;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class Netty4HttpRequestHeaderVerifierTest {
+
+    private static final String AUTHORIZATION = "Basic "
+        + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    private final List<Runnable> authenticationTasks = new ArrayList<>();
+    private SecurityRestFilter restFilter;
+    private ThreadPool threadPool;
+    private ExecutorService authenticationExecutor;
+    private AuthenticationExecutorStats authenticationExecutorStats;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        restFilter = mock(SecurityRestFilter.class);
+        authenticationExecutor = mock(ExecutorService.class);
+        doAnswer(invocation -> authenticationTasks.add(invocation.getArgument(0))).when(authenticationExecutor).execute(any());
+
+        threadPool = mock(ThreadPool.class);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        when(threadPool.info(Netty4HttpRequestHeaderVerifier.AUTHENTICATION_THREAD_POOL_NAME)).thenReturn(mock(ThreadPool.Info.class));
+        when(threadPool.executor(Netty4HttpRequestHeaderVerifier.AUTHENTICATION_THREAD_POOL_NAME)).thenReturn(authenticationExecutor);
+
+        authenticationExecutorStats = new AuthenticationExecutorStats();
+        channel = new EmbeddedChannel(
+            new Netty4HttpRequestHeaderVerifier(
+                restFilter,
+                threadPool,
+                Settings.builder().put(OpenSearchSecuritySSLPlugin.CLIENT_TYPE, "node").build(),
+                authenticationExecutorStats
+            )
+        );
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void authenticatesInlineWithoutExecutor() throws Exception {
+        when(threadPool.info(Netty4HttpRequestHeaderVerifier.AUTHENTICATION_THREAD_POOL_NAME)).thenReturn(null);
+        HttpRequest request = request();
+
+        channel.writeInbound(request);
+
+        verify(restFilter).checkAndAuthenticateRequest(any());
+        verify(authenticationExecutor, never()).execute(any());
+        assertThat(channel.readInbound(), is(request));
+        assertThat(channel.attr(Netty4HttpRequestHeaderVerifier.IS_AUTHENTICATED).get(), is(true));
+    }
+
+    @Test
+    public void authenticatesRecentlyAuthenticatedCredentialsInline() throws Exception {
+        channel.writeInbound(request());
+        runAuthenticationTasks();
+        channel.readInbound();
+
+        HttpRequest request = request();
+        channel.writeInbound(request);
+
+        verify(restFilter, times(2)).checkAndAuthenticateRequest(any());
+        verify(authenticationExecutor, times(1)).execute(any());
+        assertThat(channel.readInbound(), is(request));
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void offloadsAuthenticationAndKeepsMessageOrder() throws Exception {
+        HttpRequest first = request();
+        LastHttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("{}", StandardCharsets.UTF_8));
+        HttpRequest second = request();
+
+        channel.writeInbound(first, content, second);
+
+        // Nothing is passed on and nothing more is read until the authentication is done
+        assertThat(channel.inboundMessages(), empty());
+        assertThat(channel.config().isAutoRead(), is(false));
+        verify(restFilter, never()).checkAndAuthenticateRequest(any());
+
+        runAuthenticationTasks();
+
+        // The second request carries the same credentials and is thus authenticated inline
+        verify(restFilter, times(2)).checkAndAuthenticateRequest(any());
+        verify(authenticationExecutor, times(1)).execute(any());
+        assertThat(channel.readInbound(), is(first));
+        assertThat(channel.readInbound(), is(content));
+        assertThat(channel.readInbound(), is(second));
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void tracksTimeWaitedForAuthenticationExecutor() throws Exception {
+        channel.writeInbound(request());
+        Thread.sleep(20);
+        runAuthenticationTasks();
+        channel.readInbound();
+        channel.writeInbound(request());
+        channel.readInbound();
+
+        assertThat(authenticationExecutorStats.offloadedAuthentications(), is(1L));
+        assertThat(authenticationExecutorStats.inlineAuthentications(), is(1L));
+        assertThat(authenticationExecutorStats.maxWaitTimeMillis(), greaterThanOrEqualTo(20L));
+        assertThat(authenticationExecutorStats.totalWaitTimeMillis(), is(authenticationExecutorStats.maxWaitTimeMillis()));
+        assertThat(authenticationExecutorStats.toMap().get("offloaded_authentications"), is(1L));
+    }
+
+    @Test
+    public void rejectedAuthenticationYieldsTooManyRequests() throws Exception {
+        doThrow(new OpenSearchRejectedExecutionException("rejected")).when(authenticationExecutor).execute(any());
+        HttpRequest request = request();
+
+        channel.writeInbound(request);
+
+        verify(restFilter, never()).checkAndAuthenticateRequest(any());
+        assertThat(channel.readInbound(), is(request));
+        assertThat(channel.attr(Netty4HttpRequestHeaderVerifier.EARLY_RESPONSE).get().getStatus(), is(429));
+        assertThat(channel.attr(Netty4HttpRequestHeaderVerifier.IS_AUTHENTICATED).get(), is(false));
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void unexpectedExceptionYieldsInternalServerError() throws Exception {
+        doThrow(new IllegalStateException("failure")).when(restFilter).checkAndAuthenticateRequest(any());
+        HttpRequest request = request();
+
+        channel.writeInbound(request);
+        runAuthenticationTasks();
+
+        assertThat(channel.readInbound(), is(request));
+        assertThat(channel.attr(Netty4HttpRequestHeaderVerifier.EARLY_RESPONSE).get().getStatus(), is(500));
+        assertThat(channel.attr(Netty4HttpRequestHeaderVerifier.IS_AUTHENTICATED).get(), is(false));
+        assertThat(channel.config().isAutoRead(), is(true));
+    }
+
+    @Test
+    public void releasesMessagesWhenChannelIsClosedDuringAuthentication() throws Exception {
+        FullHttpRequest request = new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1,
+            HttpMethod.POST,
+            "/_search",
+            Unpooled.copiedBuffer("{}", StandardCharsets.UTF_8)
+        );
+        request.headers().set(HttpHeaderNames.AUTHORIZATION, AUTHORIZATION);
+        LastHttpContent content = new DefaultLastHttpContent(Unpooled.copiedBuffer("{}", StandardCharsets.UTF_8));
+
+        channel.writeInbound(request, content);
+        channel.close();
+        runAuthenticationTasks();
+
+        assertThat(channel.readInbound(), nullValue());
+        assertThat(request.refCnt(), is(0));
+        assertThat(content.refCnt(), is(0));
+    }
+
+    private void runAuthenticationTasks() {
+        List<Runnable> tasks = new ArrayList<>(authenticationTasks);
+        authenticationTasks.clear();
+        tasks.forEach(Runnable::run);
+        channel.runPendingTasks();
+    }
+
+    private static HttpRequest request() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/_search");
+        request.headers().set(HttpHeaderNames.AUTHORIZATION, AUTHORIZATION);
+        return request;
+    }
+}
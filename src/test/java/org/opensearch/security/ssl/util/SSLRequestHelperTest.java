@@ -19,6 +19,8 @@ import java.security.cert.X509Certificate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.net.ssl.SSLEngine;
@@ -32,6 +34,7 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.env.Environment;
 import org.opensearch.security.filter.SecurityRequest;
+import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.test.helper.file.FileHelper;
 import org.opensearch.security.util.FakeRestRequest;
 
@@ -41,7 +44,12 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SSLRequestHelperTest {
@@ -428,4 +436,72 @@ public class SSLRequestHelperTest {
         assertThat(info.getLocalCertificates().length, is(localCerts.length));
         assertThat(info.getLocalCertificates()[0], is(localCerts[0]));
     }
+
+    @Test
+    public void getSSLInfo_extractsPrincipalOncePerSession() throws Exception {
+        X509Certificate[] clientCerts = loadCerts("ssl/crl/revoked.crt.pem");
+        PrincipalExtractor principalExtractor = mock(PrincipalExtractor.class);
+        when(principalExtractor.extractPrincipal(clientCerts[0], PrincipalExtractor.Type.HTTP)).thenReturn("CN=client");
+
+        SSLSession session = sessionWithValues(clientCerts);
+        SecurityRequest request = requestWithSession(session);
+
+        SSLRequestHelper.SSLInfo info1 = SSLRequestHelper.getSSLInfo(Settings.EMPTY, sslDir(), request, principalExtractor);
+        SSLRequestHelper.SSLInfo info2 = SSLRequestHelper.getSSLInfo(Settings.EMPTY, sslDir(), request, principalExtractor);
+
+        assertThat(info1.getPrincipal(), is("CN=client"));
+        assertThat(info2.getPrincipal(), is("CN=client"));
+        verify(principalExtractor, times(1)).extractPrincipal(clientCerts[0], PrincipalExtractor.Type.HTTP);
+        verify(session, times(1)).getPeerCertificates();
+
+        // A renegotiation yields a new session
+        SSLRequestHelper.getSSLInfo(Settings.EMPTY, sslDir(), requestWithSession(sessionWithValues(clientCerts)), principalExtractor);
+
+        verify(principalExtractor, times(2)).extractPrincipal(clientCerts[0], PrincipalExtractor.Type.HTTP);
+    }
+
+    @Test
+    public void sessionPrincipal_rethrowsPeerUnverifiedExceptionForEachRequest() throws Exception {
+        SSLSession session = sessionWithValues(null);
+        when(session.getPeerCertificates()).thenThrow(new SSLPeerUnverifiedException("peer not authenticated"));
+        when(session.getLocalCertificates()).thenReturn(loadCerts("ssl/crl/revoked.crt.pem"));
+
+        for (int i = 0; i < 2; i++) {
+            SSLSessionPrincipal sessionPrincipal = SSLSessionPrincipal.get(session, null, PrincipalExtractor.Type.TRANSPORT);
+            assertThat(sessionPrincipal.peerCertificates(), nullValue());
+            assertThat(sessionPrincipal.localCertificates(), notNullValue());
+
+            try {
+                sessionPrincipal.verifiedPeerCertificates();
+                fail("Expected SSLPeerUnverifiedException for unverified peer");
+            } catch (SSLPeerUnverifiedException e) {
+                assertThat(e.getMessage(), is("peer not authenticated"));
+            }
+        }
+
+        verify(session, times(1)).getPeerCertificates();
+    }
+
+    private static SSLSession sessionWithValues(X509Certificate[] peerCerts) throws Exception {
+        Map<String, Object> values = new HashMap<>();
+        SSLSession session = mock(SSLSession.class);
+        when(session.getProtocol()).thenReturn("TLSv1.3");
+        when(session.getCipherSuite()).thenReturn("TLS_AES_256_GCM_SHA384");
+        if (peerCerts != null) {
+            when(session.getPeerCertificates()).thenReturn(peerCerts);
+        }
+        when(session.getValue(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1))).when(session).putValue(anyString(), any());
+        return session;
+    }
+
+    private static SecurityRequest requestWithSession(SSLSession session) {
+        SSLEngine engine = mock(SSLEngine.class);
+        when(engine.getSession()).thenReturn(session);
+        when(engine.getNeedClientAuth()).thenReturn(true);
+
+        SecurityRequest request = mock(SecurityRequest.class);
+        when(request.getSSLEngine()).thenReturn(engine);
+        return request;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import inet.ipaddr.IPAddressString;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CidrTrieTest {
+
+    @Test
+    public void ipv4() throws Exception {
+        CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/8", "192.168.1.0/24", "172.16.0.0/12", "127.0.0.1", "*.example.com"));
+
+        assertThat(trie.contains(InetAddress.getByName("10.10.10.10")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("192.168.1.100")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("172.31.255.255")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("127.0.0.1")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("11.0.0.1")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("192.168.2.100")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("172.32.0.0")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("127.0.0.2")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("2001:db8::1")), is(false));
+    }
+
+    @Test
+    public void ipv6() throws Exception {
+        CidrTrie trie = CidrTrie.of(List.of("2001:db8::/32", "fe80::1"));
+
+        assertThat(trie.contains(InetAddress.getByName("2001:db8:1:2::")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("fe80::1")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("2001:db9::")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("fe80::2")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("10.0.0.1")), is(false));
+    }
+
+    @Test
+    public void nestedAndRangeEntries() throws Exception {
+        CidrTrie trie = CidrTrie.of(List.of("10.1.2.0/24", "10.1.0.0/16", "10.1.2.3", "192.168.1-2.*"));
+
+        assertThat(trie.contains(InetAddress.getByName("10.1.200.1")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("10.1.2.4")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("10.2.0.0")), is(false));
+        assertThat(trie.contains(InetAddress.getByName("192.168.2.7")), is(true));
+        assertThat(trie.contains(InetAddress.getByName("192.168.3.7")), is(false));
+    }
+
+    @Test
+    public void strings() {
+        CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/8"));
+
+        assertThat(trie.contains("10.1.1.1"), is(true));
+        assertThat(trie.contains("11.1.1.1"), is(false));
+        assertThat(trie.contains("unknown"), is(false));
+        assertThat(trie.contains("10.1.1.1:9200"), is(false));
+        assertThat(trie.contains((String) null), is(false));
+    }
+
+    @Test
+    public void empty() throws Exception {
+        assertThat(CidrTrie.EMPTY.isEmpty(), is(true));
+        assertThat(CidrTrie.EMPTY.contains(InetAddress.getByName("10.0.0.1")), is(false));
+        assertThat(CidrTrie.of(List.of("*.example.com")).isEmpty(), is(true));
+        assertThat(CidrTrie.of(List.of("*")).contains(InetAddress.getByName("10.0.0.1")), is(true));
+    }
+
+    @Test
+    public void sameResultsAsIpAddressString() throws Exception {
+        Random random = new Random(1);
+        List<String> ranges = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            String range = randomIpv4(random) + "/" + (8 + random.nextInt(25));
+            ranges.add(new IPAddressString(range).getAddress().toPrefixBlock().toString());
+        }
+
+        List<IPAddressString> rangeStrings = ranges.stream().map(IPAddressString::new).toList();
+        CidrTrie trie = CidrTrie.of(ranges);
+
+        for (int i = 0; i < 5000; i++) {
+            String address = randomIpv4(random);
+            IPAddressString addressString = new IPAddressString(address);
+            boolean expected = rangeStrings.stream().anyMatch(range -> range.contains(addressString));
+
+            assertThat(address, trie.contains(InetAddress.getByName(address)), is(expected));
+        }
+    }
+
+    private static String randomIpv4(Random random) {
+        // Restricting the first octet yields enough overlaps between ranges and addresses
+        return (10 + random.nextInt(4)) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.security.support;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.opensearch.common.unit.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ReverseDnsResolverTest {
+
+    private static final TimeValue TTL = TimeValue.timeValueMinutes(1);
+
+    private final AtomicInteger lookupCount = new AtomicInteger();
+    private final CountDownLatch lookupReleased = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newFixedThreadPool(ReverseDnsResolver.THREAD_POOL_SIZE);
+    private ReverseDnsResolver resolver;
+
+    @After
+    public void close() {
+        lookupReleased.countDown();
+
+        if (resolver != null) {
+            resolver.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void resolvesAsynchronously() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            await();
+            return "www.example.com";
+        });
+        InetAddress address = InetAddress.getByName("192.168.1.100");
+
+        assertThat(resolver.getHostNameIfResolved(address), nullValue());
+        assertThat(resolver.getHostNameIfResolved(address), nullValue());
+        CompletableFuture<String> future = resolver.resolve(address);
+
+        lookupReleased.countDown();
+
+        assertThat(future.get(10, TimeUnit.SECONDS), is("www.example.com"));
+        assertThat(resolver.getHostNameIfResolved(address), is("www.example.com"));
+        assertThat(lookupCount.get(), is(1));
+        assertThat(resolver.getStats().hits(), is(1L));
+        assertThat(resolver.getStats().misses(), is(2L));
+        assertThat(resolver.getStats().lookups(), is(1L));
+        assertThat(resolver.getStats().timedOutResolutions(), is(0L));
+        assertThat(resolver.getStats().toMap().get("misses"), is(2L));
+    }
+
+    @Test
+    public void failedLookupsAreCachedNegatively() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            return address.getHostAddress();
+        });
+        InetAddress address = InetAddress.getByName("192.168.1.100");
+
+        assertThat(resolver.resolve(address).get(10, TimeUnit.SECONDS), nullValue());
+        assertThat(resolver.getHostNameIfResolved(address), nullValue());
+        assertThat(resolver.getHostNameIfResolved(address), nullValue());
+        assertThat(lookupCount.get(), is(1));
+        assertThat(resolver.getStats().negativeHits(), is(2L));
+        assertThat(resolver.getStats().failedLookups(), is(1L));
+    }
+
+    @Test
+    public void timedOutLookupsAreCachedNegatively() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueMillis(50), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            await();
+            return "www.example.com";
+        });
+        InetAddress address = InetAddress.getByName("192.168.1.100");
+
+        assertThat(resolver.resolve(address).get(10, TimeUnit.SECONDS), nullValue());
+        assertThat(resolver.getHostNameIfResolved(address), nullValue());
+        assertThat(lookupCount.get(), is(1));
+        assertThat(resolver.getStats().timedOutResolutions(), is(1L));
+        assertThat(resolver.getStats().maxResolutionTimeMillis(), greaterThanOrEqualTo(50L));
+    }
+
+    @Test
+    public void hostNamesOfAddressesAreUsedWithoutLookup() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            return "other.example.com";
+        });
+        InetAddress address = InetAddress.getByAddress("www.example.com", new byte[] { (byte) 192, (byte) 168, 1, 100 });
+
+        assertThat(resolver.getHostNameIfResolved(address), is("www.example.com"));
+        assertThat(resolver.getHostNameIfResolved(null), nullValue());
+        assertThat(lookupCount.get(), is(0));
+    }
+
+    @Test
+    public void hostAndCidrMatcherFallsBackToIpAddress() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> "www.example.com");
+        HostAndCidrMatcher matcher = new HostAndCidrMatcher(List.of("*.example.com"));
+        InetAddress address = InetAddress.getByName("192.168.1.100");
+
+        assertThat(matcher.matchesHostname(address, HostResolverMode.IP_HOSTNAME.getValue(), resolver), is(false));
+        resolver.resolve(address).get(10, TimeUnit.SECONDS);
+        assertThat(matcher.matchesHostname(address, HostResolverMode.IP_HOSTNAME.getValue(), resolver), is(true));
+        assertThat(matcher.matchesHostname(address, HostResolverMode.IP_HOSTNAME.getValue()), is(false));
+    }
+
+    @Test
+    public void closingResolverDoesNotAffectOtherResolvers() throws Exception {
+        resolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            return "www.example.com";
+        });
+        ReverseDnsResolver closedResolver = new ReverseDnsResolver(TTL, TTL, TimeValue.timeValueSeconds(10), 100, executor, (address) -> {
+            lookupCount.incrementAndGet();
+            return "www.example.com";
+        });
+        InetAddress address = InetAddress.getByName("192.168.1.100");
+
+        closedResolver.close();
+
+        assertThat(closedResolver.resolve(address).get(10, TimeUnit.SECONDS), nullValue());
+        assertThat(lookupCount.get(), is(0));
+        assertThat(resolver.resolve(address).get(10, TimeUnit.SECONDS), is("www.example.com"));
+        assertThat(lookupCount.get(), is(1));
+    }
+
+    private void await() {
+        try {
+            lookupReleased.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.security.support;
+
+import java.net.InetSocketAddress;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
+import org.opensearch.core.common.transport.TransportAddress;
+import org.opensearch.security.user.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+
+public class WriteableHeaderHelperTest {
+
+    private final User user = new User(
+        "test_user",
+        IntStream.range(0, 200).mapToObj(i -> "backend_role_" + i).collect(ImmutableSet.toImmutableSet()),
+        ImmutableSet.of("security_role"),
+        "test_tenant",
+        ImmutableMap.of("attr.internal.a", "1", "attr.internal.b", "2"),
+        true
+    );
+
+    @Test
+    public void userRoundTrip() {
+        String encoded = user.toSerializedWriteable();
+        assertThat(WriteableHeaderHelper.isEncoded(encoded), is(true));
+
+        User decoded = User.fromSerializedBase64(encoded);
+        assertThat(decoded.getName(), equalTo(user.getName()));
+        assertThat(decoded.getRoles(), equalTo(user.getRoles()));
+        assertThat(decoded.getSecurityRoles(), equalTo(user.getSecurityRoles()));
+        assertThat(decoded.getRequestedTenant(), equalTo(user.getRequestedTenant()));
+        assertThat(decoded.getCustomAttributesMap(), equalTo(user.getCustomAttributesMap()));
+        assertThat(decoded.isInjected(), is(true));
+        assertThat(decoded.toSerializedWriteable(), equalTo(encoded));
+    }
+
+    @Test
+    public void legacyUserEncodingIsStillAccepted() {
+        String legacy = user.toSerializedBase64();
+        assertThat(WriteableHeaderHelper.isEncoded(legacy), is(false));
+        assertThat(User.fromSerializedBase64(legacy).getRoles(), equalTo(user.getRoles()));
+    }
+
+    @Test
+    public void compactEncodingIsSmaller() {
+        assertThat(user.toSerializedWriteable().length(), lessThan(user.toSerializedBase64().length()));
+    }
+
+    @Test
+    public void userWithoutOptionalAttributes() {
+        User simpleUser = new User("simple_user");
+        User decoded = User.fromSerializedBase64(simpleUser.toSerializedWriteable());
+
+        assertThat(decoded.getName(), equalTo("simple_user"));
+        assertThat(decoded.getRequestedTenant(), is((String) null));
+        assertThat(decoded.getRoles().isEmpty(), is(true));
+    }
+
+    @Test
+    public void remoteAddressRoundTrip() {
+        TransportAddress address = new TransportAddress(new InetSocketAddress("8.8.8.8", 80));
+
+        String compact = WriteableHeaderHelper.encodeRemoteAddress(address, true);
+        String legacy = WriteableHeaderHelper.encodeRemoteAddress(address, false);
+
+        assertThat(WriteableHeaderHelper.isEncoded(compact), is(true));
+        assertThat(WriteableHeaderHelper.isEncoded(legacy), is(false));
+        assertThat(WriteableHeaderHelper.decodeRemoteAddress(compact), equalTo(address));
+        assertThat(WriteableHeaderHelper.decodeRemoteAddress(legacy), equalTo(address));
+    }
+
+    @Test
+    public void versionNegotiation() {
+        assertThat(WriteableHeaderHelper.isSupportedBy(Version.CURRENT), is(true));
+        assertThat(WriteableHeaderHelper.isSupportedBy(Version.V_3_0_0), is(false));
+        assertThat(WriteableHeaderHelper.isSupportedBy(null), is(false));
+    }
+
+    @Test
+    public void truncatedValueIsRejected() {
+        String encoded = user.toSerializedWriteable();
+        assertThrows(OpenSearchException.class, () -> WriteableHeaderHelper.decode(encoded.substring(0, 20), User::new));
+    }
+}
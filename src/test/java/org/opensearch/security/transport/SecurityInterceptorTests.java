@@ -43,6 +43,7 @@ import org.opensearch.security.ssl.transport.PrincipalExtractor;
 import org.opensearch.security.ssl.transport.SSLConfig;
 import org.opensearch.security.support.Base64Helper;
 import org.opensearch.security.support.ConfigConstants;
+import org.opensearch.security.support.WriteableHeaderHelper;
 import org.opensearch.security.user.User;
 import org.opensearch.security.user.UserFactory;
 import org.opensearch.telemetry.tracing.noop.NoopTracer;
@@ -132,6 +133,7 @@ public class SecurityInterceptorTests {
 
     private AsyncSender sender;
     private AsyncSender jdkSerializedSender;
+    private AsyncSender compactSerializedSender;
     private AsyncSender customSerializedSender;
     private AtomicReference<CountDownLatch> senderLatch = new AtomicReference<>(new CountDownLatch(1));
 
@@ -235,6 +237,22 @@ public class SecurityInterceptorTests {
             }
         };
 
+        compactSerializedSender = new AsyncSender() {
+            @Override
+            public <T extends TransportResponse> void sendRequest(
+                Connection connection,
+                String action,
+                TransportRequest request,
+                TransportRequestOptions options,
+                TransportResponseHandler<T> handler
+            ) {
+                String serializedUserHeader = threadPool.getThreadContext().getHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER);
+                assertTrue(WriteableHeaderHelper.isEncoded(serializedUserHeader));
+                assertThat(User.fromSerializedBase64(serializedUserHeader), is(user));
+                senderLatch.get().countDown();
+            }
+        };
+
         sender = new AsyncSender() {
             @Override
             public <T extends TransportResponse> void sendRequest(
@@ -339,6 +357,26 @@ public class SecurityInterceptorTests {
         );
     }
 
+    @Test
+    public void testSendRequestDecorateRemoteConnectionUsesCompactSerialization() {
+        // otherNode is on the current version, thus it supports the compact encoding
+        completableRequestDecorate(compactSerializedSender, connection2, action, request, options, handler, localNode);
+    }
+
+    @Test
+    public void testSendRequestDecorateConvertsCompactHeadersForOldNodes() {
+        threadPool.getThreadContext().putHeader(ConfigConstants.OPENDISTRO_SECURITY_USER_HEADER, user.toSerializedWriteable());
+        completableRequestDecorateWithPreviouslyPopulatedHeaders(
+            jdkSerializedSender,
+            connection3,
+            action,
+            request,
+            options,
+            handler,
+            localNode
+        );
+    }
+
     @Test
     public void testSendNoOriginNodeCausesSerialization() {
 